@@ -7,6 +7,7 @@ const packageJsonPaths = [
   "package.json",
   path.join("ui", "package.json"),
   path.join("js-modules", "shiki", "package.json"),
+  path.join("js-modules", "katex", "package.json"),
 ];
 const managedWorkflowPaths = [
   path.join(workflowsDirPath, "ci.yaml"),
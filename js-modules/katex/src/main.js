@@ -0,0 +1,26 @@
+import katex from "katex";
+
+// 批量渲染数学公式 - KaTeX 为同步渲染，直接返回结果
+// requests: { id: { tex, display } }，display 为 "true" 时按块级公式渲染
+function renderMathBatch(requests) {
+  const results = {};
+
+  for (const [id, request] of Object.entries(requests)) {
+    try {
+      results[id] = katex.renderToString(request.tex, {
+        displayMode: request.display === "true",
+        throwOnError: false,
+      });
+    } catch (error) {
+      results[id] = `Error: ${error.message}`;
+    }
+  }
+
+  return results;
+}
+
+// 暴露给 globalThis
+globalThis.renderMathBatch = renderMathBatch;
+
+// 导出
+export { renderMathBatch };
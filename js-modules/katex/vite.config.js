@@ -0,0 +1,13 @@
+import { defineConfig } from "vite";
+
+export default defineConfig({
+  build: {
+    outDir: "build/dist",
+    lib: {
+      entry: "src/main.js",
+      fileName: "katex",
+      name: "katex",
+      formats: ["umd"],
+    },
+  },
+});
@@ -1,7 +1,9 @@
-import { readFileSync, writeFileSync } from "node:fs";
+import { mkdirSync, readFileSync, writeFileSync } from "node:fs";
 
 import { parse, stringify } from "yaml";
-import { bundledThemesInfo } from "shiki/bundle/full";
+import { bundledLanguagesInfo, bundledThemesInfo } from "shiki/bundle/full";
+
+import { resolveSubset } from "./shiki-subset.js";
 
 /* thanks to https://github.com/halo-sigs/plugin-shiki/blob/main/scripts/generate-themes-for-settings-file.mjs */
 
@@ -10,8 +12,42 @@ const settingsFilePath = new URL(
   "../../../src/main/resources/extensions/settings.yaml",
   import.meta.url,
 );
+// 语言/别名/主题清单，由插件在启动时读取，校验语言与主题时无需借用 JS 引擎
+// 精简包（设置了 SHIKI_LANGUAGES / SHIKI_THEMES）的清单写入单独目录，与完整包互不覆盖
+const subset = resolveSubset();
+const manifestDirPath = new URL(
+  subset ? "../build/manifest-slim/" : "../build/manifest/",
+  import.meta.url,
+);
+const manifestFilePath = new URL("shiki-manifest.properties", manifestDirPath);
+
+function writeManifest() {
+  const languagesInfo = subset?.languages ?? bundledLanguagesInfo;
+  const themesInfo = subset?.themes ?? bundledThemesInfo;
+  const languages = languagesInfo.map((lang) => lang.id).sort();
+  const aliases = languagesInfo
+    .flatMap((lang) => (lang.aliases ?? []).map((alias) => `${alias}:${lang.id}`))
+    .sort();
+  const themes = themesInfo.map((theme) => theme.id).sort();
+
+  const content = [
+    "# Generated by js-modules/shiki/scripts/generate-config.js, do not edit.",
+    `languages=${languages.join(",")}`,
+    `aliases=${aliases.join(",")}`,
+    `themes=${themes.join(",")}`,
+    "",
+  ].join("\n");
+
+  mkdirSync(manifestDirPath, { recursive: true });
+  writeFileSync(manifestFilePath, content, "utf8");
+  console.log(
+    `✓ Wrote Shiki manifest: ${languages.length} languages, ${aliases.length} aliases, ${themes.length} themes`,
+  );
+}
 
 try {
+  writeManifest();
+
   const settingsFileContent = readFileSync(settingsFilePath, "utf8");
   const settings = parse(settingsFileContent);
 
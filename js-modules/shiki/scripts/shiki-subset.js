@@ -0,0 +1,48 @@
+import { bundledLanguagesInfo, bundledThemesInfo } from "shiki/bundle/full";
+
+// 插件在主题不可用时回退到的默认主题，精简包始终包含
+const FALLBACK_THEMES = ["min-light", "nord"];
+
+function parseList(value) {
+  return (value ?? "")
+    .split(",")
+    .map((item) => item.trim())
+    .filter((item) => item.length > 0);
+}
+
+/**
+ * 根据 SHIKI_LANGUAGES / SHIKI_THEMES 环境变量（逗号分隔）解析精简包包含的语言与主题。
+ * 语言可使用标识或别名；两者都未设置时返回 null，表示构建完整包。
+ */
+export function resolveSubset(env = process.env) {
+  const requestedLanguages = parseList(env.SHIKI_LANGUAGES);
+  const requestedThemes = parseList(env.SHIKI_THEMES);
+  if (requestedLanguages.length === 0 && requestedThemes.length === 0) {
+    return null;
+  }
+
+  const languageNames = new Set(requestedLanguages);
+  const languages =
+    requestedLanguages.length === 0
+      ? bundledLanguagesInfo
+      : bundledLanguagesInfo.filter(
+          (lang) =>
+            languageNames.has(lang.id) || (lang.aliases ?? []).some((a) => languageNames.has(a)),
+        );
+  const knownLanguages = new Set(languages.flatMap((lang) => [lang.id, ...(lang.aliases ?? [])]));
+  requestedLanguages
+    .filter((name) => !knownLanguages.has(name))
+    .forEach((name) => console.warn(`⚠ Unknown Shiki language ignored: ${name}`));
+
+  const themeNames = new Set([...requestedThemes, ...FALLBACK_THEMES]);
+  const themes =
+    requestedThemes.length === 0
+      ? bundledThemesInfo
+      : bundledThemesInfo.filter((theme) => themeNames.has(theme.id));
+  const knownThemes = new Set(themes.map((theme) => theme.id));
+  requestedThemes
+    .filter((name) => !knownThemes.has(name))
+    .forEach((name) => console.warn(`⚠ Unknown Shiki theme ignored: ${name}`));
+
+  return { languages, themes };
+}
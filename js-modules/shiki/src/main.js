@@ -1,4 +1,5 @@
-import { codeToHtml, bundledLanguages, bundledThemes } from "shiki/bundle/full";
+// 完整包或按语言/主题白名单生成的精简包，见 vite.config.js
+import { codeToHtml, bundledLanguages, bundledThemes } from "virtual:shiki-bundle";
 
 // 单个代码高亮 - 简单包装
 async function highlightCode(code, options = {}) {
@@ -1,8 +1,66 @@
 import { defineConfig } from "vite";
 
+import { resolveSubset } from "./scripts/shiki-subset.js";
+
+const BUNDLE_MODULE_ID = "virtual:shiki-bundle";
+const RESOLVED_BUNDLE_MODULE_ID = "\0" + BUNDLE_MODULE_ID;
+
+// 完整包：直接使用 Shiki 的完整预设
+const FULL_BUNDLE_SOURCE = `export { codeToHtml, bundledLanguages, bundledThemes } from "shiki/bundle/full";`;
+
+// 精简包：只为允许的语言与主题生成懒加载入口，其余语法和主题不会被打包
+// 经由 shiki 自身的 langs/themes 子路径导出引用，无需直接依赖 @shikijs/langs 与 @shikijs/themes
+function slimBundleSource({ languages, themes }) {
+  const languageEntries = languages.flatMap((lang) =>
+    [lang.id, ...(lang.aliases ?? [])].map(
+      (name) =>
+        `  ${JSON.stringify(name)}: () => import(${JSON.stringify(`shiki/langs/${lang.id}.mjs`)}),`,
+    ),
+  );
+  const themeEntries = themes.map(
+    (theme) =>
+      `  ${JSON.stringify(theme.id)}: () => import(${JSON.stringify(`shiki/themes/${theme.id}.mjs`)}),`,
+  );
+  return [
+    `import { createBundledHighlighter, createSingletonShorthands } from "shiki/core";`,
+    `import { createOnigurumaEngine } from "shiki/engine/oniguruma";`,
+    `export const bundledLanguages = {`,
+    ...languageEntries,
+    `};`,
+    `export const bundledThemes = {`,
+    ...themeEntries,
+    `};`,
+    `const createHighlighter = createBundledHighlighter({`,
+    `  langs: bundledLanguages,`,
+    `  themes: bundledThemes,`,
+    `  engine: () => createOnigurumaEngine(import("shiki/wasm")),`,
+    `});`,
+    `export const { codeToHtml } = createSingletonShorthands(createHighlighter);`,
+  ].join("\n");
+}
+
+function shikiBundle(subset) {
+  return {
+    name: "shiki-bundle",
+    resolveId(id) {
+      return id === BUNDLE_MODULE_ID ? RESOLVED_BUNDLE_MODULE_ID : null;
+    },
+    load(id) {
+      if (id !== RESOLVED_BUNDLE_MODULE_ID) {
+        return null;
+      }
+      return subset ? slimBundleSource(subset) : FULL_BUNDLE_SOURCE;
+    },
+  };
+}
+
+// 设置 SHIKI_LANGUAGES / SHIKI_THEMES 时构建精简包，输出到单独目录，与完整包互不覆盖
+const subset = resolveSubset();
+
 export default defineConfig({
+  plugins: [shikiBundle(subset)],
   build: {
-    outDir: "build/dist",
+    outDir: subset ? "build/dist-slim" : "build/dist",
     lib: {
       entry: "src/main.js",
       fileName: "shiki",
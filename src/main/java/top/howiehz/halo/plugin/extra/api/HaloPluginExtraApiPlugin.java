@@ -1,10 +1,12 @@
 package top.howiehz.halo.plugin.extra.api;
 
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.stereotype.Component;
 import run.halo.app.plugin.BasePlugin;
 import run.halo.app.plugin.PluginContext;
 import top.howiehz.halo.plugin.extra.api.service.core.post.stats.PostWordCountService;
+import top.howiehz.halo.plugin.extra.api.service.core.runtime.NativeLibraryReport;
 
 /**
  * Plugin main class to manage the lifecycle of the plugin.
@@ -18,10 +20,18 @@ public class HaloPluginExtraApiPlugin extends BasePlugin {
 
     private final PostWordCountService postWordCountService;
 
+    /**
+     * Native library load report, only available in the full version.
+     * 原生库加载报告，仅全量版可用。
+     */
+    private final ObjectProvider<NativeLibraryReport> nativeLibraryReport;
+
     public HaloPluginExtraApiPlugin(PluginContext pluginContext,
-        PostWordCountService postWordCountService) {
+        PostWordCountService postWordCountService,
+        ObjectProvider<NativeLibraryReport> nativeLibraryReport) {
         super(pluginContext);
         this.postWordCountService = postWordCountService;
+        this.nativeLibraryReport = nativeLibraryReport;
     }
 
     /**
@@ -32,6 +42,12 @@ public class HaloPluginExtraApiPlugin extends BasePlugin {
     public void start() {
         log.info("插件启动成功！");
 
+        // Report native library load times (full version only)
+        // 报告原生库加载耗时（仅全量版）
+        nativeLibraryReport.ifAvailable(report -> report.getNativeLibraryLoads().forEach(
+            load -> log.info("原生库 {} 加载完成，来源: {}，耗时: {}ms", load.name(), load.source(),
+                load.loadMillis())));
+
         // Preload all caches when the plugin starts
         // 插件启动时预加载所有缓存
         // post word count cache / 文章字数缓存
@@ -1,6 +1,7 @@
 package top.howiehz.halo.plugin.extra.api.finder.core;
 
 import reactor.core.publisher.Mono;
+import top.howiehz.halo.plugin.extra.api.service.core.runtime.memory.MemoryPressureStats;
 
 /**
  * Plugin Version Finder - 插件版本信息查询器
@@ -38,4 +39,20 @@ public interface ExtraApiPluginInfoFinder {
      * @return true 如果 JavaScript 功能可用
      */
     Mono<Boolean> isJavaScriptAvailable();
+
+    /**
+     * 检查 JavaScript 引擎是否已完成启动预热
+     * 全量版按“引擎启动模式”配置预热，预热完成前代码块以未高亮形式输出；轻量版始终返回 false
+     *
+     * @return true 如果 JavaScript 引擎已就绪
+     */
+    Mono<Boolean> isJavaScriptReady();
+
+    /**
+     * 获取内存压力监控状态
+     * 包含当前压力等级、最近一次采样的堆内存与常驻内存，以及最近为释放内存执行的操作（如裁剪缓存、关闭空闲引擎）
+     *
+     * @return 内存压力统计
+     */
+    Mono<MemoryPressureStats> getMemoryPressureStats();
 }
@@ -1,10 +1,15 @@
 package top.howiehz.halo.plugin.extra.api.finder.core.impl;
 
+import java.util.List;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.stereotype.Component;
 import reactor.core.publisher.Mono;
 import run.halo.app.theme.finders.Finder;
 import top.howiehz.halo.plugin.extra.api.finder.core.ExtraApiPluginInfoFinder;
+import top.howiehz.halo.plugin.extra.api.service.core.runtime.JsEngineReadiness;
+import top.howiehz.halo.plugin.extra.api.service.core.runtime.memory.MemoryPressureMonitor;
+import top.howiehz.halo.plugin.extra.api.service.core.runtime.memory.MemoryPressureStats;
 
 /**
  * Plugin Version Finder Implementation - 插件版本信息查询器实现
@@ -30,6 +35,22 @@ public class ExtraApiPluginInfoFinderImpl implements ExtraApiPluginInfoFinder {
      */
     private volatile Boolean isFullVersionCached;
 
+    /**
+     * 引擎就绪状态 - 只有全量版注册了实现，轻量版中为空
+     */
+    private final ObjectProvider<JsEngineReadiness> jsEngineReadiness;
+
+    /**
+     * 内存压力监控 - 轻量版与全量版均包含
+     */
+    private final MemoryPressureMonitor memoryPressureMonitor;
+
+    public ExtraApiPluginInfoFinderImpl(ObjectProvider<JsEngineReadiness> jsEngineReadiness,
+        MemoryPressureMonitor memoryPressureMonitor) {
+        this.jsEngineReadiness = jsEngineReadiness;
+        this.memoryPressureMonitor = memoryPressureMonitor;
+    }
+
     @Override
     public Mono<Boolean> isFullVersion() {
         return Mono.fromCallable(this::detectFullVersion)
@@ -52,6 +73,22 @@ public class ExtraApiPluginInfoFinderImpl implements ExtraApiPluginInfoFinder {
         return isFullVersion();
     }
 
+    @Override
+    public Mono<Boolean> isJavaScriptReady() {
+        // 不缓存：后台预热完成后状态会变化
+        return Mono.fromSupplier(() -> {
+            // 引擎池与脚本引擎后端都实现了该接口，全部就绪才算就绪
+            List<JsEngineReadiness> readiness = jsEngineReadiness.stream().toList();
+            return !readiness.isEmpty() && readiness.stream().allMatch(JsEngineReadiness::isReady);
+        });
+    }
+
+    @Override
+    public Mono<MemoryPressureStats> getMemoryPressureStats() {
+        // 不缓存：每次返回最新快照
+        return Mono.fromSupplier(memoryPressureMonitor::getStats);
+    }
+
     /**
      * 检测当前是否为完整版
      * 通过尝试加载 V8EnginePoolService 类来判断
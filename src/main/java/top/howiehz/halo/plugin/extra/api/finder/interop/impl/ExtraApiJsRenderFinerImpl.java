@@ -7,6 +7,7 @@ import run.halo.app.theme.finders.Finder;
 import top.howiehz.halo.plugin.extra.api.finder.interop.ExtraApiJsRenderFinder;
 import top.howiehz.halo.plugin.extra.api.service.core.config.ShikiConfigSupplier;
 import top.howiehz.halo.plugin.extra.api.service.interop.post.render.shiki.ShikiRenderCodeService;
+import top.howiehz.halo.plugin.extra.api.service.interop.runtime.engine.EnginePriority;
 
 @Component
 @RequiredArgsConstructor
@@ -18,6 +19,7 @@ public class ExtraApiJsRenderFinerImpl implements ExtraApiJsRenderFinder {
     @Override
     public Mono<String> highlightCodeInHtml(String htmlContent) {
         return shikiConfigSupplier.get()
-            .map(shikiConfig -> shikiRenderCodeService.renderCode(htmlContent, shikiConfig));
+            .map(shikiConfig -> shikiRenderCodeService.renderCode(htmlContent, shikiConfig,
+                EnginePriority.FINDER));
     }
 }
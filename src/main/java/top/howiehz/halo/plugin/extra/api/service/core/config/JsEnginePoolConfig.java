@@ -20,4 +20,54 @@ public class JsEnginePoolConfig {
      * 最大池大小。
      */
     private int poolMaxSize;
+
+    /**
+     * Recycle an engine after this many executions, 0 disables the limit.
+     * 引擎执行多少次后回收，0 表示不限制。
+     */
+    private int engineMaxExecutions;
+
+    /**
+     * Recycle an engine when its used V8 heap exceeds this size in MB, 0 disables the limit.
+     * 引擎已用 V8 堆超过该大小（MB）时回收，0 表示不限制。
+     */
+    private int engineMaxHeapSizeMb;
+
+    /**
+     * Send a V8 low memory notification after an engine stays idle for this many seconds,
+     * 0 disables it.
+     * 引擎空闲超过该秒数后向 V8 发送低内存通知，0 表示禁用。
+     */
+    private int engineIdleLowMemorySeconds;
+
+    /**
+     * Terminate a single call after this many milliseconds and recycle its engine,
+     * 0 disables the watchdog.
+     * 单次调用超过该毫秒数后终止执行并回收引擎，0 表示禁用看门狗。
+     */
+    private int engineExecutionTimeoutMs;
+
+    /**
+     * Runtime flavour of the engines: NODE (default) or V8 (plain isolate with plugin shims).
+     * 引擎运行时类型：NODE（默认）或 V8（纯 V8 隔离实例，由插件提供垫片）。
+     */
+    private String runtimeMode;
+
+    /**
+     * Engines reserved for live page renders; finder and background work cannot use them.
+     * 为页面实时渲染预留的引擎数量，Finder 调用与后台任务不能占用。
+     */
+    private int interactiveReservedEngines;
+
+    /**
+     * Startup mode of the pool: EAGER, BACKGROUND or LAZY (default).
+     * 引擎池启动模式：EAGER（启动时预热）、BACKGROUND（后台预热）或 LAZY（默认，首次使用时创建）。
+     */
+    private String startupMode;
+
+    /**
+     * Script engine backend used by backend-neutral adapters: JAVET (default) or GRAALJS.
+     * 与引擎无关的适配器使用的脚本引擎后端：JAVET（默认）或 GRAALJS。
+     */
+    private String scriptBackend;
 }
@@ -0,0 +1,28 @@
+package top.howiehz.halo.plugin.extra.api.service.core.config;
+
+import lombok.Data;
+
+/**
+ * Configuration class for KaTeX math rendering.
+ * KaTeX 数学公式渲染配置文件类。
+ */
+@Data
+public class KatexConfig {
+    /**
+     * Whether to render math in post and page content on the server.
+     * 是否在服务端渲染文章和单页内容中的数学公式。
+     */
+    private boolean enabledKatexRender;
+
+    /**
+     * Whether single-dollar inline math ({@code $...$}) is recognised.
+     * 是否识别单个美元符号包裹的行内公式（{@code $...$}）。
+     */
+    private boolean renderInlineDollar;
+
+    /**
+     * Stylesheet URL injected into rendered pages.
+     * 注入到渲染页面的样式表地址。
+     */
+    private String cssUrl;
+}
@@ -0,0 +1,31 @@
+package top.howiehz.halo.plugin.extra.api.service.core.config;
+
+import org.springframework.stereotype.Component;
+import run.halo.app.plugin.ReactiveSettingFetcher;
+
+/**
+ * Supplier for KaTeX configuration that fetches settings reactively.
+ * KaTeX 配置的供应器，以响应式方式获取设置。
+ */
+@Component
+public class KatexConfigSupplier extends AbstractPluginConfigSupplier<KatexConfig> {
+
+    public KatexConfigSupplier(ReactiveSettingFetcher fetcher) {
+        super(fetcher);
+    }
+
+    @Override
+    protected String configKey() {
+        return "katex";
+    }
+
+    @Override
+    protected Class<KatexConfig> configType() {
+        return KatexConfig.class;
+    }
+
+    @Override
+    protected KatexConfig fallbackConfig() {
+        return new KatexConfig();
+    }
+}
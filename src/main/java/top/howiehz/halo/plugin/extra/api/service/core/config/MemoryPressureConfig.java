@@ -0,0 +1,40 @@
+package top.howiehz.halo.plugin.extra.api.service.core.config;
+
+import lombok.Data;
+
+/**
+ * Configuration class for the JVM memory-pressure monitor.
+ * JVM 内存压力监控配置文件类。
+ */
+@Data
+public class MemoryPressureConfig {
+    /**
+     * Whether caches and engines are shrunk when memory runs low.
+     * 内存紧张时是否收缩缓存与引擎。
+     */
+    private boolean enabledMemoryPressureMonitor = true;
+
+    /**
+     * Heap or RSS usage percentage at which caches are trimmed.
+     * 堆内存或常驻内存使用率达到该百分比时裁剪缓存。
+     */
+    private int elevatedPercent = 80;
+
+    /**
+     * Heap or RSS usage percentage at which caches are cleared and idle engines are closed.
+     * 堆内存或常驻内存使用率达到该百分比时清空缓存并关闭空闲引擎。
+     */
+    private int criticalPercent = 90;
+
+    /**
+     * Process RSS limit in MB, 0 to detect it from the cgroup or physical memory.
+     * 进程常驻内存上限（MB），0 表示从 cgroup 或物理内存自动检测。
+     */
+    private int rssLimitMb;
+
+    /**
+     * Interval between memory checks in seconds.
+     * 内存检查间隔（秒）。
+     */
+    private int checkIntervalSeconds = 10;
+}
@@ -0,0 +1,32 @@
+package top.howiehz.halo.plugin.extra.api.service.core.config;
+
+import org.springframework.stereotype.Component;
+import run.halo.app.plugin.ReactiveSettingFetcher;
+
+/**
+ * Supplier for memory-pressure monitor configuration that fetches settings reactively.
+ * 内存压力监控配置的供应器，以响应式方式获取设置。
+ */
+@Component
+public class MemoryPressureConfigSupplier
+    extends AbstractPluginConfigSupplier<MemoryPressureConfig> {
+
+    public MemoryPressureConfigSupplier(ReactiveSettingFetcher fetcher) {
+        super(fetcher);
+    }
+
+    @Override
+    protected String configKey() {
+        return "memoryPressure";
+    }
+
+    @Override
+    protected Class<MemoryPressureConfig> configType() {
+        return MemoryPressureConfig.class;
+    }
+
+    @Override
+    protected MemoryPressureConfig fallbackConfig() {
+        return new MemoryPressureConfig();
+    }
+}
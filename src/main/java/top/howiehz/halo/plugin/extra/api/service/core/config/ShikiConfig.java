@@ -62,4 +62,22 @@ public class ShikiConfig {
      * 双渲染模式下深色主题的主题名称。
      */
     private String darkTheme;
+
+    /**
+     * Whether to skip highlighting while the engine pool keeps failing.
+     * 引擎池持续故障时是否熔断（跳过高亮）。
+     */
+    private boolean enabledCircuitBreaker = true;
+
+    /**
+     * Consecutive engine failures before the circuit breaker opens.
+     * 熔断器打开前允许的引擎连续失败次数。
+     */
+    private int circuitBreakerFailureThreshold = 5;
+
+    /**
+     * Seconds the circuit breaker stays open before a probe call is allowed.
+     * 熔断器打开后允许探测调用前的冷却秒数。
+     */
+    private int circuitBreakerOpenSeconds = 30;
 }
@@ -0,0 +1,19 @@
+package top.howiehz.halo.plugin.extra.api.service.core.runtime;
+
+/**
+ * Readiness of the JavaScript engine pool, visible to code that must not depend on it.
+ * JavaScript 引擎池的就绪状态，供不能直接依赖引擎池的代码（如轻量版也包含的 Finder）查询。
+ *
+ * <p>Only the full version registers an implementation; the lite version has none.</p>
+ * <p>只有全量版会注册实现，轻量版中不存在该 Bean。</p>
+ */
+public interface JsEngineReadiness {
+
+    /**
+     * Whether the engine pool finished its startup warm-up and serves highlight requests.
+     * 引擎池是否已完成启动预热并开始处理高亮请求。
+     *
+     * @return true if ready / 已就绪时返回 true
+     */
+    boolean isReady();
+}
@@ -0,0 +1,33 @@
+package top.howiehz.halo.plugin.extra.api.service.core.runtime;
+
+import java.util.List;
+
+/**
+ * Report of the native libraries loaded by the plugin, visible to code that must not depend on
+ * the native runtimes.
+ * 插件加载的原生库报告，供不能直接依赖原生运行时的代码（如插件主类）查询。
+ *
+ * <p>Only the full version registers an implementation; the lite version has none.</p>
+ * <p>只有全量版会注册实现，轻量版中不存在该 Bean。</p>
+ */
+public interface NativeLibraryReport {
+
+    /**
+     * Get the native libraries loaded so far.
+     * 获取目前已加载的原生库。
+     *
+     * @return loaded libraries / 已加载的原生库
+     */
+    List<NativeLibraryLoad> getNativeLibraryLoads();
+
+    /**
+     * Load result of one native library.
+     * 单个原生库的加载结果。
+     *
+     * @param name library name / 库名称
+     * @param source where the library came from (cache, extracted, bundled, absent) / 库的来源（缓存、新解压、库自行解压、未内置）
+     * @param loadMillis time spent preparing and loading the library / 准备与加载库的耗时（毫秒）
+     */
+    record NativeLibraryLoad(String name, String source, long loadMillis) {
+    }
+}
@@ -0,0 +1,16 @@
+package top.howiehz.halo.plugin.extra.api.service.core.runtime.memory;
+
+import java.time.Instant;
+
+/**
+ * Action a component took in response to memory pressure.
+ * 组件为应对内存压力所执行的操作。
+ *
+ * @param at time of the action / 执行时间
+ * @param level pressure level that triggered it / 触发操作的压力等级
+ * @param component component name / 组件名称
+ * @param description what was released / 释放内容的描述
+ */
+public record MemoryPressureAction(Instant at, MemoryPressureLevel level, String component,
+                                   String description) {
+}
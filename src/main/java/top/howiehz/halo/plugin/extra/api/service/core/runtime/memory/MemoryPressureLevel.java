@@ -0,0 +1,25 @@
+package top.howiehz.halo.plugin.extra.api.service.core.runtime.memory;
+
+/**
+ * Memory pressure level derived from JVM heap and process RSS usage.
+ * 根据 JVM 堆内存与进程常驻内存使用率得出的内存压力等级。
+ */
+public enum MemoryPressureLevel {
+    /**
+     * Usage below the elevated threshold.
+     * 使用率低于告警阈值。
+     */
+    NORMAL,
+
+    /**
+     * Usage above the elevated threshold; caches should be trimmed.
+     * 使用率超过告警阈值，应裁剪缓存。
+     */
+    ELEVATED,
+
+    /**
+     * Usage above the critical threshold; caches should be cleared and idle engines closed.
+     * 使用率超过严重阈值，应清空缓存并关闭空闲引擎。
+     */
+    CRITICAL
+}
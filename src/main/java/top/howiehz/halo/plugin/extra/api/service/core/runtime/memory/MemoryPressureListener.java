@@ -0,0 +1,31 @@
+package top.howiehz.halo.plugin.extra.api.service.core.runtime.memory;
+
+/**
+ * Component that releases memory when the memory-pressure monitor asks it to.
+ * 在内存压力监控要求时释放内存的组件。
+ *
+ * <p>Listeners are called when the level changes and again after a cool-down while the
+ * pressure lasts, so each call should do a bounded amount of work. A call with
+ * {@link MemoryPressureLevel#NORMAL} lets the listener undo temporary measures.</p>
+ * <p>压力等级变化时以及压力持续期间每隔一段冷却时间都会调用监听器，因此每次调用的工作量应当有限。
+ * 以 {@link MemoryPressureLevel#NORMAL} 调用时，监听器可以撤销临时措施。</p>
+ */
+public interface MemoryPressureListener {
+
+    /**
+     * Name of the component, used in logs and statistics.
+     * 组件名称，用于日志与统计。
+     *
+     * @return component name / 组件名称
+     */
+    String getMemoryPressureComponentName();
+
+    /**
+     * Release memory for the given pressure level.
+     * 按给定的压力等级释放内存。
+     *
+     * @param level current pressure level / 当前压力等级
+     * @return description of the action taken, or null if nothing was done / 已执行操作的描述，未执行任何操作时返回 null
+     */
+    String onMemoryPressure(MemoryPressureLevel level);
+}
@@ -0,0 +1,326 @@
+package top.howiehz.halo.plugin.extra.api.service.core.runtime.memory;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.lang.management.MemoryUsage;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Component;
+import top.howiehz.halo.plugin.extra.api.service.core.config.MemoryPressureConfig;
+import top.howiehz.halo.plugin.extra.api.service.core.config.MemoryPressureConfigSupplier;
+
+/**
+ * Periodically samples JVM heap and process RSS usage and asks caches and engines to release
+ * memory when either runs close to its limit.
+ * 定期采样 JVM 堆内存与进程常驻内存（RSS），任一接近上限时通知缓存与引擎释放内存。
+ *
+ * <p>V8 isolates live off-heap and are invisible to the heap MXBeans, so RSS is compared with
+ * the configured limit, the cgroup limit or the physical memory, in that order. Heap usage is
+ * taken from the old generation after the last GC where available, so short-lived garbage does
+ * not trigger false alarms.</p>
+ * <p>V8 隔离实例位于堆外，堆内存 MXBean 无法感知，因此 RSS 会依次与配置的上限、cgroup 限制或物理内存比较。
+ * 堆使用率优先取老年代在上次 GC 之后的占用，避免短期垃圾造成误报。</p>
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class MemoryPressureMonitor implements InitializingBean, DisposableBean {
+
+    /**
+     * Usage must fall this far below a threshold before the level is lowered again.
+     * 使用率需要低于阈值该幅度后才会降低压力等级，避免在阈值附近反复切换。
+     */
+    static final double HYSTERESIS = 0.05;
+
+    /**
+     * Minimum delay before listeners are called again while the level stays the same.
+     * 压力等级不变时再次调用监听器的最短间隔。
+     */
+    private static final long REPEAT_COOL_DOWN_MILLIS = TimeUnit.SECONDS.toMillis(60);
+
+    private static final int MAX_RECENT_ACTIONS = 20;
+
+    private static final long UNLIMITED_CGROUP_BYTES = 1L << 60;
+
+    private final MemoryPressureConfigSupplier memoryPressureConfigSupplier;
+
+    private final ObjectProvider<MemoryPressureListener> listeners;
+
+    private final LongAdder elevatedEvents = new LongAdder();
+    private final LongAdder criticalEvents = new LongAdder();
+    private final Deque<MemoryPressureAction> recentActions = new ArrayDeque<>();
+
+    private ScheduledExecutorService scheduler;
+    private double elevatedRatio;
+    private double criticalRatio;
+    private long rssLimitBytes = -1;
+    private MemoryPoolMXBean oldGenPool;
+
+    private volatile MemoryPressureLevel level = MemoryPressureLevel.NORMAL;
+    private volatile MemorySample lastSample = new MemorySample(-1, -1, -1);
+    private long lastNotifiedAtMillis;
+
+    @Override
+    public void afterPropertiesSet() {
+        MemoryPressureConfig config = memoryPressureConfigSupplier.get().blockOptional()
+            .orElseGet(MemoryPressureConfig::new);
+        if (!config.isEnabledMemoryPressureMonitor()) {
+            log.info("内存压力监控已禁用");
+            return;
+        }
+        criticalRatio = clampPercent(config.getCriticalPercent(), 90) / 100.0;
+        elevatedRatio =
+            Math.min(clampPercent(config.getElevatedPercent(), 80) / 100.0, criticalRatio);
+        rssLimitBytes = config.getRssLimitMb() > 0
+            ? config.getRssLimitMb() * 1024L * 1024L
+            : detectRssLimitBytes();
+        oldGenPool = findOldGenPool();
+
+        long intervalSeconds = Math.max(1, config.getCheckIntervalSeconds());
+        scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "extra-api-memory-pressure");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.scheduleWithFixedDelay(this::check, intervalSeconds, intervalSeconds,
+            TimeUnit.SECONDS);
+        log.info("内存压力监控已启动: 告警={}%, 严重={}%, RSS 上限={}MB, 检查间隔={}s",
+            Math.round(elevatedRatio * 100), Math.round(criticalRatio * 100),
+            rssLimitBytes > 0 ? rssLimitBytes / 1024 / 1024 : -1, intervalSeconds);
+    }
+
+    @Override
+    public void destroy() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+        }
+    }
+
+    /**
+     * Sample memory usage and notify listeners when the pressure level requires it.
+     * 采样内存使用情况，并在压力等级需要时通知监听器。
+     */
+    void check() {
+        try {
+            MemorySample sample = sample();
+            lastSample = sample;
+            MemoryPressureLevel previous = level;
+            MemoryPressureLevel current = evaluate(previous,
+                ratio(sample.heapUsedBytes(), sample.heapMaxBytes()),
+                ratio(sample.rssBytes(), rssLimitBytes), elevatedRatio, criticalRatio);
+            level = current;
+
+            long now = System.currentTimeMillis();
+            boolean changed = current != previous;
+            boolean repeat = current != MemoryPressureLevel.NORMAL
+                && now - lastNotifiedAtMillis >= REPEAT_COOL_DOWN_MILLIS;
+            if (!changed && !repeat) {
+                return;
+            }
+            if (changed) {
+                log.warn("内存压力等级 {} -> {}: 堆 {}/{}MB, RSS {}/{}MB", previous, current,
+                    toMb(sample.heapUsedBytes()), toMb(sample.heapMaxBytes()),
+                    toMb(sample.rssBytes()), toMb(rssLimitBytes));
+            }
+            if (current == MemoryPressureLevel.ELEVATED) {
+                elevatedEvents.increment();
+            } else if (current == MemoryPressureLevel.CRITICAL) {
+                criticalEvents.increment();
+            }
+            lastNotifiedAtMillis = now;
+            notifyListeners(current);
+        } catch (Exception e) {
+            log.warn("内存压力检查失败: {}", e.getMessage());
+        }
+    }
+
+    private void notifyListeners(MemoryPressureLevel current) {
+        listeners.orderedStream().forEach(listener -> {
+            String component = listener.getMemoryPressureComponentName();
+            try {
+                String description = listener.onMemoryPressure(current);
+                if (description != null) {
+                    log.info("内存压力 [{}] {}: {}", current, component, description);
+                    recordAction(new MemoryPressureAction(Instant.now(), current, component,
+                        description));
+                }
+            } catch (Exception e) {
+                log.warn("内存压力处理失败 [{}]: {}", component, e.getMessage());
+            }
+        });
+    }
+
+    private void recordAction(MemoryPressureAction action) {
+        synchronized (recentActions) {
+            recentActions.addFirst(action);
+            while (recentActions.size() > MAX_RECENT_ACTIONS) {
+                recentActions.removeLast();
+            }
+        }
+    }
+
+    /**
+     * Compute the pressure level from heap and RSS usage ratios.
+     * 根据堆内存与 RSS 使用率计算压力等级。
+     *
+     * <p>A ratio below zero means unknown and is ignored. The level only drops once usage is
+     * {@link #HYSTERESIS} below the threshold it crossed.</p>
+     * <p>小于零的使用率表示未知并被忽略；使用率需低于所越过阈值 {@link #HYSTERESIS} 后等级才会下降。</p>
+     *
+     * @param previous level of the previous check / 上次检查的等级
+     * @param heapRatio heap usage ratio / 堆内存使用率
+     * @param rssRatio RSS usage ratio / RSS 使用率
+     * @param elevated elevated threshold ratio / 告警阈值
+     * @param critical critical threshold ratio / 严重阈值
+     * @return current level / 当前等级
+     */
+    static MemoryPressureLevel evaluate(MemoryPressureLevel previous, double heapRatio,
+        double rssRatio, double elevated, double critical) {
+        double usage = Math.max(heapRatio, rssRatio);
+        if (usage < 0) {
+            return MemoryPressureLevel.NORMAL;
+        }
+        double criticalThreshold =
+            previous == MemoryPressureLevel.CRITICAL ? critical - HYSTERESIS : critical;
+        double elevatedThreshold =
+            previous != MemoryPressureLevel.NORMAL ? elevated - HYSTERESIS : elevated;
+        if (usage >= criticalThreshold) {
+            return MemoryPressureLevel.CRITICAL;
+        }
+        if (usage >= elevatedThreshold) {
+            return MemoryPressureLevel.ELEVATED;
+        }
+        return MemoryPressureLevel.NORMAL;
+    }
+
+    /**
+     * Get the current pressure level.
+     * 获取当前内存压力等级。
+     *
+     * @return pressure level / 压力等级
+     */
+    public MemoryPressureLevel getLevel() {
+        return level;
+    }
+
+    /**
+     * Get a snapshot of the monitor state and the most recent actions taken.
+     * 获取监控状态与最近执行操作的快照。
+     *
+     * @return memory pressure stats / 内存压力统计
+     */
+    public MemoryPressureStats getStats() {
+        MemorySample sample = lastSample;
+        List<MemoryPressureAction> actions;
+        synchronized (recentActions) {
+            actions = List.copyOf(recentActions);
+        }
+        return new MemoryPressureStats(scheduler != null, level, sample.heapUsedBytes(),
+            sample.heapMaxBytes(), sample.rssBytes(), rssLimitBytes, elevatedEvents.sum(),
+            criticalEvents.sum(), actions);
+    }
+
+    private MemorySample sample() {
+        long heapUsed;
+        long heapMax;
+        MemoryUsage afterGc = oldGenPool != null ? oldGenPool.getCollectionUsage() : null;
+        if (afterGc != null && afterGc.getMax() > 0) {
+            heapUsed = afterGc.getUsed();
+            heapMax = afterGc.getMax();
+        } else {
+            MemoryUsage heap = ManagementFactory.getMemoryMXBean().getHeapMemoryUsage();
+            heapUsed = heap.getUsed();
+            heapMax = heap.getMax() > 0 ? heap.getMax() : heap.getCommitted();
+        }
+        return new MemorySample(heapUsed, heapMax, readRssBytes());
+    }
+
+    private static MemoryPoolMXBean findOldGenPool() {
+        for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+            String name = pool.getName().toLowerCase(Locale.ROOT);
+            if (pool.getType() == MemoryType.HEAP && pool.isCollectionUsageThresholdSupported()
+                && (name.contains("old") || name.contains("tenured"))) {
+                return pool;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Read the resident set size of this process (Linux only).
+     * 读取当前进程的常驻内存大小（仅 Linux）。
+     */
+    private static long readRssBytes() {
+        try {
+            for (String line : Files.readAllLines(Path.of("/proc/self/status"))) {
+                if (line.startsWith("VmRSS:")) {
+                    String kb = line.substring("VmRSS:".length()).replace("kB", "").trim();
+                    return Long.parseLong(kb) * 1024L;
+                }
+            }
+        } catch (IOException | RuntimeException e) {
+            log.trace("无法读取进程 RSS: {}", e.getMessage());
+        }
+        return -1;
+    }
+
+    /**
+     * Detect the memory limit of this process: cgroup v2, cgroup v1, then physical memory.
+     * 检测进程的内存上限：依次尝试 cgroup v2、cgroup v1 与物理内存。
+     */
+    private static long detectRssLimitBytes() {
+        for (String file : List.of("/sys/fs/cgroup/memory.max",
+            "/sys/fs/cgroup/memory/memory.limit_in_bytes")) {
+            try {
+                Path path = Path.of(file);
+                if (Files.isReadable(path)) {
+                    String value = Files.readString(path).trim();
+                    if (!"max".equals(value)) {
+                        long limit = Long.parseLong(value);
+                        if (limit > 0 && limit < UNLIMITED_CGROUP_BYTES) {
+                            return limit;
+                        }
+                    }
+                }
+            } catch (IOException | RuntimeException e) {
+                log.trace("无法读取 cgroup 内存限制 {}: {}", file, e.getMessage());
+            }
+        }
+        if (ManagementFactory.getOperatingSystemMXBean()
+            instanceof com.sun.management.OperatingSystemMXBean osBean) {
+            return osBean.getTotalMemorySize();
+        }
+        return -1;
+    }
+
+    private static double ratio(long used, long max) {
+        return used >= 0 && max > 0 ? (double) used / max : -1;
+    }
+
+    private static long toMb(long bytes) {
+        return bytes >= 0 ? bytes / 1024 / 1024 : -1;
+    }
+
+    private static int clampPercent(int percent, int defaultPercent) {
+        return percent > 0 && percent <= 100 ? percent : defaultPercent;
+    }
+
+    private record MemorySample(long heapUsedBytes, long heapMaxBytes, long rssBytes) {
+    }
+}
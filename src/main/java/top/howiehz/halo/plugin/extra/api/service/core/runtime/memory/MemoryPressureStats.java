@@ -0,0 +1,23 @@
+package top.howiehz.halo.plugin.extra.api.service.core.runtime.memory;
+
+import java.util.List;
+
+/**
+ * Snapshot of the memory-pressure monitor.
+ * 内存压力监控的状态快照。
+ *
+ * @param enabled whether the monitor is running / 监控是否在运行
+ * @param level current pressure level / 当前压力等级
+ * @param heapUsedBytes heap used at the last check, -1 if unknown / 上次检查时的堆使用量，未知时为 -1
+ * @param heapMaxBytes heap limit at the last check, -1 if unknown / 上次检查时的堆上限，未知时为 -1
+ * @param rssBytes process RSS at the last check, -1 if unknown / 上次检查时的进程 RSS，未知时为 -1
+ * @param rssLimitBytes RSS limit compared against, -1 if unknown / 用于比较的 RSS 上限，未知时为 -1
+ * @param elevatedEvents times listeners were called at the elevated level / 以告警等级调用监听器的次数
+ * @param criticalEvents times listeners were called at the critical level / 以严重等级调用监听器的次数
+ * @param recentActions most recent actions, newest first / 最近执行的操作，最新的在前
+ */
+public record MemoryPressureStats(boolean enabled, MemoryPressureLevel level, long heapUsedBytes,
+                                  long heapMaxBytes, long rssBytes, long rssLimitBytes,
+                                  long elevatedEvents, long criticalEvents,
+                                  List<MemoryPressureAction> recentActions) {
+}
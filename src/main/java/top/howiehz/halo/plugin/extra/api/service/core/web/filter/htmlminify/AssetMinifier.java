@@ -0,0 +1,325 @@
+package top.howiehz.halo.plugin.extra.api.service.core.web.filter.htmlminify;
+
+import java.util.Locale;
+import java.util.Set;
+import org.springframework.http.MediaType;
+
+/**
+ * Pure-Java minifier for standalone CSS and JavaScript assets.
+ * 独立 CSS 与 JavaScript 静态资源的纯 Java 压缩器。
+ *
+ * <p>CSS goes through the same compaction as inline styles. JavaScript is minified
+ * conservatively, without a parser:</p>
+ * <ul>
+ *   <li>comments are removed, except {@code /*!} license comments</li>
+ *   <li>indentation and blank lines are removed; other whitespace is dropped unless it separates
+ *   two words or keeps operators such as {@code + +} apart</li>
+ *   <li>line breaks are kept unless a bracket or separator makes them redundant, so automatic
+ *   semicolon insertion behaves as before</li>
+ *   <li>strings, template literals and regular expression literals are copied verbatim</li>
+ * </ul>
+ * <p>CSS 与内联样式使用相同的压缩方式。JavaScript 在不解析语法的前提下保守压缩：移除注释（保留 {@code /*!} 版权注释）；
+ * 移除缩进与空行，其余空白仅在分隔两个单词或避免 {@code + +} 这类运算符相连时保留；除非括号或分隔符使换行变得多余，否则保留换行，
+ * 自动分号插入的行为保持不变；字符串、模板字符串与正则表达式字面量原样复制。</p>
+ */
+final class AssetMinifier {
+
+    /**
+     * Keywords after which a {@code /} starts a regular expression rather than a division.
+     * 之后的 {@code /} 表示正则表达式而非除法的关键字。
+     */
+    private static final Set<String> REGEX_KEYWORDS = Set.of(
+        "case", "delete", "do", "else", "in", "instanceof", "new", "return", "throw", "typeof",
+        "void", "yield", "await");
+
+    private AssetMinifier() {
+    }
+
+    /**
+     * Minify an asset.
+     * 压缩静态资源。
+     *
+     * @param type asset type / 资源类型
+     * @param source asset source / 资源源码
+     * @return minified source / 压缩后的源码
+     */
+    static String minify(AssetType type, String source) {
+        return switch (type) {
+            case CSS -> JavaHtmlMinifier.minifyCss(source);
+            case JAVASCRIPT -> minifyJs(source);
+        };
+    }
+
+    /**
+     * Whether the file name marks an asset that is already minified.
+     * 文件名是否表明资源已经压缩过。
+     *
+     * @param path request path / 请求路径
+     * @return true for names such as {@code app.min.js} / 对 {@code app.min.js} 这类文件名返回 true
+     */
+    static boolean isPreminified(String path) {
+        int slash = path.lastIndexOf('/');
+        return path.substring(slash + 1).toLowerCase(Locale.ROOT).contains(".min.");
+    }
+
+    /**
+     * Minify JavaScript by removing comments and redundant whitespace.
+     * 移除注释与多余空白以压缩 JavaScript。
+     *
+     * @param js JavaScript source / JavaScript 源码
+     * @return minified JavaScript / 压缩后的 JavaScript
+     */
+    static String minifyJs(String js) {
+        return new JsPass(js).run();
+    }
+
+    private static final class JsPass {
+        private static final int NONE = 0;
+        private static final int SPACE = 1;
+        private static final int NEWLINE = 2;
+
+        private final String js;
+        private final int length;
+        private final StringBuilder out;
+        private int pos;
+        private int pending = NONE;
+        private boolean regexAllowed = true;
+        private boolean afterRegex;
+
+        private JsPass(String js) {
+            this.js = js;
+            this.length = js.length();
+            this.out = new StringBuilder(length);
+        }
+
+        private String run() {
+            while (pos < length) {
+                char c = js.charAt(pos);
+                if (c == '\n' || c == '\r' || c == '\u2028' || c == '\u2029') {
+                    pending = NEWLINE;
+                    pos++;
+                } else if (Character.isWhitespace(c) || c == '\u00A0' || c == '\uFEFF') {
+                    pending = Math.max(pending, SPACE);
+                    pos++;
+                } else if (c == '/' && peek(1) == '/') {
+                    int end = pos + 2;
+                    while (end < length && !isLineTerminator(js.charAt(end))) {
+                        end++;
+                    }
+                    pos = end;
+                } else if (c == '/' && peek(1) == '*') {
+                    blockComment();
+                } else if (c == '"' || c == '\'') {
+                    copyToken(skipString(pos, c));
+                    regexAllowed = false;
+                } else if (c == '`') {
+                    copyToken(skipTemplate(pos));
+                    regexAllowed = false;
+                } else if (c == '/' && regexAllowed) {
+                    copyToken(skipRegex(pos));
+                    regexAllowed = false;
+                    afterRegex = true;
+                } else if (isIdentifierChar(c)) {
+                    int end = pos;
+                    while (end < length && isIdentifierChar(js.charAt(end))) {
+                        end++;
+                    }
+                    String word = js.substring(pos, end);
+                    copyToken(end);
+                    regexAllowed = REGEX_KEYWORDS.contains(word);
+                } else {
+                    copyToken(pos + 1);
+                    // ) 与 ] 之后的 / 视为除法；} 之后既可能是语句开头也可能是对象字面量，按正则处理以原样保留
+                    regexAllowed = c != ')' && c != ']';
+                }
+            }
+            return out.toString();
+        }
+
+        private void blockComment() {
+            int close = js.indexOf("*/", pos + 2);
+            int end = close < 0 ? length : close + 2;
+            if (peek(2) == '!') {
+                copyToken(end);
+                pending = NEWLINE;
+                return;
+            }
+            if (js.substring(pos, end).chars().anyMatch(ch -> isLineTerminator((char) ch))) {
+                pending = NEWLINE;
+            } else {
+                pending = Math.max(pending, SPACE);
+            }
+            pos = end;
+        }
+
+        private void copyToken(int tokenEnd) {
+            int end = Math.min(tokenEnd, length);
+            char next = js.charAt(pos);
+            if (!out.isEmpty() && pending != NONE) {
+                char previous = out.charAt(out.length() - 1);
+                if (pending == NEWLINE && !isNewlineRedundant(previous, next)) {
+                    out.append('\n');
+                } else if (needsSpace(previous, next)
+                    || (afterRegex && isIdentifierChar(next))) {
+                    // 正则表达式之后的单词不能变成标志位
+                    out.append(' ');
+                }
+            }
+            pending = NONE;
+            afterRegex = false;
+            out.append(js, pos, end);
+            pos = end;
+        }
+
+        private int skipString(int start, char quote) {
+            int i = start + 1;
+            while (i < length) {
+                char c = js.charAt(i);
+                if (c == '\\') {
+                    i += 2;
+                } else if (c == quote || c == '\n') {
+                    return i + 1;
+                } else {
+                    i++;
+                }
+            }
+            return length;
+        }
+
+        private int skipTemplate(int start) {
+            int i = start + 1;
+            while (i < length) {
+                char c = js.charAt(i);
+                if (c == '\\') {
+                    i += 2;
+                } else if (c == '`') {
+                    return i + 1;
+                } else if (c == '$' && i + 1 < length && js.charAt(i + 1) == '{') {
+                    i = skipPlaceholder(i + 2);
+                } else {
+                    i++;
+                }
+            }
+            return length;
+        }
+
+        private int skipPlaceholder(int start) {
+            int depth = 1;
+            int i = start;
+            while (i < length) {
+                char c = js.charAt(i);
+                if (c == '"' || c == '\'') {
+                    i = skipString(i, c);
+                } else if (c == '`') {
+                    i = skipTemplate(i);
+                } else if (c == '{') {
+                    depth++;
+                    i++;
+                } else if (c == '}') {
+                    if (--depth == 0) {
+                        return i + 1;
+                    }
+                    i++;
+                } else {
+                    i++;
+                }
+            }
+            return length;
+        }
+
+        private int skipRegex(int start) {
+            int i = start + 1;
+            boolean inClass = false;
+            while (i < length) {
+                char c = js.charAt(i);
+                if (c == '\\') {
+                    i += 2;
+                    continue;
+                }
+                if (isLineTerminator(c)) {
+                    return i;
+                }
+                if (c == '[') {
+                    inClass = true;
+                } else if (c == ']') {
+                    inClass = false;
+                } else if (c == '/' && !inClass) {
+                    i++;
+                    while (i < length && isIdentifierChar(js.charAt(i))) {
+                        i++;
+                    }
+                    return i;
+                }
+                i++;
+            }
+            return length;
+        }
+
+        private char peek(int offset) {
+            return pos + offset < length ? js.charAt(pos + offset) : '\0';
+        }
+    }
+
+    /**
+     * Whether dropping the whitespace between the two characters would merge tokens.
+     * 移除两个字符之间的空白是否会使记号相连。
+     */
+    private static boolean needsSpace(char previous, char next) {
+        if (isIdentifierChar(previous)) {
+            // 1 .toString() 中的空格不能移除
+            return isIdentifierChar(next) || next == '.';
+        }
+        return switch (previous) {
+            case '+', '-' -> next == previous || (previous == '-' && next == '>');
+            case '/' -> next == '/' || next == '*';
+            case '<' -> next == '!';
+            default -> false;
+        };
+    }
+
+    /**
+     * Whether a line break between the two characters never changes how the code parses.
+     * 两个字符之间的换行是否不会改变代码的解析结果。
+     */
+    private static boolean isNewlineRedundant(char previous, char next) {
+        return previous == '{' || previous == '(' || previous == '[' || previous == ';'
+            || previous == ',' || next == '}' || next == ')' || next == ']' || next == ';'
+            || next == ',';
+    }
+
+    private static boolean isLineTerminator(char c) {
+        return c == '\n' || c == '\r' || c == '\u2028' || c == '\u2029';
+    }
+
+    private static boolean isIdentifierChar(char c) {
+        return Character.isLetterOrDigit(c) || c == '_' || c == '$' || c == '\\' || c > 0x7f;
+    }
+
+    /**
+     * Asset types handled by the asset filter.
+     * 静态资源过滤器处理的资源类型。
+     */
+    enum AssetType {
+        CSS,
+        JAVASCRIPT;
+
+        /**
+         * Resolve the asset type of a response content type.
+         * 根据响应内容类型解析资源类型。
+         *
+         * @param contentType response content type / 响应内容类型
+         * @return asset type, or null for other content / 资源类型，其他内容返回 null
+         */
+        static AssetType of(MediaType contentType) {
+            if (contentType == null) {
+                return null;
+            }
+            String subtype = contentType.getSubtype().toLowerCase(Locale.ROOT);
+            if ("text".equalsIgnoreCase(contentType.getType()) && "css".equals(subtype)) {
+                return CSS;
+            }
+            return ("javascript".equals(subtype) || "x-javascript".equals(subtype)
+                || "ecmascript".equals(subtype)) ? JAVASCRIPT : null;
+        }
+    }
+}
@@ -0,0 +1,235 @@
+package top.howiehz.halo.plugin.extra.api.service.core.web.filter.htmlminify;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.Supplier;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.jspecify.annotations.NonNull;
+import org.reactivestreams.Publisher;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.http.server.reactive.ServerHttpResponseDecorator;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilterChain;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import run.halo.app.security.AdditionalWebFilter;
+import top.howiehz.halo.plugin.extra.api.service.core.web.filter.htmlminify.AssetMinifier.AssetType;
+import top.howiehz.halo.plugin.extra.api.service.core.web.pathrule.PathRuleRegistry;
+
+/**
+ * Additional web filter that minifies and precompresses theme and plugin CSS/JavaScript assets.
+ * 压缩并预压缩主题与插件 CSS/JavaScript 静态资源的附加 Web 过滤器。
+ *
+ * <p><b>处理方式:</b></p>
+ * <ul>
+ *   <li>只处理命中资源路径规则且未被排除的 GET 请求，响应须为 200、UTF-8 且未经内容编码的 CSS 或 JavaScript</li>
+ *   <li>资源内容在部署之间不会变化，以内容哈希为键在 {@link HtmlMinifyCache} 中缓存压缩结果及其预压缩变体，
+ *   每个资源版本只压缩、编码一次</li>
+ *   <li>文件名含 {@code .min.} 的资源已经压缩过，只做预压缩</li>
+ *   <li>压缩与编码在 {@link HtmlMinifyScheduler} 上执行，线程饱和或失败时原样返回资源</li>
+ * </ul>
+ *
+ * <p><b>缓存头:</b> 返回按内容计算的强 ETag，匹配的重新验证请求直接返回 304；带版本查询参数
+ * （{@code ?v=} 或 {@code ?ver=}，如主题的 {@code ?v=版本号}）的资源 URL 随版本变化，额外返回一年有效期的
+ * {@code immutable} 缓存头，其他查询参数不影响上游返回的缓存头</p>
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class AssetMinifyWebFilter implements AdditionalWebFilter {
+    private final Supplier<Mono<HtmlMinifyConfig>> htmlMinifyConfigSupplier;
+    private final HtmlMinifyCache htmlMinifyCache;
+    private final HtmlContentEncoder htmlContentEncoder;
+    private final PathRuleRegistry pathRuleRegistry;
+    private final HtmlMinifyScheduler htmlMinifyScheduler;
+
+    /**
+     * Cache-Control sent for asset URLs that carry a version query.
+     * 带版本查询参数的资源 URL 返回的 Cache-Control。
+     */
+    static final String VERSIONED_CACHE_CONTROL = "public, max-age=31536000, immutable";
+
+    /**
+     * Query parameters that carry an asset version.
+     * 携带资源版本号的查询参数。
+     */
+    private static final List<String> VERSION_QUERY_PARAMS = List.of("v", "ver");
+
+    @Override
+    public @NonNull Mono<Void> filter(@NonNull ServerWebExchange exchange,
+        @NonNull WebFilterChain chain) {
+        if (exchange.getRequest().getMethod() != HttpMethod.GET) {
+            return chain.filter(exchange);
+        }
+        return htmlMinifyConfigSupplier.get()
+            .flatMap(config -> {
+                String path = exchange.getRequest().getPath().value();
+                if (!config.isEnabledAssetMinify() || !isAssetPath(path, config)) {
+                    return chain.filter(exchange);
+                }
+                return chain.filter(exchange.mutate()
+                    .response(new AssetResponseDecorator(exchange, config))
+                    .build());
+            });
+    }
+
+    boolean isAssetPath(String path, HtmlMinifyConfig config) {
+        return pathRuleRegistry.matcher("htmlMinify.assetPaths", config.getAssetPaths())
+            .matches(path)
+            && !pathRuleRegistry.matcher("htmlMinify.assetExcludePaths",
+            config.getAssetExcludePaths()).matches(path);
+    }
+
+    AssetType eligibleAssetType(ServerHttpResponse response) {
+        var statusCode = response.getStatusCode();
+        if (statusCode != null && !statusCode.isSameCodeAs(HttpStatus.OK)) {
+            return null;
+        }
+        AssetType type = AssetType.of(response.getHeaders().getContentType());
+        return type != null && HtmlMinifyWebFilter.hasNoEncodedBody(response)
+            && HtmlMinifyWebFilter.usesUtf8Charset(response) ? type : null;
+    }
+
+    /**
+     * Whether the request URL carries a non-empty version query parameter.
+     * 判断请求 URL 是否带有非空的版本查询参数。
+     */
+    private static boolean hasVersionQuery(ServerHttpRequest request) {
+        var queryParams = request.getQueryParams();
+        return VERSION_QUERY_PARAMS.stream()
+            .map(queryParams::getFirst)
+            .anyMatch(value -> value != null && !value.isBlank());
+    }
+
+    @Override
+    public int getOrder() {
+        return LOWEST_PRECEDENCE;
+    }
+
+    class AssetResponseDecorator extends ServerHttpResponseDecorator {
+        private final ServerWebExchange exchange;
+        private final HtmlMinifyConfig config;
+
+        AssetResponseDecorator(ServerWebExchange exchange, HtmlMinifyConfig config) {
+            super(exchange.getResponse());
+            this.exchange = exchange;
+            this.config = config;
+        }
+
+        @Override
+        public @NonNull Mono<Void> writeWith(@NonNull Publisher<? extends DataBuffer> body) {
+            var response = getDelegate();
+            AssetType type = eligibleAssetType(response);
+            if (type == null) {
+                return super.writeWith(body);
+            }
+            return super.writeWith(DataBufferUtils.join(Flux.from(body))
+                .flatMap(dataBuffer -> optimize(dataBuffer, type, response)));
+        }
+
+        @Override
+        public @NonNull Mono<Void> writeAndFlushWith(
+            @NonNull Publisher<? extends Publisher<? extends DataBuffer>> body) {
+            var response = getDelegate();
+            AssetType type = eligibleAssetType(response);
+            if (type == null) {
+                return super.writeAndFlushWith(body);
+            }
+            var flattenedBody = Flux.from(body).flatMapSequential(publisher -> publisher);
+            return super.writeAndFlushWith(DataBufferUtils.join(flattenedBody)
+                .flatMap(dataBuffer -> optimize(dataBuffer, type, response))
+                .flux()
+                .map(Flux::just));
+        }
+
+        private Mono<DataBuffer> optimize(DataBuffer dataBuffer, AssetType type,
+            ServerHttpResponse response) {
+            if (dataBuffer.readableByteCount() == 0) {
+                return Mono.just(
+                    HtmlMinifyWebFilter.createHtmlResponseBuffer(dataBuffer, response));
+            }
+            String path = exchange.getRequest().getPath().value();
+            boolean minify = !AssetMinifier.isPreminified(path);
+            HtmlMinifyCache.Key key = htmlMinifyCache.assetKeyOf(dataBuffer, type, minify);
+            byte[] cached = htmlMinifyCache.get(key);
+            if (cached != null) {
+                DataBufferUtils.release(dataBuffer);
+                return encodeResponse(key, cached, response, path);
+            }
+            byte[] source = new byte[dataBuffer.readableByteCount()];
+            try {
+                dataBuffer.read(source);
+            } finally {
+                DataBufferUtils.release(dataBuffer);
+            }
+            Mono<byte[]> minified = minify
+                ? htmlMinifyScheduler.submit(() -> AssetMinifier.minify(type,
+                    new String(source, StandardCharsets.UTF_8)).getBytes(StandardCharsets.UTF_8))
+                : Mono.just(source);
+            return minified
+                .doOnNext(bytes -> htmlMinifyCache.put(key, bytes))
+                .flatMap(bytes -> encodeResponse(key, bytes, response, path))
+                .doOnError(RejectedExecutionException.class, error -> log.debug(
+                    "静态资源压缩线程已饱和，路径 [{}] 返回原始资源", path))
+                .doOnError(error -> !(error instanceof RejectedExecutionException),
+                    error -> log.warn("Failed to minify asset response for path [{}]", path,
+                        error))
+                .onErrorResume(error -> Mono.fromSupplier(
+                    () -> HtmlMinifyWebFilter.createHtmlResponseBuffer(source, response)));
+        }
+
+        private Mono<DataBuffer> encodeResponse(HtmlMinifyCache.Key key, byte[] minified,
+            ServerHttpResponse response, String path) {
+            HtmlMinifyWebFilter.addVaryAcceptEncoding(response);
+            HtmlContentEncoding encoding = htmlContentEncoder.negotiate(
+                exchange.getRequest().getHeaders().getFirst(HttpHeaders.ACCEPT_ENCODING),
+                config.getPrecompressEncodings());
+            if (encoding == null) {
+                return Mono.just(writeRepresentation(minified, null, minified, response));
+            }
+            byte[] cached = htmlMinifyCache.getEncoded(key, encoding);
+            Mono<byte[]> encoded = cached != null
+                ? Mono.just(cached)
+                : htmlMinifyScheduler.submit(() -> htmlContentEncoder.encode(encoding, minified))
+                    .doOnNext(bytes -> htmlMinifyCache.putEncoded(key, encoding, bytes));
+            return encoded
+                .map(bytes -> writeRepresentation(minified, encoding, bytes, response))
+                .doOnError(error -> !(error instanceof RejectedExecutionException),
+                    error -> log.warn("Failed to encode asset response for path [{}] with [{}]",
+                        path, encoding.getToken(), error))
+                .onErrorResume(error -> Mono.fromSupplier(
+                    () -> writeRepresentation(minified, null, minified, response)));
+        }
+
+        private DataBuffer writeRepresentation(byte[] minified, HtmlContentEncoding encoding,
+            byte[] body, ServerHttpResponse response) {
+            HttpHeaders headers = response.getHeaders();
+            if (encoding != null) {
+                headers.set(HttpHeaders.CONTENT_ENCODING, encoding.getToken());
+            }
+            ServerHttpRequest request = exchange.getRequest();
+            if (hasVersionQuery(request)) {
+                // 查询参数中的版本号随资源更新而变化，同一 URL 的内容不会再改变
+                headers.setCacheControl(VERSIONED_CACHE_CONTROL);
+            }
+            String etag = HtmlEtagStore.etagOf(HtmlMinifyCache.contentHash(minified), encoding);
+            headers.setETag(etag);
+            if (!HtmlEtagStore.matches(HtmlMinifyWebFilter.ifNoneMatch(request), etag)) {
+                return HtmlMinifyWebFilter.createHtmlResponseBuffer(body, response);
+            }
+            response.setStatusCode(HttpStatus.NOT_MODIFIED);
+            headers.remove(HttpHeaders.CONTENT_ENCODING);
+            headers.remove(HttpHeaders.CONTENT_LENGTH);
+            return response.bufferFactory().wrap(new byte[0]);
+        }
+    }
+}
@@ -0,0 +1,203 @@
+package top.howiehz.halo.plugin.extra.api.service.core.web.filter.htmlminify;
+
+import com.aayushatharva.brotli4j.Brotli4jLoader;
+import com.aayushatharva.brotli4j.encoder.Encoder;
+import com.github.luben.zstd.Zstd;
+import com.github.luben.zstd.util.Native;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.zip.Deflater;
+import java.util.zip.GZIPOutputStream;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+/**
+ * Negotiates and produces precompressed variants of minified pages.
+ * 协商并生成压缩后页面的预压缩变体。
+ *
+ * <p>Gzip comes with the JDK. Brotli and Zstandard rely on native libraries bundled with the
+ * full variants; a coding whose library cannot be loaded on the current platform is simply
+ * never negotiated.</p>
+ * <p>Gzip 由 JDK 提供；Brotli 与 Zstandard 依赖全量版打包的原生库，当前平台无法加载对应原生库时不会协商该编码。</p>
+ *
+ * <p>Variants are produced once per page and cached, so higher compression levels than a
+ * per-request compressor would use are affordable.</p>
+ * <p>每个页面的变体只生成一次并缓存，因此可以使用比逐请求压缩更高的压缩级别。</p>
+ */
+@Slf4j
+@Component
+public class HtmlContentEncoder {
+
+    /**
+     * Brotli quality; 11 is about ten times slower for a few percent smaller output.
+     * Brotli 压缩质量；11 级的耗时约为十倍，输出只小几个百分点。
+     */
+    static final int BROTLI_QUALITY = 9;
+
+    /**
+     * Zstandard level.
+     * Zstandard 压缩级别。
+     */
+    static final int ZSTD_LEVEL = 12;
+
+    private final Set<HtmlContentEncoding> availableEncodings;
+
+    public HtmlContentEncoder() {
+        Set<HtmlContentEncoding> available = EnumSet.of(HtmlContentEncoding.GZIP);
+        if (loadBrotli()) {
+            available.add(HtmlContentEncoding.BROTLI);
+        }
+        if (loadZstd()) {
+            available.add(HtmlContentEncoding.ZSTD);
+        }
+        this.availableEncodings = Set.copyOf(available);
+        log.debug("HTML 预压缩可用编码: {}", availableEncodings);
+    }
+
+    /**
+     * Get the codings whose encoder is available on this platform.
+     * 获取当前平台可用的编码。
+     *
+     * @return available codings / 可用编码
+     */
+    public Set<HtmlContentEncoding> getAvailableEncodings() {
+        return availableEncodings;
+    }
+
+    /**
+     * Pick the coding to respond with.
+     * 选择响应使用的编码。
+     *
+     * <p>The highest {@code q} value wins, ties are broken by server preference; {@code q=0}
+     * excludes a coding and {@code *} stands for codings not listed explicitly.</p>
+     * <p>{@code q} 值最高者优先，相同时按服务端偏好排序；{@code q=0} 表示排除该编码，{@code *} 代表未显式列出的编码。</p>
+     *
+     * @param acceptEncoding request {@code Accept-Encoding} header / 请求的 {@code Accept-Encoding} 头
+     * @param enabledTokens codings enabled in the configuration / 配置中启用的编码
+     * @return negotiated coding or null to respond uncompressed / 协商出的编码，不压缩时为 null
+     */
+    public HtmlContentEncoding negotiate(String acceptEncoding,
+        Collection<String> enabledTokens) {
+        if (acceptEncoding == null || acceptEncoding.isBlank() || enabledTokens == null) {
+            return null;
+        }
+        Map<HtmlContentEncoding, Double> weights = new EnumMap<>(HtmlContentEncoding.class);
+        Double wildcard = null;
+        for (String part : acceptEncoding.split(",")) {
+            String[] params = part.split(";");
+            String token = params[0].trim().toLowerCase(Locale.ROOT);
+            double q = parseQuality(params);
+            if ("*".equals(token)) {
+                wildcard = q;
+                continue;
+            }
+            HtmlContentEncoding encoding = HtmlContentEncoding.fromToken(token);
+            if (encoding != null) {
+                weights.put(encoding, q);
+            }
+        }
+        HtmlContentEncoding best = null;
+        double bestWeight = 0;
+        for (HtmlContentEncoding encoding : HtmlContentEncoding.values()) {
+            if (!availableEncodings.contains(encoding)
+                || !enabledTokens.contains(encoding.getToken())) {
+                continue;
+            }
+            Double weight = weights.getOrDefault(encoding, wildcard);
+            if (weight != null && weight > bestWeight) {
+                best = encoding;
+                bestWeight = weight;
+            }
+        }
+        return best;
+    }
+
+    /**
+     * Encode a minified page with the given coding.
+     * 使用给定编码对压缩后的页面进行内容编码。
+     *
+     * @param encoding target coding / 目标编码
+     * @param content minified page bytes / 压缩后的页面字节
+     * @return encoded bytes / 编码后的字节
+     * @throws IllegalStateException when the coding is not available / 编码不可用时抛出
+     */
+    public byte[] encode(HtmlContentEncoding encoding, byte[] content) {
+        if (!availableEncodings.contains(encoding)) {
+            throw new IllegalStateException("Content encoding is not available: " + encoding);
+        }
+        return switch (encoding) {
+            case BROTLI -> encodeBrotli(content);
+            case ZSTD -> Zstd.compress(content, ZSTD_LEVEL);
+            case GZIP -> encodeGzip(content);
+        };
+    }
+
+    private static byte[] encodeBrotli(byte[] content) {
+        try {
+            return Encoder.compress(content, new Encoder.Parameters()
+                .setQuality(BROTLI_QUALITY)
+                .setMode(Encoder.Mode.TEXT));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static byte[] encodeGzip(byte[] content) {
+        ByteArrayOutputStream output = new ByteArrayOutputStream(content.length / 4 + 64);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(output) {
+            {
+                def.setLevel(Deflater.BEST_COMPRESSION);
+            }
+        }) {
+            gzip.write(content);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return output.toByteArray();
+    }
+
+    private static double parseQuality(String[] params) {
+        for (int i = 1; i < params.length; i++) {
+            String param = params[i].trim();
+            if (param.startsWith("q=") || param.startsWith("Q=")) {
+                try {
+                    return Double.parseDouble(param.substring(2).trim());
+                } catch (NumberFormatException e) {
+                    return 0;
+                }
+            }
+        }
+        return 1;
+    }
+
+    private static boolean loadBrotli() {
+        try {
+            if (Brotli4jLoader.isAvailable()) {
+                return true;
+            }
+            log.info("Brotli 原生库不可用，HTML 预压缩不会使用 br 编码: {}",
+                Brotli4jLoader.getUnavailabilityCause().getMessage());
+            return false;
+        } catch (LinkageError e) {
+            log.info("Brotli 原生库不可用，HTML 预压缩不会使用 br 编码: {}", e.getMessage());
+            return false;
+        }
+    }
+
+    private static boolean loadZstd() {
+        try {
+            Native.load();
+            return Native.isLoaded();
+        } catch (LinkageError e) {
+            log.info("Zstandard 原生库不可用，HTML 预压缩不会使用 zstd 编码: {}", e.getMessage());
+            return false;
+        }
+    }
+}
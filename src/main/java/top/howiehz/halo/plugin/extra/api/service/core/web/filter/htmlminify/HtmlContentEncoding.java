@@ -0,0 +1,57 @@
+package top.howiehz.halo.plugin.extra.api.service.core.web.filter.htmlminify;
+
+/**
+ * Content codings that minified pages can be precompressed with, in server preference order.
+ * 压缩后页面可预压缩使用的内容编码，按服务端偏好排序。
+ */
+public enum HtmlContentEncoding {
+    /**
+     * Brotli, the best ratio for HTML.
+     * Brotli，对 HTML 的压缩率最高。
+     */
+    BROTLI("br"),
+
+    /**
+     * Zstandard, close in ratio with faster decoding.
+     * Zstandard，压缩率接近且解压更快。
+     */
+    ZSTD("zstd"),
+
+    /**
+     * Gzip, understood by every client.
+     * Gzip，所有客户端均支持。
+     */
+    GZIP("gzip");
+
+    private final String token;
+
+    HtmlContentEncoding(String token) {
+        this.token = token;
+    }
+
+    /**
+     * Get the token used in {@code Accept-Encoding} and {@code Content-Encoding}.
+     * 获取 {@code Accept-Encoding} 与 {@code Content-Encoding} 中使用的标识。
+     *
+     * @return coding token / 编码标识
+     */
+    public String getToken() {
+        return token;
+    }
+
+    /**
+     * Find the coding for a token.
+     * 根据标识查找编码。
+     *
+     * @param token coding token, case-insensitive / 编码标识，不区分大小写
+     * @return coding or null if unsupported / 对应编码，不支持时为 null
+     */
+    public static HtmlContentEncoding fromToken(String token) {
+        for (HtmlContentEncoding encoding : values()) {
+            if (encoding.token.equalsIgnoreCase(token)) {
+                return encoding;
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,309 @@
+package top.howiehz.halo.plugin.extra.api.service.core.web.filter.htmlminify;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import run.halo.app.event.post.PostUpdatedEvent;
+import run.halo.app.plugin.PluginConfigUpdatedEvent;
+
+/**
+ * Strong ETags of minified pages per request path, used to answer revalidations early.
+ * 按请求路径记录压缩后页面的强 ETag，用于提前响应重新验证请求。
+ *
+ * <p><b>工作方式:</b></p>
+ * <ul>
+ *   <li>ETag 由压缩后字节的 128 位哈希生成,预压缩变体在其后追加编码后缀,不同表示的 ETag 互不相同</li>
+ *   <li>按路径记录压缩后字节的哈希,请求携带的 If-None-Match 与该哈希的任一表示匹配时直接返回 304,无需渲染与压缩页面</li>
+ *   <li>文章、独立页面、评论、主题与系统设置等内容变化(含删除)或插件配置变更时清空全部记录,
+ *   另有过期时间兜底其他内容变化;过期时间默认为 0,即默认不在渲染前短路</li>
+ * </ul>
+ *
+ * <p><b>统计:</b> 记录 304 响应次数、节省的响应字节数与节省的渲染耗时</p>
+ */
+@Slf4j
+@Component
+public class HtmlEtagStore {
+
+    /**
+     * Maximum number of tracked paths.
+     * 最多记录的路径数。
+     */
+    static final int MAX_ENTRIES = 10_000;
+
+    /**
+     * Name prefixes of Halo events that change rendered pages.
+     * 会改变渲染后页面的 Halo 事件的类名前缀。
+     */
+    private static final List<String> CONTENT_EVENT_PREFIXES = List.of("Post", "Comment",
+        "Reply", "Category", "Tag", "Menu", "Theme", "SystemConfig", "SystemSetting");
+
+    private final Map<String, Entry> lruMap = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+            return size() > MAX_ENTRIES;
+        }
+    };
+
+    private final LongAdder shortCircuits = new LongAdder();
+    private final LongAdder revalidations = new LongAdder();
+    private final LongAdder bytesSaved = new LongAdder();
+    private final LongAdder renderNanosSaved = new LongAdder();
+    private final LongAdder invalidations = new LongAdder();
+
+    /**
+     * Build the strong ETag of a representation.
+     * 生成某个表示的强 ETag。
+     *
+     * @param minifiedHash hash of the minified bytes / 压缩后字节的哈希
+     * @param encoding content coding, or null for the identity representation / 内容编码，未编码时为 null
+     * @return quoted strong ETag / 带引号的强 ETag
+     */
+    public static String etagOf(HtmlMinifyCache.ContentHash minifiedHash,
+        HtmlContentEncoding encoding) {
+        String hex = minifiedHash.toHex();
+        return encoding == null
+            ? "\"" + hex + "\""
+            : "\"" + hex + "-" + encoding.getToken() + "\"";
+    }
+
+    /**
+     * Remember the minified content hash sent for a path.
+     * 记录某个路径返回的压缩后内容哈希。
+     *
+     * @param path request path and query / 请求路径与查询参数
+     * @param minifiedHash hash of the minified bytes / 压缩后字节的哈希
+     * @param fingerprint minify option fingerprint / 压缩选项指纹
+     * @param bodyBytes size of the body sent / 返回的响应体字节数
+     * @param renderNanos time spent rendering and minifying / 渲染与压缩耗时
+     */
+    public void record(String path, HtmlMinifyCache.ContentHash minifiedHash, int fingerprint,
+        long bodyBytes, long renderNanos) {
+        Entry entry = new Entry(minifiedHash, fingerprint, bodyBytes, renderNanos,
+            System.nanoTime());
+        synchronized (lruMap) {
+            lruMap.put(path, entry);
+        }
+    }
+
+    /**
+     * Find the recorded ETag of a path that the client already holds.
+     * 查找客户端已持有的某个路径的已记录 ETag。
+     *
+     * <p>Every representation of the recorded content matches, since a client holding any of
+     * them can reuse it.</p>
+     * <p>已记录内容的任一表示都视为匹配，客户端持有其中任何一个都可以直接复用。</p>
+     *
+     * @param path request path and query / 请求路径与查询参数
+     * @param ifNoneMatch entity tags from If-None-Match / If-None-Match 中的实体标签
+     * @param fingerprint current minify option fingerprint / 当前压缩选项指纹
+     * @param maxAge how long a recorded ETag is trusted / 已记录 ETag 的可信时长
+     * @return matched ETag, or null when the page must be rendered / 匹配的 ETag，需要渲染页面时为 null
+     */
+    public String match(String path, List<String> ifNoneMatch, int fingerprint,
+        Duration maxAge) {
+        if (ifNoneMatch.isEmpty()) {
+            return null;
+        }
+        Entry entry;
+        synchronized (lruMap) {
+            entry = lruMap.get(path);
+            if (entry == null) {
+                return null;
+            }
+            if (entry.fingerprint != fingerprint
+                || System.nanoTime() - entry.storedAtNanos >= maxAge.toNanos()) {
+                lruMap.remove(path);
+                return null;
+            }
+        }
+        String matched = matchRepresentation(ifNoneMatch, entry.minifiedHash);
+        if (matched == null) {
+            return null;
+        }
+        shortCircuits.increment();
+        bytesSaved.add(entry.bodyBytes);
+        renderNanosSaved.add(entry.renderNanos);
+        return matched;
+    }
+
+    private static String matchRepresentation(List<String> ifNoneMatch,
+        HtmlMinifyCache.ContentHash minifiedHash) {
+        String identity = etagOf(minifiedHash, null);
+        if (matches(ifNoneMatch, identity)) {
+            return identity;
+        }
+        for (HtmlContentEncoding encoding : HtmlContentEncoding.values()) {
+            String etag = etagOf(minifiedHash, encoding);
+            if (matches(ifNoneMatch, etag)) {
+                return etag;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Record a rendered page answered with 304 because the client already held it.
+     * 记录渲染后因客户端已持有而返回 304 的页面。
+     *
+     * @param bodyBytes size of the body not sent / 未发送的响应体字节数
+     */
+    public void recordRevalidation(long bodyBytes) {
+        revalidations.increment();
+        bytesSaved.add(bodyBytes);
+    }
+
+    /**
+     * Check whether any entity tag from If-None-Match matches, using weak comparison.
+     * 使用弱比较检查 If-None-Match 中是否有实体标签匹配。
+     *
+     * @param ifNoneMatch entity tags from If-None-Match / If-None-Match 中的实体标签
+     * @param etag strong ETag / 强 ETag
+     * @return true if matched / 匹配时返回 true
+     */
+    public static boolean matches(List<String> ifNoneMatch, String etag) {
+        for (String candidate : ifNoneMatch) {
+            String tag = candidate.trim();
+            if (tag.startsWith("W/")) {
+                tag = tag.substring(2);
+            }
+            if (tag.equals(etag) || "*".equals(tag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Forget every recorded ETag.
+     * 清除全部已记录的 ETag。
+     *
+     * @param reason reason for logging / 用于日志的原因
+     */
+    public void invalidateAll(String reason) {
+        int size;
+        synchronized (lruMap) {
+            size = lruMap.size();
+            lruMap.clear();
+        }
+        invalidations.increment();
+        if (size > 0) {
+            HtmlEtagStats stats = getStats();
+            log.info("{}，清除 {} 条页面 ETag 记录；累计 304 响应 {} 次，节省 {} KB 传输与 {} ms 渲染",
+                reason, size, stats.shortCircuits() + stats.revalidations(),
+                stats.bytesSaved() / 1024, (long) stats.renderMillisSaved());
+        }
+    }
+
+    /**
+     * Invalidate on post updates, which may change any page listing the post.
+     * 文章更新时清除记录，任何列出该文章的页面都可能变化。
+     *
+     * @param event post updated event / 文章更新事件
+     */
+    @EventListener
+    public void onPostUpdated(PostUpdatedEvent event) {
+        invalidateAll("文章 " + event.getName() + " 已更新");
+    }
+
+    /**
+     * Invalidate on plugin config changes, which may change the minified output.
+     * 插件配置变更时清除记录，配置可能改变压缩输出。
+     *
+     * @param event plugin config updated event / 插件配置更新事件
+     */
+    @EventListener
+    public void onPluginConfigUpdated(PluginConfigUpdatedEvent event) {
+        invalidateAll("插件配置已更新");
+    }
+
+    /**
+     * Invalidate on other content events shared by Halo.
+     * 收到 Halo 共享的其他内容事件时清除记录。
+     *
+     * @param event application event / 应用事件
+     */
+    @EventListener
+    public void onApplicationEvent(ApplicationEvent event) {
+        if (event instanceof PostUpdatedEvent || event instanceof PluginConfigUpdatedEvent) {
+            return;
+        }
+        if (HtmlPageCache.isSinglePageEvent(event) || isContentEvent(event)) {
+            invalidateAll("内容已变更（" + event.getClass().getSimpleName() + "）");
+        }
+    }
+
+    /**
+     * Check whether an event may change what rendered pages show.
+     * 判断事件是否可能改变渲染后的页面内容。
+     *
+     * <p>Posts (including deletion and visibility changes), comments and replies, taxonomies,
+     * menus, themes and system settings all show up on rendered pages. Halo shares these events
+     * under names that differ between versions, so they are recognised by name like
+     * {@link HtmlPageCache#isSinglePageEvent(Object)}.</p>
+     * <p>文章（含删除与可见性变化）、评论与回复、分类标签、菜单、主题与系统设置都会体现在渲染后的页面上；
+     * Halo 共享的这些事件在不同版本中名称不同，因此与独立页面事件一样按类名识别。</p>
+     *
+     * @param event event / 事件
+     * @return true for content events / 内容事件返回 true
+     */
+    static boolean isContentEvent(Object event) {
+        String name = event.getClass().getSimpleName();
+        if (!name.endsWith("Event")) {
+            return false;
+        }
+        for (String prefix : CONTENT_EVENT_PREFIXES) {
+            if (name.startsWith(prefix)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Get the number of tracked paths.
+     * 获取已记录的路径数。
+     *
+     * @return tracked paths / 已记录的路径数
+     */
+    public int size() {
+        synchronized (lruMap) {
+            return lruMap.size();
+        }
+    }
+
+    /**
+     * Get ETag statistics.
+     * 获取 ETag 统计信息。
+     *
+     * @return statistics snapshot / 统计快照
+     */
+    public HtmlEtagStats getStats() {
+        return new HtmlEtagStats(size(), shortCircuits.sum(), revalidations.sum(),
+            bytesSaved.sum(), renderNanosSaved.sum() / 1_000_000.0, invalidations.sum());
+    }
+
+    /**
+     * ETag statistics snapshot.
+     * ETag 统计快照。
+     *
+     * @param trackedPaths paths with a recorded ETag / 已记录 ETag 的路径数
+     * @param shortCircuits 304 responses sent without rendering / 未渲染直接返回的 304 次数
+     * @param revalidations 304 responses sent after rendering / 渲染后返回的 304 次数
+     * @param bytesSaved response body bytes not sent / 未发送的响应体字节数
+     * @param renderMillisSaved render and minify time skipped / 跳过的渲染与压缩耗时
+     * @param invalidations times all records were cleared / 记录被清空的次数
+     */
+    public record HtmlEtagStats(int trackedPaths, long shortCircuits, long revalidations,
+                                long bytesSaved, double renderMillisSaved, long invalidations) {
+    }
+
+    private record Entry(HtmlMinifyCache.ContentHash minifiedHash, int fingerprint,
+                         long bodyBytes, long renderNanos, long storedAtNanos) {
+    }
+}
@@ -0,0 +1,38 @@
+package top.howiehz.halo.plugin.extra.api.service.core.web.filter.htmlminify;
+
+/**
+ * An HTML minifier implementation used by {@link HtmlMinifyService}.
+ * 供 {@link HtmlMinifyService} 使用的 HTML 压缩实现。
+ *
+ * <p>Native implementations are contributed as beans by the full variants; the pure-Java
+ * {@link JavaHtmlMinifier} is used when none of them can be loaded.</p>
+ * <p>原生实现由全量版以 Bean 的形式提供；全部无法加载时使用纯 Java 实现 {@link JavaHtmlMinifier}。</p>
+ */
+public interface HtmlMinifier {
+
+    /**
+     * Get the implementation name used in logs.
+     * 获取用于日志的实现名称。
+     *
+     * @return implementation name / 实现名称
+     */
+    String getName();
+
+    /**
+     * Whether the implementation can run on this platform.
+     * 当前平台能否运行该实现。
+     *
+     * @return true if usable / 可用时返回 true
+     */
+    boolean isAvailable();
+
+    /**
+     * Minify a complete HTML document.
+     * 压缩完整的 HTML 文档。
+     *
+     * @param html HTML source, never blank / HTML 源码，不为空白
+     * @param config minify configuration / 压缩配置
+     * @return minified HTML / 压缩后的 HTML
+     */
+    String minify(String html, HtmlMinifyConfig config);
+}
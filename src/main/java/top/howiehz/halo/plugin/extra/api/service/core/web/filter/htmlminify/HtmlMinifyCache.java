@@ -0,0 +1,426 @@
+package top.howiehz.halo.plugin.extra.api.service.core.web.filter.htmlminify;
+
+import java.nio.ByteBuffer;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.EnumMap;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.stereotype.Component;
+import top.howiehz.halo.plugin.extra.api.service.core.runtime.memory.MemoryPressureLevel;
+import top.howiehz.halo.plugin.extra.api.service.core.runtime.memory.MemoryPressureListener;
+
+/**
+ * LRU cache for minified HTML pages keyed by the rendered page bytes.
+ * 以渲染后页面字节为键的 HTML 压缩结果 LRU 缓存。
+ *
+ * <p><b>缓存策略:</b></p>
+ * <ul>
+ *   <li>缓存键: 截取 SHA-256 前 128 位的内容哈希 + 字节长度 + 压缩选项指纹,哈希与长度都相同才算命中,
+ *   文章未修改时同一页面每次渲染的字节相同,命中后无需再调用原生压缩</li>
+ *   <li>哈希直接在响应缓冲区上计算,命中时无需复制或解码页面</li>
+ *   <li>预压缩变体与压缩结果存放在同一条目中,一起计入字节数并一起淘汰</li>
+ *   <li>同时限制条目数与总字节数,按最久未使用淘汰</li>
+ *   <li>进行中的后台压缩按键去重,同一页面的并发未命中只压缩一次;后台压缩失败的键由下一次请求同步压缩</li>
+ *   <li>主题与插件的 CSS/JS 静态资源与页面共用该缓存,其键使用负数指纹,不会与页面的选项指纹冲突</li>
+ * </ul>
+ *
+ * <p><b>内存压力:</b> 告警时淘汰最久未使用的一半条目,严重时清空缓存</p>
+ */
+@Slf4j
+@Component
+public class HtmlMinifyCache implements MemoryPressureListener {
+
+    /**
+     * Maximum number of cache entries.
+     * 最大缓存条目数。
+     */
+    static final int MAX_CACHE_SIZE = 512;
+
+    /**
+     * Maximum total size of cached minified pages and their precompressed variants.
+     * 缓存的压缩页面及其预压缩变体的总字节数上限。
+     */
+    static final long MAX_CACHE_BYTES = 32L * 1024 * 1024;
+
+    private final Map<Key, Entry> lruMap = new LinkedHashMap<>(16, 0.75f, true);
+
+    private final Set<Key> pendingKeys = ConcurrentHashMap.newKeySet();
+
+    private final Set<Key> failedKeys = ConcurrentHashMap.newKeySet();
+
+    private long cachedBytes;
+
+    /**
+     * Compute the cache key of a rendered page without copying its bytes.
+     * 在不复制页面字节的情况下计算渲染页面的缓存键，不会改变缓冲区的读取位置。
+     *
+     * @param html rendered page buffer / 渲染后的页面缓冲区
+     * @param config minify configuration / 压缩配置
+     * @return cache key / 缓存键
+     */
+    public Key keyOf(DataBuffer html, HtmlMinifyConfig config) {
+        return new Key(contentHash(html), html.readableByteCount(), fingerprint(config));
+    }
+
+    /**
+     * Compute the cache key of a rendered page.
+     * 计算渲染页面的缓存键。
+     *
+     * @param html rendered page bytes / 渲染后的页面字节
+     * @param config minify configuration / 压缩配置
+     * @return cache key / 缓存键
+     */
+    public Key keyOf(byte[] html, HtmlMinifyConfig config) {
+        return keyOf(DefaultDataBufferFactory.sharedInstance.wrap(html), config);
+    }
+
+    /**
+     * Compute the cache key of a CSS or JavaScript asset without copying its bytes.
+     * 在不复制资源字节的情况下计算 CSS 或 JavaScript 静态资源的缓存键。
+     *
+     * @param asset asset buffer / 资源缓冲区
+     * @param type asset type / 资源类型
+     * @param minify false when the asset is only precompressed / 仅预压缩不压缩代码时为 false
+     * @return cache key / 缓存键
+     */
+    Key assetKeyOf(DataBuffer asset, AssetMinifier.AssetType type, boolean minify) {
+        int variant = type.ordinal() * 2 + (minify ? 0 : 1);
+        return new Key(contentHash(asset), asset.readableByteCount(), -1 - variant);
+    }
+
+    /**
+     * Compute the 128-bit content hash of a buffer without changing its read position.
+     * 计算缓冲区的 128 位内容哈希，不会改变缓冲区的读取位置。
+     *
+     * @param content content buffer / 内容缓冲区
+     * @return first 128 bits of the SHA-256 digest / SHA-256 摘要的前 128 位
+     */
+    static ContentHash contentHash(DataBuffer content) {
+        MessageDigest sha256;
+        try {
+            sha256 = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+        try (var iterator = content.readableByteBuffers()) {
+            while (iterator.hasNext()) {
+                sha256.update(iterator.next());
+            }
+        }
+        ByteBuffer digest = ByteBuffer.wrap(sha256.digest());
+        return new ContentHash(digest.getLong(), digest.getLong());
+    }
+
+    /**
+     * Compute the 128-bit content hash of a byte array.
+     * 计算字节数组的 128 位内容哈希。
+     *
+     * @param content content bytes / 内容字节
+     * @return content hash / 内容哈希
+     */
+    static ContentHash contentHash(byte[] content) {
+        return contentHash(DefaultDataBufferFactory.sharedInstance.wrap(content));
+    }
+
+    /**
+     * Get a cached minified page.
+     * 获取缓存的压缩页面。
+     *
+     * @param key cache key / 缓存键
+     * @return minified bytes or null if not cached / 压缩后的字节,未缓存时为 null
+     */
+    public byte[] get(Key key) {
+        synchronized (lruMap) {
+            Entry entry = lruMap.get(key);
+            return entry == null ? null : entry.minified;
+        }
+    }
+
+    /**
+     * Get a cached precompressed variant of a page.
+     * 获取缓存的页面预压缩变体。
+     *
+     * @param key cache key / 缓存键
+     * @param encoding content coding / 内容编码
+     * @return encoded bytes or null if not cached / 编码后的字节,未缓存时为 null
+     */
+    public byte[] getEncoded(Key key, HtmlContentEncoding encoding) {
+        synchronized (lruMap) {
+            Entry entry = lruMap.get(key);
+            return entry == null ? null : entry.encoded.get(encoding);
+        }
+    }
+
+    /**
+     * Store a precompressed variant next to a cached page.
+     * 将预压缩变体存放在已缓存页面旁。
+     *
+     * <p>Ignored when the page itself is no longer cached.</p>
+     * <p>页面本身已不在缓存中时忽略。</p>
+     *
+     * @param key cache key / 缓存键
+     * @param encoding content coding / 内容编码
+     * @param encoded encoded bytes / 编码后的字节
+     */
+    public void putEncoded(Key key, HtmlContentEncoding encoding, byte[] encoded) {
+        synchronized (lruMap) {
+            Entry entry = lruMap.get(key);
+            if (entry == null) {
+                return;
+            }
+            byte[] previous = entry.encoded.put(encoding, encoded);
+            if (previous != null) {
+                cachedBytes -= previous.length;
+            }
+            cachedBytes += encoded.length;
+            evictOverflow();
+        }
+    }
+
+    /**
+     * Put a minified page into the cache.
+     * 将压缩后的页面放入缓存。
+     *
+     * @param key cache key / 缓存键
+     * @param minified minified bytes / 压缩后的字节
+     */
+    public void put(Key key, byte[] minified) {
+        if (minified.length > MAX_CACHE_BYTES / 4) {
+            return;
+        }
+        synchronized (lruMap) {
+            Entry previous = lruMap.put(key, new Entry(minified));
+            if (previous != null) {
+                cachedBytes -= previous.size();
+            }
+            cachedBytes += minified.length;
+            evictOverflow();
+        }
+    }
+
+    private void evictOverflow() {
+        var iterator = lruMap.values().iterator();
+        while ((lruMap.size() > MAX_CACHE_SIZE || cachedBytes > MAX_CACHE_BYTES)
+            && iterator.hasNext()) {
+            cachedBytes -= iterator.next().size();
+            iterator.remove();
+        }
+    }
+
+    /**
+     * Mark a key as being minified in the background.
+     * 将缓存键标记为正在后台压缩。
+     *
+     * @param key cache key / 缓存键
+     * @return false if the key is already being minified / 已在压缩中时返回 false
+     */
+    public boolean markPending(Key key) {
+        return pendingKeys.add(key);
+    }
+
+    /**
+     * Clear the background minification mark of a key.
+     * 清除缓存键的后台压缩标记。
+     *
+     * @param key cache key / 缓存键
+     */
+    public void clearPending(Key key) {
+        pendingKeys.remove(key);
+    }
+
+    /**
+     * Remember that the background minification of a key failed.
+     * 记录缓存键的后台压缩失败。
+     *
+     * @param key cache key / 缓存键
+     */
+    public void markFailed(Key key) {
+        if (failedKeys.size() >= MAX_CACHE_SIZE) {
+            failedKeys.clear();
+        }
+        failedKeys.add(key);
+    }
+
+    /**
+     * Clear the failure mark of a key.
+     * 清除缓存键的后台压缩失败标记。
+     *
+     * @param key cache key / 缓存键
+     * @return true if the last background minification of the key failed /
+     * 该键上一次后台压缩失败时返回 true
+     */
+    public boolean clearFailed(Key key) {
+        return failedKeys.remove(key);
+    }
+
+    /**
+     * Clear all cache entries.
+     * 清空所有缓存条目。
+     */
+    public void clearAll() {
+        synchronized (lruMap) {
+            int size = lruMap.size();
+            lruMap.clear();
+            failedKeys.clear();
+            cachedBytes = 0;
+            log.info("清空 HTML 压缩缓存,已删除 {} 条记录", size);
+        }
+    }
+
+    /**
+     * Get current cache size.
+     * 获取当前缓存大小。
+     *
+     * @return number of cached entries / 缓存条目数
+     */
+    public int size() {
+        synchronized (lruMap) {
+            return lruMap.size();
+        }
+    }
+
+    /**
+     * Get the total size of cached minified pages and their precompressed variants.
+     * 获取缓存的压缩页面及其预压缩变体的总字节数。
+     *
+     * @return cached bytes / 缓存字节数
+     */
+    public long getCachedBytes() {
+        synchronized (lruMap) {
+            return cachedBytes;
+        }
+    }
+
+    /**
+     * Evict the least recently used entries until at most the given number remain.
+     * 淘汰最久未使用的条目,直到最多剩余给定数量。
+     *
+     * @param maxEntries number of entries to keep / 保留的条目数
+     * @return number of evicted entries / 淘汰的条目数
+     */
+    public int trimTo(int maxEntries) {
+        synchronized (lruMap) {
+            int evicted = 0;
+            var iterator = lruMap.values().iterator();
+            while (lruMap.size() > maxEntries && iterator.hasNext()) {
+                cachedBytes -= iterator.next().size();
+                iterator.remove();
+                evicted++;
+            }
+            return evicted;
+        }
+    }
+
+    @Override
+    public String getMemoryPressureComponentName() {
+        return "html-minify-cache";
+    }
+
+    @Override
+    public String onMemoryPressure(MemoryPressureLevel level) {
+        int before = size();
+        if (before == 0) {
+            return null;
+        }
+        return switch (level) {
+            case ELEVATED -> String.format("淘汰 %d 条 HTML 压缩缓存(剩余 %d 条)",
+                trimTo(before / 2), size());
+            case CRITICAL -> {
+                clearAll();
+                yield String.format("清空 %d 条 HTML 压缩缓存", before);
+            }
+            default -> null;
+        };
+    }
+
+    /**
+     * Fingerprint the options that affect minified output.
+     * 计算影响压缩输出的选项指纹。
+     *
+     * @param config minify configuration / 压缩配置
+     * @return option bit mask / 选项位掩码
+     */
+    static int fingerprint(HtmlMinifyConfig config) {
+        boolean[] options = {
+            config.isAllowNoncompliantUnquotedAttributeValues(),
+            config.isAllowOptimalEntities(),
+            config.isAllowRemovingSpacesBetweenAttributes(),
+            config.isKeepClosingTags(),
+            config.isKeepComments(),
+            config.isKeepHtmlAndHeadOpeningTags(),
+            config.isKeepInputTypeTextAttr(),
+            config.isKeepSsiComments(),
+            config.isMinifyCss(),
+            config.isMinifyDoctype(),
+            config.isMinifyJs(),
+            config.isPreserveBraceTemplateSyntax(),
+            config.isPreserveChevronPercentTemplateSyntax(),
+            config.isRemoveBangs(),
+            config.isRemoveProcessingInstructions()
+        };
+        int mask = 0;
+        for (int i = 0; i < options.length; i++) {
+            if (options[i]) {
+                mask |= 1 << i;
+            }
+        }
+        return mask;
+    }
+
+    private static final class Entry {
+        private final byte[] minified;
+        private final Map<HtmlContentEncoding, byte[]> encoded =
+            new EnumMap<>(HtmlContentEncoding.class);
+
+        private Entry(byte[] minified) {
+            this.minified = minified;
+        }
+
+        private long size() {
+            long size = minified.length;
+            for (byte[] variant : encoded.values()) {
+                size += variant.length;
+            }
+            return size;
+        }
+    }
+
+    /**
+     * 128-bit content hash, taken from the start of the SHA-256 digest.
+     * 128 位内容哈希，取自 SHA-256 摘要的开头。
+     *
+     * @param high first 64 bits / 前 64 位
+     * @param low next 64 bits / 后 64 位
+     */
+    public record ContentHash(long high, long low) {
+
+        /**
+         * Format the hash as 32 lowercase hex digits.
+         * 将哈希格式化为 32 位小写十六进制数字。
+         *
+         * @return hex digits / 十六进制数字
+         */
+        public String toHex() {
+            HexFormat hex = HexFormat.of();
+            return hex.toHexDigits(high) + hex.toHexDigits(low);
+        }
+    }
+
+    /**
+     * Cache key of a rendered page.
+     * 渲染页面的缓存键。
+     *
+     * @param hash 128-bit content hash / 128 位内容哈希
+     * @param length page length in bytes / 页面字节长度
+     * @param fingerprint minify option fingerprint, negative for assets / 压缩选项指纹，静态资源为负数
+     */
+    public record Key(ContentHash hash, int length, int fingerprint) {
+    }
+}
@@ -0,0 +1,199 @@
+package top.howiehz.halo.plugin.extra.api.service.core.web.filter.htmlminify;
+
+import java.util.List;
+import lombok.Data;
+
+/**
+ * Configuration class for HTML response minification.
+ * HTML 页面压缩配置文件类。
+ */
+@Data
+public class HtmlMinifyConfig {
+
+    /**
+     * Whether to enable HTML response minification.
+     * 是否启用 HTML 页面压缩。
+     */
+    private boolean enabledHtmlMinify;
+
+    /**
+     * Excluded path patterns for HTML minification.
+     * HTML 页面压缩的排除路径规则。
+     */
+    private List<String> excludePaths;
+
+    /**
+     * Path patterns whose pages are minified incrementally while streaming.
+     * 边输出边增量压缩的页面路径规则。
+     */
+    private List<String> streamingPaths;
+
+    /**
+     * Cache minified pages by content hash.
+     * 是否按内容哈希缓存压缩结果。
+     */
+    private boolean enabledMinifyCache;
+
+    /**
+     * Serve the original HTML on a cache miss and minify it in the background.
+     * 缓存未命中时是否先返回原始 HTML 并在后台压缩。
+     */
+    private boolean staleWhileRevalidate;
+
+    /**
+     * Cache precompressed variants of minified pages and serve them by Accept-Encoding.
+     * 是否缓存压缩后页面的预压缩变体并按 Accept-Encoding 返回。
+     */
+    private boolean enabledPrecompression;
+
+    /**
+     * Content codings to precompress with: br, zstd, gzip.
+     * 预压缩使用的内容编码：br、zstd、gzip。
+     */
+    private List<String> precompressEncodings;
+
+    /**
+     * Send strong ETags for minified pages and answer matching revalidations with 304.
+     * 是否为压缩后的页面返回强 ETag，并对匹配的重新验证请求返回 304。
+     */
+    private boolean enabledEtag;
+
+    /**
+     * Seconds a recorded ETag answers revalidations without rendering the page, 0 to always
+     * render first.
+     * 已记录的 ETag 在不渲染页面的情况下响应重新验证请求的秒数，为 0 时总是先渲染。
+     */
+    private int etagMaxAgeSeconds;
+
+    /**
+     * Cache whole minified pages for anonymous visitors.
+     * 是否为未登录访客缓存压缩后的整个页面。
+     */
+    private boolean enabledPageCache;
+
+    /**
+     * Default seconds a page stays in the page cache.
+     * 页面在整页缓存中的默认保留秒数。
+     */
+    private int pageCacheTtlSeconds = 30;
+
+    /**
+     * Per-path page cache lifetimes as {@code pattern=seconds}; 0 disables caching.
+     * 按路径设置的整页缓存有效期，格式为 {@code 路径规则=秒数}，0 表示不缓存。
+     */
+    private List<String> pageCacheTtlRules;
+
+    /**
+     * Total size budget of the page cache in megabytes.
+     * 整页缓存的总大小上限（MB）。
+     */
+    private int pageCacheMaxSizeMb = 16;
+
+    /**
+     * Minify and precompress theme and plugin CSS/JavaScript assets.
+     * 是否压缩并预压缩主题与插件的 CSS/JavaScript 静态资源。
+     */
+    private boolean enabledAssetMinify;
+
+    /**
+     * Path patterns of the assets to optimize.
+     * 需要优化的静态资源路径规则。
+     */
+    private List<String> assetPaths;
+
+    /**
+     * Path patterns of assets served unchanged.
+     * 原样返回的静态资源路径规则。
+     */
+    private List<String> assetExcludePaths;
+
+    /**
+     * Allow noncompliant unquoted attribute values.
+     * 是否允许非规范的无引号属性值。
+     */
+    private boolean allowNoncompliantUnquotedAttributeValues;
+
+    /**
+     * Allow more aggressive entity optimizations.
+     * 是否允许更激进的实体优化。
+     */
+    private boolean allowOptimalEntities;
+
+    /**
+     * Allow removing spaces between attributes when possible.
+     * 是否允许在可能时移除属性之间的空格。
+     */
+    private boolean allowRemovingSpacesBetweenAttributes;
+
+    /**
+     * Keep optional closing tags.
+     * 是否保留可省略的闭合标签。
+     */
+    private boolean keepClosingTags;
+
+    /**
+     * Keep HTML comments.
+     * 是否保留 HTML 注释。
+     */
+    private boolean keepComments;
+
+    /**
+     * Keep opening html/head tags when possible.
+     * 是否保留可省略属性时的 html/head 起始标签。
+     */
+    private boolean keepHtmlAndHeadOpeningTags;
+
+    /**
+     * Keep type=text on input elements.
+     * 是否保留 input 元素的 type=text 属性。
+     */
+    private boolean keepInputTypeTextAttr;
+
+    /**
+     * Keep SSI comments.
+     * 是否保留 SSI 注释。
+     */
+    private boolean keepSsiComments;
+
+    /**
+     * Minify inline CSS.
+     * 是否压缩 style 标签和 style 属性中的 CSS。
+     */
+    private boolean minifyCss;
+
+    /**
+     * Minify DOCTYPE declarations.
+     * 是否压缩 DOCTYPE 声明。
+     */
+    private boolean minifyDoctype;
+
+    /**
+     * Minify inline JavaScript.
+     * 是否压缩 script 标签中的 JavaScript。
+     */
+    private boolean minifyJs;
+
+    /**
+     * Preserve {{ }}, {% %}, and {# #} template syntax.
+     * 是否保留花括号模板语法。
+     */
+    private boolean preserveBraceTemplateSyntax;
+
+    /**
+     * Preserve <% %> template syntax.
+     * 是否保留 <% %> 模板语法。
+     */
+    private boolean preserveChevronPercentTemplateSyntax;
+
+    /**
+     * Remove bangs.
+     * 是否移除 bang 声明。
+     */
+    private boolean removeBangs;
+
+    /**
+     * Remove processing instructions.
+     * 是否移除处理指令。
+     */
+    private boolean removeProcessingInstructions;
+}
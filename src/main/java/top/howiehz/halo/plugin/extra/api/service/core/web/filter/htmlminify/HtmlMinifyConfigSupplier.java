@@ -1,4 +1,4 @@
-package top.howiehz.halo.plugin.extra.api.service.interop.web.filter.htmlminify;
+package top.howiehz.halo.plugin.extra.api.service.core.web.filter.htmlminify;
 
 import org.springframework.stereotype.Component;
 import run.halo.app.plugin.ReactiveSettingFetcher;
@@ -0,0 +1,152 @@
+package top.howiehz.halo.plugin.extra.api.service.core.web.filter.htmlminify;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+/**
+ * Dedicated, bounded scheduler for HTML minification and precompression.
+ * HTML 压缩与预压缩专用的有界调度器。
+ *
+ * <p><b>工作方式:</b></p>
+ * <ul>
+ *   <li>线程数等于 CPU 核数，不与 Halo 及其他插件共享 {@code boundedElastic} 线程池</li>
+ *   <li>同时执行与排队的任务总数有上限，达到上限时任务立即以 {@link RejectedExecutionException} 失败，
+ *   调用方直接返回原始页面，不再排队等待</li>
+ * </ul>
+ *
+ * <p><b>统计:</b> 记录执行中与排队中的任务数、峰值并发、排队耗时、执行次数与被拒绝次数</p>
+ */
+@Slf4j
+@Component
+public class HtmlMinifyScheduler implements DisposableBean {
+
+    /**
+     * Tasks allowed to wait per thread before new tasks are shed.
+     * 每个线程允许排队的任务数，超出后新任务会被拒绝。
+     */
+    static final int QUEUED_TASKS_PER_THREAD = 4;
+
+    private static final String THREAD_NAME_PREFIX = "extra-api-html-minify";
+
+    private final int threads;
+    private final int capacity;
+    private final Scheduler scheduler;
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicInteger running = new AtomicInteger();
+    private final AtomicInteger peakConcurrency = new AtomicInteger();
+    private final LongAdder executed = new LongAdder();
+    private final LongAdder shed = new LongAdder();
+    private final LongAdder queueNanos = new LongAdder();
+    private final LongAccumulator maxQueueNanos = new LongAccumulator(Long::max, 0);
+
+    public HtmlMinifyScheduler() {
+        this(Runtime.getRuntime().availableProcessors(), QUEUED_TASKS_PER_THREAD);
+    }
+
+    HtmlMinifyScheduler(int threads, int queuedTasksPerThread) {
+        this.threads = Math.max(1, threads);
+        int queueLimit = this.threads * Math.max(0, queuedTasksPerThread);
+        this.capacity = this.threads + queueLimit;
+        this.scheduler = Schedulers.newBoundedElastic(this.threads,
+            Math.max(1, queueLimit), THREAD_NAME_PREFIX, 60, true);
+    }
+
+    /**
+     * Run a task on the minify threads, or fail fast when they are saturated.
+     * 在压缩线程上执行任务，线程饱和时立即失败。
+     *
+     * @param task CPU-bound task / CPU 密集型任务
+     * @param <T> result type / 结果类型
+     * @return task result, or {@link RejectedExecutionException} when shed / 任务结果，被拒绝时为
+     * {@link RejectedExecutionException}
+     */
+    public <T> Mono<T> submit(Callable<T> task) {
+        return Mono.defer(() -> {
+            if (!tryAcquire()) {
+                shed.increment();
+                return Mono.error(new RejectedExecutionException("HTML 压缩任务已达上限"));
+            }
+            long queuedAtNanos = System.nanoTime();
+            return Mono.fromCallable(() -> {
+                    long waited = System.nanoTime() - queuedAtNanos;
+                    queueNanos.add(waited);
+                    maxQueueNanos.accumulate(waited);
+                    peakConcurrency.accumulateAndGet(running.incrementAndGet(), Math::max);
+                    try {
+                        return task.call();
+                    } finally {
+                        running.decrementAndGet();
+                        executed.increment();
+                    }
+                })
+                .subscribeOn(scheduler)
+                .doOnError(RejectedExecutionException.class, error -> shed.increment())
+                .doFinally(signal -> inFlight.decrementAndGet());
+        });
+    }
+
+    private boolean tryAcquire() {
+        while (true) {
+            int current = inFlight.get();
+            if (current >= capacity) {
+                return false;
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Get scheduler statistics.
+     * 获取调度器统计信息。
+     *
+     * @return statistics snapshot / 统计快照
+     */
+    public HtmlMinifySchedulerStats getStats() {
+        int active = running.get();
+        long count = executed.sum();
+        return new HtmlMinifySchedulerStats(threads, capacity - threads, active,
+            Math.max(0, inFlight.get() - active), peakConcurrency.get(), count, shed.sum(),
+            count == 0 ? 0 : TimeUnit.NANOSECONDS.toMicros(queueNanos.sum() / count),
+            TimeUnit.NANOSECONDS.toMicros(maxQueueNanos.get()));
+    }
+
+    @Override
+    public void destroy() {
+        HtmlMinifySchedulerStats stats = getStats();
+        log.info("HTML 压缩调度器关闭，累计执行 {} 次，拒绝 {} 次，峰值并发 {}", stats.executed(),
+            stats.shed(), stats.peakConcurrency());
+        scheduler.dispose();
+    }
+
+    /**
+     * Minify scheduler statistics snapshot.
+     * 压缩调度器统计快照。
+     *
+     * @param threads worker threads / 工作线程数
+     * @param queueLimit tasks allowed to wait / 允许排队的任务数
+     * @param running tasks running now / 正在执行的任务数
+     * @param queued tasks waiting now / 正在排队的任务数
+     * @param peakConcurrency most tasks seen running at once / 同时执行任务数的峰值
+     * @param executed tasks executed / 已执行的任务数
+     * @param shed tasks rejected because the scheduler was saturated / 因调度器饱和被拒绝的任务数
+     * @param averageQueueMicros average wait before a task started / 任务开始前的平均等待时间
+     * @param maxQueueMicros longest wait before a task started / 任务开始前的最长等待时间
+     */
+    public record HtmlMinifySchedulerStats(int threads, int queueLimit, int running, int queued,
+                                           int peakConcurrency, long executed, long shed,
+                                           long averageQueueMicros, long maxQueueMicros) {
+    }
+}
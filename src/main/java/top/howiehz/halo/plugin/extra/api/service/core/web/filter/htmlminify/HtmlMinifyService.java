@@ -0,0 +1,73 @@
+package top.howiehz.halo.plugin.extra.api.service.core.web.filter.htmlminify;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+/**
+ * Service for minifying HTML responses.
+ * 压缩 HTML 响应的服务。
+ *
+ * <p>Uses the first available native {@link HtmlMinifier} (minify-html in the full variants)
+ * and falls back to {@link JavaHtmlMinifier} in the lite variant or on platforms without a
+ * native build.</p>
+ * <p>优先使用第一个可用的原生 {@link HtmlMinifier}（全量版中为 minify-html），轻量版或没有原生构建的平台上回退到
+ * {@link JavaHtmlMinifier}。</p>
+ */
+@Slf4j
+@Service
+public class HtmlMinifyService {
+
+    private final HtmlMinifier minifier;
+
+    public HtmlMinifyService(List<HtmlMinifier> nativeMinifiers) {
+        this.minifier = nativeMinifiers.stream()
+            .filter(HtmlMinifier::isAvailable)
+            .findFirst()
+            .orElseGet(JavaHtmlMinifier::new);
+        log.info("HTML 页面压缩实现: {}", minifier.getName());
+    }
+
+    /**
+     * Get the name of the minifier in use.
+     * 获取当前使用的压缩实现名称。
+     *
+     * @return minifier name / 压缩实现名称
+     */
+    public String getMinifierName() {
+        return minifier.getName();
+    }
+
+    /**
+     * Minify HTML with the configured options.
+     * 使用指定配置压缩 HTML。
+     *
+     * @param html HTML source / HTML 源码
+     * @param config minify configuration / 压缩配置
+     * @return minified HTML / 压缩后的 HTML
+     */
+    public String minify(String html, HtmlMinifyConfig config) {
+        if (html == null || html.isBlank()) {
+            return html;
+        }
+        return minifier.minify(html, config);
+    }
+
+    /**
+     * Minify HTML and return the UTF-8 encoded result, ready to be wrapped as a response body.
+     * 压缩 HTML 并返回 UTF-8 编码的结果，可直接包装为响应体。
+     *
+     * <p>The minify-html Java binding only accepts and returns {@link String}, so this is the
+     * single point where the result is encoded; callers wrap the returned array without copying
+     * it again.</p>
+     * <p>minify-html 的 Java 绑定只接受并返回 {@link String}，因此结果只在这里编码一次，调用方直接包装返回的数组而不再复制。</p>
+     *
+     * @param html HTML source / HTML 源码
+     * @param config minify configuration / 压缩配置
+     * @return UTF-8 encoded minified HTML / UTF-8 编码的压缩后 HTML
+     */
+    public byte[] minifyToUtf8(String html, HtmlMinifyConfig config) {
+        return minify(html, config).getBytes(StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,620 @@
+package top.howiehz.halo.plugin.extra.api.service.core.web.filter.htmlminify;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.Supplier;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.jspecify.annotations.NonNull;
+import org.reactivestreams.Publisher;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.http.HttpCookie;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.http.server.reactive.ServerHttpResponseDecorator;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilterChain;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import run.halo.app.security.AdditionalWebFilter;
+import top.howiehz.halo.plugin.extra.api.service.core.runtime.JsEngineReadiness;
+import top.howiehz.halo.plugin.extra.api.service.core.web.pathrule.PathRuleMatcher;
+import top.howiehz.halo.plugin.extra.api.service.core.web.pathrule.PathRuleRegistry;
+
+/**
+ * Additional web filter for minifying HTML page responses.
+ * 用于压缩 HTML 页面响应的附加 Web 过滤器。
+ *
+ * <p>With ETags enabled, anonymous requests whose {@code If-None-Match} matches the recorded
+ * content of the path are answered with 304 before the page is rendered.</p>
+ * <p>启用 ETag 后，未登录请求的 {@code If-None-Match} 与该路径已记录的内容匹配时，在渲染页面之前直接返回 304。</p>
+ *
+ * <p>With the page cache enabled, anonymous requests are served from {@link HtmlPageCache}
+ * without running the rest of the filter chain; a miss renders the page once for all
+ * concurrent requests of the same path.</p>
+ * <p>启用整页缓存后，未登录请求直接由 {@link HtmlPageCache} 返回，不再执行后续过滤器链；未命中时同一路径的并发请求只渲染一次。</p>
+ *
+ * <p>While the JavaScript engines are still warming up, code blocks are rendered without
+ * highlighting; such pages are neither put into the page cache nor recorded for ETag
+ * revalidation.</p>
+ * <p>JavaScript 引擎预热完成前代码块以未高亮形式输出，这类页面既不放入整页缓存，也不记录用于 ETag 重新验证。</p>
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class HtmlMinifyWebFilter implements AdditionalWebFilter {
+    private final Supplier<Mono<HtmlMinifyConfig>> htmlMinifyConfigSupplier;
+    private final HtmlMinifyService htmlMinifyService;
+    private final HtmlMinifyCache htmlMinifyCache;
+    private final HtmlContentEncoder htmlContentEncoder;
+    private final HtmlEtagStore htmlEtagStore;
+    private final HtmlPageCache htmlPageCache;
+    private final PathRuleRegistry pathRuleRegistry;
+    private final HtmlMinifyScheduler htmlMinifyScheduler;
+    private final ObjectProvider<JsEngineReadiness> jsEngineReadiness;
+
+    /**
+     * Cookies that mark a signed-in visitor, whose pages may differ from the public ones.
+     * 标识已登录访客的 Cookie，其页面可能与公开页面不同。
+     */
+    private static final Set<String> SESSION_COOKIES = Set.of("SESSION", "remember-me");
+
+    /**
+     * Cookies that select the page locale, part of the page variant key.
+     * 决定页面语言的 Cookie，属于页面变体键的一部分。
+     */
+    private static final List<String> LOCALE_COOKIES = List.of("language", "locale");
+
+    /**
+     * {@code Vary} values covered by the page variant key; any other value makes a page
+     * uncacheable.
+     * 页面变体键已覆盖的 {@code Vary} 取值；响应带有其他取值时不放入整页缓存。
+     */
+    private static final Set<String> KEYED_VARY_HEADERS = Set.of(
+        HttpHeaders.ACCEPT_ENCODING.toLowerCase(), HttpHeaders.ACCEPT_LANGUAGE.toLowerCase());
+
+    /**
+     * Response header telling whether the page came from the page cache.
+     * 标识页面是否来自整页缓存的响应头。
+     */
+    static final String PAGE_CACHE_HEADER = "X-Page-Cache";
+
+    /**
+     * Longest time a request waits for another request rendering the same page.
+     * 等待其他请求渲染同一页面的最长时间。
+     */
+    private static final Duration COALESCE_TIMEOUT = Duration.ofSeconds(10);
+
+    @Override
+    public @NonNull Mono<Void> filter(@NonNull ServerWebExchange exchange,
+        @NonNull WebFilterChain chain) {
+        if (exchange.getRequest().getMethod() != HttpMethod.GET) {
+            return chain.filter(exchange);
+        }
+        return htmlMinifyConfigSupplier.get()
+            .flatMap(config -> {
+                String path = exchange.getRequest().getPath().value();
+                if (!config.isEnabledHtmlMinify() || isExcludedPath(path, config)) {
+                    return chain.filter(exchange);
+                }
+                long startNanos = System.nanoTime();
+                boolean anonymous = isAnonymous(exchange.getRequest());
+                if (config.isEnabledEtag() && config.getEtagMaxAgeSeconds() > 0 && anonymous) {
+                    String etag = htmlEtagStore.match(variantKey(exchange.getRequest()),
+                        ifNoneMatch(exchange.getRequest()),
+                        HtmlMinifyCache.fingerprint(config),
+                        Duration.ofSeconds(config.getEtagMaxAgeSeconds()));
+                    if (etag != null) {
+                        return writeNotModified(exchange.getResponse(), etag, config);
+                    }
+                }
+                Duration pageTtl = config.isEnabledPageCache() && anonymous
+                    && !isStreamingPath(path, config) && isJsEngineReady()
+                    ? pageCacheTtl(path, config) : Duration.ZERO;
+                if (pageTtl.isZero()) {
+                    return chain.filter(decorate(exchange, config, startNanos, null));
+                }
+                return filterWithPageCache(exchange, chain, config, startNanos,
+                    new PageCapture(variantKey(exchange.getRequest()), pageTtl));
+            });
+    }
+
+    private Mono<Void> filterWithPageCache(ServerWebExchange exchange, WebFilterChain chain,
+        HtmlMinifyConfig config, long startNanos, PageCapture capture) {
+        HtmlPageCache.CachedPage cached = htmlPageCache.get(capture.key());
+        if (cached != null) {
+            return writeCachedPage(exchange, config, startNanos, cached);
+        }
+        exchange.getResponse().getHeaders().set(PAGE_CACHE_HEADER, "MISS");
+        if (htmlPageCache.tryLead(capture.key())) {
+            return chain.filter(decorate(exchange, config, startNanos, capture))
+                .doFinally(signal -> htmlPageCache.release(capture.key()));
+        }
+        // 同一页面正在由其他请求渲染，等待其结果；无法缓存时自行渲染
+        return htmlPageCache.awaitInflight(capture.key())
+            .timeout(COALESCE_TIMEOUT, Mono.empty())
+            .flatMap(page -> writeCachedPage(exchange, config, startNanos, page)
+                .thenReturn(true))
+            .switchIfEmpty(Mono.defer(() -> chain
+                .filter(decorate(exchange, config, startNanos, null))
+                .thenReturn(true)))
+            .then();
+    }
+
+    private ServerWebExchange decorate(ServerWebExchange exchange, HtmlMinifyConfig config,
+        long startNanos, PageCapture capture) {
+        return exchange.mutate()
+            .response(new HtmlMinifyResponseDecorator(exchange, config, startNanos, capture))
+            .build();
+    }
+
+    private Mono<Void> writeCachedPage(ServerWebExchange exchange, HtmlMinifyConfig config,
+        long startNanos, HtmlPageCache.CachedPage page) {
+        ServerHttpResponse response = exchange.getResponse();
+        response.setStatusCode(HttpStatus.OK);
+        response.getHeaders().putAll(page.headers());
+        response.getHeaders().set(PAGE_CACHE_HEADER, "HIT");
+        return new HtmlMinifyResponseDecorator(exchange, config, startNanos, null)
+            .writeCachedPage(page);
+    }
+
+    /**
+     * Resolve how long a page may stay in the page cache.
+     * 解析页面可在整页缓存中保留的时间。
+     *
+     * @param path request path / 请求路径
+     * @param config minify configuration / 压缩配置
+     * @return time to live, zero when the path is not cached / 有效期，不缓存时为零
+     */
+    Duration pageCacheTtl(String path, HtmlMinifyConfig config) {
+        Duration ttl = pathRuleRegistry.matcher("htmlMinify.pageCacheTtlRules",
+            config.getPageCacheTtlRules(), HtmlMinifyWebFilter::compileTtlRules).match(path);
+        return ttl != null
+            ? ttl : Duration.ofSeconds(Math.max(0, config.getPageCacheTtlSeconds()));
+    }
+
+    private static PathRuleMatcher<Duration> compileTtlRules(List<String> rules) {
+        List<String> patterns = new ArrayList<>(rules.size());
+        List<Duration> ttls = new ArrayList<>(rules.size());
+        for (String rule : rules) {
+            int separator = rule == null ? -1 : rule.lastIndexOf('=');
+            if (separator <= 0) {
+                continue;
+            }
+            try {
+                long seconds = Long.parseLong(rule.substring(separator + 1).trim());
+                patterns.add(rule.substring(0, separator));
+                ttls.add(Duration.ofSeconds(Math.max(0, seconds)));
+            } catch (NumberFormatException e) {
+                log.debug("忽略无效的整页缓存有效期规则: {}", rule);
+            }
+        }
+        return PathRuleMatcher.compile(patterns, ttls);
+    }
+
+    /**
+     * Whether a rendered response may be stored in the page cache.
+     * 渲染出的响应是否可以放入整页缓存。
+     *
+     * @param response rendered response / 渲染出的响应
+     * @return true if cacheable / 可缓存时返回 true
+     */
+    boolean isCacheablePage(ServerHttpResponse response) {
+        HttpHeaders headers = response.getHeaders();
+        if (!response.getCookies().isEmpty() || headers.containsKey(HttpHeaders.SET_COOKIE)) {
+            return false;
+        }
+        // 按其他请求头变化的页面无法用变体键区分，不缓存
+        for (String vary : headers.getVary()) {
+            if (!KEYED_VARY_HEADERS.contains(vary.trim().toLowerCase())) {
+                return false;
+            }
+        }
+        String cacheControl = headers.getCacheControl();
+        return cacheControl == null
+            || !(cacheControl.contains("private") || cacheControl.contains("no-store"));
+    }
+
+    private HttpHeaders cacheableHeaders(ServerHttpResponse response) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.putAll(response.getHeaders());
+        headers.remove(HttpHeaders.CONTENT_LENGTH);
+        headers.remove(HttpHeaders.CONTENT_ENCODING);
+        headers.remove(HttpHeaders.TRANSFER_ENCODING);
+        headers.remove(HttpHeaders.ETAG);
+        headers.remove(PAGE_CACHE_HEADER);
+        return headers;
+    }
+
+    /**
+     * Whether pages rendered now come out complete; always true in the lite version.
+     * 此时渲染的页面是否完整；轻量版中始终为 true。
+     *
+     * @return false while the JavaScript engines are warming up / JavaScript 引擎预热期间返回 false
+     */
+    boolean isJsEngineReady() {
+        return jsEngineReadiness.stream().allMatch(JsEngineReadiness::isReady);
+    }
+
+    boolean isExcludedPath(String path, HtmlMinifyConfig config) {
+        return pathRuleRegistry.matcher("htmlMinify.excludePaths", config.getExcludePaths())
+            .matches(path);
+    }
+
+    boolean isStreamingPath(String path, HtmlMinifyConfig config) {
+        return pathRuleRegistry.matcher("htmlMinify.streamingPaths", config.getStreamingPaths())
+            .matches(path);
+    }
+
+    boolean isAnonymous(ServerHttpRequest request) {
+        if (request.getHeaders().containsKey(HttpHeaders.AUTHORIZATION)) {
+            return false;
+        }
+        return SESSION_COOKIES.stream().noneMatch(request.getCookies()::containsKey);
+    }
+
+    String pathAndQuery(ServerHttpRequest request) {
+        String query = request.getURI().getRawQuery();
+        String path = request.getPath().value();
+        return query == null ? path : path + "?" + query;
+    }
+
+    /**
+     * Key of the page variant a request selects: path and query plus the locale inputs.
+     * 请求所选页面变体的键：路径与查询参数，加上决定页面语言的输入。
+     *
+     * <p>The page cache and the ETag store are keyed by it, so a page rendered for one
+     * {@code Accept-Language} or locale cookie is never served to another.</p>
+     * <p>整页缓存与 ETag 记录都以此为键，为某个 {@code Accept-Language} 或语言 Cookie 渲染的页面不会返回给其他访客。</p>
+     *
+     * @param request request / 请求
+     * @return variant key / 变体键
+     */
+    String variantKey(ServerHttpRequest request) {
+        StringBuilder key = new StringBuilder(pathAndQuery(request));
+        String acceptLanguage = request.getHeaders().getFirst(HttpHeaders.ACCEPT_LANGUAGE);
+        if (acceptLanguage != null && !acceptLanguage.isBlank()) {
+            key.append('\n').append(HttpHeaders.ACCEPT_LANGUAGE).append('=')
+                .append(acceptLanguage.strip());
+        }
+        for (String name : LOCALE_COOKIES) {
+            HttpCookie cookie = request.getCookies().getFirst(name);
+            if (cookie != null) {
+                key.append('\n').append(name).append('=').append(cookie.getValue());
+            }
+        }
+        return key.toString();
+    }
+
+    static List<String> ifNoneMatch(ServerHttpRequest request) {
+        try {
+            return request.getHeaders().getIfNoneMatch();
+        } catch (IllegalArgumentException e) {
+            // 格式错误的 If-None-Match 视为未携带
+            return List.of();
+        }
+    }
+
+    private Mono<Void> writeNotModified(ServerHttpResponse response, String etag,
+        HtmlMinifyConfig config) {
+        response.setStatusCode(HttpStatus.NOT_MODIFIED);
+        response.getHeaders().setETag(etag);
+        if (config.isEnabledMinifyCache() && config.isEnabledPrecompression()) {
+            addVaryAcceptEncoding(response);
+        }
+        return response.setComplete();
+    }
+
+    boolean isEligibleMinifyResponse(ServerHttpResponse response) {
+        var statusCode = response.getStatusCode();
+        return (statusCode == null || statusCode.isSameCodeAs(HttpStatus.OK))
+            && isMinifiableHtmlResponse(response);
+    }
+
+    static void addVaryAcceptEncoding(ServerHttpResponse response) {
+        // 预压缩后同一页面会按 Accept-Encoding 返回不同的表示
+        HttpHeaders headers = response.getHeaders();
+        boolean present = headers.getVary().stream()
+            .anyMatch(value -> value.equalsIgnoreCase(HttpHeaders.ACCEPT_ENCODING)
+                || "*".equals(value));
+        if (!present) {
+            headers.add(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        }
+    }
+
+    void removeContentLength(ServerHttpResponse response) {
+        // 流式压缩后的长度未知，改为分块传输
+        response.getHeaders().remove(HttpHeaders.CONTENT_LENGTH);
+    }
+
+    static DataBuffer createHtmlResponseBuffer(String html, ServerHttpResponse response) {
+        return createHtmlResponseBuffer(html.getBytes(StandardCharsets.UTF_8), response);
+    }
+
+    static DataBuffer createHtmlResponseBuffer(byte[] resultBytes, ServerHttpResponse response) {
+        return createHtmlResponseBuffer(response.bufferFactory().wrap(resultBytes), response);
+    }
+
+    // 原样写出合并后的缓冲区，未改动的页面无需复制
+    static DataBuffer createHtmlResponseBuffer(DataBuffer body, ServerHttpResponse response) {
+        response.getHeaders().remove(HttpHeaders.CONTENT_LENGTH);
+        response.getHeaders().remove(HttpHeaders.TRANSFER_ENCODING);
+        response.getHeaders().setContentLength(body.readableByteCount());
+        return body;
+    }
+
+    private boolean isHtmlResponse(ServerHttpResponse response) {
+        return response.getHeaders().getContentType() != null
+            && response.getHeaders().getContentType().includes(MediaType.TEXT_HTML);
+    }
+
+    private boolean isMinifiableHtmlResponse(ServerHttpResponse response) {
+        return isHtmlResponse(response)
+            && hasNoEncodedBody(response)
+            && usesUtf8Charset(response);
+    }
+
+    static boolean hasNoEncodedBody(ServerHttpResponse response) {
+        List<String> encodings = response.getHeaders().getOrEmpty(HttpHeaders.CONTENT_ENCODING);
+        if (encodings.isEmpty()) {
+            return true;
+        }
+        return encodings.stream()
+            .filter(encoding -> encoding != null && !encoding.isBlank())
+            .allMatch("identity"::equalsIgnoreCase);
+    }
+
+    static boolean usesUtf8Charset(ServerHttpResponse response) {
+        MediaType contentType = response.getHeaders().getContentType();
+        if (contentType == null) {
+            return false;
+        }
+        if (contentType.getCharset() == null) {
+            return true;
+        }
+        return StandardCharsets.UTF_8.equals(contentType.getCharset());
+    }
+
+    @Override
+    public int getOrder() {
+        return LOWEST_PRECEDENCE;
+    }
+
+    class HtmlMinifyResponseDecorator extends ServerHttpResponseDecorator {
+        private final ServerWebExchange exchange;
+        private final HtmlMinifyConfig config;
+        private final long startNanos;
+        private final PageCapture pageCapture;
+        private final boolean jsEngineReady;
+
+        HtmlMinifyResponseDecorator(ServerWebExchange exchange, HtmlMinifyConfig config,
+            long startNanos, PageCapture pageCapture) {
+            super(exchange.getResponse());
+            this.exchange = exchange;
+            this.config = config;
+            this.startNanos = startNanos;
+            this.pageCapture = pageCapture;
+            // 按请求开始时的状态判断，预热恰好在渲染期间完成时页面仍可能未高亮
+            this.jsEngineReady = isJsEngineReady();
+        }
+
+        Mono<Void> writeCachedPage(HtmlPageCache.CachedPage page) {
+            var response = getDelegate();
+            String path = exchange.getRequest().getPath().value();
+            return response.writeWith(
+                encodeResponse(page.minifyKey(), page.minified(), response, path));
+        }
+
+        @Override
+        public @NonNull Mono<Void> writeWith(@NonNull Publisher<? extends DataBuffer> body) {
+            var response = getDelegate();
+            if (!isEligibleMinifyResponse(response)) {
+                return super.writeWith(body);
+            }
+            String path = exchange.getRequest().getPath().value();
+            if (path.isBlank()) {
+                return super.writeWith(body);
+            }
+            if (isStreamingPath(path, config)) {
+                var minifier = new StreamingHtmlMinifier(config);
+                removeContentLength(response);
+                return super.writeWith(Flux.from(body)
+                    .map(dataBuffer -> minifyChunk(minifier, dataBuffer, response))
+                    .concatWith(Mono.fromSupplier(() -> finishStream(minifier, response))));
+            }
+            return super.writeWith(rewriteHtmlBody(body, response, path));
+        }
+
+        @Override
+        public @NonNull Mono<Void> writeAndFlushWith(
+            @NonNull Publisher<? extends Publisher<? extends DataBuffer>> body) {
+            var response = getDelegate();
+            if (!isEligibleMinifyResponse(response)) {
+                return super.writeAndFlushWith(body);
+            }
+            String path = exchange.getRequest().getPath().value();
+            if (path.isBlank()) {
+                return super.writeAndFlushWith(body);
+            }
+            if (isStreamingPath(path, config)) {
+                // 保留上游的刷新边界，每个分块处理完成后立即写出
+                var minifier = new StreamingHtmlMinifier(config);
+                removeContentLength(response);
+                Flux<Flux<DataBuffer>> streamedBody = Flux.from(body)
+                    .map(publisher -> Flux.from(publisher)
+                        .map(dataBuffer -> minifyChunk(minifier, dataBuffer, response)));
+                return super.writeAndFlushWith(streamedBody.concatWith(
+                    Mono.fromSupplier(() -> Flux.just(finishStream(minifier, response)))));
+            }
+            var flattenedBody = Flux.from(body).flatMapSequential(publisher -> publisher);
+            var processedBody = rewriteHtmlBody(flattenedBody, response, path)
+                .flux()
+                .map(Flux::just);
+            return super.writeAndFlushWith(processedBody);
+        }
+
+        private DataBuffer minifyChunk(StreamingHtmlMinifier minifier, DataBuffer dataBuffer,
+            ServerHttpResponse response) {
+            try (var iterator = dataBuffer.readableByteBuffers()) {
+                while (iterator.hasNext()) {
+                    minifier.feed(iterator.next());
+                }
+                return response.bufferFactory().wrap(minifier.takeOutput());
+            } finally {
+                DataBufferUtils.release(dataBuffer);
+            }
+        }
+
+        private DataBuffer finishStream(StreamingHtmlMinifier minifier,
+            ServerHttpResponse response) {
+            return response.bufferFactory().wrap(minifier.finish());
+        }
+
+        private Mono<DataBuffer> rewriteHtmlBody(Publisher<? extends DataBuffer> body,
+            ServerHttpResponse response,
+            String path) {
+            return DataBufferUtils.join(Flux.from(body)).flatMap(dataBuffer -> {
+                if (dataBuffer.readableByteCount() == 0) {
+                    return Mono.just(createHtmlResponseBuffer(dataBuffer, response));
+                }
+                HtmlMinifyCache.Key key = null;
+                if (config.isEnabledMinifyCache()) {
+                    if (config.isEnabledPrecompression()) {
+                        addVaryAcceptEncoding(response);
+                    }
+                    key = htmlMinifyCache.keyOf(dataBuffer, config);
+                    byte[] cached = htmlMinifyCache.get(key);
+                    if (cached != null) {
+                        DataBufferUtils.release(dataBuffer);
+                        return encodeResponse(key, cached, response, path);
+                    }
+                    if (config.isStaleWhileRevalidate() && !htmlMinifyCache.clearFailed(key)) {
+                        // 未命中时直接返回原始页面，压缩结果留给后续请求
+                        if (htmlMinifyCache.markPending(key)) {
+                            var pendingKey = key;
+                            minify(dataBuffer.toString(StandardCharsets.UTF_8), path)
+                                .doFinally(signal -> htmlMinifyCache.clearPending(pendingKey))
+                                .subscribe(
+                                    processedHtml -> htmlMinifyCache.put(pendingKey,
+                                        processedHtml),
+                                    error -> {
+                                        // 后台压缩失败时下一次请求同步压缩，而不是一直返回原始页面
+                                        htmlMinifyCache.markFailed(pendingKey);
+                                        log.debug("路径 [{}] 的后台压缩失败，下次请求将同步压缩",
+                                            path);
+                                    });
+                        }
+                        return Mono.just(createHtmlResponseBuffer(dataBuffer, response));
+                    }
+                }
+                String html;
+                try {
+                    html = dataBuffer.toString(StandardCharsets.UTF_8);
+                } finally {
+                    DataBufferUtils.release(dataBuffer);
+                }
+                if (key == null) {
+                    return minify(html, path)
+                        .map(processedHtml -> writeRepresentation(null, processedHtml, null,
+                            processedHtml, response))
+                        .onErrorResume(error -> Mono.fromSupplier(
+                            () -> createHtmlResponseBuffer(html, response)));
+                }
+                var cacheKey = key;
+                return minify(html, path)
+                    .doOnNext(processedHtml -> htmlMinifyCache.put(cacheKey, processedHtml))
+                    .flatMap(processedHtml -> encodeResponse(cacheKey, processedHtml, response,
+                        path))
+                    .onErrorResume(error -> Mono.fromSupplier(
+                        () -> createHtmlResponseBuffer(html, response)));
+            }).switchIfEmpty(Mono.fromSupplier(() -> createHtmlResponseBuffer("", response)));
+        }
+
+        private Mono<DataBuffer> encodeResponse(HtmlMinifyCache.Key key, byte[] minified,
+            ServerHttpResponse response, String path) {
+            HtmlContentEncoding encoding = key != null && config.isEnabledPrecompression()
+                ? htmlContentEncoder.negotiate(
+                    exchange.getRequest().getHeaders().getFirst(HttpHeaders.ACCEPT_ENCODING),
+                    config.getPrecompressEncodings())
+                : null;
+            if (encoding == null) {
+                return Mono.just(writeRepresentation(key, minified, null, minified, response));
+            }
+            byte[] cached = htmlMinifyCache.getEncoded(key, encoding);
+            Mono<byte[]> encoded = cached != null
+                ? Mono.just(cached)
+                : htmlMinifyScheduler.submit(() -> htmlContentEncoder.encode(encoding, minified))
+                    .doOnNext(bytes -> htmlMinifyCache.putEncoded(key, encoding, bytes));
+            return encoded
+                .map(bytes -> writeRepresentation(key, minified, encoding, bytes, response))
+                .doOnError(error -> !(error instanceof RejectedExecutionException),
+                    error -> log.warn("Failed to encode HTML response for path [{}] with [{}]",
+                        path, encoding.getToken(), error))
+                .onErrorResume(error -> Mono.fromSupplier(
+                    () -> writeRepresentation(key, minified, null, minified, response)));
+        }
+
+        private DataBuffer writeRepresentation(HtmlMinifyCache.Key key, byte[] minified,
+            HtmlContentEncoding encoding, byte[] body, ServerHttpResponse response) {
+            if (pageCapture != null && jsEngineReady && isCacheablePage(response)) {
+                htmlPageCache.put(pageCapture.key(),
+                    new HtmlPageCache.CachedPage(minified, key, cacheableHeaders(response)),
+                    pageCapture.ttl(), config.getPageCacheMaxSizeMb() * 1024L * 1024L);
+            }
+            if (encoding != null) {
+                response.getHeaders().set(HttpHeaders.CONTENT_ENCODING, encoding.getToken());
+            }
+            ServerHttpRequest request = exchange.getRequest();
+            if (!config.isEnabledEtag() || !isAnonymous(request)) {
+                return createHtmlResponseBuffer(body, response);
+            }
+            HtmlMinifyCache.ContentHash hash = HtmlMinifyCache.contentHash(minified);
+            String etag = HtmlEtagStore.etagOf(hash, encoding);
+            response.getHeaders().setETag(etag);
+            if (jsEngineReady) {
+                htmlEtagStore.record(variantKey(request), hash,
+                    HtmlMinifyCache.fingerprint(config), body.length,
+                    System.nanoTime() - startNanos);
+            }
+            if (!HtmlEtagStore.matches(ifNoneMatch(request), etag)) {
+                return createHtmlResponseBuffer(body, response);
+            }
+            // 内容未变化，渲染已经完成但仍可省去响应体的传输
+            htmlEtagStore.recordRevalidation(body.length);
+            response.setStatusCode(HttpStatus.NOT_MODIFIED);
+            response.getHeaders().remove(HttpHeaders.CONTENT_ENCODING);
+            response.getHeaders().remove(HttpHeaders.CONTENT_LENGTH);
+            return response.bufferFactory().wrap(new byte[0]);
+        }
+
+        private Mono<byte[]> minify(String html, String path) {
+            return htmlMinifyScheduler.submit(() -> htmlMinifyService.minifyToUtf8(html, config))
+                .doOnError(RejectedExecutionException.class, error -> log.debug(
+                    "HTML 压缩线程已饱和，路径 [{}] 返回原始页面", path))
+                .doOnError(error -> !(error instanceof RejectedExecutionException),
+                    error -> log.warn("Failed to minify HTML response for path [{}]", path,
+                        error));
+        }
+    }
+
+    /**
+     * Page cache slot filled by the request that renders a missing page.
+     * 由渲染未命中页面的请求填充的整页缓存位置。
+     *
+     * @param key page variant key / 页面变体键
+     * @param ttl time to live / 有效期
+     */
+    record PageCapture(String key, Duration ttl) {
+    }
+}
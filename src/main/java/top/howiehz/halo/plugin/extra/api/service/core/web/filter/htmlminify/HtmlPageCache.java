@@ -0,0 +1,328 @@
+package top.howiehz.halo.plugin.extra.api.service.core.web.filter.htmlminify;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import run.halo.app.event.post.PostUpdatedEvent;
+import run.halo.app.plugin.PluginConfigUpdatedEvent;
+import top.howiehz.halo.plugin.extra.api.service.core.runtime.memory.MemoryPressureLevel;
+import top.howiehz.halo.plugin.extra.api.service.core.runtime.memory.MemoryPressureListener;
+
+/**
+ * Short-lived cache of minified pages served to anonymous visitors.
+ * 面向未登录访客的短时整页缓存，缓存压缩后的页面。
+ *
+ * <p><b>缓存策略:</b></p>
+ * <ul>
+ *   <li>缓存键: 请求路径 + 查询参数,只缓存压缩后的页面与可复用的响应头,传输编码在命中时按请求协商</li>
+ *   <li>每个条目按路径规则设置有效期,同时限制条目数与总字节数,按最久未使用淘汰</li>
+ *   <li>同一路径的并发未命中只渲染一次,其余请求等待该次渲染的结果</li>
+ *   <li>文章、独立页面更新或插件配置变更时清空全部条目</li>
+ * </ul>
+ *
+ * <p><b>内存压力:</b> 告警时淘汰最久未使用的一半条目,严重时清空缓存</p>
+ */
+@Slf4j
+@Component
+public class HtmlPageCache implements MemoryPressureListener {
+
+    /**
+     * Maximum number of cached pages.
+     * 最大缓存页面数。
+     */
+    static final int MAX_CACHE_SIZE = 1024;
+
+    private final Map<String, Entry> lruMap = new LinkedHashMap<>(16, 0.75f, true);
+
+    private final Map<String, Sinks.One<CachedPage>> inflight = new ConcurrentHashMap<>();
+
+    private long cachedBytes;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder coalesced = new LongAdder();
+    private final LongAdder invalidations = new LongAdder();
+
+    /**
+     * Get a cached page that has not expired.
+     * 获取未过期的缓存页面。
+     *
+     * @param key request path and query / 请求路径与查询参数
+     * @return cached page or null / 缓存的页面，未命中时为 null
+     */
+    public CachedPage get(String key) {
+        synchronized (lruMap) {
+            Entry entry = lruMap.get(key);
+            if (entry != null && System.nanoTime() - entry.expiresAtNanos >= 0) {
+                lruMap.remove(key);
+                cachedBytes -= entry.size;
+                entry = null;
+            }
+            if (entry == null) {
+                misses.increment();
+                return null;
+            }
+            hits.increment();
+            return entry.page;
+        }
+    }
+
+    /**
+     * Cache a page.
+     * 缓存页面。
+     *
+     * @param key request path and query / 请求路径与查询参数
+     * @param page page to cache / 需要缓存的页面
+     * @param ttl time to live / 有效期
+     * @param maxBytes total size budget of the cache / 缓存总字节数上限
+     */
+    public void put(String key, CachedPage page, Duration ttl, long maxBytes) {
+        long size = page.minified().length;
+        if (size > maxBytes / 4) {
+            return;
+        }
+        Entry entry = new Entry(page, System.nanoTime() + ttl.toNanos(), size);
+        synchronized (lruMap) {
+            Entry previous = lruMap.put(key, entry);
+            if (previous != null) {
+                cachedBytes -= previous.size;
+            }
+            cachedBytes += size;
+            var iterator = lruMap.values().iterator();
+            while ((lruMap.size() > MAX_CACHE_SIZE || cachedBytes > maxBytes)
+                && iterator.hasNext()) {
+                cachedBytes -= iterator.next().size;
+                iterator.remove();
+            }
+        }
+    }
+
+    /**
+     * Try to become the request that renders a missing page.
+     * 尝试成为渲染未命中页面的请求。
+     *
+     * @param key request path and query / 请求路径与查询参数
+     * @return true if the caller must render and then call {@link #release(String)} / 调用方需要渲染并在结束后调用 {@link #release(String)} 时返回 true
+     */
+    public boolean tryLead(String key) {
+        return inflight.putIfAbsent(key, Sinks.one()) == null;
+    }
+
+    /**
+     * Wait for the page being rendered by another request.
+     * 等待其他请求正在渲染的页面。
+     *
+     * @param key request path and query / 请求路径与查询参数
+     * @return rendered page, or empty when it was not cacheable / 渲染出的页面，无法缓存时为空
+     */
+    public Mono<CachedPage> awaitInflight(String key) {
+        Sinks.One<CachedPage> sink = inflight.get(key);
+        if (sink == null) {
+            return Mono.fromSupplier(() -> peek(key));
+        }
+        return sink.asMono().doOnNext(page -> coalesced.increment());
+    }
+
+    /**
+     * Finish rendering a page and wake up the requests waiting for it.
+     * 结束页面渲染并唤醒等待该页面的请求。
+     *
+     * @param key request path and query / 请求路径与查询参数
+     */
+    public void release(String key) {
+        Sinks.One<CachedPage> sink = inflight.remove(key);
+        if (sink == null) {
+            return;
+        }
+        CachedPage page = peek(key);
+        if (page == null) {
+            sink.tryEmitEmpty();
+        } else {
+            sink.tryEmitValue(page);
+        }
+    }
+
+    private CachedPage peek(String key) {
+        synchronized (lruMap) {
+            Entry entry = lruMap.get(key);
+            return entry == null || System.nanoTime() - entry.expiresAtNanos >= 0
+                ? null : entry.page;
+        }
+    }
+
+    /**
+     * Drop every cached page.
+     * 清空全部缓存页面。
+     *
+     * @param reason reason for logging / 用于日志的原因
+     */
+    public void invalidateAll(String reason) {
+        int size;
+        synchronized (lruMap) {
+            size = lruMap.size();
+            lruMap.clear();
+            cachedBytes = 0;
+        }
+        invalidations.increment();
+        if (size > 0) {
+            log.info("{}，清空 {} 条整页缓存", reason, size);
+        }
+    }
+
+    /**
+     * Invalidate on post updates, which may change any page listing the post.
+     * 文章更新时清空缓存，任何列出该文章的页面都可能变化。
+     *
+     * @param event post updated event / 文章更新事件
+     */
+    @EventListener
+    public void onPostUpdated(PostUpdatedEvent event) {
+        invalidateAll("文章 " + event.getName() + " 已更新");
+    }
+
+    /**
+     * Invalidate on plugin config changes.
+     * 插件配置变更时清空缓存。
+     *
+     * @param event plugin config updated event / 插件配置更新事件
+     */
+    @EventListener
+    public void onPluginConfigUpdated(PluginConfigUpdatedEvent event) {
+        invalidateAll("插件配置已更新");
+    }
+
+    /**
+     * Invalidate on single page events shared by Halo.
+     * 收到 Halo 共享的独立页面事件时清空缓存。
+     *
+     * @param event application event / 应用事件
+     */
+    @EventListener
+    public void onApplicationEvent(ApplicationEvent event) {
+        if (isSinglePageEvent(event)) {
+            invalidateAll("独立页面已更新");
+        }
+    }
+
+    /**
+     * Check whether an event concerns single pages.
+     * 判断事件是否与独立页面有关。
+     *
+     * <p>Halo shares single page events with plugins under names that differ between
+     * versions, so they are recognised by name.</p>
+     * <p>Halo 向插件共享的独立页面事件在不同版本中名称不同，因此按类名识别。</p>
+     *
+     * @param event event / 事件
+     * @return true for single page events / 独立页面事件返回 true
+     */
+    static boolean isSinglePageEvent(Object event) {
+        String name = event.getClass().getSimpleName();
+        return name.startsWith("SinglePage") && name.endsWith("Event");
+    }
+
+    /**
+     * Get current cache size.
+     * 获取当前缓存大小。
+     *
+     * @return number of cached pages / 缓存页面数
+     */
+    public int size() {
+        synchronized (lruMap) {
+            return lruMap.size();
+        }
+    }
+
+    /**
+     * Evict the least recently used pages until at most the given number remain.
+     * 淘汰最久未使用的页面,直到最多剩余给定数量。
+     *
+     * @param maxEntries number of pages to keep / 保留的页面数
+     * @return number of evicted pages / 淘汰的页面数
+     */
+    public int trimTo(int maxEntries) {
+        synchronized (lruMap) {
+            int evicted = 0;
+            var iterator = lruMap.values().iterator();
+            while (lruMap.size() > maxEntries && iterator.hasNext()) {
+                cachedBytes -= iterator.next().size;
+                iterator.remove();
+                evicted++;
+            }
+            return evicted;
+        }
+    }
+
+    @Override
+    public String getMemoryPressureComponentName() {
+        return "html-page-cache";
+    }
+
+    @Override
+    public String onMemoryPressure(MemoryPressureLevel level) {
+        int before = size();
+        if (before == 0) {
+            return null;
+        }
+        return switch (level) {
+            case ELEVATED -> String.format("淘汰 %d 条整页缓存(剩余 %d 条)",
+                trimTo(before / 2), size());
+            case CRITICAL -> {
+                invalidateAll("内存压力严重");
+                yield String.format("清空 %d 条整页缓存", before);
+            }
+            default -> null;
+        };
+    }
+
+    /**
+     * Get page cache statistics.
+     * 获取整页缓存统计信息。
+     *
+     * @return statistics snapshot / 统计快照
+     */
+    public HtmlPageCacheStats getStats() {
+        synchronized (lruMap) {
+            return new HtmlPageCacheStats(lruMap.size(), cachedBytes, hits.sum(), misses.sum(),
+                coalesced.sum(), invalidations.sum());
+        }
+    }
+
+    /**
+     * A cached page.
+     * 缓存的页面。
+     *
+     * @param minified minified page bytes / 压缩后的页面字节
+     * @param minifyKey minify cache key for precompressed variants, may be null / 用于查找预压缩变体的压缩缓存键，可能为 null
+     * @param headers response headers replayed on a hit / 命中时重放的响应头
+     */
+    public record CachedPage(byte[] minified, HtmlMinifyCache.Key minifyKey,
+                             HttpHeaders headers) {
+    }
+
+    /**
+     * Page cache statistics snapshot.
+     * 整页缓存统计快照。
+     *
+     * @param entries cached pages / 缓存页面数
+     * @param cachedBytes cached bytes / 缓存字节数
+     * @param hits lookups served from the cache / 命中次数
+     * @param misses lookups that found nothing / 未命中次数
+     * @param coalesced requests served by another request's render / 复用其他请求渲染结果的次数
+     * @param invalidations times the cache was cleared / 缓存被清空的次数
+     */
+    public record HtmlPageCacheStats(int entries, long cachedBytes, long hits, long misses,
+                                     long coalesced, long invalidations) {
+    }
+
+    private record Entry(CachedPage page, long expiresAtNanos, long size) {
+    }
+}
@@ -0,0 +1,503 @@
+package top.howiehz.halo.plugin.extra.api.service.core.web.filter.htmlminify;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * Pure-Java HTML minifier used when no native minifier is available.
+ * 没有可用的原生压缩实现时使用的纯 Java HTML 压缩器。
+ *
+ * <p>A single pass over the document without building a tree. It applies the transformations
+ * of minify-html that need no parser beyond the tokenizer:</p>
+ * <ul>
+ *   <li>whitespace collapses to one space, and is dropped next to block-level tags</li>
+ *   <li>comments are removed unless kept by configuration; conditional comments are kept</li>
+ *   <li>attributes are unquoted where HTML allows it, empty boolean attributes lose their
+ *   value and {@code type="text"} is dropped from inputs</li>
+ *   <li>inline CSS is compacted; inline JavaScript is only trimmed, as minifying it safely
+ *   needs a JavaScript parser</li>
+ *   <li>{@code pre} and {@code textarea} content and template syntax are kept verbatim</li>
+ * </ul>
+ * <p>单次遍历文档，不构建节点树，只执行 minify-html 中无需完整解析器的变换：折叠空白并移除块级标签两侧的空白；按配置移除注释，
+ * 条件注释始终保留；在 HTML 允许时去掉属性值引号，空的布尔属性省略值，移除 input 的 {@code type="text"}；压缩内联 CSS，
+ * 内联 JavaScript 仅去除首尾空白（安全压缩需要 JavaScript 解析器）；{@code pre}、{@code textarea} 的内容与模板语法原样保留。</p>
+ *
+ * <p>Optional closing tags and the {@code html}/{@code head} start tags are always kept, so the
+ * output stays valid whatever the document structure.</p>
+ * <p>可省略的闭合标签与 {@code html}/{@code head} 起始标签始终保留，无论文档结构如何输出都保持有效。</p>
+ */
+public final class JavaHtmlMinifier implements HtmlMinifier {
+
+    /**
+     * Elements around whose tags whitespace is not rendered.
+     * 标签两侧的空白不会被渲染的元素。
+     */
+    private static final Set<String> BLOCK_ELEMENTS = Set.of(
+        "address", "article", "aside", "base", "blockquote", "body", "br", "caption", "col",
+        "colgroup", "dd", "details", "dialog", "div", "dl", "dt", "fieldset", "figcaption",
+        "figure", "footer", "form", "h1", "h2", "h3", "h4", "h5", "h6", "head", "header",
+        "hgroup", "hr", "html", "legend", "link", "main", "meta", "nav", "ol", "optgroup", "p",
+        "pre", "section", "summary", "table", "tbody", "tfoot", "thead", "title", "tr", "ul");
+
+    private static final Set<String> VERBATIM_ELEMENTS = Set.of("pre", "textarea");
+
+    /**
+     * At-rules whose block holds rules rather than declarations.
+     * 块内是规则而非声明的 @ 规则。
+     */
+    private static final List<String> RULE_BLOCK_AT_RULES = List.of("@media", "@supports",
+        "@layer", "@container", "@document", "@scope", "@starting-style", "@keyframes",
+        "@-webkit-keyframes");
+
+    private static final Set<String> BOOLEAN_ATTRIBUTES = Set.of(
+        "allowfullscreen", "async", "autofocus", "autoplay", "checked", "controls", "default",
+        "defer", "disabled", "formnovalidate", "hidden", "inert", "ismap", "itemscope", "loop",
+        "multiple", "muted", "nomodule", "novalidate", "open", "playsinline", "readonly",
+        "required", "reversed", "selected");
+
+    @Override
+    public String getName() {
+        return "java";
+    }
+
+    @Override
+    public boolean isAvailable() {
+        return true;
+    }
+
+    @Override
+    public String minify(String html, HtmlMinifyConfig config) {
+        return new Pass(html, config).run();
+    }
+
+    private static final class Pass {
+        private final String html;
+        private final HtmlMinifyConfig config;
+        private final StringBuilder out;
+        private final int length;
+        private int pos;
+        private boolean pendingSpace;
+        private boolean afterBlock = true;
+
+        private Pass(String html, HtmlMinifyConfig config) {
+            this.html = html;
+            this.config = config;
+            this.length = html.length();
+            this.out = new StringBuilder(length);
+        }
+
+        private String run() {
+            while (pos < length) {
+                char c = html.charAt(pos);
+                if (isWhitespace(c)) {
+                    pendingSpace = true;
+                    pos++;
+                } else if (c == '<') {
+                    markup();
+                } else if (c == '{' && config.isPreserveBraceTemplateSyntax()
+                    && braceTemplate()) {
+                    continue;
+                } else {
+                    text();
+                }
+            }
+            return out.toString();
+        }
+
+        private void text() {
+            writeSpace();
+            int start = pos;
+            while (pos < length) {
+                char c = html.charAt(pos);
+                if (isWhitespace(c) || c == '<'
+                    || (c == '{' && config.isPreserveBraceTemplateSyntax())) {
+                    break;
+                }
+                pos++;
+            }
+            if (pos == start) {
+                // 单独的 "{" 不是模板语法
+                pos++;
+            }
+            out.append(html, start, pos);
+            afterBlock = false;
+        }
+
+        private boolean braceTemplate() {
+            if (pos + 1 >= length) {
+                return false;
+            }
+            String close = switch (html.charAt(pos + 1)) {
+                case '{' -> "}}";
+                case '%' -> "%}";
+                case '#' -> "#}";
+                default -> null;
+            };
+            if (close == null) {
+                return false;
+            }
+            writeSpace();
+            copyThrough(close);
+            afterBlock = false;
+            return true;
+        }
+
+        private void markup() {
+            if (html.startsWith("<!--", pos)) {
+                comment();
+            } else if (html.startsWith("<!", pos)) {
+                bang();
+            } else if (html.startsWith("<?", pos)) {
+                int end = endOf('>', pos);
+                if (!config.isRemoveProcessingInstructions()) {
+                    writeSpace();
+                    out.append(html, pos, end);
+                    afterBlock = false;
+                }
+                pos = end;
+            } else if (html.startsWith("<%", pos)
+                && config.isPreserveChevronPercentTemplateSyntax()) {
+                writeSpace();
+                copyThrough("%>");
+                afterBlock = false;
+            } else if (pos + 1 < length && (isLetter(html.charAt(pos + 1))
+                || (html.charAt(pos + 1) == '/' && pos + 2 < length
+                && isLetter(html.charAt(pos + 2))))) {
+                tag();
+            } else {
+                // 不是标签，例如 "a < b"
+                writeSpace();
+                out.append('<');
+                afterBlock = false;
+                pos++;
+            }
+        }
+
+        private void comment() {
+            int close = html.indexOf("-->", pos + 4);
+            int end = close < 0 ? length : close + 3;
+            boolean keep = config.isKeepComments()
+                || html.startsWith("<!--[", pos)
+                || html.startsWith("<!--<", pos)
+                || (config.isKeepSsiComments() && html.startsWith("<!--#", pos));
+            if (keep) {
+                writeSpace();
+                out.append(html, pos, end);
+                afterBlock = false;
+            }
+            // 移除的注释两侧的空白合并为一处
+            pos = end;
+        }
+
+        private void bang() {
+            int end = endOf('>', pos);
+            if (html.regionMatches(true, pos, "<!doctype", 0, 9)) {
+                pendingSpace = false;
+                if (config.isMinifyDoctype()) {
+                    out.append("<!doctype html>");
+                } else {
+                    out.append(html, pos, end);
+                }
+                afterBlock = true;
+            } else if (!config.isRemoveBangs()) {
+                writeSpace();
+                out.append(html, pos, end);
+                afterBlock = false;
+            }
+            pos = end;
+        }
+
+        private void tag() {
+            int start = pos;
+            boolean closing = html.charAt(pos + 1) == '/';
+            pos += closing ? 2 : 1;
+            int nameStart = pos;
+            while (pos < length && isNameChar(html.charAt(pos))) {
+                pos++;
+            }
+            String name = html.substring(nameStart, pos).toLowerCase(Locale.ROOT);
+            boolean block = BLOCK_ELEMENTS.contains(name);
+            if (block) {
+                pendingSpace = false;
+            } else {
+                writeSpace();
+            }
+            out.append(html, start, pos);
+            boolean selfClosing = attributes(name);
+            afterBlock = block;
+            if (closing || selfClosing) {
+                return;
+            }
+            if (VERBATIM_ELEMENTS.contains(name)) {
+                int end = closingTagOf(name);
+                out.append(html, pos, end);
+                pos = end;
+                afterBlock = false;
+            } else if ("script".equals(name) || "style".equals(name)) {
+                int end = closingTagOf(name);
+                String content = html.substring(pos, end);
+                if ("style".equals(name) && config.isMinifyCss()) {
+                    content = minifyCss(content);
+                } else if ("script".equals(name) && config.isMinifyJs()) {
+                    content = content.strip();
+                }
+                out.append(content);
+                pos = end;
+            }
+        }
+
+        /**
+         * Copy the attributes of the current tag, minifying them, and consume its end.
+         * 复制当前标签的属性并进行压缩，同时消费标签结尾。
+         *
+         * @param tagName lower-case tag name / 小写标签名
+         * @return true for a self-closing tag / 自闭合标签返回 true
+         */
+        private boolean attributes(String tagName) {
+            boolean first = true;
+            boolean lastQuoted = true;
+            while (pos < length) {
+                char c = html.charAt(pos);
+                if (isWhitespace(c)) {
+                    pos++;
+                } else if (c == '>') {
+                    out.append('>');
+                    pos++;
+                    return false;
+                } else if (c == '/' && pos + 1 < length && html.charAt(pos + 1) == '>') {
+                    out.append(lastQuoted ? "/>" : " />");
+                    pos += 2;
+                    return true;
+                } else {
+                    int written = out.length();
+                    lastQuoted = attribute(tagName, !first && lastQuoted);
+                    first &= out.length() == written;
+                }
+            }
+            return false;
+        }
+
+        /**
+         * Copy one attribute, minifying it.
+         * 复制并压缩一个属性。
+         *
+         * @param tagName lower-case tag name / 小写标签名
+         * @param afterQuoted whether it follows a quoted value / 是否紧跟在带引号的属性值之后
+         * @return true if the written value is quoted / 写出的属性值带引号时返回 true
+         */
+        private boolean attribute(String tagName, boolean afterQuoted) {
+            int nameStart = pos;
+            while (pos < length) {
+                char c = html.charAt(pos);
+                if (isWhitespace(c) || c == '=' || c == '>'
+                    || (c == '/' && pos > nameStart)) {
+                    break;
+                }
+                pos++;
+            }
+            String name = html.substring(nameStart, pos);
+            int afterName = pos;
+            skipWhitespace();
+            String value = null;
+            char quote = 0;
+            if (pos < length && html.charAt(pos) == '=') {
+                pos++;
+                skipWhitespace();
+                if (pos < length && (html.charAt(pos) == '"' || html.charAt(pos) == '\'')) {
+                    quote = html.charAt(pos);
+                    int close = html.indexOf(quote, pos + 1);
+                    int end = close < 0 ? length : close;
+                    value = html.substring(pos + 1, end);
+                    pos = Math.min(length, end + 1);
+                } else {
+                    int valueStart = pos;
+                    while (pos < length && !isWhitespace(html.charAt(pos))
+                        && html.charAt(pos) != '>') {
+                        pos++;
+                    }
+                    value = html.substring(valueStart, pos);
+                }
+            } else {
+                pos = afterName;
+            }
+            String lowerName = name.toLowerCase(Locale.ROOT);
+            if (!config.isKeepInputTypeTextAttr() && "input".equals(tagName)
+                && "type".equals(lowerName) && "text".equalsIgnoreCase(value)) {
+                return afterQuoted;
+            }
+            if (!(afterQuoted && config.isAllowRemovingSpacesBetweenAttributes())) {
+                out.append(' ');
+            }
+            out.append(name);
+            if (value == null || (value.isEmpty() && BOOLEAN_ATTRIBUTES.contains(lowerName))) {
+                return false;
+            }
+            out.append('=');
+            if (canUnquote(value)) {
+                out.append(value);
+                return false;
+            }
+            char outQuote = quote != 0 ? quote : (value.indexOf('"') < 0 ? '"' : '\'');
+            out.append(outQuote).append(value).append(outQuote);
+            return true;
+        }
+
+        private boolean canUnquote(String value) {
+            if (value.isEmpty() || value.endsWith("/")) {
+                return false;
+            }
+            boolean noncompliant = config.isAllowNoncompliantUnquotedAttributeValues();
+            for (int i = 0; i < value.length(); i++) {
+                char c = value.charAt(i);
+                if (isWhitespace(c) || c == '>') {
+                    return false;
+                }
+                if (!noncompliant && (c == '"' || c == '\'' || c == '=' || c == '<'
+                    || c == '`')) {
+                    return false;
+                }
+            }
+            char first = value.charAt(0);
+            return first != '"' && first != '\'';
+        }
+
+        private int closingTagOf(String name) {
+            int from = pos;
+            while (true) {
+                int candidate = html.indexOf("</", from);
+                if (candidate < 0) {
+                    return length;
+                }
+                int nameEnd = candidate + 2 + name.length();
+                if (html.regionMatches(true, candidate + 2, name, 0, name.length())
+                    && (nameEnd >= length || !isNameChar(html.charAt(nameEnd)))) {
+                    return candidate;
+                }
+                from = candidate + 2;
+            }
+        }
+
+        private void copyThrough(String close) {
+            int found = html.indexOf(close, pos + 2);
+            int end = found < 0 ? length : found + close.length();
+            out.append(html, pos, end);
+            pos = end;
+        }
+
+        private int endOf(char c, int from) {
+            int found = html.indexOf(c, from);
+            return found < 0 ? length : found + 1;
+        }
+
+        private void skipWhitespace() {
+            while (pos < length && isWhitespace(html.charAt(pos))) {
+                pos++;
+            }
+        }
+
+        private void writeSpace() {
+            if (pendingSpace && !afterBlock) {
+                out.append(' ');
+            }
+            pendingSpace = false;
+        }
+    }
+
+    /**
+     * Compact CSS: drop comments, collapse whitespace and remove it around punctuation.
+     * 压缩 CSS：移除注释，折叠空白并移除标点两侧的空白。
+     *
+     * <p>Whitespace before {@code :} is always kept, because it is a descendant combinator in
+     * selectors such as {@code a :hover}. Whitespace after it is dropped only inside declaration
+     * blocks, where {@code :} separates a property from its value; in selectors and at-rule
+     * preludes it is only collapsed. Strings are copied verbatim.</p>
+     * <p>{@code :} 之前的空白始终保留，因为在 {@code a :hover} 这类选择器中它是后代组合器；之后的空白只在声明块内
+     * （{@code :} 分隔属性与值）移除，在选择器与 @ 规则前导部分中只折叠。字符串原样复制。</p>
+     *
+     * @param css CSS source / CSS 源码
+     * @return compacted CSS / 压缩后的 CSS
+     */
+    static String minifyCss(String css) {
+        StringBuilder out = new StringBuilder(css.length());
+        // 每个未闭合的块是否为声明块，以及当前选择器或 @ 规则前导部分在输出中的起点
+        Deque<Boolean> declarationBlocks = new ArrayDeque<>();
+        int preludeStart = 0;
+        boolean pendingSpace = false;
+        int i = 0;
+        int length = css.length();
+        while (i < length) {
+            char c = css.charAt(i);
+            if (c == '/' && i + 1 < length && css.charAt(i + 1) == '*') {
+                int close = css.indexOf("*/", i + 2);
+                i = close < 0 ? length : close + 2;
+                continue;
+            }
+            if (isWhitespace(c)) {
+                pendingSpace = true;
+                i++;
+                continue;
+            }
+            if (pendingSpace && !out.isEmpty() && !isCssPunctuation(c)
+                && !isCssPunctuation(out.charAt(out.length() - 1))
+                && !(out.charAt(out.length() - 1) == ':'
+                && Boolean.TRUE.equals(declarationBlocks.peek()))) {
+                out.append(' ');
+            }
+            pendingSpace = false;
+            if (c == '"' || c == '\'') {
+                int end = i + 1;
+                while (end < length && css.charAt(end) != c) {
+                    end += css.charAt(end) == '\\' ? 2 : 1;
+                }
+                end = Math.min(length, end + 1);
+                out.append(css, i, end);
+                i = end;
+                continue;
+            }
+            if (c == '}' && !out.isEmpty() && out.charAt(out.length() - 1) == ';') {
+                out.setLength(out.length() - 1);
+            }
+            if (c == '{') {
+                declarationBlocks.push(isDeclarationBlock(out.substring(preludeStart)));
+            } else if (c == '}') {
+                declarationBlocks.poll();
+            }
+            out.append(c);
+            i++;
+            if (c == '{' || c == '}' || c == ';') {
+                preludeStart = out.length();
+            }
+        }
+        return out.toString();
+    }
+
+    private static boolean isDeclarationBlock(String prelude) {
+        String name = prelude.strip().toLowerCase(Locale.ROOT);
+        for (String atRule : RULE_BLOCK_AT_RULES) {
+            if (name.startsWith(atRule)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean isCssPunctuation(char c) {
+        return c == '{' || c == '}' || c == ';' || c == ',' || c == '>';
+    }
+
+    private static boolean isWhitespace(char c) {
+        return c == ' ' || c == '\n' || c == '\r' || c == '\t' || c == '\f';
+    }
+
+    private static boolean isLetter(char c) {
+        return (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z');
+    }
+
+    private static boolean isNameChar(char c) {
+        return isLetter(c) || (c >= '0' && c <= '9') || c == '-' || c == ':' || c == '_'
+            || c == '.';
+    }
+}
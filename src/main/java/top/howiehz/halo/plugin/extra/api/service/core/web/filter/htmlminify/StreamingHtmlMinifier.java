@@ -0,0 +1,287 @@
+package top.howiehz.halo.plugin.extra.api.service.core.web.filter.htmlminify;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.util.Set;
+
+/**
+ * Incremental HTML minifier for streamed responses.
+ * 面向流式响应的增量 HTML 压缩器。
+ *
+ * <p>Works directly on UTF-8 bytes: every byte of HTML syntax is ASCII and never appears
+ * inside a multi-byte sequence, so chunks can be split anywhere. Only context-free
+ * transformations are applied, so each completed section can be written out immediately:</p>
+ * <ul>
+ *   <li>whitespace runs in text collapse to a single space</li>
+ *   <li>comments are removed unless configured otherwise; conditional comments are kept</li>
+ *   <li>tags, and the content of {@code <pre>}, {@code <textarea>}, {@code <script>} and
+ *   {@code <style>}, are written verbatim</li>
+ * </ul>
+ * <p>直接处理 UTF-8 字节：HTML 语法字符均为 ASCII，且不会出现在多字节序列内部，因此分块可以在任意位置切分。
+ * 只执行与上下文无关的变换，处理完成的部分可以立即写出：文本中的连续空白折叠为一个空格；注释按配置移除，条件注释始终保留；
+ * 标签以及 pre、textarea、script、style 元素的内容原样输出。</p>
+ *
+ * <p>Look-behind is bounded: only an unfinished tag name or comment opener (at most
+ * {@value #MAX_TAG_NAME_LENGTH} bytes) is held back between chunks. Instances are stateful and
+ * must be used for a single response.</p>
+ * <p>回看窗口是有界的：分块之间只会暂存未完成的标签名或注释起始（最多 {@value #MAX_TAG_NAME_LENGTH} 字节）。
+ * 实例有状态，只能用于单个响应。</p>
+ */
+final class StreamingHtmlMinifier {
+
+    /**
+     * Longest tag name held back before the tag is written verbatim.
+     * 标签被原样写出前可暂存的最长标签名。
+     */
+    static final int MAX_TAG_NAME_LENGTH = 64;
+
+    private static final Set<String> RAW_TEXT_ELEMENTS =
+        Set.of("pre", "textarea", "script", "style");
+
+    private static final byte[] COMMENT_OPEN = {'<', '!', '-', '-'};
+
+    private enum State {
+        TEXT, TAG_OPEN, TAG, TAG_QUOTE, COMMENT, RAW
+    }
+
+    private final boolean keepComments;
+    private final boolean keepSsiComments;
+    private final ByteArrayOutputStream out = new ByteArrayOutputStream();
+    private final ByteArrayOutputStream pending = new ByteArrayOutputStream();
+    private final StringBuilder tagName = new StringBuilder();
+
+    private State state = State.TEXT;
+    private boolean pendingWhitespace;
+    private boolean closingTag;
+    private byte quote;
+    private byte lastTagByte;
+    private Boolean keepComment;
+    private int commentDashes;
+    private String rawEndTag;
+    private int rawMatched;
+
+    StreamingHtmlMinifier(HtmlMinifyConfig config) {
+        this.keepComments = config.isKeepComments();
+        this.keepSsiComments = config.isKeepSsiComments();
+    }
+
+    /**
+     * Feed a chunk; completed output is collected until {@link #takeOutput()}.
+     * 输入一个分块；已完成的输出会累积到调用 {@link #takeOutput()} 为止。
+     *
+     * @param input UTF-8 encoded chunk / UTF-8 编码的分块
+     */
+    void feed(ByteBuffer input) {
+        while (input.hasRemaining()) {
+            step(input.get());
+        }
+    }
+
+    /**
+     * Process a chunk and return the output that is complete.
+     * 处理一个分块并返回已完成的输出。
+     *
+     * @param input UTF-8 encoded chunk / UTF-8 编码的分块
+     * @return minified output ready to be written / 可立即写出的压缩输出
+     */
+    byte[] process(byte[] input) {
+        feed(ByteBuffer.wrap(input));
+        return takeOutput();
+    }
+
+    /**
+     * Take the output completed so far.
+     * 取出目前已完成的输出。
+     *
+     * @return minified output ready to be written / 可立即写出的压缩输出
+     */
+    byte[] takeOutput() {
+        byte[] result = out.toByteArray();
+        out.reset();
+        return result;
+    }
+
+    /**
+     * Flush whatever is held back at the end of the response.
+     * 在响应结束时写出所有暂存内容。
+     *
+     * @return remaining output / 剩余输出
+     */
+    byte[] finish() {
+        if (state == State.TAG_OPEN || (state == State.COMMENT && keepComment == null)) {
+            writePendingWhitespace();
+            out.writeBytes(pending.toByteArray());
+            pending.reset();
+        }
+        writePendingWhitespace();
+        state = State.TEXT;
+        return takeOutput();
+    }
+
+    private void step(byte b) {
+        switch (state) {
+            case TEXT -> text(b);
+            case TAG_OPEN -> tagOpen(b);
+            case TAG -> tag(b);
+            case TAG_QUOTE -> {
+                out.write(b);
+                if (b == quote) {
+                    state = State.TAG;
+                }
+            }
+            case COMMENT -> comment(b);
+            case RAW -> raw(b);
+        }
+    }
+
+    private void text(byte b) {
+        if (isWhitespace(b)) {
+            pendingWhitespace = true;
+            return;
+        }
+        if (b == '<') {
+            // 空白先保留，若随后的注释被移除则与其后的空白合并
+            pending.reset();
+            pending.write(b);
+            tagName.setLength(0);
+            closingTag = false;
+            state = State.TAG_OPEN;
+            return;
+        }
+        writePendingWhitespace();
+        out.write(b);
+    }
+
+    private void tagOpen(byte b) {
+        pending.write(b);
+        if (pending.size() == COMMENT_OPEN.length && isCommentOpen()) {
+            keepComment = null;
+            // "<!-->" 与 "<!--->" 也会结束注释
+            commentDashes = 2;
+            state = State.COMMENT;
+            return;
+        }
+        if (pending.size() == 2 && b == '/') {
+            closingTag = true;
+            return;
+        }
+        if (tagName.isEmpty() ? isNameStart(b) : isNameByte(b)) {
+            tagName.append((char) Character.toLowerCase(b));
+            if (tagName.length() <= MAX_TAG_NAME_LENGTH) {
+                return;
+            }
+        }
+        writePendingWhitespace();
+        byte[] held = pending.toByteArray();
+        pending.reset();
+        if (tagName.isEmpty()) {
+            // 不是标签，例如 "a < b"，按文本重新处理当前字节
+            out.write(held, 0, held.length - 1);
+            state = State.TEXT;
+            step(b);
+            return;
+        }
+        out.write(held, 0, held.length - 1);
+        lastTagByte = 0;
+        state = State.TAG;
+        step(b);
+    }
+
+    private void tag(byte b) {
+        out.write(b);
+        if (b == '"' || b == '\'') {
+            quote = b;
+            state = State.TAG_QUOTE;
+        } else if (b == '>') {
+            endTag();
+        } else if (!isWhitespace(b)) {
+            lastTagByte = b;
+        }
+    }
+
+    private void endTag() {
+        String name = tagName.toString();
+        if (!closingTag && lastTagByte != '/' && RAW_TEXT_ELEMENTS.contains(name)) {
+            rawEndTag = "</" + name;
+            rawMatched = 0;
+            state = State.RAW;
+        } else {
+            state = State.TEXT;
+        }
+    }
+
+    private void comment(byte b) {
+        if (keepComment == null) {
+            pending.write(b);
+            keepComment = keepComments
+                || b == '['
+                || b == '<'
+                || (keepSsiComments && b == '#');
+            if (keepComment) {
+                writePendingWhitespace();
+                out.writeBytes(pending.toByteArray());
+            }
+            pending.reset();
+        } else if (keepComment) {
+            out.write(b);
+        }
+        if (b == '>' && commentDashes >= 2) {
+            state = State.TEXT;
+        } else {
+            commentDashes = b == '-' ? commentDashes + 1 : 0;
+        }
+    }
+
+    private void raw(byte b) {
+        out.write(b);
+        if (rawMatched == rawEndTag.length()) {
+            if (isWhitespace(b) || b == '>' || b == '/') {
+                tagName.setLength(0);
+                tagName.append(rawEndTag, 2, rawEndTag.length());
+                closingTag = true;
+                lastTagByte = 0;
+                state = State.TAG;
+                if (b == '>') {
+                    endTag();
+                }
+                return;
+            }
+            rawMatched = 0;
+        }
+        if (Character.toLowerCase(b) == rawEndTag.charAt(rawMatched)) {
+            rawMatched++;
+        } else {
+            rawMatched = b == '<' ? 1 : 0;
+        }
+    }
+
+    private boolean isCommentOpen() {
+        byte[] held = pending.toByteArray();
+        for (int i = 0; i < COMMENT_OPEN.length; i++) {
+            if (held[i] != COMMENT_OPEN[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void writePendingWhitespace() {
+        if (pendingWhitespace) {
+            out.write(' ');
+            pendingWhitespace = false;
+        }
+    }
+
+    private static boolean isWhitespace(byte b) {
+        return b == ' ' || b == '\n' || b == '\r' || b == '\t' || b == '\f';
+    }
+
+    private static boolean isNameStart(byte b) {
+        return (b >= 'a' && b <= 'z') || (b >= 'A' && b <= 'Z') || b == '!' || b == '?';
+    }
+
+    private static boolean isNameByte(byte b) {
+        return isNameStart(b) || (b >= '0' && b <= '9') || b == '-' || b == ':' || b == '_'
+            || b == '.';
+    }
+}
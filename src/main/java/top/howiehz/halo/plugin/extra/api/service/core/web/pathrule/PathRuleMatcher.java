@@ -0,0 +1,280 @@
+package top.howiehz.halo.plugin.extra.api.service.core.web.pathrule;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import org.springframework.http.server.PathContainer;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+import org.springframework.web.util.pattern.PatternParseException;
+
+/**
+ * An ordered list of path rules compiled once into a combined matcher.
+ * 一次性编译为组合匹配器的有序路径规则列表。
+ *
+ * <p><b>编译方式:</b></p>
+ * <ul>
+ *   <li>{@code /a/b/**} 这类“字面前缀 + {@code /**}”的规则放入按路径段划分的前缀树，匹配时只需沿请求路径走一遍</li>
+ *   <li>不含通配符的规则放入精确路径表</li>
+ *   <li>其余规则编译为 {@link PathPattern}；{@code PathPattern} 不支持的 Ant 写法（如中间的 {@code **}）
+ *   回退到 {@link AntPathMatcher}，与旧配置保持兼容</li>
+ * </ul>
+ *
+ * <p>Rules keep their order: the value of the first matching rule wins. Decisions are cached
+ * per path in a bounded map that is cleared when full. Instances are immutable apart from
+ * that cache and safe for concurrent use.</p>
+ * <p>规则保持顺序，取第一条命中规则的值。匹配结果按路径缓存在有界表中，表满时清空。除该缓存外实例不可变，可并发使用。</p>
+ *
+ * @param <T> rule value type / 规则值类型
+ */
+public final class PathRuleMatcher<T> {
+
+    /**
+     * Maximum number of cached path decisions.
+     * 最多缓存的路径匹配结果数。
+     */
+    static final int MAX_CACHED_DECISIONS = 1024;
+
+    private static final PathRuleMatcher<?> EMPTY =
+        new PathRuleMatcher<>(List.of(), new Node(), Map.of(), List.of());
+
+    private static final AntPathMatcher ANT_PATH_MATCHER = new AntPathMatcher();
+
+    /**
+     * Rule index meaning that no rule matches.
+     * 表示没有规则命中的规则序号。
+     */
+    private static final int NO_MATCH = -1;
+
+    private final List<T> values;
+    private final Node prefixTrie;
+    private final Map<String, Integer> exactPaths;
+    private final List<CompiledRule> patterns;
+    private final Map<String, Integer> decisions = new ConcurrentHashMap<>();
+
+    private PathRuleMatcher(List<T> values, Node prefixTrie, Map<String, Integer> exactPaths,
+        List<CompiledRule> patterns) {
+        this.values = values;
+        this.prefixTrie = prefixTrie;
+        this.exactPaths = exactPaths;
+        this.patterns = patterns;
+    }
+
+    /**
+     * Compile a list of patterns; a match yields {@link Boolean#TRUE}.
+     * 编译模式列表，命中时返回 {@link Boolean#TRUE}。
+     *
+     * @param patterns path patterns, blank entries are ignored / 路径模式，空白项会被忽略
+     * @return compiled matcher / 编译后的匹配器
+     */
+    public static PathRuleMatcher<Boolean> compile(List<String> patterns) {
+        if (patterns == null || patterns.isEmpty()) {
+            return empty();
+        }
+        List<Boolean> values = new ArrayList<>(patterns.size());
+        patterns.forEach(pattern -> values.add(Boolean.TRUE));
+        return compile(patterns, values);
+    }
+
+    /**
+     * Compile a list of patterns, each carrying the value returned when it matches first.
+     * 编译模式列表，每条模式携带其作为首条命中规则时返回的值。
+     *
+     * @param patterns path patterns, blank entries are ignored / 路径模式，空白项会被忽略
+     * @param values values aligned with the patterns / 与模式一一对应的值
+     * @param <T> rule value type / 规则值类型
+     * @return compiled matcher / 编译后的匹配器
+     */
+    public static <T> PathRuleMatcher<T> compile(List<String> patterns, List<T> values) {
+        if (patterns.size() != values.size()) {
+            throw new IllegalArgumentException("patterns and values must have the same size");
+        }
+        Node trie = new Node();
+        Map<String, Integer> exact = new HashMap<>();
+        List<CompiledRule> compiled = new ArrayList<>();
+        for (int index = 0; index < patterns.size(); index++) {
+            String pattern = patterns.get(index);
+            if (pattern == null || pattern.isBlank()) {
+                continue;
+            }
+            pattern = pattern.trim();
+            if (isLiteralPrefix(pattern)) {
+                trie.insert(pattern.substring(0, pattern.length() - 3), index);
+            } else if (isLiteral(pattern)) {
+                exact.putIfAbsent(pattern, index);
+            } else {
+                compiled.add(CompiledRule.of(pattern, index));
+            }
+        }
+        return new PathRuleMatcher<>(List.copyOf(values), trie, Map.copyOf(exact),
+            List.copyOf(compiled));
+    }
+
+    /**
+     * A matcher without rules.
+     * 不含任何规则的匹配器。
+     *
+     * @param <T> rule value type / 规则值类型
+     * @return empty matcher / 空匹配器
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> PathRuleMatcher<T> empty() {
+        return (PathRuleMatcher<T>) EMPTY;
+    }
+
+    /**
+     * Whether any rule matches the path.
+     * 是否有规则命中该路径。
+     *
+     * @param path request path / 请求路径
+     * @return true if a rule matches / 有规则命中时返回 true
+     */
+    public boolean matches(String path) {
+        return firstMatch(path) >= 0;
+    }
+
+    /**
+     * Get the value of the first rule matching the path.
+     * 获取第一条命中该路径的规则的值。
+     *
+     * @param path request path / 请求路径
+     * @return rule value, or null when no rule matches / 规则值，没有规则命中时为 null
+     */
+    public T match(String path) {
+        int index = firstMatch(path);
+        return index < 0 ? null : values.get(index);
+    }
+
+    int cachedDecisions() {
+        return decisions.size();
+    }
+
+    private int firstMatch(String path) {
+        if (path == null || path.isBlank() || this == EMPTY) {
+            return NO_MATCH;
+        }
+        Integer cached = decisions.get(path);
+        if (cached != null) {
+            return cached;
+        }
+        int index = evaluate(path);
+        if (decisions.size() >= MAX_CACHED_DECISIONS) {
+            // 路径取值无上限，表满时整体清空，热门路径会很快重新写入
+            decisions.clear();
+        }
+        decisions.put(path, index);
+        return index;
+    }
+
+    private int evaluate(String path) {
+        int best = prefixTrie.firstMatch(path);
+        Integer exact = exactPaths.get(path);
+        if (exact != null && (best < 0 || exact < best)) {
+            best = exact;
+        }
+        PathContainer container = null;
+        for (CompiledRule rule : patterns) {
+            if (best >= 0 && rule.index() > best) {
+                break;
+            }
+            if (rule.pathPattern() != null) {
+                if (container == null) {
+                    container = PathContainer.parsePath(path);
+                }
+                if (rule.pathPattern().matches(container)) {
+                    return rule.index();
+                }
+            } else if (ANT_PATH_MATCHER.match(rule.antPattern(), path)) {
+                return rule.index();
+            }
+        }
+        return best;
+    }
+
+    private static boolean isLiteralPrefix(String pattern) {
+        return pattern.startsWith("/") && pattern.endsWith("/**")
+            && isLiteral(pattern.substring(0, pattern.length() - 3));
+    }
+
+    private static boolean isLiteral(String pattern) {
+        for (int i = 0; i < pattern.length(); i++) {
+            char c = pattern.charAt(i);
+            if (c == '*' || c == '?' || c == '{' || c == '}' || c == '%' || c == ';') {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * A rule that needs a pattern matcher, with its position in the rule list.
+     * 需要模式匹配器的规则及其在规则列表中的位置。
+     */
+    private record CompiledRule(PathPattern pathPattern, String antPattern, int index) {
+        static CompiledRule of(String pattern, int index) {
+            try {
+                return new CompiledRule(PathPatternParser.defaultInstance.parse(pattern), null,
+                    index);
+            } catch (PatternParseException e) {
+                return new CompiledRule(null, pattern, index);
+            }
+        }
+    }
+
+    /**
+     * Prefix trie node keyed by path segment.
+     * 以路径段为键的前缀树节点。
+     */
+    private static final class Node {
+        private final Map<String, Node> children = new HashMap<>();
+        private int ruleIndex = NO_MATCH;
+
+        void insert(String prefix, int index) {
+            Node node = this;
+            int start = 0;
+            while (start < prefix.length()) {
+                int end = segmentEnd(prefix, start);
+                if (end > start) {
+                    node = node.children.computeIfAbsent(prefix.substring(start, end),
+                        key -> new Node());
+                }
+                start = end + 1;
+            }
+            if (node.ruleIndex < 0 || index < node.ruleIndex) {
+                node.ruleIndex = index;
+            }
+        }
+
+        /**
+         * Walk the path and return the lowest rule index among the matched prefixes.
+         * 沿路径遍历，返回命中的前缀中最小的规则序号。
+         */
+        int firstMatch(String path) {
+            Node node = this;
+            int best = node.ruleIndex;
+            int start = 0;
+            while (start < path.length()) {
+                int end = segmentEnd(path, start);
+                if (end > start) {
+                    node = node.children.get(path.substring(start, end));
+                    if (node == null) {
+                        break;
+                    }
+                    if (node.ruleIndex >= 0 && (best < 0 || node.ruleIndex < best)) {
+                        best = node.ruleIndex;
+                    }
+                }
+                start = end + 1;
+            }
+            return best;
+        }
+
+        private static int segmentEnd(String path, int start) {
+            int end = path.indexOf('/', start);
+            return end < 0 ? path.length() : end;
+        }
+    }
+}
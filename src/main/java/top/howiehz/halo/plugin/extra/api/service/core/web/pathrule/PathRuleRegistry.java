@@ -0,0 +1,63 @@
+package top.howiehz.halo.plugin.extra.api.service.core.web.pathrule;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import org.springframework.stereotype.Component;
+
+/**
+ * Shared cache of compiled path rule matchers, keyed by rule set name.
+ * 按规则集名称缓存已编译路径规则匹配器的共享组件。
+ *
+ * <p>Settings are fetched as new objects on every request, so a matcher is reused as long as
+ * the source list is equal to the one it was compiled from, and compiled again once after the
+ * setting changes.</p>
+ * <p>每次请求获取的设置都是新对象，因此只要源列表与编译时相同就复用匹配器，设置变更后只重新编译一次。</p>
+ */
+@Component
+public class PathRuleRegistry {
+
+    private final Map<String, Entry<?>> entries = new ConcurrentHashMap<>();
+
+    /**
+     * Get the matcher for a plain pattern list.
+     * 获取普通模式列表对应的匹配器。
+     *
+     * @param name rule set name / 规则集名称
+     * @param patterns path patterns / 路径模式
+     * @return compiled matcher / 编译后的匹配器
+     */
+    public PathRuleMatcher<Boolean> matcher(String name, List<String> patterns) {
+        return matcher(name, patterns, PathRuleMatcher::compile);
+    }
+
+    /**
+     * Get the matcher for a rule list, compiling it when the list changed.
+     * 获取规则列表对应的匹配器，列表变化时重新编译。
+     *
+     * @param name rule set name, unique per rule format / 规则集名称，每种规则格式唯一
+     * @param rules raw rules from the settings / 设置中的原始规则
+     * @param compiler compiles the raw rules / 编译原始规则的函数
+     * @param <T> rule value type / 规则值类型
+     * @return compiled matcher / 编译后的匹配器
+     */
+    @SuppressWarnings("unchecked")
+    public <T> PathRuleMatcher<T> matcher(String name, List<String> rules,
+        Function<List<String>, PathRuleMatcher<T>> compiler) {
+        if (rules == null || rules.isEmpty()) {
+            return PathRuleMatcher.empty();
+        }
+        Entry<?> entry = entries.get(name);
+        if (entry != null && entry.source().equals(rules)) {
+            return (PathRuleMatcher<T>) entry.matcher();
+        }
+        PathRuleMatcher<T> matcher = compiler.apply(rules);
+        entries.put(name, new Entry<>(new ArrayList<>(rules), matcher));
+        return matcher;
+    }
+
+    private record Entry<T>(List<String> source, PathRuleMatcher<T> matcher) {
+    }
+}
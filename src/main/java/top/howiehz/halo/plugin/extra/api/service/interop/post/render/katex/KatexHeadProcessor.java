@@ -0,0 +1,53 @@
+package top.howiehz.halo.plugin.extra.api.service.interop.post.render.katex;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+import org.springframework.web.util.HtmlUtils;
+import org.thymeleaf.context.ITemplateContext;
+import org.thymeleaf.model.IModel;
+import org.thymeleaf.processor.element.IElementModelStructureHandler;
+import reactor.core.publisher.Mono;
+import run.halo.app.theme.dialect.TemplateHeadProcessor;
+import top.howiehz.halo.plugin.extra.api.service.core.config.KatexConfig;
+import top.howiehz.halo.plugin.extra.api.service.core.config.KatexConfigSupplier;
+
+/**
+ * Thymeleaf processor that injects the KaTeX stylesheet into the HTML head.
+ * Thymeleaf 处理器，在文章和单页的 HTML head 中注入 KaTeX 样式表。
+ *
+ * <p>Server-rendered math only needs the stylesheet and fonts; no KaTeX script is loaded in
+ * the browser.</p>
+ * <p>服务端渲染的公式只需要样式表与字体，浏览器中无需加载 KaTeX 脚本。</p>
+ */
+@Component
+@RequiredArgsConstructor
+public class KatexHeadProcessor implements TemplateHeadProcessor {
+
+    private final KatexConfigSupplier katexConfigSupplier;
+
+    /**
+     * Process the head element and inject the KaTeX stylesheet if needed.
+     * 处理 head 元素，根据需要注入 KaTeX 样式表。
+     *
+     * @param context the template context / 模板上下文
+     * @param model the model to modify / 要修改的模型
+     * @param structureHandler the structure handler / 结构处理器
+     * @return Mono that completes when processing is done / 处理完成时完成的 Mono
+     */
+    @Override
+    public Mono<Void> process(ITemplateContext context, IModel model,
+        IElementModelStructureHandler structureHandler) {
+        Object templateId = context.getVariable("_templateId");
+        if (!"post".equals(templateId) && !"page".equals(templateId)) {
+            return Mono.empty();
+        }
+        return katexConfigSupplier.get()
+            .filter(KatexConfig::isEnabledKatexRender)
+            .filter(katexConfig -> StringUtils.hasText(katexConfig.getCssUrl()))
+            .doOnNext(katexConfig -> model.add(context.getModelFactory().createText(
+                "<link rel=\"stylesheet\" href=\""
+                    + HtmlUtils.htmlEscape(katexConfig.getCssUrl().strip()) + "\" />")))
+            .then();
+    }
+}
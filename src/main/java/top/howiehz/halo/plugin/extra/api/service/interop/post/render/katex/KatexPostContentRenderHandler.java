@@ -0,0 +1,44 @@
+package top.howiehz.halo.plugin.extra.api.service.interop.post.render.katex;
+
+import com.google.common.base.Throwables;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+import run.halo.app.theme.ReactivePostContentHandler;
+import top.howiehz.halo.plugin.extra.api.service.core.config.KatexConfigSupplier;
+
+/**
+ * Handler for rendering math in post content using KaTeX.
+ * 使用 KaTeX 渲染文章内容中数学公式的处理器。
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class KatexPostContentRenderHandler implements ReactivePostContentHandler {
+    private final KatexConfigSupplier katexConfigSupplier;
+    private final KatexRenderMathService katexRenderMathService;
+
+    /**
+     * Handle post content rendering by applying KaTeX math rendering.
+     * 处理文章内容渲染，应用 KaTeX 公式渲染。
+     *
+     * @param contentContext the post content context / 文章内容上下文
+     * @return Mono emitting the processed content context / 发出处理后的内容上下文的 Mono
+     */
+    @Override
+    public Mono<PostContentContext> handle(PostContentContext contentContext) {
+        return katexConfigSupplier.get().map(katexConfig -> {
+            if (!katexConfig.isEnabledKatexRender()) {
+                return contentContext;
+            }
+            contentContext.setContent(
+                katexRenderMathService.renderMath(contentContext.getContent(), katexConfig));
+            return contentContext;
+        }).onErrorResume(e -> {
+            log.error("Error occurred while rendering math with KaTeX: {}",
+                Throwables.getStackTraceAsString(e));
+            return Mono.just(contentContext);
+        });
+    }
+}
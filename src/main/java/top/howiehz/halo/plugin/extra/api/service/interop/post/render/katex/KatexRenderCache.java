@@ -0,0 +1,180 @@
+package top.howiehz.halo.plugin.extra.api.service.interop.post.render.katex;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import top.howiehz.halo.plugin.extra.api.service.core.runtime.memory.MemoryPressureLevel;
+import top.howiehz.halo.plugin.extra.api.service.core.runtime.memory.MemoryPressureListener;
+
+/**
+ * LRU + TTL cache for KaTeX math render results.
+ * 基于 LRU + TTL 的 KaTeX 公式渲染结果缓存。
+ *
+ * <p><b>缓存策略:</b></p>
+ * <ul>
+ *   <li>缓存键: SHA-256(tex) + display,公式渲染是纯函数,相同输入总是产生相同输出</li>
+ *   <li>同一篇文章中的公式通常在每次渲染时全部重复出现,缓存命中后无需借用引擎</li>
+ *   <li>渲染失败的公式不会被缓存</li>
+ * </ul>
+ *
+ * <p><b>线程安全:</b> 公式条目较小且访问集中在渲染阶段,直接使用同步的访问顺序 LinkedHashMap</p>
+ *
+ * <p><b>内存压力:</b> 告警时淘汰最久未使用的一半条目,严重时清空缓存</p>
+ */
+@Slf4j
+@Component
+public class KatexRenderCache implements MemoryPressureListener {
+
+    /**
+     * Maximum number of cache entries.
+     * 最大缓存条目数。
+     */
+    private static final int MAX_CACHE_SIZE = 10_000;
+
+    /**
+     * Default TTL for cache entries, so that KaTeX upgrades take effect without a restart.
+     * 缓存条目的默认过期时间，使 KaTeX 升级后无需重启即可生效。
+     */
+    private static final Duration DEFAULT_TTL = Duration.ofHours(24);
+
+    private final Map<String, CacheEntry> lruMap =
+        new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, CacheEntry> eldest) {
+                return size() > MAX_CACHE_SIZE;
+            }
+        };
+
+    private final ThreadLocal<MessageDigest> digestThreadLocal = ThreadLocal.withInitial(() -> {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new RuntimeException("SHA-256 algorithm not available", e);
+        }
+    });
+
+    /**
+     * Get cached render result.
+     * 获取缓存的渲染结果。
+     *
+     * @param tex TeX source / TeX 源码
+     * @param display whether rendered in display mode / 是否为块级公式
+     * @return the cached HTML or null if not found or expired / 缓存的 HTML 或 null(未找到或已过期)
+     */
+    public String get(String tex, boolean display) {
+        String key = computeCacheKey(tex, display);
+        synchronized (lruMap) {
+            CacheEntry entry = lruMap.get(key);
+            if (entry == null) {
+                return null;
+            }
+            if (entry.isExpired()) {
+                lruMap.remove(key);
+                return null;
+            }
+            return entry.html();
+        }
+    }
+
+    /**
+     * Put render result into cache.
+     * 将渲染结果放入缓存。
+     *
+     * @param tex TeX source / TeX 源码
+     * @param display whether rendered in display mode / 是否为块级公式
+     * @param html rendered HTML / 渲染后的 HTML
+     */
+    public void put(String tex, boolean display, String html) {
+        CacheEntry entry = new CacheEntry(html, Instant.now().plus(DEFAULT_TTL));
+        String key = computeCacheKey(tex, display);
+        synchronized (lruMap) {
+            lruMap.put(key, entry);
+        }
+    }
+
+    /**
+     * Clear all cache entries.
+     * 清空所有缓存条目。
+     */
+    public void clearAll() {
+        synchronized (lruMap) {
+            int size = lruMap.size();
+            lruMap.clear();
+            log.info("清空 KaTeX 渲染缓存,已删除 {} 条记录", size);
+        }
+    }
+
+    /**
+     * Get current cache size.
+     * 获取当前缓存大小。
+     *
+     * @return number of cached entries / 缓存条目数
+     */
+    public int size() {
+        synchronized (lruMap) {
+            return lruMap.size();
+        }
+    }
+
+    /**
+     * Evict the least recently used entries until at most the given number remain.
+     * 淘汰最久未使用的条目,直到最多剩余给定数量。
+     *
+     * @param maxEntries number of entries to keep / 保留的条目数
+     * @return number of evicted entries / 淘汰的条目数
+     */
+    public int trimTo(int maxEntries) {
+        synchronized (lruMap) {
+            int evicted = 0;
+            var iterator = lruMap.keySet().iterator();
+            while (lruMap.size() > maxEntries && iterator.hasNext()) {
+                iterator.next();
+                iterator.remove();
+                evicted++;
+            }
+            return evicted;
+        }
+    }
+
+    @Override
+    public String getMemoryPressureComponentName() {
+        return "katex-render-cache";
+    }
+
+    @Override
+    public String onMemoryPressure(MemoryPressureLevel level) {
+        int before = size();
+        if (before == 0) {
+            return null;
+        }
+        return switch (level) {
+            case ELEVATED -> String.format("淘汰 %d 条公式缓存(剩余 %d 条)", trimTo(before / 2),
+                size());
+            case CRITICAL -> {
+                clearAll();
+                yield String.format("清空 %d 条公式缓存", before);
+            }
+            default -> null;
+        };
+    }
+
+    private String computeCacheKey(String tex, boolean display) {
+        MessageDigest digest = digestThreadLocal.get();
+        digest.reset();
+        byte[] hash = digest.digest(tex.getBytes(StandardCharsets.UTF_8));
+        return HexFormat.of().formatHex(hash) + (display ? ":display" : ":inline");
+    }
+
+    private record CacheEntry(String html, Instant expiresAt) {
+        boolean isExpired() {
+            return Instant.now().isAfter(expiresAt);
+        }
+    }
+}
@@ -0,0 +1,259 @@
+package top.howiehz.halo.plugin.extra.api.service.interop.post.render.katex;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.jsoup.Jsoup;
+import org.jsoup.nodes.Document;
+import org.jsoup.nodes.Element;
+import org.jsoup.nodes.Entities;
+import org.jsoup.nodes.Node;
+import org.jsoup.nodes.TextNode;
+import org.jsoup.select.NodeFilter;
+import org.springframework.stereotype.Component;
+import top.howiehz.halo.plugin.extra.api.service.core.config.KatexConfig;
+import top.howiehz.halo.plugin.extra.api.service.interop.runtime.adapters.katex.KatexMathService;
+import top.howiehz.halo.plugin.extra.api.service.interop.runtime.adapters.katex.KatexMathService.MathRenderRequest;
+
+/**
+ * Service for rendering TeX math in HTML content with KaTeX on the server.
+ * 在服务端使用 KaTeX 渲染 HTML 内容中 TeX 数学公式的服务。
+ *
+ * <p>Recognised input:</p>
+ * <ul>
+ *   <li>{@code <pre><code class="language-math">} blocks, rendered in display mode</li>
+ *   <li>{@code $$...$$} in text, rendered in display mode</li>
+ *   <li>{@code $...$} in text when enabled, rendered inline</li>
+ * </ul>
+ * <p>识别的输入：{@code language-math} 代码块与 {@code $$...$$} 按块级公式渲染，
+ * 启用后 {@code $...$} 按行内公式渲染。代码、脚本等元素中的文本不会被处理。</p>
+ *
+ * <p>All distinct expressions of a document are rendered in one batch call on one engine;
+ * results are cached, so a re-render of an unchanged post does not borrow an engine at all.</p>
+ * <p>文档中所有不同的公式在同一个引擎中一次性批量渲染，渲染结果会被缓存，未变化的文章再次渲染时无需借用引擎。</p>
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class KatexRenderMathService {
+
+    private static final String ERROR_PREFIX = "Error:";
+
+    /**
+     * Elements whose text is never scanned for math delimiters.
+     * 不扫描公式分隔符的元素。
+     */
+    private static final Set<String> SKIPPED_TAGS =
+        Set.of("pre", "code", "script", "style", "textarea", "kbd", "samp");
+
+    private static final Pattern DISPLAY_PATTERN = Pattern.compile("\\$\\$([\\s\\S]+?)\\$\\$");
+
+    /**
+     * Display math plus single-dollar inline math. The inline form must not start or end with
+     * whitespace and must not touch a word character outside, so prices such as "$5 and $10"
+     * are left alone.
+     * 块级公式加单美元符号行内公式。行内公式首尾不能是空白，且外侧不能紧邻单词字符，
+     * 因此 "$5 and $10" 这类价格文本不会被误识别。
+     */
+    private static final Pattern DISPLAY_AND_INLINE_PATTERN = Pattern.compile(
+        "\\$\\$([\\s\\S]+?)\\$\\$"
+            + "|(?<![\\\\$\\w])\\$(?![\\s$])((?:\\\\.|[^$\\\\\\n])+?)(?<!\\s)\\$(?![\\w$])");
+
+    private final KatexMathService katexMathService;
+    private final KatexRenderCache renderCache;
+
+    /**
+     * Render math expressions in the given HTML content.
+     * 渲染给定 HTML 内容中的数学公式。
+     *
+     * @param content the HTML content to process / 要处理的 HTML 内容
+     * @param katexConfig the KaTeX configuration / KaTeX 配置
+     * @return the processed HTML content / 处理后的 HTML 内容
+     */
+    public String renderMath(String content, KatexConfig katexConfig) {
+        if (content == null || (content.indexOf('$') < 0 && !content.contains("language-math"))) {
+            return content;
+        }
+
+        Document doc = Jsoup.parse(content);
+        Pattern pattern = katexConfig.isRenderInlineDollar()
+            ? DISPLAY_AND_INLINE_PATTERN : DISPLAY_PATTERN;
+
+        List<MathBlock> blocks = new ArrayList<>();
+        for (Element code : doc.select("pre > code.language-math")) {
+            Element pre = code.parent();
+            if (pre != null) {
+                blocks.add(new MathBlock(pre, new MathRenderRequest(code.wholeText(), true)));
+            }
+        }
+        List<MathText> texts = collectMathTexts(doc, pattern);
+        if (blocks.isEmpty() && texts.isEmpty()) {
+            return content;
+        }
+
+        List<MathRenderRequest> requests = new ArrayList<>();
+        blocks.forEach(block -> requests.add(block.request()));
+        texts.forEach(text -> text.segments().stream()
+            .filter(MathSource.class::isInstance)
+            .map(segment -> ((MathSource) segment).request())
+            .forEach(requests::add));
+
+        Map<MathRenderRequest, String> rendered = render(requests);
+        if (rendered.isEmpty()) {
+            return content;
+        }
+
+        for (MathBlock block : blocks) {
+            String html = rendered.get(block.request());
+            if (html != null) {
+                block.pre().before(html);
+                block.pre().remove();
+            }
+        }
+        for (MathText text : texts) {
+            replaceText(text, rendered);
+        }
+
+        doc.outputSettings(new Document.OutputSettings().prettyPrint(false));
+        return doc.body().html();
+    }
+
+    private static List<MathText> collectMathTexts(Document doc, Pattern pattern) {
+        List<MathText> texts = new ArrayList<>();
+        doc.body().filter(new NodeFilter() {
+            @Override
+            public FilterResult head(Node node, int depth) {
+                if (node instanceof Element element && (SKIPPED_TAGS.contains(
+                    element.normalName()) || element.hasClass("katex"))) {
+                    return FilterResult.SKIP_ENTIRELY;
+                }
+                if (node instanceof TextNode textNode) {
+                    List<Object> segments = split(textNode.getWholeText(), pattern);
+                    if (segments != null) {
+                        texts.add(new MathText(textNode, segments));
+                    }
+                }
+                return FilterResult.CONTINUE;
+            }
+        });
+        return texts;
+    }
+
+    /**
+     * Split text into plain strings and math requests.
+     * 将文本拆分为普通字符串与公式请求。
+     *
+     * @return segments, or null when the text contains no math / 片段列表，不含公式时返回 null
+     */
+    private static List<Object> split(String text, Pattern pattern) {
+        if (text.indexOf('$') < 0) {
+            return null;
+        }
+        Matcher matcher = pattern.matcher(text);
+        List<Object> segments = null;
+        int last = 0;
+        while (matcher.find()) {
+            boolean display = matcher.group(1) != null;
+            String tex = (display ? matcher.group(1) : matcher.group(2)).strip();
+            if (tex.isEmpty()) {
+                continue;
+            }
+            if (segments == null) {
+                segments = new ArrayList<>();
+            }
+            if (matcher.start() > last) {
+                segments.add(text.substring(last, matcher.start()));
+            }
+            segments.add(new MathSource(matcher.group(), new MathRenderRequest(tex, display)));
+            last = matcher.end();
+        }
+        if (segments != null && last < text.length()) {
+            segments.add(text.substring(last));
+        }
+        return segments;
+    }
+
+    private static void replaceText(MathText text, Map<MathRenderRequest, String> rendered) {
+        StringBuilder html = new StringBuilder();
+        boolean changed = false;
+        for (Object segment : text.segments()) {
+            if (segment instanceof MathSource source) {
+                String math = rendered.get(source.request());
+                if (math != null) {
+                    html.append(math);
+                    changed = true;
+                } else {
+                    html.append(Entities.escape(source.raw()));
+                }
+            } else {
+                html.append(Entities.escape((String) segment));
+            }
+        }
+        if (changed) {
+            text.node().before(html.toString());
+            text.node().remove();
+        }
+    }
+
+    /**
+     * Resolve rendered HTML for the requests from cache, rendering misses in one batch.
+     * 从缓存中获取请求的渲染结果，未命中的公式在一次批量调用中渲染。
+     *
+     * @param requests requests in document order, possibly repeated / 文档顺序的请求，可能重复
+     * @return successfully rendered requests / 渲染成功的请求
+     */
+    private Map<MathRenderRequest, String> render(List<MathRenderRequest> requests) {
+        Map<MathRenderRequest, String> rendered = new LinkedHashMap<>();
+        Map<String, MathRenderRequest> misses = new LinkedHashMap<>();
+        for (MathRenderRequest request : requests) {
+            if (rendered.containsKey(request) || misses.containsValue(request)) {
+                continue;
+            }
+            String cached = renderCache.get(request.tex(), request.display());
+            if (cached != null) {
+                rendered.put(request, cached);
+            } else {
+                misses.put("math-" + misses.size(), request);
+            }
+        }
+        // 引擎尚未预热完成时只输出已缓存的结果，其余公式保持原样
+        if (misses.isEmpty() || !katexMathService.isReady()) {
+            return rendered;
+        }
+
+        try {
+            Map<String, String> results = katexMathService.renderMathBatch(misses);
+            misses.forEach((id, request) -> {
+                String html = results.get(id);
+                if (html == null || html.startsWith(ERROR_PREFIX)) {
+                    log.debug("KaTeX 渲染公式失败: {}", html);
+                    return;
+                }
+                renderCache.put(request.tex(), request.display(), html);
+                rendered.put(request, html);
+            });
+        } catch (RuntimeException e) {
+            log.warn("KaTeX 批量渲染失败，公式将保持原样输出: {}", e.getMessage());
+        }
+        return rendered;
+    }
+
+    private record MathBlock(Element pre, MathRenderRequest request) {
+    }
+
+    private record MathText(TextNode node, List<Object> segments) {
+    }
+
+    /**
+     * A math occurrence in text together with its original source, kept for fallback output.
+     * 文本中的一处公式及其原始文本，用于渲染失败时原样输出。
+     */
+    private record MathSource(String raw, MathRenderRequest request) {
+    }
+}
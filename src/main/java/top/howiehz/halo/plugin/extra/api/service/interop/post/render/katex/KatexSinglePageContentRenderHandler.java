@@ -0,0 +1,44 @@
+package top.howiehz.halo.plugin.extra.api.service.interop.post.render.katex;
+
+import com.google.common.base.Throwables;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+import run.halo.app.theme.ReactiveSinglePageContentHandler;
+import top.howiehz.halo.plugin.extra.api.service.core.config.KatexConfigSupplier;
+
+/**
+ * Handler for rendering math in single page content using KaTeX.
+ * 使用 KaTeX 渲染单页内容中数学公式的处理器。
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class KatexSinglePageContentRenderHandler implements ReactiveSinglePageContentHandler {
+    private final KatexConfigSupplier katexConfigSupplier;
+    private final KatexRenderMathService katexRenderMathService;
+
+    /**
+     * Handle single page content rendering by applying KaTeX math rendering.
+     * 处理单页内容渲染，应用 KaTeX 公式渲染。
+     *
+     * @param contentContext the single page content context / 单页内容上下文
+     * @return Mono emitting the processed content context / 发出处理后的内容上下文的 Mono
+     */
+    @Override
+    public Mono<SinglePageContentContext> handle(SinglePageContentContext contentContext) {
+        return katexConfigSupplier.get().map(katexConfig -> {
+            if (!katexConfig.isEnabledKatexRender()) {
+                return contentContext;
+            }
+            contentContext.setContent(
+                katexRenderMathService.renderMath(contentContext.getContent(), katexConfig));
+            return contentContext;
+        }).onErrorResume(e -> {
+            log.error("Error occurred while rendering math with KaTeX: {}",
+                Throwables.getStackTraceAsString(e));
+            return Mono.just(contentContext);
+        });
+    }
+}
@@ -17,6 +17,7 @@ import org.springframework.stereotype.Component;
  *   <li>渲染总耗时</li>
  *   <li>渲染请求数</li>
  *   <li>去重节省的请求数</li>
+ *   <li>负缓存命中、熔断跳过与高亮失败次数</li>
  * </ul>
  */
 @Slf4j
@@ -29,6 +30,9 @@ public class ShikiCacheMetrics {
     private final LongAdder totalRenderTimeMs = new LongAdder();
     private final LongAdder renderCount = new LongAdder();
     private final LongAdder deduplicatedRequests = new LongAdder();
+    private final LongAdder negativeCacheHits = new LongAdder();
+    private final LongAdder shortCircuitedRequests = new LongAdder();
+    private final LongAdder highlightFailures = new LongAdder();
     private final AtomicLong lastResetTime = new AtomicLong(System.currentTimeMillis());
 
     /**
@@ -69,6 +73,34 @@ public class ShikiCacheMetrics {
         deduplicatedRequests.add(count);
     }
 
+    /**
+     * Record a request skipped because it recently failed.
+     * 记录因最近失败而跳过的请求(负缓存命中)。
+     */
+    public void recordNegativeCacheHit() {
+        negativeCacheHits.increment();
+    }
+
+    /**
+     * Record requests skipped because the circuit breaker is open.
+     * 记录因熔断器打开而跳过的请求数。
+     *
+     * @param count number of skipped requests / 跳过的请求数
+     */
+    public void recordShortCircuit(int count) {
+        shortCircuitedRequests.add(count);
+    }
+
+    /**
+     * Record failed highlight requests.
+     * 记录高亮失败的请求数。
+     *
+     * @param count number of failed requests / 失败的请求数
+     */
+    public void recordHighlightFailure(int count) {
+        highlightFailures.add(count);
+    }
+
     /**
      * Get current metrics snapshot.
      * 获取当前指标快照。
@@ -100,6 +132,9 @@ public class ShikiCacheMetrics {
             totalTime,
             avgRenderTime,
             deduped,
+            negativeCacheHits.sum(),
+            shortCircuitedRequests.sum(),
+            highlightFailures.sum(),
             uptimeSeconds
         );
     }
@@ -114,6 +149,9 @@ public class ShikiCacheMetrics {
         totalRenderTimeMs.reset();
         renderCount.reset();
         deduplicatedRequests.reset();
+        negativeCacheHits.reset();
+        shortCircuitedRequests.reset();
+        highlightFailures.reset();
         lastResetTime.set(System.currentTimeMillis());
         log.info("Shiki 缓存指标已重置");
     }
@@ -126,16 +164,19 @@ public class ShikiCacheMetrics {
                                   double hitRatePercent, double missRatePercent,
                                   long renderBatchCount, long totalRenderTimeMs,
                                   double avgRenderTimeMs, long deduplicatedRequests,
-                                  long uptimeSeconds) {
+                                  long negativeCacheHits, long shortCircuitedRequests,
+                                  long highlightFailures, long uptimeSeconds) {
 
         @Override
         public String toString() {
             return String.format(
                 "ShikiCacheMetrics{缓存命中=%d, 未命中=%d, 总请求=%d, 命中率=%.2f%%, "
-                    + "渲染批次=%d, 总耗时=%dms, 平均耗时=%.2fms, 去重节省=%d, 运行时间=%ds}",
+                    + "渲染批次=%d, 总耗时=%dms, 平均耗时=%.2fms, 去重节省=%d, 负缓存命中=%d, "
+                    + "熔断跳过=%d, 高亮失败=%d, 运行时间=%ds}",
                 cacheHits, cacheMisses, totalRequests, hitRatePercent,
                 renderBatchCount, totalRenderTimeMs, avgRenderTimeMs,
-                deduplicatedRequests, uptimeSeconds
+                deduplicatedRequests, negativeCacheHits, shortCircuitedRequests,
+                highlightFailures, uptimeSeconds
             );
         }
     }
@@ -0,0 +1,216 @@
+package top.howiehz.halo.plugin.extra.api.service.interop.post.render.shiki;
+
+import java.time.Duration;
+import java.time.Instant;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+/**
+ * Circuit breaker around highlight calls to the V8 engine pool.
+ * 包裹 V8 引擎池高亮调用的熔断器。
+ *
+ * <p><b>状态:</b></p>
+ * <ul>
+ *   <li>CLOSED: 正常调用引擎池,连续失败达到阈值后打开</li>
+ *   <li>OPEN: 直接跳过高亮,输出原始 {@code <pre><code>},冷却时间后进入半开</li>
+ *   <li>HALF_OPEN: 只放行一次探测调用,成功则关闭,失败则重新打开</li>
+ * </ul>
+ *
+ * <p>When the pool itself is broken, every page view would otherwise still pay acquisition and
+ * failure latency. / 引擎池本身故障时，避免每次访问都承担获取引擎与失败的延迟。</p>
+ *
+ * <p>The threshold and cool-down follow the Shiki settings via {@link #configure}; a disabled
+ * breaker permits every call. / 阈值与冷却时间通过 {@link #configure} 跟随 Shiki 设置，禁用时放行所有调用。</p>
+ */
+@Slf4j
+@Component
+public class ShikiCircuitBreaker {
+
+    /**
+     * Default consecutive failures before the breaker opens, until settings are applied.
+     * 应用设置前默认的熔断器打开前允许的连续失败次数。
+     */
+    private static final int DEFAULT_FAILURE_THRESHOLD = 5;
+
+    /**
+     * Default time the breaker stays open before a probe, until settings are applied.
+     * 应用设置前默认的熔断器打开后允许探测前的冷却时间。
+     */
+    private static final Duration DEFAULT_OPEN_DURATION = Duration.ofSeconds(30);
+
+    private volatile Settings settings;
+
+    private State state = State.CLOSED;
+    private int consecutiveFailures;
+    private Instant openedAt = Instant.EPOCH;
+    private boolean probeInFlight;
+
+    public ShikiCircuitBreaker() {
+        this(DEFAULT_FAILURE_THRESHOLD, DEFAULT_OPEN_DURATION);
+    }
+
+    ShikiCircuitBreaker(int failureThreshold, Duration openDuration) {
+        this.settings = Settings.of(true, failureThreshold, openDuration);
+    }
+
+    /**
+     * Apply the current settings.
+     * 应用当前设置。
+     *
+     * <p>Called on every render, so unchanged settings return without taking the lock.
+     * Disabling the breaker closes it, so re-enabling starts from a clean state.</p>
+     * <p>每次渲染都会调用，设置未变化时不加锁直接返回。禁用熔断器时将其关闭，重新启用时从干净的状态开始。</p>
+     *
+     * @param enabled whether the breaker is enabled / 是否启用熔断器
+     * @param failureThreshold consecutive failures before opening / 打开前允许的连续失败次数
+     * @param openDuration time to stay open before a probe / 打开后允许探测前的冷却时间
+     */
+    public void configure(boolean enabled, int failureThreshold, Duration openDuration) {
+        Settings next = Settings.of(enabled, failureThreshold, openDuration);
+        if (next.equals(settings)) {
+            return;
+        }
+        synchronized (this) {
+            boolean toggled = settings.enabled() != enabled;
+            settings = next;
+            if (!toggled) {
+                return;
+            }
+            state = State.CLOSED;
+            consecutiveFailures = 0;
+            probeInFlight = false;
+            log.info("Shiki 熔断器已{}", enabled ? "启用" : "禁用");
+        }
+    }
+
+    /**
+     * Ask whether a call may go to the engine pool.
+     * 判断本次调用是否可以发送到引擎池。
+     *
+     * <p>A granted call must be reported via {@link #recordSuccess(Permit)} or
+     * {@link #recordFailure(Permit)} with the permit it received.</p>
+     * <p>获得许可的调用必须携带所得许可，通过 {@link #recordSuccess(Permit)} 或
+     * {@link #recordFailure(Permit)} 报告结果。</p>
+     *
+     * @return permit of the call, {@link Permit#DENIED} when it must be skipped /
+     * 本次调用的许可，需要跳过时为 {@link Permit#DENIED}
+     */
+    public synchronized Permit tryAcquirePermission() {
+        if (!settings.enabled() || state == State.CLOSED) {
+            return Permit.GRANTED;
+        }
+        if (state == State.OPEN) {
+            if (Instant.now().isBefore(openedAt.plus(settings.openDuration()))) {
+                return Permit.DENIED;
+            }
+            state = State.HALF_OPEN;
+            log.info("Shiki 熔断器进入半开状态,放行探测调用");
+        }
+        // HALF_OPEN: 同一时间只放行一次探测
+        if (probeInFlight) {
+            return Permit.DENIED;
+        }
+        probeInFlight = true;
+        return Permit.PROBE;
+    }
+
+    /**
+     * Report a successful call.
+     * 报告一次成功的调用。
+     *
+     * <p>Only the admitted probe closes a half-open breaker; calls granted before the breaker
+     * opened only reset the failure count while it is closed.</p>
+     * <p>只有获准的探测调用才能关闭半开的熔断器；熔断器打开前获准的调用只在关闭状态下重置失败计数。</p>
+     *
+     * @param permit permit the call received / 本次调用所得的许可
+     */
+    public synchronized void recordSuccess(Permit permit) {
+        if (!settings.enabled()) {
+            return;
+        }
+        if (permit == Permit.PROBE && state == State.HALF_OPEN) {
+            probeInFlight = false;
+            consecutiveFailures = 0;
+            state = State.CLOSED;
+            log.info("Shiki 熔断器探测成功,恢复关闭状态");
+        } else if (state == State.CLOSED) {
+            consecutiveFailures = 0;
+        }
+    }
+
+    /**
+     * Report a failed call.
+     * 报告一次失败的调用。
+     *
+     * <p>Only the admitted probe reopens a half-open breaker; failures of calls granted before
+     * the breaker opened are ignored once it is no longer closed.</p>
+     * <p>只有获准的探测调用失败才会重新打开半开的熔断器；熔断器打开前获准的调用在非关闭状态下失败时忽略。</p>
+     *
+     * @param permit permit the call received / 本次调用所得的许可
+     */
+    public synchronized void recordFailure(Permit permit) {
+        if (!settings.enabled()) {
+            return;
+        }
+        if (permit == Permit.PROBE && state == State.HALF_OPEN) {
+            probeInFlight = false;
+            open();
+        } else if (state == State.CLOSED
+            && ++consecutiveFailures >= settings.failureThreshold()) {
+            open();
+        }
+    }
+
+    private void open() {
+        state = State.OPEN;
+        openedAt = Instant.now();
+        log.warn("Shiki 熔断器打开: 连续失败 {} 次,{} 内跳过高亮", consecutiveFailures,
+            settings.openDuration());
+    }
+
+    /**
+     * Get the current state.
+     * 获取当前状态。
+     *
+     * @return breaker state / 熔断器状态
+     */
+    public synchronized State getState() {
+        return state;
+    }
+
+    /**
+     * Circuit breaker state.
+     * 熔断器状态。
+     */
+    public enum State {
+        CLOSED,
+        OPEN,
+        HALF_OPEN
+    }
+
+    /**
+     * Outcome of a permission request.
+     * 许可请求的结果。
+     */
+    public enum Permit {
+        DENIED,
+        GRANTED,
+        PROBE;
+
+        public boolean isGranted() {
+            return this != DENIED;
+        }
+    }
+
+    /**
+     * Normalized breaker settings.
+     * 规范化后的熔断器设置。
+     */
+    private record Settings(boolean enabled, int failureThreshold, Duration openDuration) {
+
+        static Settings of(boolean enabled, int failureThreshold, Duration openDuration) {
+            return new Settings(enabled, Math.max(1, failureThreshold),
+                openDuration.isNegative() ? Duration.ZERO : openDuration);
+        }
+    }
+}
@@ -1,11 +1,8 @@
 package top.howiehz.halo.plugin.extra.api.service.interop.post.render.shiki;
 
-import java.util.List;
 import lombok.RequiredArgsConstructor;
-import org.springframework.http.server.PathContainer;
 import org.springframework.stereotype.Component;
 import org.springframework.util.CollectionUtils;
-import org.springframework.web.util.pattern.PathPatternParser;
 import org.thymeleaf.context.Contexts;
 import org.thymeleaf.context.ITemplateContext;
 import org.thymeleaf.model.IModel;
@@ -16,6 +13,7 @@ import run.halo.app.plugin.PluginContext;
 import run.halo.app.theme.dialect.TemplateHeadProcessor;
 import top.howiehz.halo.plugin.extra.api.service.core.config.ShikiConfig;
 import top.howiehz.halo.plugin.extra.api.service.core.config.ShikiConfigSupplier;
+import top.howiehz.halo.plugin.extra.api.service.core.web.pathrule.PathRuleRegistry;
 
 /**
  * Thymeleaf processor that injects Shiki CSS styles into the HTML head.
@@ -33,19 +31,7 @@ public class ShikiHeadProcessor implements TemplateHeadProcessor {
 
     private final ShikiConfigSupplier shikiConfigSupplier;
 
-    /**
-     * Check if the current request path matches any of the configured patterns.
-     * 检查当前请求路径是否与任何配置的模式匹配。
-     *
-     * @param patterns the list of path patterns to check against / 要检查的路径模式列表
-     * @param pathContainer the path container representing the current request path / 表示当前请求路径的路径容器
-     * @return true if any pattern matches, false otherwise / 如果有任何模式匹配则返回 true，否则返回 false
-     */
-    private static boolean isPathMatch(List<String> patterns, PathContainer pathContainer) {
-        var parser = PathPatternParser.defaultInstance;
-        return patterns.stream().map(parser::parse)
-            .anyMatch(pattern -> pattern.matches(pathContainer));
-    }
+    private final PathRuleRegistry pathRuleRegistry;
 
     /**
      * Process the head element and inject Shiki styles if needed.
@@ -74,11 +60,10 @@ public class ShikiHeadProcessor implements TemplateHeadProcessor {
                     return;
                 }
                 var requestPath = webContext.getExchange().getRequest().getPathWithinApplication();
-                var pathContainer = PathContainer.parsePath(requestPath);
 
                 if ("post".equals(context.getVariable("_templateId")) || "page".equals(
-                    context.getVariable("_templateId")) || isPathMatch(extraInjectPaths,
-                    pathContainer)) {
+                    context.getVariable("_templateId")) || pathRuleRegistry.matcher(
+                    "shiki.extraInjectPaths", extraInjectPaths).matches(requestPath)) {
                     model.add(modelFactory.createText(
                         "<style>" + shikiConfig.getInlineStyle() + "</style>"));
                 }
@@ -0,0 +1,133 @@
+package top.howiehz.halo.plugin.extra.api.service.interop.post.render.shiki;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+/**
+ * Temporary blocklist for code blocks whose highlighting repeatedly hit the execution deadline.
+ * 高亮多次超过执行截止时间的代码块的临时黑名单。
+ *
+ * <p>Blocked code blocks are served unhighlighted until the block expires, so a pathological
+ * grammar or huge input cannot keep taking engines down on every page view.</p>
+ * <p>被拉黑的代码块在过期前直接以未高亮形式输出，避免病态语法或超大输入在每次访问时反复拖垮引擎。</p>
+ */
+@Slf4j
+@Component
+public class ShikiHighlightBlocklist {
+
+    /**
+     * Timeouts within the window before a code block is blocked.
+     * 代码块在统计窗口内超时多少次后被拉黑。
+     * <p>
+     * 为什么选择 2: 只有单独渲染仍超时的代码块才会计入,但一次超时仍可能来自瞬时的负载高峰。
+     */
+    private static final int TIMEOUT_THRESHOLD = 2;
+
+    /**
+     * Window for counting timeouts and duration of a block.
+     * 超时计数窗口与拉黑时长。
+     */
+    private static final Duration BLOCK_DURATION = Duration.ofMinutes(30);
+
+    /**
+     * Upper bound of tracked offenders to keep memory bounded.
+     * 跟踪的问题代码块上限，保证内存可控。
+     */
+    private static final int MAX_TRACKED = 1_000;
+
+    private final Map<String, Offender> offenders = new ConcurrentHashMap<>();
+
+    private final ThreadLocal<MessageDigest> digestThreadLocal = ThreadLocal.withInitial(() -> {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new RuntimeException("SHA-256 algorithm not available", e);
+        }
+    });
+
+    /**
+     * Check whether a code block is currently blocked.
+     * 检查代码块当前是否被拉黑。
+     *
+     * @param code the source code / 源代码
+     * @param language the language identifier / 语言标识
+     * @return true if it should be served unhighlighted / 需要以未高亮形式输出时返回 true
+     */
+    public boolean isBlocked(String code, String language) {
+        if (offenders.isEmpty()) {
+            return false;
+        }
+        Offender offender = offenders.get(key(code, language));
+        return offender != null && offender.isBlocked(Instant.now());
+    }
+
+    /**
+     * Record that highlighting a code block hit the execution deadline.
+     * 记录一次代码块高亮超过执行截止时间。
+     *
+     * @param code the source code / 源代码
+     * @param language the language identifier / 语言标识
+     */
+    public void recordTimeout(String code, String language) {
+        Instant now = Instant.now();
+        if (offenders.size() >= MAX_TRACKED) {
+            offenders.values().removeIf(offender -> offender.isExpired(now));
+        }
+        Offender updated = offenders.compute(key(code, language), (key, offender) ->
+            offender == null || offender.isExpired(now)
+                ? new Offender(1, now.plus(BLOCK_DURATION))
+                : new Offender(offender.timeouts() + 1, now.plus(BLOCK_DURATION)));
+        if (updated.timeouts() == TIMEOUT_THRESHOLD) {
+            log.warn("代码块高亮多次超时,暂时跳过高亮 {}: 语言={}, 代码长度={}", BLOCK_DURATION,
+                language, code.length());
+        } else {
+            log.warn("代码块高亮超时: 语言={}, 代码长度={}, 次数={}", language, code.length(),
+                updated.timeouts());
+        }
+    }
+
+    /**
+     * Get the number of currently blocked code blocks.
+     * 获取当前被拉黑的代码块数量。
+     *
+     * @return blocked count / 被拉黑数量
+     */
+    public int getBlockedCount() {
+        Instant now = Instant.now();
+        return (int) offenders.values().stream().filter(o -> o.isBlocked(now)).count();
+    }
+
+    /**
+     * Key a code block by the SHA-256 of its content, so distinct blocks never share an entry.
+     * 以代码内容的 SHA-256 作为键，不同的代码块不会共用同一条记录。
+     */
+    private String key(String code, String language) {
+        MessageDigest digest = digestThreadLocal.get();
+        digest.reset();
+        byte[] codeHash = digest.digest(code.getBytes(StandardCharsets.UTF_8));
+        return HexFormat.of().formatHex(codeHash) + ":" + language;
+    }
+
+    /**
+     * Timeout record of a code block.
+     * 代码块的超时记录。
+     */
+    private record Offender(int timeouts, Instant expiresAt) {
+
+        boolean isExpired(Instant now) {
+            return now.isAfter(expiresAt);
+        }
+
+        boolean isBlocked(Instant now) {
+            return timeouts >= TIMEOUT_THRESHOLD && !isExpired(now);
+        }
+    }
+}
@@ -13,6 +13,8 @@ import java.util.concurrent.locks.ReadWriteLock;
 import java.util.concurrent.locks.ReentrantReadWriteLock;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Component;
+import top.howiehz.halo.plugin.extra.api.service.core.runtime.memory.MemoryPressureLevel;
+import top.howiehz.halo.plugin.extra.api.service.core.runtime.memory.MemoryPressureListener;
 
 /**
  * LRU + TTL cache for Shiki code highlight results.
@@ -33,10 +35,12 @@ import org.springframework.stereotype.Component;
  * </ul>
  *
  * <p><b>线程安全:</b> 使用 ReadWriteLock 保护 LRU 操作,ConcurrentHashMap 用于快速查找</p>
+ *
+ * <p><b>内存压力:</b> 告警时淘汰最久未使用的一半条目,严重时清空缓存</p>
  */
 @Slf4j
 @Component
-public class ShikiRenderCache {
+public class ShikiRenderCache implements MemoryPressureListener {
 
     /**
      * Maximum number of cache entries.
@@ -58,6 +62,20 @@ public class ShikiRenderCache {
      * - 用户修改主题配置后最多等待 24 小时生效
      */
     private static final Duration DEFAULT_TTL = Duration.ofHours(24);
+    /**
+     * TTL for failed highlight entries (negative cache).
+     * 高亮失败条目(负缓存)的过期时间。
+     * <p>
+     * 为什么选择 5 分钟:
+     * - 足够短,临时故障恢复后很快会重新尝试高亮
+     * - 足够长,避免同一个失败的代码块在每次访问时都被重新发送到 V8
+     */
+    private static final Duration NEGATIVE_TTL = Duration.ofMinutes(5);
+    /**
+     * Maximum number of negative cache entries.
+     * 负缓存最大条目数。
+     */
+    private static final int MAX_NEGATIVE_SIZE = 1_000;
     private final ShikiCacheMetrics metrics;
     /**
      * LRU map for maintaining access order.
@@ -81,6 +99,12 @@ public class ShikiRenderCache {
      */
     private final Map<String, CacheEntry> fastLookup;
 
+    /**
+     * Negative cache of failed highlight keys and their expiry.
+     * 高亮失败的缓存键及其过期时间。
+     */
+    private final Map<String, Instant> failures = new ConcurrentHashMap<>();
+
     /**
      * Lock for protecting LRU operations.
      * 保护 LRU 操作的锁。
@@ -190,6 +214,60 @@ public class ShikiRenderCache {
         }
     }
 
+    /**
+     * Check whether highlighting recently failed for this input.
+     * 检查该输入最近是否高亮失败(负缓存命中)。
+     *
+     * @param code the source code / 源代码
+     * @param language the language identifier / 语言标识
+     * @param theme the theme name / 主题名称
+     * @return true if a non-expired failure is recorded / 存在未过期的失败记录时返回 true
+     */
+    public boolean isFailed(String code, String language, String theme) {
+        if (failures.isEmpty()) {
+            return false;
+        }
+        String key = computeCacheKey(code, language, theme);
+        Instant expiresAt = failures.get(key);
+        if (expiresAt == null) {
+            return false;
+        }
+        if (Instant.now().isAfter(expiresAt)) {
+            failures.remove(key, expiresAt);
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * Record a failed highlight so it is served unhighlighted for a short time.
+     * 记录一次高亮失败,在短时间内直接以未高亮形式输出。
+     *
+     * @param code the source code / 源代码
+     * @param language the language identifier / 语言标识
+     * @param theme the theme name / 主题名称
+     */
+    public void putFailure(String code, String language, String theme) {
+        Instant now = Instant.now();
+        if (failures.size() >= MAX_NEGATIVE_SIZE) {
+            failures.values().removeIf(now::isAfter);
+            if (failures.size() >= MAX_NEGATIVE_SIZE) {
+                return;
+            }
+        }
+        failures.put(computeCacheKey(code, language, theme), now.plus(NEGATIVE_TTL));
+    }
+
+    /**
+     * Get current negative cache size.
+     * 获取当前负缓存大小。
+     *
+     * @return number of failed entries / 失败条目数
+     */
+    public int failureSize() {
+        return failures.size();
+    }
+
     /**
      * Invalidate a specific cache entry.
      * 使特定缓存条目失效。
@@ -225,6 +303,7 @@ public class ShikiRenderCache {
             int size = lruMap.size();
             lruMap.clear();
             fastLookup.clear();
+            failures.clear();
             log.info("清空 Shiki 渲染缓存,已删除 {} 条记录", size);
         } finally {
             lock.writeLock().unlock();
@@ -275,6 +354,54 @@ public class ShikiRenderCache {
         return fastLookup.size();
     }
 
+    /**
+     * Evict the least recently used entries until at most the given number remain.
+     * 淘汰最久未使用的条目,直到最多剩余给定数量。
+     *
+     * @param maxEntries number of entries to keep / 保留的条目数
+     * @return number of evicted entries / 淘汰的条目数
+     */
+    public int trimTo(int maxEntries) {
+        lock.writeLock().lock();
+        try {
+            int evicted = 0;
+            var iterator = lruMap.keySet().iterator();
+            while (lruMap.size() > maxEntries && iterator.hasNext()) {
+                String key = iterator.next();
+                iterator.remove();
+                fastLookup.remove(key);
+                evicted++;
+            }
+            return evicted;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public String getMemoryPressureComponentName() {
+        return "shiki-render-cache";
+    }
+
+    @Override
+    public String onMemoryPressure(MemoryPressureLevel level) {
+        int before = size();
+        return switch (level) {
+            case ELEVATED -> {
+                int evicted = removeExpired() + trimTo(size() / 2);
+                failures.clear();
+                yield evicted > 0
+                    ? String.format("淘汰 %d 条高亮缓存(剩余 %d 条)", evicted, size())
+                    : null;
+            }
+            case CRITICAL -> {
+                clearAll();
+                yield before > 0 ? String.format("清空 %d 条高亮缓存", before) : null;
+            }
+            default -> null;
+        };
+    }
+
     /**
      * Get cache statistics.
      * 获取缓存统计信息。
@@ -1,11 +1,18 @@
 package top.howiehz.halo.plugin.extra.api.service.interop.post.render.shiki;
 
+import com.caoccao.javet.exceptions.JavetScriptingError;
+import java.time.Duration;
 import java.time.Instant;
 import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -16,7 +23,10 @@ import org.jsoup.select.Elements;
 import org.springframework.stereotype.Component;
 import top.howiehz.halo.plugin.extra.api.service.core.config.ShikiConfig;
 import top.howiehz.halo.plugin.extra.api.service.interop.runtime.adapters.shiki.ShikiHighlightService;
+import top.howiehz.halo.plugin.extra.api.service.interop.runtime.engine.EnginePriority;
 import top.howiehz.halo.plugin.extra.api.service.interop.runtime.engine.V8EnginePoolService;
+import top.howiehz.halo.plugin.extra.api.service.interop.runtime.engine.V8PromiseBridge;
+import top.howiehz.halo.plugin.extra.api.service.interop.runtime.spi.ScriptExecutionTimeoutException;
 
 /**
  * Service for rendering code blocks using intelligent batch distribution strategy.
@@ -30,18 +40,23 @@ import top.howiehz.halo.plugin.extra.api.service.interop.runtime.engine.V8Engine
 @Component
 @RequiredArgsConstructor
 public class ShikiRenderCodeService {
+    // 整组超时后二分隔离的总截止时间，以单次调用执行超时的倍数计
+    private static final int ISOLATION_DEADLINE_MULTIPLIER = 2;
+
     private final ShikiHighlightService shikiHighlightService;
     private final ShikiRenderCache renderCache;
     private final V8EnginePoolService v8EnginePoolService;
     private final ShikiCacheMetrics metrics;
+    private final ShikiHighlightBlocklist blocklist;
+    private final ShikiCircuitBreaker circuitBreaker;
 
     /**
      * Render code blocks with intelligent batch distribution.
      * 使用智能批量分配策略渲染代码块。
      *
-     * <p><b>策略:</b> 根据引擎池大小动态分组任务,例如:
+     * <p><b>策略:</b> 根据单次渲染可占用的引擎数(引擎池大小的一半,向上取整)动态分组任务,例如:
      * <ul>
-     *   <li>14 个任务 + 5 个引擎 → 5 组(每组 2-3 个任务)</li>
+     *   <li>14 个任务 + 5 个引擎 → 3 组(每组 4-5 个任务)</li>
      *   <li>每组任务在同一个引擎中批量处理,避免任务过度分散</li>
      * </ul></p>
      *
@@ -50,6 +65,19 @@ public class ShikiRenderCodeService {
      * @return the processed HTML content with highlighted code blocks / 处理后的 HTML 内容,代码块已高亮
      */
     public String renderCode(String content, ShikiConfig shikiConfig) {
+        return renderCode(content, shikiConfig, EnginePriority.INTERACTIVE);
+    }
+
+    /**
+     * Render code blocks with the given engine priority class.
+     * 以指定的引擎优先级类别渲染代码块。
+     *
+     * @param content the HTML content to process / 要处理的 HTML 内容
+     * @param shikiConfig the Shiki configuration / Shiki 配置
+     * @param priority engine priority class / 引擎优先级类别
+     * @return the processed HTML content with highlighted code blocks / 处理后的 HTML 内容,代码块已高亮
+     */
+    public String renderCode(String content, ShikiConfig shikiConfig, EnginePriority priority) {
         Document doc = Jsoup.parse(content);
         Elements codeElements = doc.select("pre > code");
 
@@ -79,6 +107,11 @@ public class ShikiRenderCodeService {
                         continue;
                     }
 
+                    // 多次执行超时的代码块暂时以未高亮形式输出
+                    if (blocklist.isBlocked(code, language)) {
+                        continue;
+                    }
+
                     CodeBlockInfo blockInfo = new CodeBlockInfo(i, preElement, code, language);
                     codeBlocks.add(blockInfo);
 
@@ -143,7 +176,8 @@ public class ShikiRenderCodeService {
 
         // 智能分组并并行处理
         Instant startTime = Instant.now();
-        Map<String, String> results = processRequestsIntelligently(allRequests);
+        Map<String, String> results = processRequestsIntelligently(allRequests, shikiConfig,
+            priority);
         metrics.recordRenderTime(startTime);
 
         // 输出统计信息
@@ -255,9 +289,12 @@ public class ShikiRenderCodeService {
      * </ol></p>
      *
      * @param allRequests all highlight requests / 所有高亮请求
+     * @param shikiConfig the Shiki configuration / Shiki 配置
+     * @param priority engine priority class / 引擎优先级类别
      * @return map of id -> highlighted result / id 到高亮结果的映射
      */
-    private Map<String, String> processRequestsIntelligently(List<HighlightRequest> allRequests) {
+    private Map<String, String> processRequestsIntelligently(List<HighlightRequest> allRequests,
+        ShikiConfig shikiConfig, EnginePriority priority) {
         int totalRequests = allRequests.size();
         Map<String, String> allResults = new ConcurrentHashMap<>();
 
@@ -266,6 +303,11 @@ public class ShikiRenderCodeService {
         int cacheHits = 0;
 
         for (HighlightRequest req : allRequests) {
+            // 负缓存命中:最近高亮失败过,直接以未高亮形式输出
+            if (renderCache.isFailed(req.code, req.language, req.theme)) {
+                metrics.recordNegativeCacheHit();
+                continue;
+            }
             String cached = renderCache.get(req.code, req.language, req.theme);
             if (cached != null) {
                 // 缓存命中
@@ -287,9 +329,28 @@ public class ShikiRenderCodeService {
             return allResults;
         }
 
+        // 引擎池尚未完成启动预热时,未命中缓存的代码块先以未高亮形式输出
+        if (!v8EnginePoolService.isReady()) {
+            log.debug("JS 引擎预热尚未完成,跳过 {} 个高亮请求", requestsToRender.size());
+            return allResults;
+        }
+
+        // 熔断器打开时直接降级为未高亮的 <pre><code>
+        circuitBreaker.configure(shikiConfig.isEnabledCircuitBreaker(),
+            shikiConfig.getCircuitBreakerFailureThreshold(),
+            Duration.ofSeconds(shikiConfig.getCircuitBreakerOpenSeconds()));
+        ShikiCircuitBreaker.Permit permit = circuitBreaker.tryAcquirePermission();
+        if (!permit.isGranted()) {
+            metrics.recordShortCircuit(requestsToRender.size());
+            log.debug("Shiki 熔断器打开,跳过 {} 个高亮请求", requestsToRender.size());
+            return allResults;
+        }
+
         // 第二步:对未命中的请求进行批量渲染
-        // 计算最优分组数:如果请求少于引擎数,就按请求数分组;否则充分利用引擎池
-        int numGroups = Math.min(requestsToRender.size(), v8EnginePoolService.getPoolMaxSize());
+        // 计算最优分组数:如果请求少于引擎数,就按请求数分组;否则最多占用公平份额的引擎,
+        // 避免单篇超大文章占满引擎池
+        int numGroups =
+            Math.min(requestsToRender.size(), v8EnginePoolService.getFairShareSize());
 
         log.debug("智能分组: {} 个请求分配到 {} 个引擎(池大小: {})", requestsToRender.size(),
             numGroups, v8EnginePoolService.getPoolMaxSize());
@@ -299,43 +360,52 @@ public class ShikiRenderCodeService {
 
         // 为每组创建异步批量处理任务
         List<CompletableFuture<Map<String, String>>> futures = new ArrayList<>();
+        AtomicBoolean engineFailed = new AtomicBoolean();
 
         for (int i = 0; i < groups.size(); i++) {
             List<HighlightRequest> group = groups.get(i);
             int groupIndex = i;
 
-            futures.add(CompletableFuture.supplyAsync(() -> {
-                try {
-                    log.debug("组 {} 开始处理 {} 个请求", groupIndex, group.size());
-
-                    // 转换为批量请求格式
-                    Map<String, ShikiHighlightService.CodeHighlightRequest> batchRequests =
-                        new java.util.LinkedHashMap<>();
+            log.debug("组 {} 开始处理 {} 个请求", groupIndex, group.size());
 
-                    for (HighlightRequest req : group) {
-                        batchRequests.put(req.id,
-                            new ShikiHighlightService.CodeHighlightRequest(req.code, req.language,
-                                req.theme));
-                    }
+            // 转换为批量请求格式
+            Map<String, ShikiHighlightService.CodeHighlightRequest> batchRequests =
+                new java.util.LinkedHashMap<>();
 
-                    // 在单个引擎中批量处理
-                    Map<String, String> results =
-                        shikiHighlightService.highlightCodeBatch(batchRequests);
+            for (HighlightRequest req : group) {
+                batchRequests.put(req.id,
+                    new ShikiHighlightService.CodeHighlightRequest(req.code, req.language,
+                        req.theme));
+            }
 
+            // 在单个引擎中批量处理,结果由 Promise 回调完成,不占用调用线程
+            futures.add(shikiHighlightService.highlightCodeBatchAsync(batchRequests, priority)
+                .thenApply(results -> {
                     log.debug("组 {} 完成处理", groupIndex);
                     return results;
-
-                } catch (Exception e) {
-                    log.error("组 {} 处理失败: {}", groupIndex, e.getMessage());
+                })
+                .exceptionallyCompose(e -> {
+                    Throwable cause = unwrap(e);
+                    log.error("组 {} 处理失败: {}", groupIndex, cause.getMessage());
+                    if (isEngineFailure(cause)) {
+                        engineFailed.set(true);
+                    }
+                    if (cause instanceof ScriptExecutionTimeoutException && group.size() > 1) {
+                        // 整组超时无法判断是哪个代码块拖住了引擎,逐个重试找出单独也会超时的代码块
+                        return isolateTimedOutBlocks(group, priority);
+                    }
+                    if (cause instanceof ScriptExecutionTimeoutException) {
+                        HighlightRequest req = group.getFirst();
+                        blocklist.recordTimeout(req.code, req.language);
+                    }
 
                     // 返回错误结果
                     Map<String, String> errorResults = new java.util.HashMap<>();
                     for (HighlightRequest req : group) {
-                        errorResults.put(req.id, "Error: " + e.getMessage());
+                        errorResults.put(req.id, "Error: " + cause.getMessage());
                     }
-                    return errorResults;
-                }
-            }));
+                    return CompletableFuture.completedFuture(errorResults);
+                }));
         }
 
         // 等待所有组完成并合并渲染结果
@@ -350,16 +420,30 @@ public class ShikiRenderCodeService {
                 }).join();
         } catch (Exception e) {
             log.error("智能批量处理失败: {}", e.getMessage());
+            engineFailed.set(true);
         }
 
-        // 第三步:将新渲染的结果写入缓存
+        // 引擎池层面的失败计入熔断器,单个代码块的 JS 错误不计入
+        if (engineFailed.get()) {
+            circuitBreaker.recordFailure(permit);
+        } else {
+            circuitBreaker.recordSuccess(permit);
+        }
+
+        // 第三步:将新渲染的结果写入缓存,失败的结果写入短期负缓存
+        int failed = 0;
         for (HighlightRequest req : requestsToRender) {
             String html = renderResults.get(req.id);
             if (html != null && !html.startsWith("Error:")) {
-                // 只缓存成功的结果,错误结果不缓存
                 renderCache.put(req.code, req.language, req.theme, html);
+            } else {
+                renderCache.putFailure(req.code, req.language, req.theme);
+                failed++;
             }
         }
+        if (failed > 0) {
+            metrics.recordHighlightFailure(failed);
+        }
 
         // 合并缓存结果和新渲染结果
         allResults.putAll(renderResults);
@@ -370,8 +454,101 @@ public class ShikiRenderCodeService {
     }
 
     /**
-     * Partition requests into groups evenly.
-     * 将请求均匀分配到各组。
+     * Bisect a timed-out group to find the blocks that time out on their own.
+     * 二分拆分整组超时的代码块，找出单独渲染也会超时的代码块。
+     *
+     * <p>The group is split in halves that render in parallel, and every half that times out
+     * again is split further, so a single pathological block costs about log2(n) deadlines
+     * instead of one per block. Only blocks that hit the deadline alone go to the blocklist. The
+     * whole isolation shares one overall deadline; blocks still unresolved when it expires are
+     * output as plain {@code <pre>}.</p>
+     * <p>将分组对半拆分并行渲染，再次超时的一半继续拆分，单个问题代码块约只需 log2(n) 个截止时间，
+     * 而不是每个代码块各一个；只有单独渲染仍超时的代码块才会计入黑名单。整个隔离过程共用一个总截止时间，
+     * 到期时仍未得出结果的代码块以未高亮的 {@code <pre>} 输出。</p>
+     *
+     * @param group requests of the timed-out group / 超时分组的请求
+     * @param priority engine priority class / 引擎优先级类别
+     * @return future of id -> highlighted or error result / id 到高亮结果或错误结果映射的 Future
+     */
+    private CompletableFuture<Map<String, String>> isolateTimedOutBlocks(
+        List<HighlightRequest> group, EnginePriority priority) {
+        long budgetMillis =
+            v8EnginePoolService.getExecutionTimeoutMillis() * ISOLATION_DEADLINE_MULTIPLIER;
+        long deadlineNanos = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(budgetMillis);
+        Map<String, String> results = new ConcurrentHashMap<>();
+        return bisect(group, priority, deadlineNanos, results)
+            .completeOnTimeout(null, budgetMillis, TimeUnit.MILLISECONDS)
+            .thenApply(v -> {
+                Map<String, String> snapshot = new java.util.HashMap<>(results);
+                for (HighlightRequest req : group) {
+                    snapshot.putIfAbsent(req.id, "Error: isolation deadline exceeded");
+                }
+                return snapshot;
+            });
+    }
+
+    private CompletableFuture<Void> bisect(List<HighlightRequest> requests,
+        EnginePriority priority, long deadlineNanos, Map<String, String> results) {
+        int middle = requests.size() / 2;
+        return CompletableFuture.allOf(
+            renderIsolated(requests.subList(0, middle), priority, deadlineNanos, results),
+            renderIsolated(requests.subList(middle, requests.size()), priority, deadlineNanos,
+                results));
+    }
+
+    private CompletableFuture<Void> renderIsolated(List<HighlightRequest> requests,
+        EnginePriority priority, long deadlineNanos, Map<String, String> results) {
+        Map<String, ShikiHighlightService.CodeHighlightRequest> batchRequests =
+            new java.util.LinkedHashMap<>();
+        for (HighlightRequest req : requests) {
+            batchRequests.put(req.id,
+                new ShikiHighlightService.CodeHighlightRequest(req.code, req.language, req.theme));
+        }
+        return shikiHighlightService.highlightCodeBatchAsync(batchRequests, priority)
+            .handle((rendered, e) -> {
+                Throwable cause = e != null ? unwrap(e) : null;
+                if (cause instanceof ScriptExecutionTimeoutException) {
+                    // 超过总截止时间后不再继续拆分，剩余代码块由调用方降级为未高亮
+                    if (requests.size() > 1 && System.nanoTime() < deadlineNanos) {
+                        return bisect(requests, priority, deadlineNanos, results);
+                    }
+                    if (requests.size() == 1) {
+                        HighlightRequest req = requests.getFirst();
+                        blocklist.recordTimeout(req.code, req.language);
+                    }
+                }
+                for (HighlightRequest req : requests) {
+                    String html = rendered != null ? rendered.get(req.id) : null;
+                    results.put(req.id, html != null ? html : "Error: "
+                        + (cause != null ? cause.getMessage() : "Missing highlight result"));
+                }
+                return CompletableFuture.<Void>completedFuture(null);
+            })
+            .thenCompose(Function.identity());
+    }
+
+    /**
+     * Whether a failure comes from the engine pool rather than from the highlighted code.
+     * 判断失败是否来自引擎池而非被高亮的代码。
+     *
+     * <p>Acquire failures, engine crashes and watchdog terminations count toward the circuit
+     * breaker. A rejected promise or a script error only concerns its code blocks, which go to
+     * the negative cache.</p>
+     * <p>获取引擎失败、引擎崩溃与看门狗终止计入熔断器；Promise 被拒绝或脚本错误只与对应代码块有关，
+     * 只写入负缓存。</p>
+     */
+    private static boolean isEngineFailure(Throwable cause) {
+        return !(cause instanceof V8PromiseBridge.V8PromiseRejectedException
+            || cause instanceof JavetScriptingError);
+    }
+
+    private static Throwable unwrap(Throwable e) {
+        return e instanceof CompletionException && e.getCause() != null ? e.getCause() : e;
+    }
+
+    /**
+     * Partition requests into groups evenly, keeping blocks of the same language together.
+     * 将请求均匀分配到各组，同一语言的代码块尽量落在同一组，使每组只需少量语法即可命中已预热的引擎。
      *
      * @param requests all requests / 所有请求
      * @param numGroups number of groups / 分组数
@@ -381,11 +558,14 @@ public class ShikiRenderCodeService {
         int numGroups) {
 
         List<List<HighlightRequest>> groups = new ArrayList<>();
-        int groupSize = (int) Math.ceil((double) requests.size() / numGroups);
-
-        for (int i = 0; i < requests.size(); i += groupSize) {
-            int end = Math.min(i + groupSize, requests.size());
-            groups.add(new ArrayList<>(requests.subList(i, end)));
+        List<HighlightRequest> sorted = new ArrayList<>(requests);
+        sorted.sort(Comparator.comparing(HighlightRequest::language,
+            Comparator.nullsFirst(Comparator.naturalOrder())));
+        int groupSize = (int) Math.ceil((double) sorted.size() / numGroups);
+
+        for (int i = 0; i < sorted.size(); i += groupSize) {
+            int end = Math.min(i + groupSize, sorted.size());
+            groups.add(new ArrayList<>(sorted.subList(i, end)));
         }
 
         return groups;
@@ -451,11 +631,4 @@ public class ShikiRenderCodeService {
      */
     private record CodeBlockInfo(int index, Element preElement, String code, String language) {
     }
-
-    /**
-     * Internal record to store highlight result.
-     * 存储高亮结果的内部记录类。
-     */
-    private record HighlightResult(String key, String html) {
-    }
 }
@@ -0,0 +1,26 @@
+package top.howiehz.halo.plugin.extra.api.service.interop.runtime.adapters.katex;
+
+import com.caoccao.javet.exceptions.JavetException;
+import java.util.Map;
+
+/**
+ * Typed binding over the functions exported by the KaTeX JS module.
+ * KaTeX JS 模块导出函数的类型化绑定，模块在首次使用时按引擎懒加载。
+ *
+ * <p>Instances are bound to a single runtime and must only be used while holding its engine.</p>
+ * <p>实例绑定到单个运行时，只能在持有对应引擎期间使用。</p>
+ */
+public interface KatexJsBinding {
+
+    /**
+     * Call {@code renderMathBatch(requests)}.
+     * 调用 {@code renderMathBatch(requests)}。
+     *
+     * @param requests map of id -> {tex, display} / id 到 {tex, display} 的映射
+     * @return map of id -> HTML, failed entries start with {@code Error:} / id 到 HTML 的映射，失败项以
+     * {@code Error:} 开头
+     * @throws JavetException when JS call fails / JS 调用失败时抛出
+     */
+    Map<String, String> renderMathBatch(Map<String, Map<String, String>> requests)
+        throws JavetException;
+}
@@ -0,0 +1,40 @@
+package top.howiehz.halo.plugin.extra.api.service.interop.runtime.adapters.katex;
+
+import java.util.Map;
+
+/**
+ * KaTeX math rendering service interface.
+ * KaTeX 数学公式渲染服务接口。
+ */
+public interface KatexMathService {
+
+    /**
+     * Batch render TeX expressions in a single engine.
+     * 在单个引擎中批量渲染 TeX 表达式。
+     *
+     * @param requests map of id -> request / id 到请求的映射
+     * @return map of id -> HTML, failed entries start with {@code Error:} / id 到 HTML 的映射，失败项以
+     * {@code Error:} 开头
+     * @throws top.howiehz.halo.plugin.extra.api.service.interop.runtime.spi.ScriptEngineException
+     * when JS execution fails / JS 执行失败时抛出
+     */
+    Map<String, String> renderMathBatch(Map<String, MathRenderRequest> requests);
+
+    /**
+     * Whether the script engine backend can render without waiting for warm-up.
+     * 脚本引擎后端是否已就绪，无需等待预热即可渲染。
+     *
+     * @return true when ready / 就绪时返回 true
+     */
+    boolean isReady();
+
+    /**
+     * Math render request.
+     * 数学公式渲染请求。
+     *
+     * @param tex TeX source / TeX 源码
+     * @param display whether to render in display mode / 是否以块级模式渲染
+     */
+    record MathRenderRequest(String tex, boolean display) {
+    }
+}
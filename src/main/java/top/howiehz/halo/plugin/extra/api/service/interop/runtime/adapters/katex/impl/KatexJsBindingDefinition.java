@@ -0,0 +1,64 @@
+package top.howiehz.halo.plugin.extra.api.service.interop.runtime.adapters.katex.impl;
+
+import com.caoccao.javet.exceptions.JavetException;
+import com.caoccao.javet.interop.V8Runtime;
+import com.caoccao.javet.values.V8Value;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import org.springframework.stereotype.Component;
+import top.howiehz.halo.plugin.extra.api.service.interop.runtime.adapters.katex.KatexJsBinding;
+import top.howiehz.halo.plugin.extra.api.service.interop.runtime.binding.JsBindingDefinition;
+import top.howiehz.halo.plugin.extra.api.service.interop.runtime.binding.JsFunctionTable;
+
+/**
+ * Binding definition for the KaTeX JS module.
+ * KaTeX JS 模块的绑定定义，模块未声明预加载，首次获取绑定时才在引擎中加载。
+ */
+@Component
+public class KatexJsBindingDefinition implements JsBindingDefinition<KatexJsBinding> {
+
+    private static final String RENDER_MATH_BATCH = "renderMathBatch";
+
+    @Override
+    public Class<KatexJsBinding> bindingType() {
+        return KatexJsBinding.class;
+    }
+
+    @Override
+    public String module() {
+        return "katex";
+    }
+
+    @Override
+    public List<String> functionNames() {
+        return List.of(RENDER_MATH_BATCH);
+    }
+
+    @Override
+    public KatexJsBinding bind(V8Runtime runtime, JsFunctionTable functions) {
+        return new Binding(runtime, functions);
+    }
+
+    /**
+     * Binding backed by cached function handles of one runtime.
+     * 基于单个运行时缓存函数句柄的绑定实现。
+     */
+    private record Binding(V8Runtime runtime, JsFunctionTable functions)
+        implements KatexJsBinding {
+
+        @Override
+        public Map<String, String> renderMathBatch(Map<String, Map<String, String>> requests)
+            throws JavetException {
+            try (V8Value value = functions.get(RENDER_MATH_BATCH).call(null, requests)) {
+                Object converted = runtime.toObject(value);
+                if (!(converted instanceof Map<?, ?> map)) {
+                    throw new IllegalStateException("Expected an object result");
+                }
+                Map<String, String> result = new LinkedHashMap<>(map.size());
+                map.forEach((id, html) -> result.put(String.valueOf(id), String.valueOf(html)));
+                return result;
+            }
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package top.howiehz.halo.plugin.extra.api.service.interop.runtime.adapters.katex.impl;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import top.howiehz.halo.plugin.extra.api.service.interop.runtime.adapters.katex.KatexMathService;
+import top.howiehz.halo.plugin.extra.api.service.interop.runtime.spi.ScriptEngineBackendSelector;
+import top.howiehz.halo.plugin.extra.api.service.interop.runtime.spi.ScriptEngineException;
+
+/**
+ * Implementation of KaTeX math rendering service.
+ * KaTeX 数学公式渲染服务实现，通过与引擎无关的脚本引擎 SPI 调用，可运行在 Javet 或 GraalJS 上。
+ */
+@Service
+@RequiredArgsConstructor
+public class KatexMathServiceImpl implements KatexMathService {
+
+    private static final List<String> MODULES = List.of("katex");
+
+    private static final String RENDER_MATH_BATCH = "renderMathBatch";
+
+    private final ScriptEngineBackendSelector backendSelector;
+
+    @Override
+    public Map<String, String> renderMathBatch(Map<String, MathRenderRequest> requests) {
+        if (requests.isEmpty()) {
+            return Map.of();
+        }
+        Map<String, Map<String, String>> jsRequests = new LinkedHashMap<>();
+        requests.forEach((id, request) -> jsRequests.put(id,
+            Map.of("tex", request.tex(), "display", String.valueOf(request.display()))));
+        Object result = backendSelector.getBackend().withSession(MODULES,
+            session -> session.call(RENDER_MATH_BATCH, jsRequests));
+        if (!(result instanceof Map<?, ?> map)) {
+            throw new ScriptEngineException("Expected an object result from " + RENDER_MATH_BATCH);
+        }
+        Map<String, String> rendered = new LinkedHashMap<>(map.size());
+        map.forEach((id, html) -> rendered.put(String.valueOf(id), String.valueOf(html)));
+        return rendered;
+    }
+
+    @Override
+    public boolean isReady() {
+        return backendSelector.getBackend().isReady();
+    }
+}
@@ -3,6 +3,8 @@ package top.howiehz.halo.plugin.extra.api.service.interop.runtime.adapters.shiki
 import com.caoccao.javet.exceptions.JavetException;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import top.howiehz.halo.plugin.extra.api.service.interop.runtime.engine.EnginePriority;
 
 /**
  * Shiki code highlight service interface.
@@ -34,22 +36,54 @@ public interface ShikiHighlightService {
         throws JavetException;
 
     /**
-     * Get supported languages.
-     * 获取支持的语言列表。
+     * Highlight code without blocking the caller.
+     * 非阻塞地高亮代码，结果由 Promise 回调完成。
      *
-     * @return language identifiers set / 语言标识集合
-     * @throws JavetException when JS call fails / JS 调用失败时抛出
+     * @param code source code / 源码
+     * @param language language id / 语言标识
+     * @param theme theme name / 主题名
+     * @return future of the highlighted result / 高亮结果的 Future
+     */
+    CompletableFuture<String> highlightCodeAsync(String code, String language, String theme);
+
+    /**
+     * Batch highlight multiple code requests in a single engine without blocking the caller.
+     * 非阻塞地在单个引擎中批量高亮多个代码块。
+     *
+     * @param requests map of id -> request / id 到请求的映射
+     * @return future of id -> highlighted result / id 到高亮结果映射的 Future
+     */
+    default CompletableFuture<Map<String, String>> highlightCodeBatchAsync(
+        Map<String, CodeHighlightRequest> requests) {
+        return highlightCodeBatchAsync(requests, EnginePriority.INTERACTIVE);
+    }
+
+    /**
+     * Batch highlight with the given engine priority class without blocking the caller.
+     * 以指定的引擎优先级类别非阻塞地批量高亮。
+     *
+     * @param requests map of id -> request / id 到请求的映射
+     * @param priority engine priority class / 引擎优先级类别
+     * @return future of id -> highlighted result / id 到高亮结果映射的 Future
+     */
+    CompletableFuture<Map<String, String>> highlightCodeBatchAsync(
+        Map<String, CodeHighlightRequest> requests, EnginePriority priority);
+
+    /**
+     * Get supported languages, including aliases.
+     * 获取支持的语言列表（包含别名）。
+     *
+     * @return immutable language identifiers set / 不可变的语言标识集合
      */
-    Set<String> getSupportedLanguages() throws JavetException;
+    Set<String> getSupportedLanguages();
 
     /**
      * Get supported themes.
      * 获取支持的主题列表。
      *
-     * @return theme names set / 主题名集合
-     * @throws JavetException when JS call fails / JS 调用失败时抛出
+     * @return immutable theme names set / 不可变的主题名集合
      */
-    Set<String> getSupportedThemes() throws JavetException;
+    Set<String> getSupportedThemes();
 
     /**
      * Request record for batch highlighting.
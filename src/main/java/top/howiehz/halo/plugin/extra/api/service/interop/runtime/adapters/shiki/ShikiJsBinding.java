@@ -0,0 +1,53 @@
+package top.howiehz.halo.plugin.extra.api.service.interop.runtime.adapters.shiki;
+
+import com.caoccao.javet.exceptions.JavetException;
+import com.caoccao.javet.values.reference.V8ValuePromise;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Typed binding over the functions exported by the Shiki JS module.
+ * Shiki JS 模块导出函数的类型化绑定，函数句柄在引擎创建时解析并缓存。
+ *
+ * <p>Instances are bound to a single runtime and must only be used while holding its engine.</p>
+ * <p>实例绑定到单个运行时，只能在持有对应引擎期间使用。</p>
+ */
+public interface ShikiJsBinding {
+
+    /**
+     * Call {@code highlightCode(code, options)}.
+     * 调用 {@code highlightCode(code, options)}。
+     *
+     * @param code source code / 源码
+     * @param options highlight options (lang, theme) / 高亮选项（lang、theme）
+     * @return pending promise resolving to HTML / 解析为 HTML 的 Promise
+     * @throws JavetException when JS call fails / JS 调用失败时抛出
+     */
+    V8ValuePromise highlightCode(String code, Map<String, String> options)
+        throws JavetException;
+
+    /**
+     * Call {@code highlightCodeBatch(requests)}.
+     * 调用 {@code highlightCodeBatch(requests)}。
+     *
+     * @param requests map of id -> options including code / id 到包含代码的选项映射
+     * @return pending promise resolving to id -> HTML / 解析为 id 到 HTML 映射的 Promise
+     * @throws JavetException when JS call fails / JS 调用失败时抛出
+     */
+    V8ValuePromise highlightCodeBatch(Map<String, Map<String, String>> requests)
+        throws JavetException;
+
+    /**
+     * Affinity keys naming the grammar and theme Shiki loads lazily for a request. Language
+     * aliases resolve to the grammar they load.
+     * 请求所需的、由 Shiki 懒加载的语法与主题对应的亲和键，语言别名解析为其实际加载的语法。
+     *
+     * @param language language id / 语言标识
+     * @param theme theme name / 主题名
+     * @return affinity keys / 亲和键
+     */
+    static Set<String> affinityKeys(String language, String theme) {
+        return Set.of("lang:" + ShikiManifest.getDefault().resolveLanguage(language),
+            "theme:" + theme);
+    }
+}
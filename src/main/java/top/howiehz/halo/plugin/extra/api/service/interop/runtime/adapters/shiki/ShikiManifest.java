@@ -0,0 +1,137 @@
+package top.howiehz.halo.plugin.extra.api.service.interop.runtime.adapters.shiki;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Languages, aliases and themes bundled into the Shiki module, generated at build time.
+ * 构建时生成的 Shiki 模块内置语言、别名与主题清单。
+ *
+ * <p>{@code js/shiki-manifest.properties} is written by
+ * {@code js-modules/shiki/scripts/generate-config.js} from the same Shiki version that is
+ * bundled, so validating a language or theme never needs to borrow an engine.</p>
+ * <p>{@code js/shiki-manifest.properties} 由 {@code js-modules/shiki/scripts/generate-config.js}
+ * 基于打包的同一 Shiki 版本生成，因此校验语言或主题时无需借用引擎。</p>
+ */
+@Slf4j
+public final class ShikiManifest {
+
+    private static final String RESOURCE = "js/shiki-manifest.properties";
+
+    private final Set<String> languages;
+    private final Set<String> themes;
+    private final Map<String, String> aliases;
+
+    ShikiManifest(Set<String> languageIds, Map<String, String> aliases, Set<String> themes) {
+        Set<String> languages = new HashSet<>(languageIds);
+        languages.addAll(aliases.keySet());
+        this.languages = Set.copyOf(languages);
+        this.aliases = Map.copyOf(aliases);
+        this.themes = Set.copyOf(themes);
+    }
+
+    /**
+     * Get the manifest generated for the bundled Shiki module.
+     * 获取为内置 Shiki 模块生成的清单。
+     *
+     * @return default manifest / 默认清单
+     */
+    public static ShikiManifest getDefault() {
+        return Holder.DEFAULT;
+    }
+
+    /**
+     * Parse a manifest with comma separated {@code languages}, {@code aliases}
+     * ({@code alias:id}) and {@code themes}.
+     * 解析以逗号分隔的 {@code languages}、{@code aliases}（{@code 别名:id}）与 {@code themes} 清单。
+     *
+     * @param properties manifest entries / 清单条目
+     * @return manifest / 清单
+     */
+    static ShikiManifest fromProperties(Properties properties) {
+        Map<String, String> aliases = new HashMap<>();
+        for (String entry : split(properties.getProperty("aliases"))) {
+            int separator = entry.indexOf(':');
+            if (separator > 0 && separator < entry.length() - 1) {
+                aliases.put(entry.substring(0, separator), entry.substring(separator + 1));
+            }
+        }
+        return new ShikiManifest(split(properties.getProperty("languages")), aliases,
+            split(properties.getProperty("themes")));
+    }
+
+    /**
+     * Get language ids and aliases accepted by Shiki.
+     * 获取 Shiki 接受的语言标识与别名。
+     *
+     * @return immutable set of language ids and aliases / 语言标识与别名的不可变集合
+     */
+    public Set<String> getLanguages() {
+        return languages;
+    }
+
+    /**
+     * Get bundled theme names.
+     * 获取内置主题名。
+     *
+     * @return immutable set of theme names / 主题名的不可变集合
+     */
+    public Set<String> getThemes() {
+        return themes;
+    }
+
+    /**
+     * Resolve a language alias to its canonical id.
+     * 将语言别名解析为规范标识。
+     *
+     * @param language language id or alias / 语言标识或别名
+     * @return canonical id, or the input when it is not an alias / 规范标识，非别名时原样返回
+     */
+    public String resolveLanguage(String language) {
+        return aliases.getOrDefault(language, language);
+    }
+
+    private static Set<String> split(String value) {
+        Set<String> result = new HashSet<>();
+        if (value == null) {
+            return result;
+        }
+        for (String part : value.split(",")) {
+            String trimmed = part.trim();
+            if (!trimmed.isEmpty()) {
+                result.add(trimmed);
+            }
+        }
+        return result;
+    }
+
+    private static ShikiManifest load() {
+        Properties properties = new Properties();
+        try (InputStream input =
+                 ShikiManifest.class.getClassLoader().getResourceAsStream(RESOURCE)) {
+            if (input == null) {
+                log.error("找不到资源文件 {}，代码高亮将不会识别任何语言", RESOURCE);
+            } else {
+                properties.load(new InputStreamReader(input, StandardCharsets.UTF_8));
+            }
+        } catch (IOException e) {
+            log.error("读取 Shiki 清单失败: {}", e.getMessage());
+        }
+        ShikiManifest manifest = fromProperties(properties);
+        log.debug("Shiki 清单已加载: {} 个语言标识, {} 个主题", manifest.languages.size(),
+            manifest.themes.size());
+        return manifest;
+    }
+
+    private static final class Holder {
+        private static final ShikiManifest DEFAULT = load();
+    }
+}
@@ -1,27 +1,28 @@
 package top.howiehz.halo.plugin.extra.api.service.interop.runtime.adapters.shiki.impl;
 
 import com.caoccao.javet.exceptions.JavetException;
-import com.caoccao.javet.values.reference.V8ValueFunction;
-import com.caoccao.javet.values.reference.V8ValueObject;
-import com.caoccao.javet.values.reference.V8ValuePromise;
-import java.util.Arrays;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import org.springframework.stereotype.Service;
 import top.howiehz.halo.plugin.extra.api.service.interop.runtime.adapters.shiki.ShikiHighlightService;
+import top.howiehz.halo.plugin.extra.api.service.interop.runtime.adapters.shiki.ShikiJsBinding;
+import top.howiehz.halo.plugin.extra.api.service.interop.runtime.adapters.shiki.ShikiManifest;
+import top.howiehz.halo.plugin.extra.api.service.interop.runtime.engine.EnginePriority;
 import top.howiehz.halo.plugin.extra.api.service.interop.runtime.engine.V8EnginePoolService;
 
 /**
  * Implementation of Shiki highlight service.
- * Shiki 高亮服务实现，封装对 V8 引擎池的调用以执行高亮相关 JS 函数。
+ * Shiki 高亮服务实现，通过引擎中缓存的 Shiki 函数句柄执行高亮，避免每次调用查找全局函数。
  */
 @Service
 public class ShikiHighlightServiceImpl implements ShikiHighlightService {
 
     private final V8EnginePoolService enginePoolService;
-    private Set<String> cachedLanguages;
-    private Set<String> cachedThemes;
+    private final ShikiManifest manifest = ShikiManifest.getDefault();
 
     public ShikiHighlightServiceImpl(V8EnginePoolService enginePoolService) {
         this.enginePoolService = enginePoolService;
@@ -29,7 +30,7 @@ public class ShikiHighlightServiceImpl implements ShikiHighlightService {
 
     /**
      * Highlight code synchronously using Shiki.
-     * 使用 Shiki 在 V8 中同步高亮代码。
+     * 使用 Shiki 在 V8 中同步高亮代码，等待非阻塞调用的结果。
      *
      * @param code source code / 源码
      * @param language language id / 语言标识
@@ -39,36 +40,12 @@ public class ShikiHighlightServiceImpl implements ShikiHighlightService {
      */
     @Override
     public String highlightCode(String code, String language, String theme) throws JavetException {
-        return enginePoolService.withEngine(runtime -> {
-            try (V8ValueObject global = runtime.getGlobalObject();
-                 var value = global.get("highlightCode")) {
-                if (!(value instanceof V8ValueFunction highlightFunc)) {
-                    throw new IllegalStateException("highlightCode function not found");
-                }
-
-                Map<String, Object> options = Map.of("lang", language, "theme", theme);
-
-                try (V8ValuePromise promise = highlightFunc.call(null, code, options)) {
-                    while (promise.isPending()) {
-                        runtime.await();
-                    }
-
-                    if (promise.isFulfilled()) {
-                        return promise.getResultString();
-                    } else if (promise.isRejected()) {
-                        throw new RuntimeException(
-                            "Highlight failed: " + promise.getResultString());
-                    }
-
-                    return "Unknown promise state";
-                }
-            }
-        });
+        return join(highlightCodeAsync(code, language, theme));
     }
 
     /**
      * Batch highlight multiple code requests in a single engine.
-     * 在单个引擎中批量高亮多个代码块,利用 Javet 的对象转换器自动处理 Java Map 和 JS Object 的转换。
+     * 在单个引擎中批量高亮多个代码块，等待非阻塞调用的结果。
      *
      * @param requests map of id -> request / id 到请求的映射
      * @return map of id -> highlighted result / id 到高亮结果的映射
@@ -77,82 +54,97 @@ public class ShikiHighlightServiceImpl implements ShikiHighlightService {
     @Override
     public Map<String, String> highlightCodeBatch(Map<String, CodeHighlightRequest> requests)
         throws JavetException {
+        return join(highlightCodeBatchAsync(requests));
+    }
 
-        return enginePoolService.withEngine(runtime -> {
-            try (V8ValueObject global = runtime.getGlobalObject();
-                 var value = global.get("highlightCodeBatch")) {
-
-                if (!(value instanceof V8ValueFunction batchFunc)) {
-                    throw new IllegalStateException("highlightCodeBatch function not found");
-                }
-
-                // 将 Java Map<String, CodeHighlightRequest> 转换为 JS 可接受的格式
-                // Javet 的对象转换器会自动处理 Map -> JS Object 的转换
-                Map<String, Map<String, String>> jsRequests = new java.util.LinkedHashMap<>();
-                for (Map.Entry<String, CodeHighlightRequest> entry : requests.entrySet()) {
-                    CodeHighlightRequest req = entry.getValue();
-                    Map<String, String> reqMap = Map.of(
-                        "code", req.code(),
-                        "lang", req.language(),
-                        "theme", req.theme()
-                    );
-                    jsRequests.put(entry.getKey(), reqMap);
-                }
+    /**
+     * Highlight code without blocking the caller.
+     * 非阻塞地高亮代码，结果由 Promise 的原生 then 回调完成。
+     *
+     * @param code source code / 源码
+     * @param language language id / 语言标识
+     * @param theme theme name / 主题名
+     * @return future of the highlighted result / 高亮结果的 Future
+     */
+    @Override
+    public CompletableFuture<String> highlightCodeAsync(String code, String language,
+        String theme) {
+        Map<String, String> options = Map.of("lang", language, "theme", theme);
+        return enginePoolService.withBindingAsync(ShikiJsBinding.class,
+            EnginePriority.INTERACTIVE, ShikiJsBinding.affinityKeys(language, theme),
+            binding -> binding.highlightCode(code, options),
+            (result, runtime) -> result.toString());
+    }
 
-                // 调用 JS 批量处理函数,Javet 会自动转换参数
-                try (V8ValuePromise promise = batchFunc.call(null, jsRequests)) {
-                    while (promise.isPending()) {
-                        runtime.await();
-                    }
+    /**
+     * Batch highlight multiple code requests in a single engine without blocking the caller.
+     * 非阻塞地在单个引擎中批量高亮多个代码块,利用 Javet 的对象转换器自动处理 Java Map 和 JS Object 的转换。
+     *
+     * @param requests map of id -> request / id 到请求的映射
+     * @param priority engine priority class / 引擎优先级类别
+     * @return future of id -> highlighted result / id 到高亮结果映射的 Future
+     */
+    @Override
+    public CompletableFuture<Map<String, String>> highlightCodeBatchAsync(
+        Map<String, CodeHighlightRequest> requests, EnginePriority priority) {
+        // 将 Java Map<String, CodeHighlightRequest> 转换为 JS 可接受的格式
+        // Javet 的对象转换器会自动处理 Map -> JS Object 的转换
+        Map<String, Map<String, String>> jsRequests = new LinkedHashMap<>();
+        Set<String> affinityKeys = new HashSet<>();
+        for (Map.Entry<String, CodeHighlightRequest> entry : requests.entrySet()) {
+            CodeHighlightRequest req = entry.getValue();
+            affinityKeys.addAll(ShikiJsBinding.affinityKeys(req.language(), req.theme()));
+            jsRequests.put(entry.getKey(), Map.of(
+                "code", req.code(),
+                "lang", req.language(),
+                "theme", req.theme()
+            ));
+        }
 
-                    if (promise.isFulfilled()) {
-                        // 使用 runtime.toObject() 将 V8Value 转换为 Java Map
-                        // 必须通过 runtime 的转换器来转换,因为 promise.getResult() 返回的是 V8Value
-                        try (V8ValueObject resultObj = promise.getResult()) {
-                            return runtime.toObject(resultObj);
-                        }
-                    } else if (promise.isRejected()) {
-                        throw new RuntimeException(
-                            "Batch highlight failed: " + promise.getResultString());
-                    }
+        // 必须通过 runtime 的转换器在持有引擎期间将结果转换为 Java Map
+        return enginePoolService.withBindingAsync(ShikiJsBinding.class, priority,
+            Set.copyOf(affinityKeys), binding -> binding.highlightCodeBatch(jsRequests),
+            (result, runtime) -> runtime.toObject(result));
+    }
 
-                    throw new RuntimeException("Unknown promise state");
-                }
+    /**
+     * Wait for an async result and unwrap its failure.
+     * 等待异步结果并解包其失败原因。
+     */
+    private static <T> T join(CompletableFuture<T> future) throws JavetException {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof JavetException javetException) {
+                throw javetException;
+            }
+            if (cause instanceof RuntimeException runtimeException) {
+                throw runtimeException;
             }
-        });
+            throw new RuntimeException("Highlight failed: " + cause.getMessage(), cause);
+        }
     }
 
     /**
-     * Get supported languages from the preloaded Shiki module.
-     * 从预加载的 Shiki 模块中获取支持的语言列表。
+     * Get supported languages from the build-time manifest.
+     * 从构建时生成的清单中获取支持的语言（含别名），无需借用引擎。
      *
-     * @return array of language identifiers / 语言标识数组
-     * @throws JavetException when JS call fails / JS 调用失败时抛出
+     * @return immutable language identifiers set / 不可变的语言标识集合
      */
     @Override
-    public Set<String> getSupportedLanguages() throws JavetException {
-        if (cachedLanguages == null) {
-            String[] langs =
-                enginePoolService.executeScript("getSupportedLanguages()", String[].class);
-            cachedLanguages = new HashSet<>(Arrays.asList(langs));
-        }
-        return cachedLanguages;
+    public Set<String> getSupportedLanguages() {
+        return manifest.getLanguages();
     }
 
     /**
-     * Get supported themes from the preloaded Shiki module.
-     * 从预加载的 Shiki 模块中获取支持的主题列表。
+     * Get supported themes from the build-time manifest.
+     * 从构建时生成的清单中获取支持的主题，无需借用引擎。
      *
-     * @return array of theme names / 主题名数组
-     * @throws JavetException when JS call fails / JS 调用失败时抛出
+     * @return immutable theme names set / 不可变的主题名集合
      */
     @Override
-    public Set<String> getSupportedThemes() throws JavetException {
-        if (cachedThemes == null) {
-            String[] themes =
-                enginePoolService.executeScript("getSupportedThemes()", String[].class);
-            cachedThemes = new HashSet<>(Arrays.asList(themes));
-        }
-        return cachedThemes;
+    public Set<String> getSupportedThemes() {
+        return manifest.getThemes();
     }
 }
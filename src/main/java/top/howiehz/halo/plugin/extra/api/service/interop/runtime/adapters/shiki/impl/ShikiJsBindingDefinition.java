@@ -0,0 +1,150 @@
+package top.howiehz.halo.plugin.extra.api.service.interop.runtime.adapters.shiki.impl;
+
+import com.caoccao.javet.exceptions.JavetException;
+import com.caoccao.javet.interop.V8Runtime;
+import com.caoccao.javet.values.reference.V8ValuePromise;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import top.howiehz.halo.plugin.extra.api.service.core.config.ShikiConfig;
+import top.howiehz.halo.plugin.extra.api.service.core.config.ShikiConfigSupplier;
+import top.howiehz.halo.plugin.extra.api.service.interop.runtime.adapters.shiki.ShikiJsBinding;
+import top.howiehz.halo.plugin.extra.api.service.interop.runtime.adapters.shiki.ShikiManifest;
+import top.howiehz.halo.plugin.extra.api.service.interop.runtime.binding.JsBindingDefinition;
+import top.howiehz.halo.plugin.extra.api.service.interop.runtime.binding.JsFunctionTable;
+import top.howiehz.halo.plugin.extra.api.service.interop.runtime.engine.V8PromiseBridge;
+
+/**
+ * Binding definition for the Shiki JS module.
+ * Shiki JS 模块的绑定定义，在引擎创建时解析高亮相关的全局函数。
+ */
+@Component
+@RequiredArgsConstructor
+public class ShikiJsBindingDefinition implements JsBindingDefinition<ShikiJsBinding> {
+
+    private static final String HIGHLIGHT_CODE = "highlightCode";
+    private static final String HIGHLIGHT_CODE_BATCH = "highlightCodeBatch";
+
+    /**
+     * Longest time the warm-up waits for its highlight batch.
+     * 预热等待高亮批次完成的最长时间。
+     */
+    private static final long WARM_UP_TIMEOUT_MILLIS = 30_000;
+
+    /**
+     * Languages most blog posts use, loaded into every engine on warm-up.
+     * 博客文章中最常见的语言，预热时加载到每个引擎中。
+     */
+    private static final List<String> HOT_LANGUAGES = List.of("javascript", "typescript",
+        "html", "css", "json", "bash", "python", "java", "yaml", "markdown");
+
+    private static final String WARM_UP_SAMPLE = "const answer = 42;";
+
+    private final ShikiConfigSupplier shikiConfigSupplier;
+
+    @Override
+    public Class<ShikiJsBinding> bindingType() {
+        return ShikiJsBinding.class;
+    }
+
+    @Override
+    public String module() {
+        return "shiki";
+    }
+
+    @Override
+    public List<String> functionNames() {
+        return List.of(HIGHLIGHT_CODE, HIGHLIGHT_CODE_BATCH);
+    }
+
+    @Override
+    public ShikiJsBinding bind(V8Runtime runtime, JsFunctionTable functions) {
+        return new Binding(functions);
+    }
+
+    /**
+     * Highlight a sample in every hot language with the configured themes, so the grammars,
+     * themes and highlighter code paths are loaded and compiled before real requests.
+     * 使用当前配置的主题以每种常用语言高亮一段示例代码，使语法、主题与高亮代码路径在真实请求前完成加载与编译。
+     *
+     * @param runtime the runtime that owns the binding / 持有绑定的运行时
+     * @param binding binding instance of the runtime / 该运行时的绑定实例
+     * @return affinity keys of the loaded grammars and themes / 已加载语法与主题的亲和键
+     * @throws JavetException when the warm-up call fails / 预热调用失败时抛出
+     */
+    @Override
+    public Collection<String> warmUp(V8Runtime runtime, ShikiJsBinding binding)
+        throws JavetException {
+        ShikiManifest manifest = ShikiManifest.getDefault();
+        Set<String> supportedLanguages = manifest.getLanguages();
+        Set<String> supportedThemes = manifest.getThemes();
+        List<String> themes = configuredThemes().stream()
+            .filter(supportedThemes::contains)
+            .toList();
+
+        Map<String, Map<String, String>> requests = new LinkedHashMap<>();
+        Set<String> warmKeys = new LinkedHashSet<>();
+        for (String language : HOT_LANGUAGES) {
+            if (!supportedLanguages.contains(language)) {
+                continue;
+            }
+            for (String theme : themes) {
+                requests.put(language + ":" + theme,
+                    Map.of("code", WARM_UP_SAMPLE, "lang", language, "theme", theme));
+                warmKeys.addAll(ShikiJsBinding.affinityKeys(language, theme));
+            }
+        }
+        if (requests.isEmpty()) {
+            return List.of();
+        }
+
+        CompletableFuture<Void> future = new CompletableFuture<>();
+        try (V8ValuePromise promise = binding.highlightCodeBatch(requests)) {
+            V8PromiseBridge.settle(runtime, promise, (result, r) -> null, future, () -> false,
+                WARM_UP_TIMEOUT_MILLIS);
+        }
+        future.join();
+        return warmKeys;
+    }
+
+    private Set<String> configuredThemes() {
+        ShikiConfig config = shikiConfigSupplier.get().blockOptional().orElseGet(ShikiConfig::new);
+        Set<String> themes = new LinkedHashSet<>();
+        if (config.isEnabledDoubleRenderMode()) {
+            themes.add(themeOrDefault(config.getLightTheme(), "min-light"));
+            themes.add(themeOrDefault(config.getDarkTheme(), "nord"));
+        } else {
+            themes.add(themeOrDefault(config.getTheme(), "min-light"));
+        }
+        return themes;
+    }
+
+    private static String themeOrDefault(String theme, String defaultTheme) {
+        return theme == null || theme.isBlank() ? defaultTheme : theme;
+    }
+
+    /**
+     * Binding backed by cached function handles of one runtime.
+     * 基于单个运行时缓存函数句柄的绑定实现。
+     */
+    private record Binding(JsFunctionTable functions) implements ShikiJsBinding {
+
+        @Override
+        public V8ValuePromise highlightCode(String code, Map<String, String> options)
+            throws JavetException {
+            return functions.get(HIGHLIGHT_CODE).call(null, code, options);
+        }
+
+        @Override
+        public V8ValuePromise highlightCodeBatch(Map<String, Map<String, String>> requests)
+            throws JavetException {
+            return functions.get(HIGHLIGHT_CODE_BATCH).call(null, requests);
+        }
+    }
+}
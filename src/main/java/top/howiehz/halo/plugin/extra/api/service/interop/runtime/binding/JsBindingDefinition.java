@@ -0,0 +1,73 @@
+package top.howiehz.halo.plugin.extra.api.service.interop.runtime.binding;
+
+import com.caoccao.javet.exceptions.JavetException;
+import com.caoccao.javet.interop.V8Runtime;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Definition of a typed Java binding over functions exported by a JS module.
+ * 基于 JS 模块导出函数的类型化 Java 绑定定义。
+ *
+ * <p>Definitions are collected as Spring beans and applied to every engine when it is created,
+ * so the exported functions are resolved once per engine instead of once per call.</p>
+ * <p>所有定义以 Spring Bean 的形式收集，在引擎创建时应用到每个引擎上，
+ * 使导出函数在每个引擎中只解析一次，而不是每次调用都解析。</p>
+ *
+ * @param <T> binding interface type / 绑定接口类型
+ */
+public interface JsBindingDefinition<T> {
+
+    /**
+     * Get the typed interface exposed to Java adapters.
+     * 获取暴露给 Java 适配器的类型化接口。
+     *
+     * @return binding interface type / 绑定接口类型
+     */
+    Class<T> bindingType();
+
+    /**
+     * Get the name of the JS module (as declared in {@code js/modules.properties}) exporting the
+     * functions. Bindings over modules that are not preloaded are resolved on first use.
+     * 获取导出这些函数的 JS 模块名称（即 {@code js/modules.properties} 中的声明）；
+     * 所属模块未声明为预加载时，绑定会在首次使用时解析。
+     *
+     * @return module name, or null if the functions are always present / 模块名称，函数始终存在时返回 null
+     */
+    default String module() {
+        return null;
+    }
+
+    /**
+     * Get the global function names this binding needs.
+     * 获取该绑定需要的全局函数名称。
+     *
+     * @return function names / 函数名称列表
+     */
+    List<String> functionNames();
+
+    /**
+     * Create the binding from resolved function handles.
+     * 使用已解析的函数句柄创建绑定实例。
+     *
+     * @param runtime the runtime that owns the handles / 持有句柄的运行时
+     * @param functions resolved function handles / 已解析的函数句柄
+     * @return binding instance / 绑定实例
+     * @throws JavetException when a required function is missing / 缺少必需函数时抛出
+     */
+    T bind(V8Runtime runtime, JsFunctionTable functions) throws JavetException;
+
+    /**
+     * Exercise the binding once so lazily loaded JS state and JIT code are ready before real
+     * traffic arrives. Called on startup warm-up while the engine is held.
+     * 执行一次绑定，使懒加载的 JS 状态与 JIT 代码在真实请求到来前就绪；在启动预热期间、持有引擎时调用。
+     *
+     * @param runtime the runtime that owns the binding / 持有绑定的运行时
+     * @param binding binding instance of the runtime / 该运行时的绑定实例
+     * @return affinity keys now warm in the runtime / 预热后已加载的亲和键
+     * @throws JavetException when the warm-up call fails / 预热调用失败时抛出
+     */
+    default Collection<String> warmUp(V8Runtime runtime, T binding) throws JavetException {
+        return List.of();
+    }
+}
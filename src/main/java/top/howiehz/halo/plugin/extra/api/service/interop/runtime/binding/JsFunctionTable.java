@@ -0,0 +1,107 @@
+package top.howiehz.halo.plugin.extra.api.service.interop.runtime.binding;
+
+import com.caoccao.javet.exceptions.JavetException;
+import com.caoccao.javet.interop.V8Runtime;
+import com.caoccao.javet.values.V8Value;
+import com.caoccao.javet.values.reference.V8ValueFunction;
+import com.caoccao.javet.values.reference.V8ValueObject;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Cached {@link V8ValueFunction} handles resolved from the global object of one runtime.
+ * 从单个运行时全局对象解析出的 {@link V8ValueFunction} 句柄缓存。
+ *
+ * <p>The table is owned by an engine and must be closed before its runtime is closed.</p>
+ * <p>该表由引擎持有，必须在对应运行时关闭之前关闭。</p>
+ */
+@Slf4j
+public final class JsFunctionTable implements AutoCloseable {
+
+    private final Map<String, V8ValueFunction> functions;
+
+    private JsFunctionTable(Map<String, V8ValueFunction> functions) {
+        this.functions = functions;
+    }
+
+    /**
+     * Resolve the given global function names into cached handles.
+     * 将给定的全局函数名称解析为缓存句柄。
+     *
+     * <p>Missing or non-function globals are skipped and reported when accessed.</p>
+     * <p>不存在或不是函数的全局变量会被跳过，在访问时报告错误。</p>
+     *
+     * @param runtime the runtime to resolve from / 解析来源运行时
+     * @param names global function names / 全局函数名称
+     * @return resolved function table / 解析后的函数表
+     * @throws JavetException when reading the global object fails / 读取全局对象失败时抛出
+     */
+    public static JsFunctionTable resolve(V8Runtime runtime, Collection<String> names)
+        throws JavetException {
+        Map<String, V8ValueFunction> resolved = new LinkedHashMap<>();
+        try (V8ValueObject global = runtime.getGlobalObject()) {
+            for (String name : names) {
+                if (resolved.containsKey(name)) {
+                    continue;
+                }
+                V8Value value = global.get(name);
+                if (value instanceof V8ValueFunction function) {
+                    resolved.put(name, function);
+                } else {
+                    if (value != null) {
+                        value.close();
+                    }
+                    log.warn("JS function [{}] not found in global object", name);
+                }
+            }
+        }
+        return new JsFunctionTable(resolved);
+    }
+
+    /**
+     * Get a cached function handle.
+     * 获取缓存的函数句柄。
+     *
+     * @param name function name / 函数名称
+     * @return function handle / 函数句柄
+     * @throws IllegalStateException when the function was not resolved / 函数未解析时抛出
+     */
+    public V8ValueFunction get(String name) {
+        V8ValueFunction function = functions.get(name);
+        if (function == null || function.isClosed()) {
+            throw new IllegalStateException(name + " function not found");
+        }
+        return function;
+    }
+
+    /**
+     * Find a cached function handle.
+     * 查找缓存的函数句柄。
+     *
+     * @param name function name / 函数名称
+     * @return function handle, or null when not resolved / 函数句柄，未解析时返回 null
+     */
+    public V8ValueFunction find(String name) {
+        V8ValueFunction function = functions.get(name);
+        return function == null || function.isClosed() ? null : function;
+    }
+
+    /**
+     * Release all cached handles.
+     * 释放所有缓存的句柄。
+     */
+    @Override
+    public void close() {
+        for (Map.Entry<String, V8ValueFunction> entry : functions.entrySet()) {
+            try {
+                entry.getValue().close();
+            } catch (Exception e) {
+                log.debug("Failed to release JS function handle [{}]: {}", entry.getKey(),
+                    e.getMessage());
+            }
+        }
+        functions.clear();
+    }
+}
@@ -5,19 +5,87 @@ import com.caoccao.javet.interception.logging.JavetStandardConsoleInterceptor;
 import com.caoccao.javet.interop.V8Runtime;
 import com.caoccao.javet.interop.engine.IJavetEnginePool;
 import com.caoccao.javet.interop.engine.JavetEngine;
+import com.caoccao.javet.values.reference.IV8Module;
+import com.caoccao.javet.values.reference.V8ValueFunction;
 import com.google.common.base.Throwables;
-import java.nio.charset.StandardCharsets;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
 import lombok.extern.slf4j.Slf4j;
+import top.howiehz.halo.plugin.extra.api.service.interop.runtime.binding.JsBindingDefinition;
+import top.howiehz.halo.plugin.extra.api.service.interop.runtime.binding.JsFunctionTable;
 import top.howiehz.halo.plugin.extra.api.service.interop.runtime.module.CustomV8ModuleResolver;
+import top.howiehz.halo.plugin.extra.api.service.interop.runtime.module.JsModule;
+import top.howiehz.halo.plugin.extra.api.service.interop.runtime.module.JsModuleRegistry;
 
 /**
  * Custom Javet engine that registers console interceptor, module resolver and preloads modules.
- * 自定义 Javet 引擎，注册控制台拦截、模块解析器并预加载需要的 JS 模块（如 Shiki）。
+ * 自定义 Javet 引擎，注册控制台拦截、模块解析器并预加载声明为预加载的 JS 模块（如 Shiki）。
+ *
+ * <p>Each engine also keeps its own health bookkeeping (executions, latency, V8 heap) so that
+ * the pool service can recycle engines whose isolate has grown too large.</p>
+ * <p>每个引擎同时维护自身的健康统计（执行次数、耗时、V8 堆），供引擎池服务判断是否需要回收。</p>
+ *
+ * <p>Exported JS functions declared by {@link JsBindingDefinition}s are resolved once when the
+ * runtime is initialized and cached as typed bindings owned by the engine.</p>
+ * <p>由 {@link JsBindingDefinition} 声明的 JS 导出函数会在运行时初始化时解析一次，
+ * 并作为类型化绑定由引擎持有。</p>
+ *
+ * <p>Modules that are not preloaded (e.g. KaTeX) are loaded through the module resolver the
+ * first time a binding over them or {@link #ensureModules} asks for them, once per isolate.</p>
+ * <p>未声明为预加载的模块（如 KaTeX）会在首次请求其绑定或通过 {@link #ensureModules} 使用时
+ * 通过模块解析器加载，每个隔离实例只加载一次。</p>
  */
 @Slf4j
 public class CustomJavetEngine extends JavetEngine<V8Runtime> {
 
-    private JavetStandardConsoleInterceptor consoleInterceptor;
+    private static final AtomicInteger ENGINE_ID_GENERATOR = new AtomicInteger();
+
+    private final int engineId = ENGINE_ID_GENERATOR.incrementAndGet();
+
+    /**
+     * Lock held while the runtime is used, so maintenance never races with an execution.
+     * 使用运行时期间持有的锁，保证维护操作不会与脚本执行并发。
+     */
+    private final ReentrantLock executionLock = new ReentrantLock();
+
+    private final AtomicLong executionsSinceRecycle = new AtomicLong();
+    private final AtomicLong totalExecutions = new AtomicLong();
+    private final AtomicLong totalExecutionNanos = new AtomicLong();
+    private final AtomicInteger recycleCount = new AtomicInteger();
+
+    private final List<JsBindingDefinition<?>> bindingDefinitions;
+
+    private final CustomV8ModuleResolver moduleResolver = new CustomV8ModuleResolver();
+
+    private volatile RuntimeState runtimeState;
+    private volatile long usedHeapSize;
+    private volatile long totalHeapSize;
+    private volatile long heapSizeLimit;
+    private volatile long lastReleasedAtMillis = System.currentTimeMillis();
+    private volatile boolean lowMemoryNotified;
+    private volatile boolean retired;
+
+    /**
+     * Guards the deadline state so the watchdog only terminates a call that is still running.
+     * 保护截止时间状态，确保看门狗只会终止仍在执行中的调用。
+     */
+    private final Object deadlineMonitor = new Object();
+
+    /**
+     * Affinity keys (e.g. loaded grammars and themes) already warm in the current isolate.
+     * 当前隔离实例中已预热的亲和键（例如已加载的语法与主题）。
+     */
+    private final Set<String> warmKeys = ConcurrentHashMap.newKeySet();
+    private boolean deadlineArmed;
+    private volatile boolean timedOut;
 
     /**
      * Constructor that initializes interceptors, resolver and preloads modules.
@@ -29,17 +97,44 @@ public class CustomJavetEngine extends JavetEngine<V8Runtime> {
      */
     public CustomJavetEngine(IJavetEnginePool<V8Runtime> iJavetEnginePool, V8Runtime v8Runtime)
         throws JavetException {
+        this(iJavetEnginePool, v8Runtime, List.of());
+    }
+
+    /**
+     * Constructor that additionally binds the given JS function definitions.
+     * 构造函数：额外绑定给定的 JS 函数定义。
+     *
+     * @param iJavetEnginePool engine pool reference / 引擎池引用
+     * @param v8Runtime the V8 runtime instance / V8 运行时实例
+     * @param bindingDefinitions binding definitions to resolve / 需要解析的绑定定义
+     * @throws JavetException when initialization fails / 初始化失败抛出
+     */
+    public CustomJavetEngine(IJavetEnginePool<V8Runtime> iJavetEnginePool, V8Runtime v8Runtime,
+        List<JsBindingDefinition<?>> bindingDefinitions) throws JavetException {
         super(iJavetEnginePool, v8Runtime);
+        this.bindingDefinitions = List.copyOf(bindingDefinitions);
+        runtimeState = initializeRuntime(v8Runtime);
+    }
 
+    /**
+     * Register console interceptor, module resolver and promise callback, preload modules and
+     * resolve bindings.
+     * 为运行时注册控制台拦截器、模块解析器与 Promise 回调，预加载模块并解析绑定。
+     *
+     * @param runtime the runtime to initialize / 待初始化的运行时
+     * @return the state attached to the runtime / 与运行时关联的状态
+     * @throws JavetException when initialization fails / 初始化失败抛出
+     */
+    private RuntimeState initializeRuntime(V8Runtime runtime) throws JavetException {
         // 注册控制台拦截器
-        consoleInterceptor = new JavetStandardConsoleInterceptor(v8Runtime);
-        consoleInterceptor.register(v8Runtime.getGlobalObject());
+        var interceptor = new JavetStandardConsoleInterceptor(runtime);
+        interceptor.register(runtime.getGlobalObject());
 
         // 设置自定义模块解析器
-        v8Runtime.setV8ModuleResolver(new CustomV8ModuleResolver());
+        runtime.setV8ModuleResolver(moduleResolver);
 
         // 设置 Promise 拒绝回调
-        v8Runtime.setPromiseRejectCallback((event, promise, value) -> {
+        runtime.setPromiseRejectCallback((event, promise, value) -> {
             try {
                 String errorMessage = value.toString();
                 getConfig().getJavetLogger().logError("Promise rejected: " + errorMessage);
@@ -49,79 +144,483 @@ public class CustomJavetEngine extends JavetEngine<V8Runtime> {
             }
         });
 
-        // 预加载 Shiki 模块
-        preloadModules();
+        // 预加载声明为预加载的模块（如 Shiki）
+        Set<String> loadedModules = ConcurrentHashMap.newKeySet();
+        preloadModules(runtime, loadedModules);
+
+        // 解析并缓存预加载模块的导出函数句柄，懒加载模块的绑定在首次使用时解析
+        List<JsBindingDefinition<?>> eagerDefinitions = bindingDefinitions.stream()
+            .filter(definition -> !isLazy(definition))
+            .toList();
+        JsFunctionTable functionTable = JsFunctionTable.resolve(runtime,
+            eagerDefinitions.stream()
+                .flatMap(definition -> definition.functionNames().stream())
+                .toList());
+        Map<Class<?>, Object> bindings = new LinkedHashMap<>();
+        for (JsBindingDefinition<?> definition : eagerDefinitions) {
+            try {
+                bindings.put(definition.bindingType(), definition.bind(runtime, functionTable));
+            } catch (Exception e) {
+                log.error("Failed to bind {} for engine #{}: {}",
+                    definition.bindingType().getSimpleName(), engineId, e.getMessage());
+            }
+        }
+        return new RuntimeState(interceptor, functionTable, Map.copyOf(bindings), loadedModules,
+            new ConcurrentHashMap<>(), new CopyOnWriteArrayList<>());
+    }
+
+    private static boolean isLazy(JsBindingDefinition<?> definition) {
+        String moduleName = definition.module();
+        if (moduleName == null) {
+            return false;
+        }
+        JsModule module = JsModuleRegistry.getDefault().find(moduleName);
+        return module != null && !module.isPreload();
     }
 
     /**
-     * Preload embedded modules like Shiki into the runtime to avoid runtime latency on first use.
-     * 预加载嵌入的模块（例如 Shiki），避免首次使用时的延迟。
+     * Preload the modules declared as preloaded to avoid runtime latency on first use.
+     * 预加载声明为预加载的模块（例如 Shiki），避免首次使用时的延迟。
      * <p>
      * This method logs diagnostic information but intentionally swallows errors to avoid failing
      * engine creation.
      * 该方法会记录诊断信息，但为了不阻塞引擎创建会捕获并忽略异常。
      *
-     * @throws JavetException if underlying JS operations fail / 底层 JS 操作失败时抛出（实践中通常被捕获）
+     * @param runtime the runtime to preload into / 预加载的目标运行时
+     * @param loadedModules modules loaded into the runtime / 已加载到该运行时的模块
      */
-    private void preloadModules() throws JavetException {
-        log.debug("开始预加载 Shiki 模块");
-        try {
-            // 检查资源文件是否存在
-            try (var inputStream = getClass().getClassLoader()
-                .getResourceAsStream("js/shiki.umd.cjs")) {
-                if (inputStream == null) {
-                    log.error("找不到资源文件 js/shiki.umd.cjs");
-                    return;
-                }
+    private void preloadModules(V8Runtime runtime, Set<String> loadedModules) {
+        for (JsModule module : JsModuleRegistry.getDefault().getModules()) {
+            if (!module.isPreload()) {
+                continue;
+            }
+            log.debug("开始预加载 {} 模块", module.getName());
+            try {
+                loadModule(runtime, module, loadedModules);
+            } catch (Exception e) {
+                log.error("预加载 {} 模块失败:", module.getName(), Throwables.getRootCause(e));
+                // 不要抛出异常，让引擎继续初始化
+            }
+        }
+        log.debug("=== 预加载过程结束 ===");
+    }
 
-                String shikiCode = new String(inputStream.readAllBytes(), StandardCharsets.UTF_8);
-                log.debug("Shiki 代码已读取，长度: {}", shikiCode.length());
+    /**
+     * Load a module into the runtime through the module resolver, once per isolate.
+     * 通过模块解析器将模块加载到运行时中，每个隔离实例只加载一次。
+     *
+     * <p>UMD modules register their exports on {@code globalThis}; a compiled module returned
+     * for other types is released because bindings only read global functions.</p>
+     * <p>UMD 模块会将导出注册到 {@code globalThis}；其他类型返回的编译模块会被释放，因为绑定只读取全局函数。</p>
+     */
+    private void loadModule(V8Runtime runtime, JsModule module, Set<String> loadedModules)
+        throws JavetException {
+        if (loadedModules.contains(module.getName())) {
+            return;
+        }
+        long startNanos = System.nanoTime();
+        IV8Module compiled = moduleResolver.resolve(runtime, module.getModuleName(), null);
+        if (compiled != null) {
+            compiled.close();
+        }
+        loadedModules.add(module.getName());
+        log.debug("模块 {} 已加载到引擎 #{}，耗时 {}ms", module.getName(), engineId,
+            (System.nanoTime() - startNanos) / 1_000_000);
+    }
 
-                if (shikiCode.isEmpty()) {
-                    log.error("Shiki 文件为空");
-                    return;
-                }
+    /**
+     * Get the lock guarding runtime usage.
+     * 获取保护运行时使用的锁。
+     *
+     * @return execution lock / 执行锁
+     */
+    public ReentrantLock getExecutionLock() {
+        return executionLock;
+    }
 
-                // 执行代码
-                log.debug("开始执行 Shiki 代码...");
-                v8Runtime.getExecutor(shikiCode).executeVoid();
-                log.debug("Shiki 代码执行完成");
-
-                // // 立即验证
-                // try {
-                //     boolean highlightExists =
-                //         v8Runtime.getExecutor("typeof highlightCode === 'function'")
-                //             .executeBoolean();
-                //     boolean languagesExists =
-                //         v8Runtime.getExecutor("typeof getSupportedLanguages === 'function'")
-                //             .executeBoolean();
-
-                //     log.debug("验证结果 - highlightCode: {}, getSupportedLanguages: {}",
-                //         highlightExists, languagesExists);
-
-                //     if (highlightExists && languagesExists) {
-                //         log.info("Shiki 模块预加载成功!");
-                //     } else {
-                //         log.error("Shiki 函数未正确暴露");
-
-                //         // 检查全局对象
-                //         String globals = v8Runtime.getExecutor(
-                //                 "Object.getOwnPropertyNames(globalThis).filter(name => name"
-                //                     + ".includes('highlight') || name.includes('Language') || "
-                //                     + "name.includes('Theme')).join(', ')")
-                //             .executeString();
-                //         log.info("全局对象中相关属性: {}", globals);
-                //     }
-                // } catch (Exception e) {
-                //     log.error("验证时出错:", Throwables.getRootCause(e));
-                // }
+    /**
+     * Get the typed binding of the current runtime.
+     * 获取当前运行时的类型化绑定。
+     *
+     * <p>The binding is only valid until the engine is released or recycled.</p>
+     * <p>绑定仅在引擎被归还或回收之前有效。</p>
+     *
+     * @param bindingType binding interface type / 绑定接口类型
+     * @param <T> binding type / 绑定类型
+     * @return binding instance / 绑定实例
+     * @throws IllegalStateException when the binding is not available / 绑定不可用时抛出
+     */
+    public <T> T getBinding(Class<T> bindingType) {
+        RuntimeState state = runtimeState;
+        Object binding = state == null ? null : state.bindings().get(bindingType);
+        if (binding == null && state != null) {
+            binding = state.lazyBindings().get(bindingType);
+            if (binding == null) {
+                binding = bindLazily(state, bindingType);
             }
+        }
+        if (binding == null) {
+            throw new IllegalStateException(
+                "JS binding not available: " + bindingType.getSimpleName());
+        }
+        return bindingType.cast(binding);
+    }
 
+    /**
+     * Load the module of a lazy binding and resolve its functions in the current runtime.
+     * 加载懒加载绑定所属的模块，并在当前运行时中解析其函数。
+     */
+    private Object bindLazily(RuntimeState state, Class<?> bindingType) {
+        for (JsBindingDefinition<?> definition : bindingDefinitions) {
+            if (definition.bindingType() != bindingType || !isLazy(definition)) {
+                continue;
+            }
+            try {
+                loadModule(v8Runtime, JsModuleRegistry.getDefault().find(definition.module()),
+                    state.loadedModules());
+                JsFunctionTable functionTable =
+                    JsFunctionTable.resolve(v8Runtime, definition.functionNames());
+                state.lazyFunctionTables().add(functionTable);
+                Object binding = definition.bind(v8Runtime, functionTable);
+                state.lazyBindings().put(bindingType, binding);
+                return binding;
+            } catch (Exception e) {
+                log.error("Failed to lazily bind {} for engine #{}: {}",
+                    bindingType.getSimpleName(), engineId, e.getMessage());
+                return null;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Find the cached handle of a function declared by a binding definition.
+     * 查找由绑定定义声明的函数的缓存句柄。
+     *
+     * <p>Functions of lazy bindings are resolved, together with their module, the first time
+     * they are asked for. The handle is only valid until the engine is released or recycled.</p>
+     * <p>懒加载绑定的函数会在首次查找时连同其模块一起解析；句柄仅在引擎被归还或回收之前有效。</p>
+     *
+     * @param functionName global function name / 全局函数名
+     * @return cached handle, or null when no binding declares the function / 缓存的句柄，
+     * 没有绑定声明该函数时返回 null
+     */
+    public V8ValueFunction findFunction(String functionName) {
+        RuntimeState state = runtimeState;
+        if (state == null) {
+            throw new IllegalStateException("Engine #" + engineId + " is closed");
+        }
+        V8ValueFunction function = state.functionTable().find(functionName);
+        if (function != null) {
+            return function;
+        }
+        for (JsFunctionTable lazyFunctionTable : state.lazyFunctionTables()) {
+            function = lazyFunctionTable.find(functionName);
+            if (function != null) {
+                return function;
+            }
+        }
+        for (JsBindingDefinition<?> definition : bindingDefinitions) {
+            if (isLazy(definition) && definition.functionNames().contains(functionName)
+                && !state.lazyBindings().containsKey(definition.bindingType())
+                && bindLazily(state, definition.bindingType()) != null) {
+                return findFunction(functionName);
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Make sure the given declared modules are loaded into the current runtime.
+     * 确保给定的已声明模块已加载到当前运行时中。
+     *
+     * <p>Must be called while holding {@link #getExecutionLock()}.</p>
+     * <p>调用时必须持有 {@link #getExecutionLock()}。</p>
+     *
+     * @param moduleNames simple module names / 模块简单名称
+     * @throws JavetException when loading a module fails / 模块加载失败时抛出
+     * @throws IllegalArgumentException when a module is not declared / 模块未声明时抛出
+     */
+    public void ensureModules(Collection<String> moduleNames) throws JavetException {
+        RuntimeState state = runtimeState;
+        if (state == null) {
+            throw new IllegalStateException("Engine #" + engineId + " is closed");
+        }
+        for (String moduleName : moduleNames) {
+            JsModule module = JsModuleRegistry.getDefault().find(moduleName);
+            if (module == null) {
+                throw new IllegalArgumentException("JS module not declared: " + moduleName);
+            }
+            loadModule(v8Runtime, module, state.loadedModules());
+        }
+    }
+
+    /**
+     * Count how many of the given affinity keys are already warm in this engine.
+     * 统计给定亲和键中已在该引擎中预热的数量。
+     *
+     * @param keys affinity keys / 亲和键
+     * @return number of warm keys / 已预热的数量
+     */
+    public int countWarm(Collection<String> keys) {
+        int warm = 0;
+        for (String key : keys) {
+            if (warmKeys.contains(key)) {
+                warm++;
+            }
+        }
+        return warm;
+    }
+
+    /**
+     * Record that the given affinity keys are now loaded in the current isolate.
+     * 记录给定的亲和键已在当前隔离实例中加载。
+     *
+     * @param keys affinity keys / 亲和键
+     */
+    public void markWarm(Collection<String> keys) {
+        warmKeys.addAll(keys);
+    }
+
+    /**
+     * Get a snapshot of the affinity keys warm in the current isolate.
+     * 获取当前隔离实例中已预热亲和键的快照。
+     *
+     * @return warm affinity keys / 已预热的亲和键
+     */
+    public Set<String> getWarmKeys() {
+        return Set.copyOf(warmKeys);
+    }
+
+    /**
+     * Mark the engine active after the pool handed it out directly from its idle slot.
+     * 引擎池直接从空闲槽位借出该引擎后，将其标记为使用中。
+     */
+    void markCheckedOut() {
+        setActive(true);
+    }
+
+    /**
+     * Run the warm-up of every binding in the current runtime and mark the loaded state warm.
+     * 在当前运行时中执行所有绑定的预热，并将加载的状态标记为已预热。
+     *
+     * <p>Must be called while holding {@link #getExecutionLock()}.</p>
+     * <p>调用时必须持有 {@link #getExecutionLock()}。</p>
+     *
+     * @throws JavetException when a warm-up call fails / 预热调用失败时抛出
+     */
+    public void warmUp() throws JavetException {
+        RuntimeState state = runtimeState;
+        if (state == null) {
+            return;
+        }
+        for (JsBindingDefinition<?> definition : bindingDefinitions) {
+            Object binding = state.bindings().get(definition.bindingType());
+            if (binding != null) {
+                markWarm(warmUp(definition, binding));
+            }
+        }
+    }
+
+    private <T> Collection<String> warmUp(JsBindingDefinition<T> definition, Object binding)
+        throws JavetException {
+        return definition.warmUp(v8Runtime, definition.bindingType().cast(binding));
+    }
+
+    /**
+     * Mark the start of a call guarded by a deadline.
+     * 标记一次受截止时间保护的调用开始。
+     */
+    public void armDeadline() {
+        synchronized (deadlineMonitor) {
+            deadlineArmed = true;
+            timedOut = false;
+        }
+    }
+
+    /**
+     * Mark the end of a guarded call; after this the watchdog can no longer terminate it.
+     * 标记受保护调用结束，此后看门狗不会再终止该调用。
+     *
+     * @return whether the call was terminated by the watchdog / 调用是否被看门狗终止
+     */
+    public boolean disarmDeadline() {
+        synchronized (deadlineMonitor) {
+            deadlineArmed = false;
+            return timedOut;
+        }
+    }
+
+    /**
+     * Terminate the running call because its deadline passed. Called from the watchdog thread.
+     * 因超过截止时间而终止正在执行的调用，由看门狗线程调用。
+     *
+     * @return whether a running call was terminated / 是否终止了正在执行的调用
+     */
+    public boolean terminateOnDeadline() {
+        synchronized (deadlineMonitor) {
+            if (!deadlineArmed || timedOut) {
+                return false;
+            }
+            timedOut = true;
+            v8Runtime.terminateExecution();
+            return true;
+        }
+    }
+
+    /**
+     * Whether the current call has been terminated by the watchdog.
+     * 当前调用是否已被看门狗终止。
+     *
+     * @return true if terminated / 已终止时返回 true
+     */
+    public boolean isTimedOut() {
+        return timedOut;
+    }
+
+    /**
+     * Record a finished execution and refresh the V8 heap statistics.
+     * 记录一次执行完成，并刷新 V8 堆统计信息。
+     *
+     * @param durationNanos execution duration in nanoseconds / 执行耗时（纳秒）
+     */
+    public void recordExecution(long durationNanos) {
+        executionsSinceRecycle.incrementAndGet();
+        totalExecutions.incrementAndGet();
+        totalExecutionNanos.addAndGet(durationNanos);
+        lastReleasedAtMillis = System.currentTimeMillis();
+        lowMemoryNotified = false;
+        refreshHeapStatistics();
+    }
+
+    private void refreshHeapStatistics() {
+        try {
+            var heapStatistics = v8Runtime.getV8HeapStatistics();
+            usedHeapSize = heapStatistics.getUsedHeapSize();
+            totalHeapSize = heapStatistics.getTotalHeapSize();
+            heapSizeLimit = heapStatistics.getHeapSizeLimit();
         } catch (Exception e) {
-            log.error("预加载失败:", Throwables.getRootCause(e));
-            // 不要抛出异常，让引擎继续初始化
+            log.debug("Failed to read V8 heap statistics for engine #{}: {}", engineId,
+                e.getMessage());
         }
-        log.debug("=== 预加载过程结束 ===");
+    }
+
+    /**
+     * Check whether the engine exceeded the configured execution or heap thresholds.
+     * 检查引擎是否超过配置的执行次数或堆大小阈值。
+     *
+     * @param maxExecutions max executions before recycling, non-positive to disable /
+     * 回收前允许的最大执行次数，非正数表示不限制
+     * @param maxHeapBytes max used heap in bytes, non-positive to disable / 最大已用堆字节数，非正数表示不限制
+     * @return true if the engine should be recycled / 需要回收时返回 true
+     */
+    public boolean shouldRecycle(long maxExecutions, long maxHeapBytes) {
+        return (maxExecutions > 0 && executionsSinceRecycle.get() >= maxExecutions)
+            || (maxHeapBytes > 0 && usedHeapSize >= maxHeapBytes);
+    }
+
+    /**
+     * Replace the underlying isolate with a freshly created one.
+     * 使用新创建的隔离实例替换当前运行时。
+     *
+     * <p>The replacement is fully initialized (modules preloaded) before the old runtime is
+     * retired, so callers never observe a half-initialized engine.</p>
+     * <p>替换运行时会在旧运行时退役前完成初始化（包括预加载模块），调用方不会拿到半初始化的引擎。</p>
+     *
+     * <p>Must be called while holding {@link #getExecutionLock()}.</p>
+     * <p>调用时必须持有 {@link #getExecutionLock()}。</p>
+     *
+     * @param replacement new runtime created by the pool / 由引擎池创建的新运行时
+     * @throws JavetException when initialization of the replacement fails / 新运行时初始化失败时抛出
+     */
+    public void recycle(V8Runtime replacement) throws JavetException {
+        RuntimeState replacementState;
+        try {
+            replacementState = initializeRuntime(replacement);
+        } catch (JavetException e) {
+            replacement.close();
+            throw e;
+        }
+
+        V8Runtime retiredRuntime = v8Runtime;
+        RuntimeState retiredState = runtimeState;
+        v8Runtime = replacement;
+        runtimeState = replacementState;
+
+        try {
+            releaseRuntimeState(retiredRuntime, retiredState);
+            retiredRuntime.close();
+        } catch (Exception e) {
+            log.warn("Failed to close retired runtime of engine #{}: {}", engineId,
+                e.getMessage());
+        }
+
+        executionsSinceRecycle.set(0);
+        warmKeys.clear();
+        recycleCount.incrementAndGet();
+        lowMemoryNotified = false;
+        refreshHeapStatistics();
+    }
+
+    /**
+     * Send a V8 low memory notification when the engine has been idle long enough.
+     * 当引擎空闲足够久时，向 V8 发送低内存通知以释放堆内存。
+     *
+     * <p>The notification is sent at most once per idle period and is skipped if the engine is
+     * currently in use.</p>
+     * <p>每个空闲周期最多发送一次；引擎正在使用时跳过。</p>
+     *
+     * @param idleMillis minimum idle time in milliseconds / 最短空闲时间（毫秒）
+     * @return true if a notification was sent / 发送了通知时返回 true
+     */
+    public boolean notifyLowMemoryIfIdle(long idleMillis) {
+        if (lowMemoryNotified || retired
+            || System.currentTimeMillis() - lastReleasedAtMillis < idleMillis) {
+            return false;
+        }
+        if (!executionLock.tryLock()) {
+            return false;
+        }
+        try {
+            if (retired || isActive()) {
+                return false;
+            }
+            v8Runtime.lowMemoryNotification();
+            lowMemoryNotified = true;
+            refreshHeapStatistics();
+            return true;
+        } catch (Exception e) {
+            log.debug("Failed to send low memory notification to engine #{}: {}", engineId,
+                e.getMessage());
+            return false;
+        } finally {
+            executionLock.unlock();
+        }
+    }
+
+    /**
+     * Whether the engine has been closed by the pool.
+     * 引擎是否已被引擎池关闭。
+     *
+     * @return true if retired / 已关闭时返回 true
+     */
+    public boolean isRetired() {
+        return retired;
+    }
+
+    /**
+     * Get a snapshot of this engine's health statistics.
+     * 获取该引擎健康统计信息的快照。
+     *
+     * @return engine stats / 引擎统计
+     */
+    public V8EnginePoolService.EngineStats getEngineStats() {
+        long executions = totalExecutions.get();
+        double avgExecutionMs =
+            executions > 0 ? totalExecutionNanos.get() / 1_000_000.0 / executions : 0.0;
+        return new V8EnginePoolService.EngineStats(engineId, executionsSinceRecycle.get(),
+            executions, avgExecutionMs, usedHeapSize, totalHeapSize, heapSizeLimit,
+            recycleCount.get(), lowMemoryNotified);
     }
 
     /**
@@ -133,13 +632,44 @@ public class CustomJavetEngine extends JavetEngine<V8Runtime> {
      */
     @Override
     protected void close(boolean forceClose) throws JavetException {
-        if (forceClose && consoleInterceptor != null) {
-            // 注销控制台拦截器
-            consoleInterceptor.unregister(v8Runtime.getGlobalObject());
-            // 释放内存
-            v8Runtime.lowMemoryNotification();
-            consoleInterceptor = null;
+        if (forceClose) {
+            executionLock.lock();
+            try {
+                retired = true;
+                if (runtimeState != null) {
+                    // 释放函数句柄并注销控制台拦截器
+                    releaseRuntimeState(v8Runtime, runtimeState);
+                    // 释放内存
+                    v8Runtime.lowMemoryNotification();
+                    runtimeState = null;
+                }
+                super.close(true);
+            } finally {
+                executionLock.unlock();
+            }
+            return;
         }
-        super.close(forceClose);
+        super.close(false);
+    }
+
+    private void releaseRuntimeState(V8Runtime runtime, RuntimeState state)
+        throws JavetException {
+        state.functionTable().close();
+        for (JsFunctionTable lazyFunctionTable : state.lazyFunctionTables()) {
+            lazyFunctionTable.close();
+        }
+        state.consoleInterceptor().unregister(runtime.getGlobalObject());
+    }
+
+    /**
+     * Per-runtime state that must be rebuilt whenever the isolate is replaced.
+     * 每个运行时的附属状态，替换隔离实例时需要重新构建。
+     */
+    private record RuntimeState(JavetStandardConsoleInterceptor consoleInterceptor,
+                                JsFunctionTable functionTable,
+                                Map<Class<?>, Object> bindings,
+                                Set<String> loadedModules,
+                                Map<Class<?>, Object> lazyBindings,
+                                List<JsFunctionTable> lazyFunctionTables) {
     }
-}
\ No newline at end of file
+}
@@ -3,34 +3,90 @@ package top.howiehz.halo.plugin.extra.api.service.interop.runtime.engine;
 import com.caoccao.javet.exceptions.JavetException;
 import com.caoccao.javet.interop.V8Host;
 import com.caoccao.javet.interop.V8Runtime;
+import com.caoccao.javet.interop.engine.IJavetEngine;
 import com.caoccao.javet.interop.engine.JavetEngine;
 import com.caoccao.javet.interop.engine.JavetEngineConfig;
 import com.caoccao.javet.interop.engine.JavetEnginePool;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
 import lombok.extern.slf4j.Slf4j;
+import top.howiehz.halo.plugin.extra.api.service.interop.runtime.binding.JsBindingDefinition;
 
 /**
- * Custom engine pool that creates Node-based V8Runtime and wraps it in CustomJavetEngine.
- * 自定义引擎池：基于 Node 创建 V8Runtime 并使用 CustomJavetEngine 封装。
+ * Custom engine pool that creates a Node or plain V8 runtime and wraps it in CustomJavetEngine.
+ * 自定义引擎池：按配置基于 Node 或纯 V8 创建 V8Runtime 并使用 CustomJavetEngine 封装。
  */
 @Slf4j
 public class CustomJavetEnginePool extends JavetEnginePool<V8Runtime> {
 
+    /**
+     * Engines created by this pool, used for health bookkeeping and idle maintenance.
+     * 由本池创建的引擎集合，用于健康统计与空闲维护。
+     */
+    private final Set<CustomJavetEngine> createdEngines = ConcurrentHashMap.newKeySet();
+
+    private final AtomicLong recycledEngineCount = new AtomicLong();
+
+    /**
+     * Idle timeout configured before fast idle eviction was enabled, or -1 when it is off.
+     * 启用快速空闲淘汰之前配置的空闲超时，未启用时为 -1。
+     */
+    private int savedIdleTimeoutSeconds = -1;
+
+    /**
+     * Side index of idle engines to the affinity keys warm in them, updated on release.
+     * 空闲引擎到其已预热亲和键的旁路索引，在引擎归还时更新。
+     */
+    private final Map<CustomJavetEngine, Set<String>> idleWarmKeys = new ConcurrentHashMap<>();
+
+    /**
+     * JS bindings resolved into every engine created by this pool.
+     * 应用到本池创建的每个引擎上的 JS 绑定定义。
+     */
+    private final List<JsBindingDefinition<?>> bindingDefinitions;
+
+    /**
+     * Runtime flavour used for new isolates.
+     * 新建隔离实例使用的运行时类型。
+     */
+    private final JsRuntimeMode runtimeMode;
+
     public CustomJavetEnginePool() {
         super();
+        this.bindingDefinitions = List.of();
+        this.runtimeMode = JsRuntimeMode.NODE;
     }
 
     public CustomJavetEnginePool(JavetEngineConfig config) {
+        this(config, List.of());
+    }
+
+    public CustomJavetEnginePool(JavetEngineConfig config,
+        List<JsBindingDefinition<?>> bindingDefinitions) {
+        this(config, bindingDefinitions, JsRuntimeMode.NODE);
+    }
+
+    public CustomJavetEnginePool(JavetEngineConfig config,
+        List<JsBindingDefinition<?>> bindingDefinitions, JsRuntimeMode runtimeMode) {
         super(config);
+        this.bindingDefinitions = List.copyOf(bindingDefinitions);
+        this.runtimeMode = runtimeMode;
     }
 
     /**
-     * Create a new Javet engine wrapping a Node V8Runtime instance.
-     * 创建并返回一个新 JavetEngine，使用 Node 的 V8Runtime。
+     * Create a new Javet engine wrapping a Node or plain V8 runtime, per the runtime mode.
+     * 创建并返回一个新 JavetEngine，按运行时类型使用 Node 或纯 V8 的 V8Runtime。
      *
      * <p><b>关键</b>: 根据 Javet Issue #124 和官方文档,在插件重新加载场景中,
      * 原生库已经被加载过,但新的 classloader 无法访问已绑定到旧 classloader 的原生方法。
      * 解决方案是让 Javet 的 LibLoadingListener 抑制错误,允许它重用已加载的库。
-     * 系统属性 javet.lib.loading.suppress.error=true 已在插件主类的静态初始化块中设置。</p>
+     * 该监听器由 NativeLibraryManager 在创建引擎池之前安装。</p>
      *
      * @return a new JavetEngine wrapped around the created V8Runtime / 包装 V8Runtime 的
      * JavetEngine 实例
@@ -38,12 +94,210 @@ public class CustomJavetEnginePool extends JavetEnginePool<V8Runtime> {
      */
     @Override
     protected JavetEngine<V8Runtime> createEngine() throws JavetException {
-        // 直接使用 V8Host.getNodeInstance() - 不要尝试缓存或共享实例
+        CustomJavetEngine engine = new CustomJavetEngine(this, createV8Runtime(),
+            bindingDefinitions);
+        createdEngines.removeIf(CustomJavetEngine::isRetired);
+        createdEngines.add(engine);
+        return engine;
+    }
+
+    /**
+     * Create a bare V8Runtime configured from the pool config.
+     * 根据池配置创建一个未初始化模块的 V8Runtime。
+     *
+     * <p>In {@link JsRuntimeMode#V8} mode the plugin shims for timers and text encoding are
+     * installed before any module is loaded.</p>
+     * <p>纯 V8 模式下会在加载任何模块之前安装插件提供的定时器与文本编码垫片。</p>
+     *
+     * @return a new runtime / 新的运行时
+     * @throws JavetException when runtime creation fails / 运行时创建失败时抛出
+     */
+    private V8Runtime createV8Runtime() throws JavetException {
+        // 直接使用 V8Host.getNodeInstance()/getV8Instance() - 不要尝试缓存或共享实例
         // Javet 内部会处理原生库已加载的情况
-        V8Runtime v8Runtime = V8Host.getNodeInstance().createV8Runtime();
+        V8Runtime v8Runtime = runtimeMode == JsRuntimeMode.V8
+            ? V8Host.getV8Instance().createV8Runtime()
+            : V8Host.getNodeInstance().createV8Runtime();
         v8Runtime.allowEval(config.isAllowEval());
         v8Runtime.setLogger(config.getJavetLogger());
+        if (runtimeMode == JsRuntimeMode.V8) {
+            installShims(v8Runtime);
+        }
+        return v8Runtime;
+    }
+
+    private void installShims(V8Runtime v8Runtime) throws JavetException {
+        try (var inputStream = getClass().getClassLoader()
+            .getResourceAsStream("js/v8-shims.js")) {
+            if (inputStream == null) {
+                log.error("找不到资源文件 js/v8-shims.js");
+                return;
+            }
+            v8Runtime.getExecutor(new String(inputStream.readAllBytes(), StandardCharsets.UTF_8))
+                .executeVoid();
+        } catch (IOException e) {
+            log.error("读取 V8 垫片失败: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Get the runtime flavour used for new isolates.
+     * 获取新建隔离实例使用的运行时类型。
+     *
+     * @return runtime mode / 运行时类型
+     */
+    public JsRuntimeMode getRuntimeMode() {
+        return runtimeMode;
+    }
+
+    /**
+     * Get an engine, preferring the idle one that is warmest for the given affinity keys.
+     * 获取一个引擎，优先选择对给定亲和键预热程度最高的空闲引擎，没有时回退为任意引擎。
+     *
+     * <p>The choice is made from the side index of idle engines, and only the chosen engine is
+     * checked out; when another caller takes it first, Javet picks any engine as usual.</p>
+     * <p>根据空闲引擎的旁路索引做出选择，并且只借出选中的引擎；若被其他调用方抢先借出，
+     * 则照常由 Javet 选择任意引擎。</p>
+     *
+     * @param affinityKeys affinity keys of the call / 本次调用的亲和键
+     * @return acquired engine / 获取到的引擎
+     * @throws JavetException when acquisition fails / 获取失败时抛出
+     */
+    public IJavetEngine<V8Runtime> getEngine(Collection<String> affinityKeys)
+        throws JavetException {
+        if (!affinityKeys.isEmpty()) {
+            CustomJavetEngine warmest = findWarmestIdleEngine(affinityKeys);
+            if (warmest != null && checkOutIdleEngine(warmest)) {
+                return warmest;
+            }
+        }
+        return getEngine();
+    }
+
+    @Override
+    public IJavetEngine<V8Runtime> getEngine() throws JavetException {
+        IJavetEngine<V8Runtime> engine = super.getEngine();
+        if (engine instanceof CustomJavetEngine customEngine) {
+            idleWarmKeys.remove(customEngine);
+        }
+        return engine;
+    }
+
+    @Override
+    public void releaseEngine(IJavetEngine<V8Runtime> engine) {
+        // 先更新索引再归还，引擎出现在空闲队列时索引已是最新状态
+        if (engine instanceof CustomJavetEngine customEngine && !customEngine.isRetired()) {
+            idleWarmKeys.put(customEngine, customEngine.getWarmKeys());
+        }
+        super.releaseEngine(engine);
+    }
 
-        return new CustomJavetEngine(this, v8Runtime);
+    private CustomJavetEngine findWarmestIdleEngine(Collection<String> affinityKeys) {
+        CustomJavetEngine warmest = null;
+        int warmestScore = 0;
+        for (Map.Entry<CustomJavetEngine, Set<String>> entry : idleWarmKeys.entrySet()) {
+            if (entry.getKey().isRetired()) {
+                idleWarmKeys.remove(entry.getKey());
+                continue;
+            }
+            int score = 0;
+            for (String key : affinityKeys) {
+                if (entry.getValue().contains(key)) {
+                    score++;
+                }
+            }
+            if (score > warmestScore) {
+                warmest = entry.getKey();
+                warmestScore = score;
+            }
+        }
+        return warmest;
+    }
+
+    /**
+     * Check out a specific idle engine by taking its slot from Javet's idle queue.
+     * 通过从 Javet 空闲队列中取走其槽位来借出指定的空闲引擎。
+     *
+     * <p>Removing the slot is atomic, so at most one caller wins an engine; the loser falls back
+     * to the normal checkout. No other engine is touched.</p>
+     * <p>移除槽位是原子操作，同一引擎最多只有一个调用方取得；失败的一方回退为普通借出，不会触碰其他引擎。</p>
+     */
+    private boolean checkOutIdleEngine(CustomJavetEngine engine) {
+        for (int index = 0; index < engines.length; index++) {
+            if (engines[index] != engine) {
+                continue;
+            }
+            if (!idleEngineIndexList.remove(Integer.valueOf(index))) {
+                return false;
+            }
+            idleWarmKeys.remove(engine);
+            engine.markCheckedOut();
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Recycle an engine by swapping in a freshly created isolate.
+     * 通过换入新创建的隔离实例来回收引擎。
+     *
+     * <p>The replacement runtime is created and preloaded before the old one is closed.
+     * The caller must hold the engine's execution lock.</p>
+     * <p>新运行时会在旧运行时关闭之前创建并完成预加载；调用方必须持有引擎的执行锁。</p>
+     *
+     * @param engine the engine to recycle / 需要回收的引擎
+     * @throws JavetException when the replacement cannot be created / 无法创建替换运行时时抛出
+     */
+    public void recycleEngine(CustomJavetEngine engine) throws JavetException {
+        engine.recycle(createV8Runtime());
+        recycledEngineCount.incrementAndGet();
+    }
+
+    /**
+     * Enable or disable fast eviction of idle engines above the minimum pool size.
+     * 启用或停用对超出最小池大小的空闲引擎的快速淘汰。
+     *
+     * <p>Javet's pool daemon closes idle engines above the minimum once they exceed the idle
+     * timeout, so lowering the timeout makes it close them on its next pass without racing
+     * with engine acquisition. The configured timeout is restored when disabled.</p>
+     * <p>Javet 的池守护线程会关闭空闲超过超时时间且超出最小池大小的引擎，因此缩短超时即可让它在下一轮检查时关闭这些引擎，
+     * 不会与获取引擎发生竞争；停用时恢复原配置。</p>
+     *
+     * @param enabled whether to evict idle engines quickly / 是否快速淘汰空闲引擎
+     * @return true if the setting changed / 设置发生变化时返回 true
+     */
+    public synchronized boolean setFastIdleEviction(boolean enabled) {
+        if (enabled == (savedIdleTimeoutSeconds >= 0)) {
+            return false;
+        }
+        if (enabled) {
+            savedIdleTimeoutSeconds = config.getPoolIdleTimeoutSeconds();
+            config.setPoolIdleTimeoutSeconds(1);
+        } else {
+            config.setPoolIdleTimeoutSeconds(savedIdleTimeoutSeconds);
+            savedIdleTimeoutSeconds = -1;
+        }
+        return true;
+    }
+
+    /**
+     * Get the live engines created by this pool.
+     * 获取本池创建且仍存活的引擎。
+     *
+     * @return live engines / 存活的引擎列表
+     */
+    public List<CustomJavetEngine> getLiveEngines() {
+        createdEngines.removeIf(CustomJavetEngine::isRetired);
+        return List.copyOf(createdEngines);
+    }
+
+    /**
+     * Get the number of recycled engines since pool creation.
+     * 获取自引擎池创建以来被回收的引擎次数。
+     *
+     * @return recycled count / 回收次数
+     */
+    public long getRecycledEngineCount() {
+        return recycledEngineCount.get();
     }
 }
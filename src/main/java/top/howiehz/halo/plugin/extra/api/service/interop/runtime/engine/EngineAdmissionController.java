@@ -0,0 +1,117 @@
+package top.howiehz.halo.plugin.extra.api.service.interop.runtime.engine;
+
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Priority-aware admission in front of the engine pool.
+ * 位于引擎池之前、按优先级准入的控制器。
+ *
+ * <p>Interactive work may use every engine; finder and background work share what is left after
+ * the interactive reservation. A waiting higher-priority class is always admitted first.</p>
+ * <p>交互请求可以使用全部引擎；Finder 与后台任务只能使用扣除交互预留后的容量。
+ * 当有更高优先级的请求在等待时，总是优先放行高优先级请求。</p>
+ */
+public final class EngineAdmissionController {
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition released = lock.newCondition();
+    private final int capacity;
+    private final int reservedForInteractive;
+    private final int[] waiting = new int[EnginePriority.values().length];
+    private int inUse;
+
+    /**
+     * Create a controller.
+     * 创建准入控制器。
+     *
+     * @param capacity total engines / 引擎总数
+     * @param reservedForInteractive engines only interactive work may use / 仅交互请求可用的引擎数
+     */
+    public EngineAdmissionController(int capacity, int reservedForInteractive) {
+        this.capacity = Math.max(1, capacity);
+        this.reservedForInteractive =
+            Math.clamp(reservedForInteractive, 0, this.capacity - 1);
+    }
+
+    /**
+     * Wait until the priority class may take an engine.
+     * 等待直到该优先级类别可以占用一个引擎。
+     *
+     * @param priority priority class / 优先级类别
+     * @throws InterruptedException when interrupted while waiting / 等待期间被中断时抛出
+     */
+    public void acquire(EnginePriority priority) throws InterruptedException {
+        lock.lock();
+        try {
+            waiting[priority.ordinal()]++;
+            try {
+                while (!canAdmit(priority)) {
+                    released.await();
+                }
+            } finally {
+                waiting[priority.ordinal()]--;
+            }
+            inUse++;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Give back an engine taken by {@link #acquire(EnginePriority)}.
+     * 归还通过 {@link #acquire(EnginePriority)} 占用的引擎。
+     */
+    public void release() {
+        lock.lock();
+        try {
+            inUse--;
+            released.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Get the number of callers waiting in a priority class.
+     * 获取某个优先级类别中正在等待的调用方数量。
+     *
+     * @param priority priority class / 优先级类别
+     * @return waiting count / 等待数量
+     */
+    public int getWaiting(EnginePriority priority) {
+        lock.lock();
+        try {
+            return waiting[priority.ordinal()];
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private boolean canAdmit(EnginePriority priority) {
+        if (inUse >= getLimit(priority)) {
+            return false;
+        }
+        for (EnginePriority higher : EnginePriority.values()) {
+            if (higher.ordinal() >= priority.ordinal()) {
+                break;
+            }
+            if (waiting[higher.ordinal()] > 0 && inUse < getLimit(higher)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Get the number of engines a priority class may hold at once.
+     * 获取某个优先级类别同时最多可占用的引擎数量。
+     *
+     * @param priority priority class / 优先级类别
+     * @return engine limit / 可占用的引擎数
+     */
+    public int getLimit(EnginePriority priority) {
+        return priority == EnginePriority.INTERACTIVE ? capacity
+            : capacity - reservedForInteractive;
+    }
+}
@@ -0,0 +1,26 @@
+package top.howiehz.halo.plugin.extra.api.service.interop.runtime.engine;
+
+/**
+ * Priority class of an engine acquisition, in descending order of priority.
+ * 引擎获取的优先级类别，按优先级从高到低排列。
+ */
+public enum EnginePriority {
+
+    /**
+     * Live page renders on the request path; may use reserved capacity.
+     * 请求路径上的页面实时渲染，可以使用预留容量。
+     */
+    INTERACTIVE,
+
+    /**
+     * Finder calls made from theme templates.
+     * 主题模板中发起的 Finder 调用。
+     */
+    FINDER,
+
+    /**
+     * Warm-up, pre-render and other work nobody is waiting on.
+     * 预热、预渲染等没有访客等待的后台任务。
+     */
+    BACKGROUND
+}
@@ -0,0 +1,46 @@
+package top.howiehz.halo.plugin.extra.api.service.interop.runtime.engine;
+
+import java.util.Locale;
+
+/**
+ * How the engine pool gets its engines ready at plugin startup.
+ * 插件启动时引擎池准备引擎的方式。
+ */
+public enum EngineStartupMode {
+
+    /**
+     * Create and warm up the minimum number of engines before startup completes.
+     * 在启动完成之前创建并预热最小数量的引擎。
+     */
+    EAGER,
+
+    /**
+     * Create and warm up engines off the startup path; renders stay unhighlighted until ready.
+     * 在启动流程之外创建并预热引擎，就绪前代码块以未高亮形式输出。
+     */
+    BACKGROUND,
+
+    /**
+     * Create nothing until the first call.
+     * 在首次调用之前不创建任何引擎。
+     */
+    LAZY;
+
+    /**
+     * Parse a configured mode, falling back to {@link #LAZY} for blank or unknown values.
+     * 解析配置的启动模式，空值或未知值回退为 {@link #LAZY}。
+     *
+     * @param value configured value / 配置值
+     * @return startup mode / 启动模式
+     */
+    public static EngineStartupMode fromConfig(String value) {
+        if (value == null || value.isBlank()) {
+            return LAZY;
+        }
+        try {
+            return valueOf(value.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            return LAZY;
+        }
+    }
+}
@@ -0,0 +1,40 @@
+package top.howiehz.halo.plugin.extra.api.service.interop.runtime.engine;
+
+import java.util.Locale;
+
+/**
+ * Runtime flavour used to create V8 isolates.
+ * 创建 V8 隔离实例时使用的运行时类型。
+ */
+public enum JsRuntimeMode {
+
+    /**
+     * Full Node.js environment per engine.
+     * 每个引擎启动完整的 Node.js 环境。
+     */
+    NODE,
+
+    /**
+     * Plain V8 isolate with plugin-provided shims, lower memory and faster creation.
+     * 纯 V8 隔离实例，由插件提供所需的垫片，内存占用更低、创建更快。
+     */
+    V8;
+
+    /**
+     * Parse a configured mode, falling back to {@link #NODE} for blank or unknown values.
+     * 解析配置的运行时类型，空值或未知值回退为 {@link #NODE}。
+     *
+     * @param value configured value / 配置值
+     * @return runtime mode / 运行时类型
+     */
+    public static JsRuntimeMode fromConfig(String value) {
+        if (value == null || value.isBlank()) {
+            return NODE;
+        }
+        try {
+            return valueOf(value.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            return NODE;
+        }
+    }
+}
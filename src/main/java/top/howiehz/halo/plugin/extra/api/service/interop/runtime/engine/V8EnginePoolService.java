@@ -2,12 +2,23 @@ package top.howiehz.halo.plugin.extra.api.service.interop.runtime.engine;
 
 import com.caoccao.javet.exceptions.JavetException;
 import com.caoccao.javet.interop.V8Runtime;
+import com.caoccao.javet.values.V8Value;
+import com.caoccao.javet.values.reference.V8ValuePromise;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import top.howiehz.halo.plugin.extra.api.service.core.runtime.JsEngineReadiness;
 
 /**
  * V8 engine pool service interface.
  * V8 引擎池服务接口，提供脚本执行和池管理能力。
+ *
+ * <p>{@link #isReady()} turns true once the configured startup warm-up has finished.</p>
+ * <p>按配置的启动模式完成预热后，{@link #isReady()} 返回 true。</p>
  */
-public interface V8EnginePoolService {
+public interface V8EnginePoolService extends JsEngineReadiness {
 
     /**
      * Execute JavaScript code.
@@ -32,6 +43,94 @@ public interface V8EnginePoolService {
      */
     <T> T withEngine(EngineOperation<T> operation) throws JavetException;
 
+    /**
+     * Use a typed JS binding of a pooled engine to perform an operation.
+     * 使用池中引擎的类型化 JS 绑定执行操作，绑定中的函数句柄在引擎创建时已解析并缓存。
+     *
+     * @param bindingType binding interface type / 绑定接口类型
+     * @param operation operation to run with the binding / 使用绑定执行的操作
+     * @param <B> binding type / 绑定类型
+     * @param <T> result type / 结果类型
+     * @return operation result / 操作结果
+     * @throws JavetException when operation fails / 操作失败时抛出
+     */
+    <B, T> T withBinding(Class<B> bindingType, BindingOperation<B, T> operation)
+        throws JavetException;
+
+    /**
+     * Use a pooled engine with the given declared modules loaded.
+     * 使用已加载给定声明模块的池中引擎执行操作，未预加载的模块会在该引擎中按需加载。
+     *
+     * @param moduleNames simple module names / 模块简单名称
+     * @param operation operation to run with the engine / 使用引擎执行的操作
+     * @param <T> result type / 结果类型
+     * @return operation result / 操作结果
+     * @throws JavetException when loading or operation fails / 加载或操作失败时抛出
+     */
+    <T> T withModules(Collection<String> moduleNames, ModuleOperation<T> operation)
+        throws JavetException;
+
+    /**
+     * Call a promise-returning function of a typed JS binding without blocking the caller.
+     * 以非阻塞方式调用类型化 JS 绑定中返回 Promise 的函数。
+     *
+     * <p>The returned future is completed from the promise's native {@code then} callback,
+     * while a pool-owned driver thread runs the engine event loop. The engine stays occupied
+     * until the promise settles, so engine count is the only concurrency limit.</p>
+     * <p>返回的 Future 由 Promise 的原生 {@code then} 回调完成，引擎事件循环由池内的驱动线程推进。
+     * 调用方线程不会自旋等待；引擎在 Promise 结束前保持占用，因此并发上限只取决于引擎数量。</p>
+     *
+     * @param bindingType binding interface type / 绑定接口类型
+     * @param operation call that returns a pending promise / 返回 Promise 的调用
+     * @param converter converts the fulfilled value on the engine thread / 在引擎线程上转换兑现值
+     * @param <B> binding type / 绑定类型
+     * @param <T> result type / 结果类型
+     * @return future of the converted result / 转换后结果的 Future
+     */
+    default <B, T> CompletableFuture<T> withBindingAsync(Class<B> bindingType,
+        PromiseOperation<B> operation, PromiseResultConverter<T> converter) {
+        return withBindingAsync(bindingType, EnginePriority.INTERACTIVE, operation, converter);
+    }
+
+    /**
+     * Call a promise-returning binding function with the given priority class.
+     * 以指定的优先级类别非阻塞地调用返回 Promise 的绑定函数。
+     *
+     * @param bindingType binding interface type / 绑定接口类型
+     * @param priority priority class of the call / 调用的优先级类别
+     * @param operation call that returns a pending promise / 返回 Promise 的调用
+     * @param converter converts the fulfilled value on the engine thread / 在引擎线程上转换兑现值
+     * @param <B> binding type / 绑定类型
+     * @param <T> result type / 结果类型
+     * @return future of the converted result / 转换后结果的 Future
+     */
+    default <B, T> CompletableFuture<T> withBindingAsync(Class<B> bindingType,
+        EnginePriority priority, PromiseOperation<B> operation,
+        PromiseResultConverter<T> converter) {
+        return withBindingAsync(bindingType, priority, Set.of(), operation, converter);
+    }
+
+    /**
+     * Call a promise-returning binding function, preferring an engine warm for the given keys.
+     * 调用返回 Promise 的绑定函数，并优先路由到已为给定亲和键预热的引擎。
+     *
+     * <p>Affinity keys name state the call loads lazily inside the isolate, such as Shiki
+     * grammars and themes. They are marked warm on the engine once the call succeeds.</p>
+     * <p>亲和键表示调用会在隔离实例内懒加载的状态，例如 Shiki 的语法与主题；调用成功后会被标记为该引擎已预热。</p>
+     *
+     * @param bindingType binding interface type / 绑定接口类型
+     * @param priority priority class of the call / 调用的优先级类别
+     * @param affinityKeys state the call needs warm / 调用需要的预热状态
+     * @param operation call that returns a pending promise / 返回 Promise 的调用
+     * @param converter converts the fulfilled value on the engine thread / 在引擎线程上转换兑现值
+     * @param <B> binding type / 绑定类型
+     * @param <T> result type / 结果类型
+     * @return future of the converted result / 转换后结果的 Future
+     */
+    <B, T> CompletableFuture<T> withBindingAsync(Class<B> bindingType, EnginePriority priority,
+        Set<String> affinityKeys, PromiseOperation<B> operation,
+        PromiseResultConverter<T> converter);
+
     /**
      * Get pool statistics.
      * 获取引擎池统计信息。
@@ -42,6 +141,22 @@ public interface V8EnginePoolService {
 
     int getPoolMaxSize();
 
+    /**
+     * Get the maximum number of engines a single render should occupy at once.
+     * 获取单次渲染同时最多应占用的引擎数量，避免单篇超大文章占满引擎池。
+     *
+     * @return fair share of engines / 单次渲染可占用的引擎数
+     */
+    int getFairShareSize();
+
+    /**
+     * Get the execution deadline of a single engine call.
+     * 获取单次引擎调用的执行截止时间。
+     *
+     * @return deadline in milliseconds, 0 when disabled / 截止时间毫秒数，未启用时为 0
+     */
+    long getExecutionTimeoutMillis();
+
     /**
      * Functional interface for engine operations.
      * 引擎操作的函数式接口，接受 V8Runtime 并返回结果。
@@ -51,6 +166,42 @@ public interface V8EnginePoolService {
         T execute(V8Runtime runtime) throws JavetException;
     }
 
+    /**
+     * Functional interface for operations on an engine with modules loaded.
+     * 基于已加载模块的引擎的操作的函数式接口，可通过引擎查找已缓存的函数句柄。
+     */
+    @FunctionalInterface
+    interface ModuleOperation<T> {
+        T execute(CustomJavetEngine engine, V8Runtime runtime) throws JavetException;
+    }
+
+    /**
+     * Functional interface for operations on a typed JS binding.
+     * 基于类型化 JS 绑定的操作的函数式接口，同时提供所属的 V8Runtime 以便转换结果。
+     */
+    @FunctionalInterface
+    interface BindingOperation<B, T> {
+        T execute(B binding, V8Runtime runtime) throws JavetException;
+    }
+
+    /**
+     * Functional interface for binding calls that return a promise.
+     * 返回 Promise 的绑定调用的函数式接口。
+     */
+    @FunctionalInterface
+    interface PromiseOperation<B> {
+        V8ValuePromise execute(B binding) throws JavetException;
+    }
+
+    /**
+     * Converter for the fulfilled value of a promise, invoked while the engine is held.
+     * Promise 兑现值的转换器，在持有引擎期间调用。
+     */
+    @FunctionalInterface
+    interface PromiseResultConverter<T> {
+        T convert(V8Value result, V8Runtime runtime) throws JavetException;
+    }
+
     /**
      * Pool statistics record.
      * 池统计信息记录。
@@ -59,7 +210,75 @@ public interface V8EnginePoolService {
      * @param maxSize maximum pool size / 池的最大大小
      * @param activeCount number of active engines / 活跃引擎数量
      * @param idleCount number of idle engines / 空闲引擎数量
+     * @param recycledCount number of recycled engines / 已回收引擎次数
+     * @param lowMemoryNotificationCount number of idle low memory notifications / 空闲低内存通知次数
+     * @param timeoutCount number of calls terminated by the watchdog / 被看门狗终止的调用次数
+     * @param engines per-engine health statistics / 各引擎的健康统计
+     * @param asyncCalls timing statistics of non-blocking promise calls / 非阻塞 Promise 调用的耗时统计
+     * @param priorities wait statistics per priority class / 各优先级类别的等待统计
+     * @param affinity warm/cold statistics of affinity routing / 亲和路由的预热命中统计
+     */
+    record PoolStats(int minSize, int maxSize, int activeCount, int idleCount,
+                     long recycledCount, long lowMemoryNotificationCount, long timeoutCount,
+                     List<EngineStats> engines, AsyncCallStats asyncCalls,
+                     Map<EnginePriority, PriorityStats> priorities, AffinityStats affinity) {
+    }
+
+    /**
+     * Statistics of affinity routing.
+     * 亲和路由统计。
+     *
+     * @param warmHits affinity keys that were already warm on the chosen engine / 选中引擎上已预热的亲和键次数
+     * @param coldLoads affinity keys that had to be loaded cold / 需要冷加载的亲和键次数
+     * @param coldLoadsPerHour cold loads per hour since startup / 启动以来每小时的冷加载次数
+     */
+    record AffinityStats(long warmHits, long coldLoads, double coldLoadsPerHour) {
+    }
+
+    /**
+     * Engine wait statistics of one priority class.
+     * 单个优先级类别的引擎等待统计。
+     *
+     * @param acquisitions number of engine acquisitions / 获取引擎次数
+     * @param waiting callers currently waiting / 当前等待中的调用方数量
+     * @param avgWaitMs average wait for an engine in milliseconds / 平均等待引擎耗时（毫秒）
+     * @param maxWaitMs longest wait for an engine in milliseconds / 最长等待引擎耗时（毫秒）
+     */
+    record PriorityStats(long acquisitions, int waiting, double avgWaitMs, double maxWaitMs) {
+    }
+
+    /**
+     * Timing statistics of non-blocking promise calls, split by phase.
+     * 非阻塞 Promise 调用的分阶段耗时统计。
+     *
+     * @param calls number of completed calls / 已完成的调用次数
+     * @param failures number of failed or rejected calls / 失败或被拒绝的调用次数
+     * @param avgAcquireMs average wait for an engine in milliseconds / 平均等待引擎耗时（毫秒）
+     * @param avgExecuteMs average time to start the call in milliseconds / 平均发起调用耗时（毫秒）
+     * @param avgSettleMs average time until the promise settled in milliseconds / 平均 Promise
+     * 结束耗时（毫秒）
+     */
+    record AsyncCallStats(long calls, long failures, double avgAcquireMs, double avgExecuteMs,
+                          double avgSettleMs) {
+    }
+
+    /**
+     * Per-engine health statistics record.
+     * 单个引擎的健康统计信息记录。
+     *
+     * @param engineId engine id / 引擎编号
+     * @param executionsSinceRecycle executions since last recycle / 自上次回收以来的执行次数
+     * @param totalExecutions total executions / 总执行次数
+     * @param avgExecutionMs average execution time in milliseconds / 平均执行耗时（毫秒）
+     * @param usedHeapSize used V8 heap in bytes / 已用 V8 堆（字节）
+     * @param totalHeapSize total V8 heap in bytes / V8 堆总大小（字节）
+     * @param heapSizeLimit V8 heap limit in bytes / V8 堆上限（字节）
+     * @param recycleCount number of times the isolate was recycled / 隔离实例被回收的次数
+     * @param lowMemoryNotified whether a low memory notification was sent during the current
+     * idle period / 当前空闲周期内是否已发送低内存通知
      */
-    record PoolStats(int minSize, int maxSize, int activeCount, int idleCount) {
+    record EngineStats(int engineId, long executionsSinceRecycle, long totalExecutions,
+                       double avgExecutionMs, long usedHeapSize, long totalHeapSize,
+                       long heapSizeLimit, int recycleCount, boolean lowMemoryNotified) {
     }
-}
\ No newline at end of file
+}
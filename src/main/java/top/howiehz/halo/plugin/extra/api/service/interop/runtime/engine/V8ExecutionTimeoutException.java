@@ -0,0 +1,14 @@
+package top.howiehz.halo.plugin.extra.api.service.interop.runtime.engine;
+
+import top.howiehz.halo.plugin.extra.api.service.interop.runtime.spi.ScriptExecutionTimeoutException;
+
+/**
+ * Raised when a V8 call is terminated by the execution watchdog.
+ * V8 调用因超过截止时间被执行看门狗终止时抛出。
+ */
+public class V8ExecutionTimeoutException extends ScriptExecutionTimeoutException {
+
+    public V8ExecutionTimeoutException(long timeoutMillis, Throwable cause) {
+        super("V8 execution exceeded " + timeoutMillis + "ms and was terminated", cause);
+    }
+}
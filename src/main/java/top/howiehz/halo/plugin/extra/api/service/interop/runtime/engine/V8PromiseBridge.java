@@ -0,0 +1,167 @@
+package top.howiehz.halo.plugin.extra.api.service.interop.runtime.engine;
+
+import com.caoccao.javet.enums.V8AwaitMode;
+import com.caoccao.javet.exceptions.JavetException;
+import com.caoccao.javet.interop.V8Runtime;
+import com.caoccao.javet.values.V8Value;
+import com.caoccao.javet.values.reference.V8ValueFunction;
+import com.caoccao.javet.values.reference.V8ValueObject;
+import com.caoccao.javet.values.reference.V8ValuePromise;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.BooleanSupplier;
+
+/**
+ * Bridges a {@link V8ValuePromise} to a {@link CompletableFuture}.
+ * 将 {@link V8ValuePromise} 桥接为 {@link CompletableFuture}。
+ *
+ * <p>The future is completed from a native {@code then} listener registered on the promise.
+ * The thread that holds the engine runs the event loop one pass at a time so the listener can
+ * fire; when the loop has nothing to run it backs off instead of spinning, and gives up once the
+ * deadline passes.</p>
+ * <p>Future 由注册在 Promise 上的原生 {@code then} 监听器完成。持有引擎的线程每次只推进一轮事件循环，
+ * 使监听器得以执行；事件循环暂无任务时退避等待而不是空转，超过截止时间后放弃等待。</p>
+ */
+public final class V8PromiseBridge {
+
+    /**
+     * First back-off when the event loop has nothing to run.
+     * 事件循环暂无任务时的首次退避时间。
+     */
+    private static final long MIN_IDLE_PARK_NANOS = TimeUnit.MICROSECONDS.toNanos(50);
+
+    /**
+     * Longest back-off when the event loop has nothing to run.
+     * 事件循环暂无任务时的最长退避时间。
+     */
+    private static final long MAX_IDLE_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(5);
+
+    /**
+     * Global function of the plain V8 shims that runs due timers.
+     * 纯 V8 垫片中执行已到期定时器的全局函数。
+     */
+    private static final String SHIM_TIMER_PUMP = "__extraApiRunTimers";
+
+    private V8PromiseBridge() {
+    }
+
+    /**
+     * Run the due timers of the plain V8 shims, which have no host event loop of their own.
+     * 执行纯 V8 垫片中已到期的定时器，这些定时器没有宿主事件循环驱动。
+     *
+     * @param runtime runtime held by the current thread / 当前线程持有的运行时
+     * @return nanoseconds until the next timer is due, -1 when none is pending or the runtime
+     * has native timers / 距下一个定时器到期的纳秒数，没有待执行的定时器或运行时自带定时器时为 -1
+     */
+    private static long runShimTimers(V8Runtime runtime) throws JavetException {
+        try (V8ValueObject global = runtime.getGlobalObject();
+             V8Value value = global.get(SHIM_TIMER_PUMP)) {
+            if (!(value instanceof V8ValueFunction pump)) {
+                return -1;
+            }
+            int nextMillis = pump.callInteger(null);
+            return nextMillis < 0 ? -1 : TimeUnit.MILLISECONDS.toNanos(nextMillis);
+        }
+    }
+
+    /**
+     * Register completion listeners and run the event loop until the promise settles.
+     * 注册完成监听器并推进事件循环，直到 Promise 结束。
+     *
+     * <p>Must be called by the thread that currently holds the runtime's engine.</p>
+     * <p>必须由当前持有该运行时所属引擎的线程调用。</p>
+     *
+     * @param runtime the runtime owning the promise / 持有 Promise 的运行时
+     * @param promise the pending promise / 待结束的 Promise
+     * @param converter converter for the fulfilled value / 兑现值转换器
+     * @param future the future to complete / 需要完成的 Future
+     * @param aborted stops driving the loop once the call was terminated / 调用被终止后停止推进事件循环
+     * @param timeoutMillis time to wait for the promise, non-positive to wait until aborted /
+     * 等待 Promise 的时间，非正数表示一直等待到调用被终止
+     * @param <T> result type / 结果类型
+     * @throws JavetException when the event loop fails / 事件循环执行失败时抛出
+     */
+    public static <T> void settle(V8Runtime runtime, V8ValuePromise promise,
+        V8EnginePoolService.PromiseResultConverter<T> converter, CompletableFuture<T> future,
+        BooleanSupplier aborted, long timeoutMillis) throws JavetException {
+        promise.register(new V8ValuePromise.IListener() {
+            @Override
+            public void onFulfilled(V8Value result) {
+                complete(runtime, result, converter, future);
+            }
+
+            @Override
+            public void onRejected(V8Value error) {
+                future.completeExceptionally(new V8PromiseRejectedException(String.valueOf(error)));
+            }
+
+            @Override
+            public void onCatch(V8Value error) {
+                future.completeExceptionally(new V8PromiseRejectedException(String.valueOf(error)));
+            }
+        });
+
+        long startNanos = System.nanoTime();
+        long timeoutNanos = TimeUnit.MILLISECONDS.toNanos(timeoutMillis);
+        long idleParkNanos = MIN_IDLE_PARK_NANOS;
+        while (!future.isDone() && !aborted.getAsBoolean()) {
+            if (!promise.isPending()) {
+                // 已结束但 then 回调尚未执行（事件循环中没有剩余任务），直接按 Promise 状态完成
+                completeFromState(runtime, promise, converter, future);
+                return;
+            }
+            if (timeoutNanos > 0 && System.nanoTime() - startNanos >= timeoutNanos) {
+                future.completeExceptionally(new V8ExecutionTimeoutException(timeoutMillis, null));
+                return;
+            }
+            if (runtime.await(V8AwaitMode.RunOnce)) {
+                idleParkNanos = MIN_IDLE_PARK_NANOS;
+                continue;
+            }
+            // 事件循环暂无可执行任务：推进纯 V8 垫片中已到期的定时器，再短暂让出线程而不是空转，
+            // 等待时间不超过下一个定时器的到期时间
+            long nextTimerNanos = runShimTimers(runtime);
+            if (!future.isDone() && promise.isPending()) {
+                LockSupport.parkNanos(nextTimerNanos >= 0
+                    ? Math.min(idleParkNanos, nextTimerNanos) : idleParkNanos);
+                idleParkNanos = Math.min(idleParkNanos * 2, MAX_IDLE_PARK_NANOS);
+            }
+        }
+    }
+
+    private static <T> void completeFromState(V8Runtime runtime, V8ValuePromise promise,
+        V8EnginePoolService.PromiseResultConverter<T> converter, CompletableFuture<T> future)
+        throws JavetException {
+        if (promise.isFulfilled()) {
+            try (V8Value result = promise.getResult()) {
+                complete(runtime, result, converter, future);
+            }
+        } else {
+            future.completeExceptionally(
+                new V8PromiseRejectedException(promise.getResultString()));
+        }
+    }
+
+    private static <T> void complete(V8Runtime runtime, V8Value result,
+        V8EnginePoolService.PromiseResultConverter<T> converter, CompletableFuture<T> future) {
+        if (future.isDone()) {
+            return;
+        }
+        try {
+            future.complete(converter.convert(result, runtime));
+        } catch (Exception e) {
+            future.completeExceptionally(e);
+        }
+    }
+
+    /**
+     * Raised when a bridged promise is rejected.
+     * 桥接的 Promise 被拒绝时抛出。
+     */
+    public static class V8PromiseRejectedException extends RuntimeException {
+        public V8PromiseRejectedException(String reason) {
+            super("Promise rejected: " + reason);
+        }
+    }
+}
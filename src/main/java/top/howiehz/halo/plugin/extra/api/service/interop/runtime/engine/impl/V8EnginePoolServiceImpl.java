@@ -8,7 +8,27 @@ import com.caoccao.javet.interop.engine.JavetEngineConfig;
 import com.caoccao.javet.interop.engine.JavetEnginePool;
 import com.caoccao.javet.values.V8Value;
 import com.caoccao.javet.values.primitive.V8ValueString;
+import com.caoccao.javet.values.reference.V8ValuePromise;
 import com.google.common.base.Throwables;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.PriorityBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.DisposableBean;
@@ -16,8 +36,19 @@ import org.springframework.beans.factory.InitializingBean;
 import org.springframework.stereotype.Service;
 import top.howiehz.halo.plugin.extra.api.service.core.config.JsEnginePoolConfig;
 import top.howiehz.halo.plugin.extra.api.service.core.config.JsEnginePoolConfigSupplier;
+import top.howiehz.halo.plugin.extra.api.service.core.runtime.memory.MemoryPressureLevel;
+import top.howiehz.halo.plugin.extra.api.service.core.runtime.memory.MemoryPressureListener;
+import top.howiehz.halo.plugin.extra.api.service.interop.runtime.binding.JsBindingDefinition;
+import top.howiehz.halo.plugin.extra.api.service.interop.runtime.engine.CustomJavetEngine;
 import top.howiehz.halo.plugin.extra.api.service.interop.runtime.engine.CustomJavetEnginePool;
+import top.howiehz.halo.plugin.extra.api.service.interop.runtime.engine.EngineAdmissionController;
+import top.howiehz.halo.plugin.extra.api.service.interop.runtime.engine.EnginePriority;
+import top.howiehz.halo.plugin.extra.api.service.interop.runtime.engine.EngineStartupMode;
+import top.howiehz.halo.plugin.extra.api.service.interop.runtime.engine.JsRuntimeMode;
 import top.howiehz.halo.plugin.extra.api.service.interop.runtime.engine.V8EnginePoolService;
+import top.howiehz.halo.plugin.extra.api.service.interop.runtime.engine.V8ExecutionTimeoutException;
+import top.howiehz.halo.plugin.extra.api.service.interop.runtime.engine.V8PromiseBridge;
+import top.howiehz.halo.plugin.extra.api.service.interop.runtime.nativelib.NativeLibraryManager;
 
 /**
  * V8 engine pool service implementation.
@@ -27,12 +58,49 @@ import top.howiehz.halo.plugin.extra.api.service.interop.runtime.engine.V8Engine
 @Service
 @RequiredArgsConstructor
 public class V8EnginePoolServiceImpl
-    implements V8EnginePoolService, InitializingBean, DisposableBean {
+    implements V8EnginePoolService, MemoryPressureListener, InitializingBean, DisposableBean {
+
+    // 预热失败后的重试间隔，按倍数递增直到上限
+    private static final long WARM_UP_RETRY_INITIAL_MILLIS = 5_000;
+    private static final long WARM_UP_RETRY_MAX_MILLIS = 300_000;
 
     private final JsEnginePoolConfigSupplier jsEnginePoolConfigSupplier;
 
+    private final NativeLibraryManager nativeLibraryManager;
+
+    private final List<JsBindingDefinition<?>> jsBindingDefinitions;
+
+    private final AtomicLong lowMemoryNotificationCount = new AtomicLong();
+
+    private final AtomicLong timeoutCount = new AtomicLong();
+
+    // 亲和路由统计：选中引擎上已预热/需冷加载的亲和键次数
+    private final LongAdder affinityWarmHits = new LongAdder();
+    private final LongAdder affinityColdLoads = new LongAdder();
+    private final long startedAtMillis = System.currentTimeMillis();
+
+    private final Map<EnginePriority, PriorityCounters> priorityCounters =
+        createPriorityCounters();
+
+    // 非阻塞 Promise 调用的分阶段耗时统计
+    private final LongAdder asyncCalls = new LongAdder();
+    private final LongAdder asyncFailures = new LongAdder();
+    private final LongAdder asyncAcquireNanos = new LongAdder();
+    private final LongAdder asyncExecuteNanos = new LongAdder();
+    private final LongAdder asyncSettleNanos = new LongAdder();
+
     private IJavetEnginePool<V8Runtime> enginePool;
+    private ScheduledExecutorService healthDaemon;
+    private ScheduledExecutorService watchdog;
+    private ExecutorService promiseDriver;
+    private EngineAdmissionController admissionController;
+    private int fairShareSize = 1;
+    private long engineMaxExecutions;
+    private long engineMaxHeapBytes;
+    private long executionTimeoutMillis;
     private volatile boolean initialized = false;
+    private volatile boolean ready = false;
+    private Thread warmUpThread;
 
     /**
      * Initialize the custom engine pool and preload modules.
@@ -50,6 +118,13 @@ public class V8EnginePoolServiceImpl
                     JsEnginePoolConfig defaultConfig = new JsEnginePoolConfig();
                     defaultConfig.setPoolMinSize(1);
                     defaultConfig.setPoolMaxSize(2);
+                    defaultConfig.setEngineMaxExecutions(5000);
+                    defaultConfig.setEngineMaxHeapSizeMb(256);
+                    defaultConfig.setEngineIdleLowMemorySeconds(60);
+                    defaultConfig.setEngineExecutionTimeoutMs(10_000);
+                    defaultConfig.setRuntimeMode(JsRuntimeMode.NODE.name());
+                    defaultConfig.setInteractiveReservedEngines(1);
+                    defaultConfig.setStartupMode(EngineStartupMode.LAZY.name());
                     log.warn(
                         "JS engine pool configuration not found, using default values: minSize=1,"
                             + " maxSize=2");
@@ -60,16 +135,38 @@ public class V8EnginePoolServiceImpl
             config.setPoolMinSize(poolConfig.getPoolMinSize());
             config.setPoolMaxSize(poolConfig.getPoolMaxSize());
 
-            log.info("Initializing V8 engine pool with minSize={}, maxSize={}",
-                poolConfig.getPoolMinSize(), poolConfig.getPoolMaxSize());
+            JsRuntimeMode runtimeMode = JsRuntimeMode.fromConfig(poolConfig.getRuntimeMode());
+            log.info("Initializing V8 engine pool with minSize={}, maxSize={}, runtimeMode={}",
+                poolConfig.getPoolMinSize(), poolConfig.getPoolMaxSize(), runtimeMode);
+
+            // 从插件工作目录中的持久化缓存加载原生库，避免每次启动都重新解压
+            nativeLibraryManager.loadJavet(runtimeMode);
 
             // 使用自定义引擎池，预加载模块
-            enginePool = new CustomJavetEnginePool(config);
+            enginePool = new CustomJavetEnginePool(config, jsBindingDefinitions, runtimeMode);
+
+            // 引擎健康阈值与空闲内存回收
+            engineMaxExecutions = Math.max(0, poolConfig.getEngineMaxExecutions());
+            engineMaxHeapBytes = Math.max(0L, poolConfig.getEngineMaxHeapSizeMb()) * 1024 * 1024;
+            startHealthDaemon(poolConfig.getEngineIdleLowMemorySeconds());
+            startPromiseDriver(poolConfig.getPoolMaxSize());
+
+            // 优先级准入：为交互请求预留引擎，单次渲染最多占用一半引擎
+            admissionController = new EngineAdmissionController(poolConfig.getPoolMaxSize(),
+                poolConfig.getInteractiveReservedEngines());
+            fairShareSize = Math.max(1, (poolConfig.getPoolMaxSize() + 1) / 2);
+
+            // 单次调用截止时间，超时后终止执行并回收引擎
+            executionTimeoutMillis = Math.max(0, poolConfig.getEngineExecutionTimeoutMs());
+            startWatchdog();
 
             initialized = true;
             log.info("Custom V8 engine pool with preloaded modules initialized successfully. " +
                     "Pool size: min={}, max={}", poolConfig.getPoolMinSize(),
                 poolConfig.getPoolMaxSize());
+
+            startWarmUp(EngineStartupMode.fromConfig(poolConfig.getStartupMode()),
+                Math.min(poolConfig.getPoolMinSize(), poolConfig.getPoolMaxSize()));
         } catch (Exception e) {
             log.error("Failed to initialize custom engine pool: {}", e.getMessage(), e);
             throw e;
@@ -84,6 +181,18 @@ public class V8EnginePoolServiceImpl
      */
     @Override
     public void destroy() throws Exception {
+        if (warmUpThread != null) {
+            warmUpThread.interrupt();
+        }
+        if (healthDaemon != null) {
+            healthDaemon.shutdownNow();
+        }
+        if (promiseDriver != null) {
+            promiseDriver.shutdownNow();
+        }
+        if (watchdog != null) {
+            watchdog.shutdownNow();
+        }
         // https://www.caoccao.com/Javet/reference/resource_management/load_and_unload.html
         if (enginePool != null) {
             try {
@@ -172,10 +281,155 @@ public class V8EnginePoolServiceImpl
      */
     @Override
     public <T> T withEngine(EngineOperation<T> operation) throws JavetException {
+        return execute(EnginePriority.INTERACTIVE, Set.of(), System.nanoTime(),
+            (engine, runtime) -> operation.execute(runtime));
+    }
+
+    /**
+     * Acquire an engine and perform the provided operation with a cached typed binding.
+     * 获取一个引擎并使用其缓存的类型化绑定执行操作，无需每次调用都查找全局函数或编译脚本。
+     *
+     * @param bindingType binding interface type / 绑定接口类型
+     * @param operation operation to run with the binding / 使用绑定执行的操作
+     * @param <B> binding type / 绑定类型
+     * @param <T> result type / 结果类型
+     * @return operation result / 操作结果
+     * @throws JavetException if engine acquisition or operation fails / 获取引擎或执行失败时抛出
+     */
+    @Override
+    public <B, T> T withBinding(Class<B> bindingType, BindingOperation<B, T> operation)
+        throws JavetException {
+        return execute(EnginePriority.INTERACTIVE, Set.of(), System.nanoTime(),
+            (engine, runtime) -> operation.execute(
+                requireCustomEngine(engine).getBinding(bindingType), runtime));
+    }
+
+    /**
+     * Acquire an engine, load the given modules into it if needed and perform the operation.
+     * 获取一个引擎，按需在其中加载给定模块后执行操作。
+     *
+     * @param moduleNames simple module names / 模块简单名称
+     * @param operation the operation to perform with the engine / 使用引擎执行的操作
+     * @param <T> result type / 结果类型
+     * @return operation result / 操作结果
+     * @throws JavetException if loading or operation fails / 加载或执行失败时抛出
+     */
+    @Override
+    public <T> T withModules(Collection<String> moduleNames, ModuleOperation<T> operation)
+        throws JavetException {
+        return execute(EnginePriority.INTERACTIVE, Set.of(), System.nanoTime(),
+            (engine, runtime) -> {
+                CustomJavetEngine customEngine = requireCustomEngine(engine);
+                customEngine.ensureModules(moduleNames);
+                return operation.execute(customEngine, runtime);
+            });
+    }
+
+    private static CustomJavetEngine requireCustomEngine(IJavetEngine<V8Runtime> engine) {
+        if (!(engine instanceof CustomJavetEngine customEngine)) {
+            throw new IllegalStateException("JS bindings require a CustomJavetEngine");
+        }
+        return customEngine;
+    }
+
+    /**
+     * Call a promise-returning binding function on a driver thread and bridge the result.
+     * 在驱动线程上调用返回 Promise 的绑定函数，并将结果桥接为 Future。
+     *
+     * <p>Driver threads match the maximum pool size, so each one holds at most one engine and
+     * callers never wait on the event loop themselves. Queued calls are started in priority
+     * order.</p>
+     * <p>驱动线程数与池最大大小一致，每个线程最多持有一个引擎，调用方线程不会阻塞在事件循环上；
+     * 排队中的调用按优先级顺序开始执行。</p>
+     *
+     * @param bindingType binding interface type / 绑定接口类型
+     * @param priority priority class of the call / 调用的优先级类别
+     * @param affinityKeys state the call needs warm / 调用需要的预热状态
+     * @param operation call that returns a pending promise / 返回 Promise 的调用
+     * @param converter converts the fulfilled value on the engine thread / 在引擎线程上转换兑现值
+     * @param <B> binding type / 绑定类型
+     * @param <T> result type / 结果类型
+     * @return future of the converted result / 转换后结果的 Future
+     */
+    @Override
+    public <B, T> CompletableFuture<T> withBindingAsync(Class<B> bindingType,
+        EnginePriority priority, Set<String> affinityKeys, PromiseOperation<B> operation,
+        PromiseResultConverter<T> converter) {
+        if (!initialized) {
+            return CompletableFuture.failedFuture(
+                new IllegalStateException("Engine pool not initialized"));
+        }
+        CompletableFuture<T> future = new CompletableFuture<>();
+        long submittedAt = System.nanoTime();
+        try {
+            promiseDriver.execute(new PrioritizedTask(priority, () -> {
+                try {
+                    execute(priority, affinityKeys, submittedAt, (engine, runtime) -> {
+                        long acquiredAt = System.nanoTime();
+                        asyncAcquireNanos.add(acquiredAt - submittedAt);
+                        CustomJavetEngine customEngine = requireCustomEngine(engine);
+                        B binding = customEngine.getBinding(bindingType);
+                        try (V8ValuePromise promise = operation.execute(binding)) {
+                            long calledAt = System.nanoTime();
+                            asyncExecuteNanos.add(calledAt - acquiredAt);
+                            V8PromiseBridge.settle(runtime, promise, converter, future,
+                                customEngine::isTimedOut, executionTimeoutMillis);
+                            asyncSettleNanos.add(System.nanoTime() - calledAt);
+                            if (future.isDone() && !future.isCompletedExceptionally()) {
+                                customEngine.markWarm(affinityKeys);
+                            }
+                        }
+                        return null;
+                    });
+                } catch (Throwable e) {
+                    future.completeExceptionally(e);
+                } finally {
+                    asyncCalls.increment();
+                    if (future.isCompletedExceptionally()) {
+                        asyncFailures.increment();
+                    }
+                }
+            }));
+        } catch (RejectedExecutionException e) {
+            future.completeExceptionally(e);
+        }
+        return future;
+    }
+
+    /**
+     * Acquire an engine through priority admission and run the callback on it.
+     * 经过优先级准入获取引擎并在其上执行回调。
+     *
+     * @param priority priority class of the caller / 调用方的优先级类别
+     * @param affinityKeys state the call prefers warm / 调用希望已预热的状态
+     * @param submittedAt nano time the caller started waiting / 调用方开始等待的纳秒时间
+     * @param callback the operation to perform / 要执行的操作
+     * @param <T> result type / 结果类型
+     * @return operation result / 操作结果
+     * @throws JavetException if engine acquisition or operation fails / 获取引擎或执行失败时抛出
+     */
+    private <T> T execute(EnginePriority priority, Set<String> affinityKeys, long submittedAt,
+        EngineCallback<T> callback) throws JavetException {
         if (!initialized) {
             throw new IllegalStateException("Engine pool not initialized");
         }
 
+        try {
+            admissionController.acquire(priority);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for a V8 engine", e);
+        }
+        try {
+            return executeAdmitted(priority, affinityKeys, submittedAt, callback);
+        } finally {
+            admissionController.release();
+        }
+    }
+
+    private <T> T executeAdmitted(EnginePriority priority, Set<String> affinityKeys,
+        long submittedAt, EngineCallback<T> callback) throws JavetException {
+
         // Diagnostic logging: record pool stats before/after acquisition and after release
         String threadInfo =
             Thread.currentThread().getName() + "[" + Thread.currentThread().threadId() + "]";
@@ -184,13 +438,17 @@ public class V8EnginePoolServiceImpl
                 poolBefore.getActiveEngineCount(), poolBefore.getIdleEngineCount());
         }
 
-        try (IJavetEngine<V8Runtime> engine = enginePool.getEngine()) {
+        try (IJavetEngine<V8Runtime> engine = acquireEngine(affinityKeys)) {
+            priorityCounters.get(priority).record(System.nanoTime() - submittedAt);
             if (enginePool instanceof JavetEnginePool<V8Runtime> poolAcquired) {
                 log.debug("[V8 POOL] {} acquired engine - during: active={}, idle={}", threadInfo,
                     poolAcquired.getActiveEngineCount(), poolAcquired.getIdleEngineCount());
             }
 
-            return operation.execute(engine.getV8Runtime());
+            if (engine instanceof CustomJavetEngine customEngine) {
+                return executeMonitored(customEngine, callback);
+            }
+            return callback.execute(engine, engine.getV8Runtime());
         } finally {
             if (enginePool instanceof JavetEnginePool<V8Runtime> poolAfter) {
                 // Resource closed by try-with-resources before finally runs
@@ -200,23 +458,420 @@ public class V8EnginePoolServiceImpl
         }
     }
 
+    /**
+     * Acquire an engine, routed to a warm one when affinity keys are given.
+     * 获取引擎；给定亲和键时优先路由到已预热的引擎。
+     */
+    private IJavetEngine<V8Runtime> acquireEngine(Set<String> affinityKeys)
+        throws JavetException {
+        if (affinityKeys.isEmpty() || !(enginePool instanceof CustomJavetEnginePool customPool)) {
+            return enginePool.getEngine();
+        }
+        IJavetEngine<V8Runtime> engine = customPool.getEngine(affinityKeys);
+        int warm = engine instanceof CustomJavetEngine customEngine
+            ? customEngine.countWarm(affinityKeys) : 0;
+        affinityWarmHits.add(warm);
+        affinityColdLoads.add(affinityKeys.size() - warm);
+        return engine;
+    }
+
+    /**
+     * Execute an operation on a custom engine while recording its health statistics.
+     * 在自定义引擎上执行操作并记录健康统计，超过阈值时回收引擎。
+     *
+     * @param engine the acquired engine / 已获取的引擎
+     * @param callback the operation to perform / 要执行的操作
+     * @param <T> result type / 结果类型
+     * @return operation result / 操作结果
+     * @throws JavetException if the operation fails / 执行失败时抛出
+     */
+    private <T> T executeMonitored(CustomJavetEngine engine, EngineCallback<T> callback)
+        throws JavetException {
+        engine.getExecutionLock().lock();
+        try {
+            long startNanos = System.nanoTime();
+            ScheduledFuture<?> deadline = armDeadline(engine);
+            boolean terminated = false;
+            T result;
+            try {
+                result = callback.execute(engine, engine.getV8Runtime());
+            } catch (JavetException | RuntimeException e) {
+                if (engine.isTimedOut()) {
+                    throw new V8ExecutionTimeoutException(executionTimeoutMillis, e);
+                }
+                throw e;
+            } finally {
+                if (deadline != null) {
+                    deadline.cancel(false);
+                    terminated = engine.disarmDeadline();
+                }
+                engine.recordExecution(System.nanoTime() - startNanos);
+                if (terminated) {
+                    recycleAfterTimeout(engine);
+                } else {
+                    recycleIfUnhealthy(engine);
+                }
+            }
+            if (terminated) {
+                // 终止可能恰好发生在调用返回前，此时结果不可信
+                throw new V8ExecutionTimeoutException(executionTimeoutMillis, null);
+            }
+            return result;
+        } finally {
+            engine.getExecutionLock().unlock();
+        }
+    }
+
+    /**
+     * Schedule the watchdog to terminate the call on this engine once its deadline passes.
+     * 安排看门狗在截止时间到达后终止该引擎上的调用。
+     *
+     * @param engine the engine about to execute / 即将执行的引擎
+     * @return scheduled deadline, or null when the watchdog is disabled / 已安排的截止任务，看门狗禁用时为
+     * null
+     */
+    private ScheduledFuture<?> armDeadline(CustomJavetEngine engine) {
+        if (watchdog == null) {
+            return null;
+        }
+        engine.armDeadline();
+        return watchdog.schedule(() -> {
+            if (engine.terminateOnDeadline()) {
+                timeoutCount.incrementAndGet();
+                log.warn("Terminated V8 engine #{} after exceeding the {}ms execution deadline",
+                    engine.getEngineStats().engineId(), executionTimeoutMillis);
+            }
+        }, executionTimeoutMillis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Replace the isolate of an engine whose call was terminated, so it returns to the pool in a
+     * known-good state.
+     * 替换被终止调用的引擎的隔离实例，使其以确定可用的状态归还到池中。
+     */
+    private void recycleAfterTimeout(CustomJavetEngine engine) {
+        if (!(enginePool instanceof CustomJavetEnginePool customPool)) {
+            return;
+        }
+        try {
+            customPool.recycleEngine(engine);
+        } catch (Exception e) {
+            log.warn("Failed to recycle V8 engine #{} after timeout: {}",
+                engine.getEngineStats().engineId(), Throwables.getRootCause(e).getMessage());
+        }
+    }
+
+    private void recycleIfUnhealthy(CustomJavetEngine engine) {
+        if (!engine.shouldRecycle(engineMaxExecutions, engineMaxHeapBytes)
+            || !(enginePool instanceof CustomJavetEnginePool customPool)) {
+            return;
+        }
+        var stats = engine.getEngineStats();
+        try {
+            customPool.recycleEngine(engine);
+            log.info("Recycled V8 engine #{}: executions={}, usedHeap={}MB",
+                stats.engineId(), stats.executionsSinceRecycle(),
+                stats.usedHeapSize() / 1024 / 1024);
+        } catch (Exception e) {
+            log.warn("Failed to recycle V8 engine #{}: {}", stats.engineId(),
+                Throwables.getRootCause(e).getMessage());
+        }
+    }
+
+    /**
+     * Start the daemon that sends low memory notifications to idle engines.
+     * 启动向空闲引擎发送低内存通知的守护线程。
+     *
+     * @param idleSeconds idle time before notifying, non-positive to disable / 通知前的空闲秒数，非正数表示禁用
+     */
+    private void startHealthDaemon(int idleSeconds) {
+        if (idleSeconds <= 0 || !(enginePool instanceof CustomJavetEnginePool customPool)) {
+            return;
+        }
+        long idleMillis = TimeUnit.SECONDS.toMillis(idleSeconds);
+        long checkIntervalSeconds = Math.max(5, idleSeconds / 2);
+        healthDaemon = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "extra-api-v8-engine-health");
+            thread.setDaemon(true);
+            return thread;
+        });
+        healthDaemon.scheduleWithFixedDelay(() -> {
+            for (CustomJavetEngine engine : customPool.getLiveEngines()) {
+                if (engine.notifyLowMemoryIfIdle(idleMillis)) {
+                    lowMemoryNotificationCount.incrementAndGet();
+                    log.debug("Sent low memory notification to idle V8 engine #{}",
+                        engine.getEngineStats().engineId());
+                }
+            }
+        }, checkIntervalSeconds, checkIntervalSeconds, TimeUnit.SECONDS);
+    }
+
+    /**
+     * Warm up engines according to the startup mode.
+     * 按启动模式预热引擎。
+     *
+     * <p>EAGER warms up before returning, BACKGROUND on a separate thread, LAZY not at all. Both
+     * warming modes take admission like normal checkouts (EAGER as interactive, BACKGROUND as
+     * background), so warm-up never holds more engines than its priority class allows. The pool
+     * reports ready only after a successful warm-up; a failed one is retried in the background
+     * with growing back-off until it succeeds or the pool is destroyed.</p>
+     * <p>EAGER 在返回前完成预热，BACKGROUND 在独立线程上预热，LAZY 不预热。两种预热模式都与
+     * 普通借用一样经过准入（EAGER 按交互优先级，BACKGROUND 按后台优先级），不会超出该优先级
+     * 允许占用的引擎数。只有预热成功后引擎池才报告就绪；失败时在后台按递增间隔重试，直到成功
+     * 或引擎池销毁。</p>
+     *
+     * @param mode startup mode / 启动模式
+     * @param engineCount engines to warm up / 需要预热的引擎数
+     */
+    private void startWarmUp(EngineStartupMode mode, int engineCount) {
+        log.info("V8 engine pool startup mode: {}, engines to warm up: {}", mode,
+            mode == EngineStartupMode.LAZY ? 0 : engineCount);
+        switch (mode) {
+            case EAGER -> {
+                int admittedCount = Math.min(engineCount,
+                    admissionController.getLimit(EnginePriority.INTERACTIVE));
+                if (!warmUpEngines(admittedCount, EnginePriority.INTERACTIVE)) {
+                    startWarmUpThread(admittedCount, EnginePriority.BACKGROUND);
+                }
+            }
+            case BACKGROUND -> startWarmUpThread(engineCount, EnginePriority.BACKGROUND);
+            case LAZY -> ready = true;
+        }
+    }
+
+    /**
+     * Warm up on a daemon thread, retrying failed attempts with growing back-off.
+     * 在守护线程上预热，失败时按递增间隔重试。
+     *
+     * @param engineCount engines to warm up / 需要预热的引擎数
+     * @param priority admission priority / 准入优先级
+     */
+    private void startWarmUpThread(int engineCount, EnginePriority priority) {
+        int admittedCount = Math.min(engineCount, admissionController.getLimit(priority));
+        warmUpThread = new Thread(() -> {
+            long backoffMillis = WARM_UP_RETRY_INITIAL_MILLIS;
+            while (!warmUpEngines(admittedCount, priority)) {
+                if (Thread.currentThread().isInterrupted()) {
+                    return;
+                }
+                log.warn("V8 engine warm-up will be retried in {}ms", backoffMillis);
+                try {
+                    Thread.sleep(backoffMillis);
+                } catch (InterruptedException e) {
+                    return;
+                }
+                backoffMillis = Math.min(backoffMillis * 2, WARM_UP_RETRY_MAX_MILLIS);
+            }
+        }, "extra-api-v8-warmup");
+        warmUpThread.setDaemon(true);
+        warmUpThread.start();
+    }
+
+    /**
+     * Hold the given number of distinct engines and run every binding's warm-up on each.
+     * 同时持有指定数量的不同引擎，并在每个引擎上执行所有绑定的预热。
+     *
+     * <p>Each engine is checked out through admission at the given priority. The pool is marked
+     * ready only when every engine warmed up successfully.</p>
+     * <p>每个引擎都按给定优先级经过准入后借出；只有全部引擎预热成功时才将引擎池标记为就绪。</p>
+     *
+     * @param engineCount engines to warm up / 需要预热的引擎数
+     * @param priority admission priority / 准入优先级
+     * @return whether warm-up succeeded / 预热是否成功
+     */
+    private boolean warmUpEngines(int engineCount, EnginePriority priority) {
+        long startNanos = System.nanoTime();
+        List<IJavetEngine<V8Runtime>> engines = new ArrayList<>();
+        int admitted = 0;
+        try {
+            for (int i = 0; i < engineCount; i++) {
+                admissionController.acquire(priority);
+                admitted++;
+                engines.add(enginePool.getEngine());
+            }
+            for (IJavetEngine<V8Runtime> engine : engines) {
+                if (engine instanceof CustomJavetEngine customEngine) {
+                    executeMonitored(customEngine, (acquired, runtime) -> {
+                        customEngine.warmUp();
+                        return null;
+                    });
+                }
+            }
+            log.info("Warmed up {} V8 engine(s) in {}ms", engines.size(),
+                (System.nanoTime() - startNanos) / 1_000_000);
+            ready = true;
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            log.info("V8 engine warm-up interrupted");
+            return false;
+        } catch (Exception e) {
+            log.warn("V8 engine warm-up failed: {}", Throwables.getRootCause(e).getMessage());
+            return false;
+        } finally {
+            for (IJavetEngine<V8Runtime> engine : engines) {
+                try {
+                    engine.close();
+                } catch (Exception e) {
+                    log.warn("Failed to return warmed-up engine to pool: {}", e.getMessage());
+                }
+            }
+            for (int i = 0; i < admitted; i++) {
+                admissionController.release();
+            }
+        }
+    }
+
+    @Override
+    public boolean isReady() {
+        return ready;
+    }
+
+    /**
+     * Start the watchdog that terminates calls exceeding the execution deadline.
+     * 启动终止超过执行截止时间的调用的看门狗线程。
+     */
+    private void startWatchdog() {
+        if (executionTimeoutMillis <= 0) {
+            return;
+        }
+        watchdog = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "extra-api-v8-watchdog");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Start the threads that hold engines while their promises settle.
+     * 启动在 Promise 结束前持有引擎并推进事件循环的驱动线程。
+     *
+     * @param poolMaxSize maximum pool size / 池最大大小
+     */
+    private void startPromiseDriver(int poolMaxSize) {
+        AtomicInteger threadIndex = new AtomicInteger();
+        int threads = Math.max(1, poolMaxSize);
+        // 使用优先级队列，排队中的交互请求先于 Finder 与后台任务开始执行
+        promiseDriver = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+            new PriorityBlockingQueue<>(), runnable -> {
+            Thread thread =
+                new Thread(runnable, "extra-api-v8-driver-" + threadIndex.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
     /**
      * Get statistics of the engine pool.
-     * 获取引擎池状态统计信息（最小/最大/活跃/空闲）。
+     * 获取引擎池状态统计信息（最小/最大/活跃/空闲，以及回收次数与各引擎健康统计）。
      *
      * @return pool statistics / 池状态
      */
     @Override
     public PoolStats getPoolStats() {
         if (enginePool instanceof JavetEnginePool<V8Runtime> pool) {
+            long recycledCount = 0;
+            List<EngineStats> engineStats = List.of();
+            if (pool instanceof CustomJavetEnginePool customPool) {
+                recycledCount = customPool.getRecycledEngineCount();
+                engineStats = customPool.getLiveEngines().stream()
+                    .map(CustomJavetEngine::getEngineStats)
+                    .toList();
+            }
             return new PoolStats(
                 pool.getConfig().getPoolMinSize(),
                 pool.getConfig().getPoolMaxSize(),
                 pool.getActiveEngineCount(),
-                pool.getIdleEngineCount()
+                pool.getIdleEngineCount(),
+                recycledCount,
+                lowMemoryNotificationCount.get(),
+                timeoutCount.get(),
+                engineStats,
+                getAsyncCallStats(),
+                getPriorityStats(),
+                getAffinityStats()
             );
         }
-        return new PoolStats(0, 0, 0, 0);
+        return new PoolStats(0, 0, 0, 0, 0, 0, 0, List.of(), getAsyncCallStats(),
+            getPriorityStats(), getAffinityStats());
+    }
+
+    private AffinityStats getAffinityStats() {
+        long coldLoads = affinityColdLoads.sum();
+        double hours = Math.max(1, System.currentTimeMillis() - startedAtMillis) / 3_600_000.0;
+        return new AffinityStats(affinityWarmHits.sum(), coldLoads, coldLoads / hours);
+    }
+
+    private Map<EnginePriority, PriorityStats> getPriorityStats() {
+        Map<EnginePriority, PriorityStats> stats = new EnumMap<>(EnginePriority.class);
+        priorityCounters.forEach((priority, counters) -> stats.put(priority,
+            counters.snapshot(admissionController == null ? 0
+                : admissionController.getWaiting(priority))));
+        return stats;
+    }
+
+    @Override
+    public int getFairShareSize() {
+        return fairShareSize;
+    }
+
+    @Override
+    public long getExecutionTimeoutMillis() {
+        return executionTimeoutMillis;
+    }
+
+    private AsyncCallStats getAsyncCallStats() {
+        long calls = asyncCalls.sum();
+        if (calls == 0) {
+            return new AsyncCallStats(0, 0, 0, 0, 0);
+        }
+        return new AsyncCallStats(calls, asyncFailures.sum(),
+            asyncAcquireNanos.sum() / 1_000_000.0 / calls,
+            asyncExecuteNanos.sum() / 1_000_000.0 / calls,
+            asyncSettleNanos.sum() / 1_000_000.0 / calls);
+    }
+
+    @Override
+    public String getMemoryPressureComponentName() {
+        return "v8-engine-pool";
+    }
+
+    /**
+     * Release V8 memory under JVM memory pressure.
+     * 在 JVM 内存紧张时释放 V8 内存。
+     *
+     * <p>Idle engines get a low memory notification at every non-normal level; at the critical
+     * level idle engines above the minimum pool size are also closed until pressure ends.</p>
+     * <p>压力非正常时向所有空闲引擎发送低内存通知；严重时还会关闭超出最小池大小的空闲引擎，直到压力解除。</p>
+     *
+     * @param level current pressure level / 当前压力等级
+     * @return description of the action taken / 已执行操作的描述
+     */
+    @Override
+    public String onMemoryPressure(MemoryPressureLevel level) {
+        if (!(enginePool instanceof CustomJavetEnginePool customPool)) {
+            return null;
+        }
+        boolean evictionChanged =
+            customPool.setFastIdleEviction(level == MemoryPressureLevel.CRITICAL);
+        if (level == MemoryPressureLevel.NORMAL) {
+            return evictionChanged ? "恢复空闲引擎的关闭超时" : null;
+        }
+        int notified = 0;
+        for (CustomJavetEngine engine : customPool.getLiveEngines()) {
+            if (engine.notifyLowMemoryIfIdle(0)) {
+                lowMemoryNotificationCount.incrementAndGet();
+                notified++;
+            }
+        }
+        List<String> actions = new ArrayList<>();
+        if (notified > 0) {
+            actions.add("向 " + notified + " 个空闲引擎发送低内存通知");
+        }
+        if (evictionChanged) {
+            actions.add("关闭超出最小池大小的空闲引擎");
+        }
+        return actions.isEmpty() ? null : String.join(", ", actions);
     }
 
     @Override
@@ -226,4 +881,74 @@ public class V8EnginePoolServiceImpl
         }
         return 0;
     }
+
+    /**
+     * Callback that receives both the acquired engine and its runtime.
+     * 同时接收已获取引擎及其运行时的回调。
+     */
+    @FunctionalInterface
+    private interface EngineCallback<T> {
+        T execute(IJavetEngine<V8Runtime> engine, V8Runtime runtime) throws JavetException;
+    }
+
+    private static Map<EnginePriority, PriorityCounters> createPriorityCounters() {
+        Map<EnginePriority, PriorityCounters> counters = new EnumMap<>(EnginePriority.class);
+        for (EnginePriority priority : EnginePriority.values()) {
+            counters.put(priority, new PriorityCounters());
+        }
+        return counters;
+    }
+
+    /**
+     * Driver task ordered by priority class, then by submission order.
+     * 按优先级类别、再按提交顺序排序的驱动任务。
+     */
+    private static final class PrioritizedTask
+        implements Runnable, Comparable<PrioritizedTask> {
+
+        private static final AtomicLong SEQUENCE = new AtomicLong();
+
+        private final EnginePriority priority;
+        private final long sequence = SEQUENCE.incrementAndGet();
+        private final Runnable delegate;
+
+        PrioritizedTask(EnginePriority priority, Runnable delegate) {
+            this.priority = priority;
+            this.delegate = delegate;
+        }
+
+        @Override
+        public void run() {
+            delegate.run();
+        }
+
+        @Override
+        public int compareTo(PrioritizedTask other) {
+            int byPriority = priority.compareTo(other.priority);
+            return byPriority != 0 ? byPriority : Long.compare(sequence, other.sequence);
+        }
+    }
+
+    /**
+     * Engine wait counters of one priority class.
+     * 单个优先级类别的引擎等待计数器。
+     */
+    private static final class PriorityCounters {
+        private final LongAdder acquisitions = new LongAdder();
+        private final LongAdder waitNanos = new LongAdder();
+        private final LongAccumulator maxWaitNanos = new LongAccumulator(Long::max, 0);
+
+        void record(long nanos) {
+            acquisitions.increment();
+            waitNanos.add(nanos);
+            maxWaitNanos.accumulate(nanos);
+        }
+
+        PriorityStats snapshot(int waiting) {
+            long count = acquisitions.sum();
+            return new PriorityStats(count, waiting,
+                count == 0 ? 0 : waitNanos.sum() / 1_000_000.0 / count,
+                maxWaitNanos.get() / 1_000_000.0);
+        }
+    }
 }
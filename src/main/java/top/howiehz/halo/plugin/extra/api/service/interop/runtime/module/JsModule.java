@@ -2,48 +2,38 @@ package top.howiehz.halo.plugin.extra.api.service.interop.runtime.module;
 
 import java.io.IOException;
 import java.nio.charset.StandardCharsets;
-import java.util.Map;
 import java.util.Objects;
-import java.util.function.Function;
-import java.util.stream.Collectors;
-import java.util.stream.Stream;
 import org.apache.commons.io.IOUtils;
 
 /**
- * Enumeration of embedded JS modules used by the runtime.
- * 内置 JS 模块枚举，包含模块名称、资源文件名与类型。
+ * Embedded JS module declared in {@code js/modules.properties}.
+ * 在 {@code js/modules.properties} 中声明的内置 JS 模块，包含模块名称、资源文件名、类型与加载时机。
  */
-public enum JsModule {
-    /**
-     * Shiki code highlighting library.
-     * Shiki 代码高亮库。
-     */
-    SHIKI("shiki", "shiki.umd.cjs", JsModuleType.UMD);
-
-    private static final Map<String, JsModule> moduleMap = Stream.of(JsModule.values())
-        .collect(Collectors.toMap(JsModule::getModuleName, Function.identity()));
+public final class JsModule {
 
     private final String name;
     private final String fileName;
     private final String moduleName;
     private final JsModuleType type;
+    private final boolean preload;
 
-    JsModule(String name, String fileName, JsModuleType type) {
+    public JsModule(String name, String fileName, JsModuleType type, boolean preload) {
         this.name = Objects.requireNonNull(name);
         this.fileName = Objects.requireNonNull(fileName);
         this.moduleName = "js/" + name;
         this.type = Objects.requireNonNull(type);
+        this.preload = preload;
     }
 
     /**
-     * Get module by module name.
-     * 根据模块名称获取模块。
+     * Get module by module name from the default registry.
+     * 从默认注册表中根据模块名称获取模块。
      *
      * @param moduleName the module name / 模块名称
      * @return the module, or null if not found / 模块，如果未找到则返回 null
      */
     public static JsModule of(String moduleName) {
-        return moduleMap.get(moduleName);
+        return JsModuleRegistry.getDefault().findByModuleName(moduleName);
     }
 
     /**
@@ -86,6 +76,16 @@ public enum JsModule {
         return type;
     }
 
+    /**
+     * Whether the module is loaded when an engine is created rather than on first use.
+     * 模块是否在引擎创建时加载，而不是首次使用时懒加载。
+     *
+     * @return true if preloaded / 预加载时返回 true
+     */
+    public boolean isPreload() {
+        return preload;
+    }
+
     /**
      * Load module source code from resources.
      * 从资源加载模块源码（UTF-8）。
@@ -98,4 +98,4 @@ public enum JsModule {
         return IOUtils.resourceToString(resourcePath, StandardCharsets.UTF_8,
             JsModule.class.getClassLoader());
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,136 @@
+package top.howiehz.halo.plugin.extra.api.service.interop.runtime.module;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Properties;
+import java.util.TreeSet;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Registry of the JS modules declared in {@code js/modules.properties}.
+ * {@code js/modules.properties} 中声明的 JS 模块注册表。
+ *
+ * <p>Each module is declared with {@code <name>.file}, {@code <name>.type} and optionally
+ * {@code <name>.preload}. Adding a module only needs its bundle under {@code js/} and a
+ * declaration; engines load it on first use unless it is preloaded.</p>
+ * <p>每个模块通过 {@code <name>.file}、{@code <name>.type} 以及可选的 {@code <name>.preload} 声明。
+ * 新增模块只需将构建产物放到 {@code js/} 下并添加声明；除非声明为预加载，引擎会在首次使用时加载。</p>
+ */
+@Slf4j
+public final class JsModuleRegistry {
+
+    private static final String RESOURCE = "js/modules.properties";
+
+    private final Map<String, JsModule> modulesByName;
+
+    JsModuleRegistry(List<JsModule> modules) {
+        Map<String, JsModule> byName = new LinkedHashMap<>();
+        for (JsModule module : modules) {
+            byName.put(module.getName(), module);
+        }
+        this.modulesByName = Collections.unmodifiableMap(byName);
+    }
+
+    /**
+     * Get the registry declared by the bundled {@code js/modules.properties}.
+     * 获取由内置 {@code js/modules.properties} 声明的注册表。
+     *
+     * @return default registry / 默认注册表
+     */
+    public static JsModuleRegistry getDefault() {
+        return Holder.DEFAULT;
+    }
+
+    /**
+     * Parse module declarations.
+     * 解析模块声明。
+     *
+     * @param properties declarations / 模块声明
+     * @return registry / 注册表
+     */
+    static JsModuleRegistry fromProperties(Properties properties) {
+        TreeSet<String> names = new TreeSet<>();
+        for (String key : properties.stringPropertyNames()) {
+            if (key.endsWith(".file")) {
+                names.add(key.substring(0, key.length() - ".file".length()));
+            }
+        }
+        List<JsModule> modules = new ArrayList<>();
+        for (String name : names) {
+            try {
+                JsModuleType type = JsModuleType.valueOf(
+                    properties.getProperty(name + ".type", "UMD").trim().toUpperCase(Locale.ROOT));
+                boolean preload =
+                    Boolean.parseBoolean(properties.getProperty(name + ".preload", "false").trim());
+                modules.add(new JsModule(name, properties.getProperty(name + ".file").trim(), type,
+                    preload));
+            } catch (IllegalArgumentException e) {
+                log.warn("Ignoring JS module [{}] with invalid declaration: {}", name,
+                    e.getMessage());
+            }
+        }
+        return new JsModuleRegistry(modules);
+    }
+
+    /**
+     * Get a module by its simple name.
+     * 根据简单名称获取模块。
+     *
+     * @param name simple module name / 模块简单名称
+     * @return the module, or null if not declared / 模块，未声明时返回 null
+     */
+    public JsModule find(String name) {
+        return modulesByName.get(name);
+    }
+
+    /**
+     * Get a module by its full module name ({@code js/<name>}).
+     * 根据完整模块名称（{@code js/<name>}）获取模块。
+     *
+     * @param moduleName full module name / 完整模块名称
+     * @return the module, or null if not declared / 模块，未声明时返回 null
+     */
+    public JsModule findByModuleName(String moduleName) {
+        if (moduleName == null || !moduleName.startsWith("js/")) {
+            return null;
+        }
+        return modulesByName.get(moduleName.substring("js/".length()));
+    }
+
+    /**
+     * Get all declared modules in name order.
+     * 按名称顺序获取所有声明的模块。
+     *
+     * @return modules / 模块列表
+     */
+    public List<JsModule> getModules() {
+        return List.copyOf(modulesByName.values());
+    }
+
+    private static JsModuleRegistry load() {
+        Properties properties = new Properties();
+        try (InputStream input =
+                 JsModuleRegistry.class.getClassLoader().getResourceAsStream(RESOURCE)) {
+            if (input == null) {
+                log.error("找不到资源文件 {}", RESOURCE);
+            } else {
+                properties.load(new InputStreamReader(input, StandardCharsets.UTF_8));
+            }
+        } catch (IOException e) {
+            log.error("读取 JS 模块声明失败: {}", e.getMessage());
+        }
+        return fromProperties(properties);
+    }
+
+    private static final class Holder {
+        private static final JsModuleRegistry DEFAULT = load();
+    }
+}
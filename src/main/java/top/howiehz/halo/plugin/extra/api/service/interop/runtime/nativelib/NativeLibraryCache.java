@@ -0,0 +1,177 @@
+package top.howiehz.halo.plugin.extra.api.service.interop.runtime.nativelib;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Comparator;
+import java.util.HexFormat;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Versioned directory of extracted native libraries, verified by SHA-256 before reuse.
+ * 按版本划分的原生库解压目录，复用前通过 SHA-256 校验。
+ *
+ * <p>Layout: {@code <root>/<version>/<file>} plus a {@code <file>.sha256} sidecar written after
+ * the library was fully extracted. Libraries are written to a temp file and moved into place,
+ * so an interrupted extraction is never reused.</p>
+ * <p>目录结构为 {@code <root>/<version>/<file>}，解压完成后写入 {@code <file>.sha256} 校验文件。
+ * 库先写入临时文件再移动到目标位置，中断的解压不会被复用。</p>
+ */
+@Slf4j
+public class NativeLibraryCache {
+
+    private static final String HASH_SUFFIX = ".sha256";
+
+    private final Path root;
+    private final Path directory;
+
+    /**
+     * Create a cache for one plugin version.
+     * 为某个插件版本创建缓存。
+     *
+     * @param root root directory shared by all versions / 所有版本共享的根目录
+     * @param version plugin version / 插件版本
+     */
+    public NativeLibraryCache(Path root, String version) {
+        this.root = root;
+        this.directory = root.resolve(sanitize(version));
+    }
+
+    /**
+     * Get the directory holding the libraries of this version.
+     * 获取当前版本原生库所在的目录。
+     *
+     * @return library directory / 原生库目录
+     */
+    public Path getDirectory() {
+        return directory;
+    }
+
+    /**
+     * Return the cached library, extracting it from the given source when it is missing or fails
+     * verification.
+     * 返回缓存中的原生库；缺失或校验失败时从给定来源重新解压。
+     *
+     * @param fileName library file name / 库文件名
+     * @param source opens the bundled library / 打开插件内置的库
+     * @return resolved library / 解析结果
+     * @throws IOException when the library cannot be extracted / 无法解压时抛出
+     */
+    public Entry resolve(String fileName, LibrarySource source) throws IOException {
+        Path library = directory.resolve(fileName);
+        Path hashFile = directory.resolve(fileName + HASH_SUFFIX);
+        if (isValid(library, hashFile)) {
+            return new Entry(library, true);
+        }
+
+        Files.createDirectories(directory);
+        Path temp = Files.createTempFile(directory, fileName, ".tmp");
+        try {
+            String hash;
+            try (InputStream input = source.open();
+                 DigestInputStream digestInput = new DigestInputStream(input, newDigest());
+                 OutputStream output = Files.newOutputStream(temp)) {
+                digestInput.transferTo(output);
+                hash = HexFormat.of().formatHex(digestInput.getMessageDigest().digest());
+            }
+            Files.move(temp, library, StandardCopyOption.REPLACE_EXISTING,
+                StandardCopyOption.ATOMIC_MOVE);
+            Files.writeString(hashFile, hash, StandardCharsets.US_ASCII);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+        return new Entry(library, false);
+    }
+
+    /**
+     * Delete directories of other plugin versions.
+     * 删除其他插件版本的目录。
+     */
+    public void pruneOtherVersions() {
+        if (!Files.isDirectory(root)) {
+            return;
+        }
+        try (DirectoryStream<Path> versions = Files.newDirectoryStream(root, Files::isDirectory)) {
+            for (Path version : versions) {
+                if (!version.equals(directory)) {
+                    deleteDirectory(version);
+                }
+            }
+        } catch (IOException e) {
+            log.debug("Failed to prune old native library directories: {}", e.getMessage());
+        }
+    }
+
+    private boolean isValid(Path library, Path hashFile) {
+        if (!Files.isRegularFile(library) || !Files.isRegularFile(hashFile)) {
+            return false;
+        }
+        try (InputStream input = Files.newInputStream(library);
+             DigestInputStream digestInput = new DigestInputStream(input, newDigest())) {
+            digestInput.transferTo(OutputStream.nullOutputStream());
+            String actual = HexFormat.of().formatHex(digestInput.getMessageDigest().digest());
+            String expected = Files.readString(hashFile, StandardCharsets.US_ASCII).trim();
+            if (!actual.equalsIgnoreCase(expected)) {
+                log.warn("Cached native library {} failed verification, extracting again",
+                    library.getFileName());
+                return false;
+            }
+            return true;
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    private static void deleteDirectory(Path path) throws IOException {
+        try (var paths = Files.walk(path)) {
+            for (Path file : paths.sorted(Comparator.reverseOrder()).toList()) {
+                // 仍被其他进程占用的库可能无法删除，跳过即可
+                try {
+                    Files.deleteIfExists(file);
+                } catch (IOException e) {
+                    log.debug("Failed to delete {}: {}", file, e.getMessage());
+                }
+            }
+        }
+    }
+
+    private static MessageDigest newDigest() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    private static String sanitize(String version) {
+        return version == null || version.isBlank() ? "unknown"
+            : version.replaceAll("[^A-Za-z0-9._-]", "_");
+    }
+
+    /**
+     * Opens the bundled copy of a library.
+     * 打开插件内置的原生库副本。
+     */
+    @FunctionalInterface
+    public interface LibrarySource {
+        InputStream open() throws IOException;
+    }
+
+    /**
+     * A library in the cache.
+     * 缓存中的原生库。
+     *
+     * @param path library path / 库文件路径
+     * @param reused whether an existing extraction was reused / 是否复用了已有的解压结果
+     */
+    public record Entry(Path path, boolean reused) {
+    }
+}
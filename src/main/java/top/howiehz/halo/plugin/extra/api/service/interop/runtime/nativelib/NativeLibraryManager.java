@@ -0,0 +1,195 @@
+package top.howiehz.halo.plugin.extra.api.service.interop.runtime.nativelib;
+
+import com.caoccao.javet.enums.JSRuntimeType;
+import com.caoccao.javet.interop.V8Host;
+import com.caoccao.javet.interop.loader.IJavetLibLoadingListener;
+import com.caoccao.javet.interop.loader.JavetLibLoader;
+import com.caoccao.javet.interop.loader.JavetLibLoadingListener;
+import java.io.File;
+import java.io.FileNotFoundException;
+import java.io.InputStream;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+import run.halo.app.plugin.PluginContext;
+import top.howiehz.halo.plugin.extra.api.service.core.runtime.NativeLibraryReport;
+import top.howiehz.halo.plugin.extra.api.service.interop.runtime.engine.JsRuntimeMode;
+
+/**
+ * Loads the native libraries of the full version from a persistent, versioned cache.
+ * 从持久化、按版本划分的缓存目录加载全量版所需的原生库。
+ *
+ * <p>Javet extracts its library into a per-process temp directory by default, so every restart
+ * writes tens of megabytes again. Here the library is extracted once into the plugin's work
+ * directory, verified by SHA-256 on reuse, and Javet is told to load it from there.</p>
+ * <p>Javet 默认将原生库解压到按进程划分的临时目录，每次重启都要重新写入数十 MB。
+ * 这里只在插件工作目录中解压一次，复用前通过 SHA-256 校验，并让 Javet 直接从该目录加载。</p>
+ *
+ * <p>minify-html always extracts its own small library in its class initializer; that step
+ * cannot be redirected, so it is only loaded and timed at startup.</p>
+ * <p>minify-html 在类初始化时总会自行解压其体积较小的原生库，无法改变解压位置，因此只在启动时加载并计时。</p>
+ */
+@Slf4j
+@Component
+public class NativeLibraryManager implements NativeLibraryReport, InitializingBean {
+
+    private static final String MINIFY_HTML_CLASS = "in.wilsonl.minifyhtml.MinifyHtml";
+
+    /**
+     * System property prefix marking a Javet runtime type as loaded in this process.
+     * 标记本进程已加载某个 Javet 运行时类型的系统属性前缀。
+     *
+     * <p>System properties outlive the plugin's class loader, so a reloaded plugin can tell that
+     * a load error only means the library is already bound to an earlier instance.</p>
+     * <p>系统属性的生命周期长于插件的类加载器，重新加载的插件据此判断加载错误只是因为原生库已被先前的实例占用。</p>
+     */
+    private static final String PROCESS_LOADED_PROPERTY = "extra-api.javet.loaded.";
+
+    private final NativeLibraryCache cache;
+    private final List<NativeLibraryLoad> loads = new CopyOnWriteArrayList<>();
+
+    /**
+     * Runtime types whose library was prepared in the cache directory.
+     * 已在缓存目录中准备好原生库的运行时类型。
+     */
+    private final Set<JSRuntimeType> cachedTypes = ConcurrentHashMap.newKeySet();
+
+    /**
+     * Runtime types whose library is not bundled in this plugin variant.
+     * 当前插件版本未内置原生库的运行时类型。
+     */
+    private final Set<JSRuntimeType> absentTypes = ConcurrentHashMap.newKeySet();
+
+    private boolean listenerInstalled;
+
+    public NativeLibraryManager(PluginContext pluginContext, Environment environment) {
+        String workDir = environment.getProperty("halo.work-dir",
+            Path.of(System.getProperty("user.home"), ".halo2").toString());
+        this.cache = new NativeLibraryCache(
+            Path.of(workDir, "plugins-data", pluginContext.getName(), "native-libs"),
+            pluginContext.getVersion());
+    }
+
+    @Override
+    public void afterPropertiesSet() {
+        cache.pruneOtherVersions();
+        loadMinifyHtml();
+    }
+
+    /**
+     * Prepare the Javet library of the given runtime mode in the cache and load it.
+     * 在缓存中准备给定运行时类型的 Javet 原生库并加载。
+     *
+     * <p>Falls back to Javet's own extraction when the cache cannot be used.</p>
+     * <p>缓存不可用时回退为 Javet 自身的解压方式。</p>
+     *
+     * @param runtimeMode runtime mode of the engine pool / 引擎池的运行时类型
+     */
+    public synchronized void loadJavet(JsRuntimeMode runtimeMode) {
+        JSRuntimeType type =
+            runtimeMode == JsRuntimeMode.V8 ? JSRuntimeType.V8 : JSRuntimeType.Node;
+        String name = "javet-" + type.name().toLowerCase(Locale.ROOT);
+        long startNanos = System.nanoTime();
+        String source = prepareJavet(type);
+        V8Host host = V8Host.getInstance(type);
+        if (host.isLibraryLoaded()) {
+            System.setProperty(PROCESS_LOADED_PROPERTY + type.name(), "true");
+        } else if (absentTypes.contains(type)) {
+            log.info("Javet native library {} is not bundled in this variant", name);
+        } else {
+            log.error("Javet native library {} failed to load", name);
+        }
+        loads.add(new NativeLibraryLoad(name, source, elapsedMillis(startNanos)));
+    }
+
+    private String prepareJavet(JSRuntimeType type) {
+        try {
+            JavetLibLoader libLoader = new JavetLibLoader(type);
+            String resourceName = libLoader.getResourceFileName();
+            if (JavetLibLoader.class.getResource(resourceName) == null) {
+                absentTypes.add(type);
+                installJavetListener();
+                return "absent";
+            }
+            NativeLibraryCache.Entry entry = cache.resolve(libLoader.getLibFileName(), () -> {
+                InputStream input = JavetLibLoader.class.getResourceAsStream(resourceName);
+                if (input == null) {
+                    throw new FileNotFoundException(resourceName);
+                }
+                return input;
+            });
+            cachedTypes.add(type);
+            installJavetListener();
+            return entry.reused() ? "cache" : "extracted";
+        } catch (Exception e) {
+            log.warn("Native library cache unavailable for Javet {}, using default extraction: {}",
+                type, e.getMessage());
+            return "bundled";
+        }
+    }
+
+    /**
+     * Point Javet at the cache directory for prepared runtime types. Load errors are suppressed
+     * only when expected: the library is not bundled in this variant, or an earlier instance of
+     * the plugin already loaded it in this process. Any other error reaches Javet's caller.
+     * 让 Javet 从缓存目录加载已准备好的运行时类型；只抑制预期内的加载错误：当前版本未内置该原生库，
+     * 或本进程中先前的插件实例已加载该库。其他错误照常抛给 Javet 的调用方。
+     */
+    private void installJavetListener() {
+        if (listenerInstalled) {
+            return;
+        }
+        IJavetLibLoadingListener defaults = new JavetLibLoadingListener();
+        JavetLibLoader.setLibLoadingListener(new IJavetLibLoadingListener() {
+            @Override
+            public File getLibPath(JSRuntimeType jsRuntimeType) {
+                return cachedTypes.contains(jsRuntimeType) ? cache.getDirectory().toFile()
+                    : defaults.getLibPath(jsRuntimeType);
+            }
+
+            @Override
+            public boolean isDeploy(JSRuntimeType jsRuntimeType) {
+                return !cachedTypes.contains(jsRuntimeType) && defaults.isDeploy(jsRuntimeType);
+            }
+
+            @Override
+            public boolean isLibInSystemPath(JSRuntimeType jsRuntimeType) {
+                return !cachedTypes.contains(jsRuntimeType)
+                    && defaults.isLibInSystemPath(jsRuntimeType);
+            }
+
+            @Override
+            public boolean isSuppressingError(JSRuntimeType jsRuntimeType) {
+                return absentTypes.contains(jsRuntimeType) || Boolean.getBoolean(
+                    PROCESS_LOADED_PROPERTY + jsRuntimeType.name());
+            }
+        });
+        listenerInstalled = true;
+    }
+
+    private void loadMinifyHtml() {
+        long startNanos = System.nanoTime();
+        try {
+            Class.forName(MINIFY_HTML_CLASS, true, getClass().getClassLoader());
+            loads.add(new NativeLibraryLoad("minify-html", "bundled", elapsedMillis(startNanos)));
+        } catch (ClassNotFoundException | LinkageError e) {
+            log.warn("Failed to load minify-html native library: {}", e.toString());
+        }
+    }
+
+    @Override
+    public List<NativeLibraryLoad> getNativeLibraryLoads() {
+        return List.copyOf(loads);
+    }
+
+    private static long elapsedMillis(long startNanos) {
+        return (System.nanoTime() - startNanos) / 1_000_000;
+    }
+}
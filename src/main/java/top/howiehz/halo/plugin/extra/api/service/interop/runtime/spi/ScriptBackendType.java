@@ -0,0 +1,40 @@
+package top.howiehz.halo.plugin.extra.api.service.interop.runtime.spi;
+
+import java.util.Locale;
+
+/**
+ * Script engine backends that can execute the bundled JS modules.
+ * 可执行内置 JS 模块的脚本引擎后端。
+ */
+public enum ScriptBackendType {
+
+    /**
+     * Javet engine pool (Node.js or plain V8 through JNI).
+     * Javet 引擎池（通过 JNI 使用 Node.js 或纯 V8）。
+     */
+    JAVET,
+
+    /**
+     * GraalJS through the GraalVM Polyglot API, only available when GraalJS is on the classpath.
+     * 通过 GraalVM Polyglot API 使用 GraalJS，仅在类路径中包含 GraalJS 时可用。
+     */
+    GRAALJS;
+
+    /**
+     * Parse a configured backend, falling back to {@link #JAVET} for blank or unknown values.
+     * 解析配置的后端，空值或未知值回退为 {@link #JAVET}。
+     *
+     * @param value configured value / 配置值
+     * @return backend type / 后端类型
+     */
+    public static ScriptBackendType fromConfig(String value) {
+        if (value == null || value.isBlank()) {
+            return JAVET;
+        }
+        try {
+            return valueOf(value.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            return JAVET;
+        }
+    }
+}
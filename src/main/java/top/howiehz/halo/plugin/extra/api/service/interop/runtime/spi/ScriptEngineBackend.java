@@ -0,0 +1,48 @@
+package top.howiehz.halo.plugin.extra.api.service.interop.runtime.spi;
+
+import java.util.Collection;
+import top.howiehz.halo.plugin.extra.api.service.core.runtime.JsEngineReadiness;
+
+/**
+ * Backend-neutral script engine SPI: acquire an engine with the needed modules, call bound
+ * functions and transfer strings and buffers without exposing engine-specific types.
+ * 与具体引擎无关的脚本引擎 SPI：获取已加载所需模块的引擎、调用全局函数并传递字符串与缓冲区，
+ * 不向调用方暴露特定引擎的类型。
+ *
+ * <p>Adapters written against this interface run unchanged on every backend in
+ * {@link ScriptBackendType}; the backend in use is chosen by configuration.</p>
+ * <p>基于该接口编写的适配器可在 {@link ScriptBackendType} 的任一后端上运行，实际使用的后端由配置决定。</p>
+ */
+public interface ScriptEngineBackend extends JsEngineReadiness {
+
+    /**
+     * Get the backend type.
+     * 获取后端类型。
+     *
+     * @return backend type / 后端类型
+     */
+    ScriptBackendType getType();
+
+    /**
+     * Borrow an engine with the given declared modules loaded and run the operation on it.
+     * 借出一个已加载给定声明模块的引擎并在其上执行操作，操作结束后引擎被归还。
+     *
+     * @param moduleNames simple module names declared in {@code js/modules.properties} /
+     * 在 {@code js/modules.properties} 中声明的模块简单名称
+     * @param operation operation to run / 需要执行的操作
+     * @param <T> result type / 结果类型
+     * @return operation result / 操作结果
+     * @throws ScriptEngineException when acquisition, loading or the operation fails /
+     * 获取引擎、加载模块或执行失败时抛出
+     */
+    <T> T withSession(Collection<String> moduleNames, SessionOperation<T> operation);
+
+    /**
+     * Operation run with a borrowed engine.
+     * 使用借出的引擎执行的操作。
+     */
+    @FunctionalInterface
+    interface SessionOperation<T> {
+        T execute(ScriptSession session);
+    }
+}
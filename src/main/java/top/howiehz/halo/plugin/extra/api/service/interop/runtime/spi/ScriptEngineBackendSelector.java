@@ -0,0 +1,104 @@
+package top.howiehz.halo.plugin.extra.api.service.interop.runtime.spi;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.stereotype.Component;
+import org.springframework.util.ClassUtils;
+import top.howiehz.halo.plugin.extra.api.service.core.config.JsEnginePoolConfig;
+import top.howiehz.halo.plugin.extra.api.service.core.config.JsEnginePoolConfigSupplier;
+import top.howiehz.halo.plugin.extra.api.service.core.runtime.memory.MemoryPressureLevel;
+import top.howiehz.halo.plugin.extra.api.service.core.runtime.memory.MemoryPressureListener;
+import top.howiehz.halo.plugin.extra.api.service.interop.runtime.spi.impl.GraalJsScriptEngineBackend;
+import top.howiehz.halo.plugin.extra.api.service.interop.runtime.spi.impl.JavetScriptEngineBackend;
+
+/**
+ * Chooses the configured {@link ScriptEngineBackend} once at startup.
+ * 在启动时根据配置选择 {@link ScriptEngineBackend}。
+ *
+ * <p>GraalJS is only used when it is configured and its runtime is packaged with the plugin;
+ * otherwise the Javet engine pool is used.</p>
+ * <p>只有在配置了 GraalJS 且插件包中包含其运行时时才会使用 GraalJS，否则使用 Javet 引擎池。</p>
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ScriptEngineBackendSelector
+    implements MemoryPressureListener, InitializingBean, DisposableBean {
+
+    private static final String GRAALJS_MARKER_CLASS =
+        "com.oracle.truffle.js.lang.JavaScriptLanguage";
+
+    private static final int DEFAULT_MAX_CONTEXTS = 2;
+
+    private final JavetScriptEngineBackend javetBackend;
+
+    private final JsEnginePoolConfigSupplier jsEnginePoolConfigSupplier;
+
+    private volatile ScriptEngineBackend backend;
+
+    @Override
+    public void afterPropertiesSet() {
+        JsEnginePoolConfig poolConfig = jsEnginePoolConfigSupplier.get()
+            .blockOptional()
+            .orElseGet(JsEnginePoolConfig::new);
+        ScriptBackendType type = ScriptBackendType.fromConfig(poolConfig.getScriptBackend());
+        backend = javetBackend;
+        if (type == ScriptBackendType.GRAALJS) {
+            if (ClassUtils.isPresent(GRAALJS_MARKER_CLASS, getClass().getClassLoader())) {
+                int maxContexts = poolConfig.getPoolMaxSize() > 0
+                    ? poolConfig.getPoolMaxSize() : DEFAULT_MAX_CONTEXTS;
+                try {
+                    backend = new GraalJsScriptEngineBackend(maxContexts,
+                        poolConfig.getEngineExecutionTimeoutMs());
+                } catch (RuntimeException | LinkageError e) {
+                    log.warn("初始化 GraalJS 后端失败，回退到 Javet: {}", e.getMessage());
+                }
+            } else {
+                log.warn("已配置 GraalJS 脚本引擎后端，但插件包中不包含 GraalJS 运行时，回退到 Javet");
+            }
+        }
+        log.info("脚本引擎后端: {}", backend.getType());
+    }
+
+    /**
+     * Get the backend in use.
+     * 获取当前使用的后端。
+     *
+     * @return script engine backend / 脚本引擎后端
+     */
+    public ScriptEngineBackend getBackend() {
+        return backend;
+    }
+
+    @Override
+    public String getMemoryPressureComponentName() {
+        return "script-engine-backend";
+    }
+
+    /**
+     * Close idle GraalJS contexts at the critical level; the Javet backend shares the engine
+     * pool, which handles memory pressure itself.
+     * 严重等级时关闭空闲的 GraalJS 上下文；Javet 后端与引擎池共用引擎，由引擎池自行处理内存压力。
+     *
+     * @param level current pressure level / 当前压力等级
+     * @return description of the action taken / 已执行操作的描述
+     */
+    @Override
+    public String onMemoryPressure(MemoryPressureLevel level) {
+        if (level != MemoryPressureLevel.CRITICAL
+            || !(backend instanceof GraalJsScriptEngineBackend graalJsBackend)) {
+            return null;
+        }
+        int closed = graalJsBackend.closeIdleSessions();
+        return closed > 0 ? "关闭 " + closed + " 个空闲 GraalJS 上下文" : null;
+    }
+
+    @Override
+    public void destroy() throws Exception {
+        if (backend instanceof AutoCloseable closeable) {
+            closeable.close();
+        }
+    }
+}
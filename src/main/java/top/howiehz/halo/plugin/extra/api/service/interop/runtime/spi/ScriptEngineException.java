@@ -0,0 +1,16 @@
+package top.howiehz.halo.plugin.extra.api.service.interop.runtime.spi;
+
+/**
+ * Raised when a script engine backend fails to acquire an engine, load a module or run a call.
+ * 脚本引擎后端获取引擎、加载模块或执行调用失败时抛出。
+ */
+public class ScriptEngineException extends RuntimeException {
+
+    public ScriptEngineException(String message) {
+        super(message);
+    }
+
+    public ScriptEngineException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
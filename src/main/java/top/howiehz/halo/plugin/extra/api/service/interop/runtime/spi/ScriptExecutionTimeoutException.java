@@ -0,0 +1,20 @@
+package top.howiehz.halo.plugin.extra.api.service.interop.runtime.spi;
+
+/**
+ * Raised when a script call is terminated after exceeding its execution deadline.
+ * 脚本调用因超过执行截止时间被终止时抛出。
+ *
+ * <p>Every backend reports deadline terminations with this type, so callers can tell them
+ * apart from script errors regardless of the engine in use.</p>
+ * <p>各后端均以该类型报告截止时间终止，调用方无需关心所用引擎即可将其与脚本错误区分开。</p>
+ */
+public class ScriptExecutionTimeoutException extends ScriptEngineException {
+
+    public ScriptExecutionTimeoutException(long timeoutMillis, Throwable cause) {
+        this("Script execution exceeded " + timeoutMillis + "ms and was terminated", cause);
+    }
+
+    protected ScriptExecutionTimeoutException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
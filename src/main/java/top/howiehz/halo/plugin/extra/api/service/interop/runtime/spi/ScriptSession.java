@@ -0,0 +1,58 @@
+package top.howiehz.halo.plugin.extra.api.service.interop.runtime.spi;
+
+/**
+ * A borrowed engine of a {@link ScriptEngineBackend}, valid only inside the session operation.
+ * 从 {@link ScriptEngineBackend} 借出的引擎，仅在会话操作内有效。
+ *
+ * <p>Values crossing the boundary are backend neutral: {@code String}, {@code Number},
+ * {@code Boolean}, {@code null}, {@code List}, {@code Map<String, ?>} and {@code byte[]}
+ * (a {@code Uint8Array} in JS). A promise returned by a function is awaited before the call
+ * returns.</p>
+ * <p>跨边界传递的值与后端无关：字符串、数字、布尔值、null、List、Map 以及 byte[]（在 JS 中为
+ * {@code Uint8Array}）。函数返回 Promise 时会等待其结束后再返回。</p>
+ */
+public interface ScriptSession {
+
+    /**
+     * Call a global function.
+     * 调用全局函数。
+     *
+     * @param functionName global function name / 全局函数名
+     * @param args arguments / 参数
+     * @return converted result / 转换后的结果
+     * @throws ScriptEngineException when the function is missing or the call fails /
+     * 函数不存在或调用失败时抛出
+     */
+    Object call(String functionName, Object... args);
+
+    /**
+     * Call a global function that returns a string.
+     * 调用返回字符串的全局函数。
+     *
+     * @param functionName global function name / 全局函数名
+     * @param args arguments / 参数
+     * @return string result / 字符串结果
+     */
+    default String callForString(String functionName, Object... args) {
+        Object result = call(functionName, args);
+        return result == null ? null : result.toString();
+    }
+
+    /**
+     * Call a global function that returns a {@code Uint8Array}.
+     * 调用返回 {@code Uint8Array} 的全局函数。
+     *
+     * @param functionName global function name / 全局函数名
+     * @param args arguments / 参数
+     * @return bytes of the result / 结果字节
+     * @throws ScriptEngineException when the result is not a byte buffer / 结果不是字节缓冲区时抛出
+     */
+    default byte[] callForBytes(String functionName, Object... args) {
+        Object result = call(functionName, args);
+        if (result instanceof byte[] bytes) {
+            return bytes;
+        }
+        throw new ScriptEngineException(
+            "Expected a Uint8Array result from " + functionName + ", got " + result);
+    }
+}
@@ -0,0 +1,428 @@
+package top.howiehz.halo.plugin.extra.api.service.interop.runtime.spi.impl;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import lombok.extern.slf4j.Slf4j;
+import org.graalvm.polyglot.Context;
+import org.graalvm.polyglot.Engine;
+import org.graalvm.polyglot.PolyglotException;
+import org.graalvm.polyglot.Source;
+import org.graalvm.polyglot.Value;
+import org.graalvm.polyglot.proxy.ProxyArray;
+import org.graalvm.polyglot.proxy.ProxyExecutable;
+import org.graalvm.polyglot.proxy.ProxyObject;
+import top.howiehz.halo.plugin.extra.api.service.interop.runtime.module.JsModule;
+import top.howiehz.halo.plugin.extra.api.service.interop.runtime.module.JsModuleRegistry;
+import top.howiehz.halo.plugin.extra.api.service.interop.runtime.module.JsModuleType;
+import top.howiehz.halo.plugin.extra.api.service.interop.runtime.spi.ScriptBackendType;
+import top.howiehz.halo.plugin.extra.api.service.interop.runtime.spi.ScriptEngineBackend;
+import top.howiehz.halo.plugin.extra.api.service.interop.runtime.spi.ScriptEngineException;
+import top.howiehz.halo.plugin.extra.api.service.interop.runtime.spi.ScriptExecutionTimeoutException;
+import top.howiehz.halo.plugin.extra.api.service.interop.runtime.spi.ScriptSession;
+
+/**
+ * Script engine backend on top of GraalJS through the GraalVM Polyglot API.
+ * 基于 GraalVM Polyglot API 的 GraalJS 脚本引擎后端。
+ *
+ * <p>All contexts share one polyglot {@link Engine}, so module sources are parsed once and
+ * their compiled code is reused by every context. Contexts are pooled and each loads the
+ * declared modules it is asked for on first use, like the Javet engines do.</p>
+ * <p>所有上下文共享同一个 Polyglot {@link Engine}，模块源码只解析一次，编译结果在各上下文间复用。
+ * 上下文被池化复用，与 Javet 引擎一样在首次使用时按需加载所需的声明模块。</p>
+ *
+ * <p>Each call runs under the engine pool's execution deadline: once it passes, the context is
+ * closed and the call fails with {@link ScriptExecutionTimeoutException}, like a call terminated
+ * by the Javet watchdog.</p>
+ * <p>每次调用都受引擎池执行截止时间约束：超时后上下文被关闭，调用以
+ * {@link ScriptExecutionTimeoutException} 失败，与被 Javet 看门狗终止的调用一致。</p>
+ *
+ * <p>This class references Polyglot types directly and must only be instantiated after
+ * checking that GraalJS is on the classpath.</p>
+ * <p>该类直接引用 Polyglot 类型，只能在确认类路径中存在 GraalJS 之后实例化。</p>
+ */
+@Slf4j
+public class GraalJsScriptEngineBackend implements ScriptEngineBackend, AutoCloseable {
+
+    private static final String LANGUAGE = "js";
+
+    private static final String SHIMS_RESOURCE = "js/v8-shims.js";
+
+    private final Engine engine;
+
+    private final Semaphore permits;
+
+    private final long executionTimeoutMillis;
+
+    /**
+     * Closes contexts whose call exceeds the deadline, null when the deadline is disabled.
+     * 关闭调用超过截止时间的上下文，截止时间禁用时为 null。
+     */
+    private final ScheduledExecutorService watchdog;
+
+    private final Deque<GraalJsSession> idleSessions = new ConcurrentLinkedDeque<>();
+
+    /**
+     * Parsed sources shared by all contexts of the engine, keyed by resource name.
+     * 引擎内所有上下文共享的已解析源码，按资源名索引。
+     */
+    private final Map<String, Source> sources = new ConcurrentHashMap<>();
+
+    private final Source drainSource = Source.create(LANGUAGE, "__extraApiRunTimers()");
+
+    private volatile boolean closed;
+
+    /**
+     * Create a backend with at most the given number of concurrently used contexts.
+     * 创建最多同时使用给定数量上下文的后端。
+     *
+     * @param maxContexts max concurrently used contexts / 最大并发上下文数
+     * @param executionTimeoutMillis deadline of a single call, 0 disables it / 单次调用的截止时间，0 表示禁用
+     */
+    public GraalJsScriptEngineBackend(int maxContexts, long executionTimeoutMillis) {
+        this.engine = Engine.newBuilder(LANGUAGE)
+            .option("engine.WarnInterpreterOnly", "false")
+            .build();
+        this.permits = new Semaphore(Math.max(1, maxContexts), true);
+        this.executionTimeoutMillis = Math.max(0, executionTimeoutMillis);
+        this.watchdog = this.executionTimeoutMillis > 0
+            ? Executors.newSingleThreadScheduledExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "extra-api-graaljs-watchdog");
+                thread.setDaemon(true);
+                return thread;
+            })
+            : null;
+    }
+
+    @Override
+    public ScriptBackendType getType() {
+        return ScriptBackendType.GRAALJS;
+    }
+
+    @Override
+    public boolean isReady() {
+        return !closed;
+    }
+
+    @Override
+    public <T> T withSession(Collection<String> moduleNames, SessionOperation<T> operation) {
+        if (closed) {
+            throw new ScriptEngineException("GraalJS backend is closed");
+        }
+        try {
+            permits.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ScriptEngineException("Interrupted while waiting for a GraalJS context", e);
+        }
+        GraalJsSession session = null;
+        boolean reusable = false;
+        try {
+            session = idleSessions.pollFirst();
+            if (session == null) {
+                session = createSession();
+            }
+            session.ensureModules(moduleNames);
+            T result = operation.execute(session);
+            reusable = true;
+            return result;
+        } catch (PolyglotException e) {
+            reusable = isRecoverable(e);
+            throw new ScriptEngineException("GraalJS call failed: " + e.getMessage(), e);
+        } catch (ScriptEngineException e) {
+            reusable = !(e.getCause() instanceof PolyglotException polyglotException)
+                || isRecoverable(polyglotException);
+            throw e;
+        } finally {
+            if (session != null) {
+                if (reusable && !closed && !session.timedOut) {
+                    idleSessions.offerFirst(session);
+                } else {
+                    session.close();
+                }
+            }
+            permits.release();
+        }
+    }
+
+    private static boolean isRecoverable(PolyglotException e) {
+        return !e.isCancelled() && !e.isInternalError() && !e.isExit();
+    }
+
+    private GraalJsSession createSession() {
+        Context context = Context.newBuilder(LANGUAGE).engine(engine).build();
+        try {
+            context.eval(source(SHIMS_RESOURCE, JsModuleType.UMD));
+            return new GraalJsSession(context);
+        } catch (RuntimeException e) {
+            context.close();
+            throw e;
+        }
+    }
+
+    private Source source(String resource, JsModuleType type) {
+        return sources.computeIfAbsent(resource, key -> {
+            Source.Builder builder =
+                Source.newBuilder(LANGUAGE, readResource(key), key.substring(key.indexOf('/') + 1));
+            if (type == JsModuleType.ESM) {
+                builder.mimeType("application/javascript+module");
+            }
+            return builder.buildLiteral();
+        });
+    }
+
+    private static String readResource(String resource) {
+        try (InputStream input =
+                 GraalJsScriptEngineBackend.class.getClassLoader().getResourceAsStream(resource)) {
+            if (input == null) {
+                throw new ScriptEngineException("找不到资源文件 " + resource);
+            }
+            return new String(input.readAllBytes(), StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            throw new ScriptEngineException("读取资源文件失败: " + resource, e);
+        }
+    }
+
+    /**
+     * Close idle contexts to release their heap; new contexts are created on demand.
+     * 关闭空闲上下文以释放其堆内存，之后按需重新创建。
+     *
+     * @return number of closed contexts / 关闭的上下文数量
+     */
+    public int closeIdleSessions() {
+        int closedCount = 0;
+        GraalJsSession session;
+        while ((session = idleSessions.pollFirst()) != null) {
+            session.close();
+            closedCount++;
+        }
+        return closedCount;
+    }
+
+    /**
+     * Close idle contexts and the shared engine; contexts in use are closed when returned.
+     * 关闭空闲上下文与共享引擎；正在使用的上下文会在归还时关闭。
+     */
+    @Override
+    public void close() {
+        closed = true;
+        if (watchdog != null) {
+            watchdog.shutdownNow();
+        }
+        closeIdleSessions();
+        try {
+            engine.close(true);
+        } catch (RuntimeException e) {
+            log.warn("关闭 GraalJS 引擎失败: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Session over one pooled context.
+     * 基于单个池化上下文的会话。
+     */
+    private final class GraalJsSession implements ScriptSession {
+
+        private final Context context;
+
+        private final Set<String> loadedModules = ConcurrentHashMap.newKeySet();
+
+        /**
+         * Set by the watchdog before it closes the context.
+         * 看门狗关闭上下文前设置。
+         */
+        private volatile boolean timedOut;
+
+        private GraalJsSession(Context context) {
+            this.context = context;
+        }
+
+        void ensureModules(Collection<String> moduleNames) {
+            for (String moduleName : moduleNames) {
+                if (loadedModules.contains(moduleName)) {
+                    continue;
+                }
+                JsModule module = JsModuleRegistry.getDefault().find(moduleName);
+                if (module == null) {
+                    throw new ScriptEngineException("JS module not declared: " + moduleName);
+                }
+                long startNanos = System.nanoTime();
+                context.eval(source("js/" + module.getFileName(), module.getType()));
+                loadedModules.add(moduleName);
+                log.debug("模块 {} 已加载到 GraalJS 上下文，耗时 {}ms", moduleName,
+                    (System.nanoTime() - startNanos) / 1_000_000);
+            }
+        }
+
+        @Override
+        public Object call(String functionName, Object... args) {
+            Value function = context.getBindings(LANGUAGE).getMember(functionName);
+            if (function == null || !function.canExecute()) {
+                throw new ScriptEngineException("JS function not found: " + functionName);
+            }
+            Object[] converted = new Object[args.length];
+            for (int i = 0; i < args.length; i++) {
+                converted[i] = toGuest(args[i]);
+            }
+            ScheduledFuture<?> deadline = armDeadline();
+            Object outcome;
+            try {
+                Value result = function.execute(converted);
+                outcome = isThenable(result) ? await(result) : toJava(result);
+            } catch (RuntimeException e) {
+                if (timedOut) {
+                    throw new ScriptExecutionTimeoutException(executionTimeoutMillis, e);
+                }
+                if (e instanceof PolyglotException) {
+                    throw new ScriptEngineException(
+                        "JS call " + functionName + " failed: " + e.getMessage(), e);
+                }
+                throw e;
+            } finally {
+                if (deadline != null) {
+                    deadline.cancel(false);
+                }
+            }
+            if (timedOut) {
+                // 关闭可能恰好发生在调用返回前，此时结果不可信
+                throw new ScriptExecutionTimeoutException(executionTimeoutMillis, null);
+            }
+            return outcome;
+        }
+
+        /**
+         * Schedule closing this context once the call deadline passes.
+         * 安排在调用截止时间到达后关闭该上下文。
+         *
+         * @return scheduled deadline, or null when the deadline is disabled / 已安排的截止任务，禁用时为 null
+         */
+        private ScheduledFuture<?> armDeadline() {
+            if (watchdog == null) {
+                return null;
+            }
+            return watchdog.schedule(() -> {
+                timedOut = true;
+                log.warn("GraalJS 调用超过 {}ms 执行截止时间，已终止上下文", executionTimeoutMillis);
+                close();
+            }, executionTimeoutMillis, TimeUnit.MILLISECONDS);
+        }
+
+        private static boolean isThenable(Value value) {
+            return value.hasMembers() && value.hasMember("then")
+                && value.getMember("then").canExecute();
+        }
+
+        private Object await(Value promise) {
+            Object[] outcome = new Object[1];
+            String[] failure = new String[1];
+            boolean[] settled = new boolean[1];
+            ProxyExecutable onFulfilled = arguments -> {
+                outcome[0] = arguments.length > 0 ? toJava(arguments[0]) : null;
+                settled[0] = true;
+                return null;
+            };
+            ProxyExecutable onRejected = arguments -> {
+                failure[0] = arguments.length > 0 ? arguments[0].toString() : "undefined";
+                settled[0] = true;
+                return null;
+            };
+            promise.invokeMember("then", onFulfilled, onRejected);
+            // GraalJS 在每次宿主调用返回前执行任务队列，这里反复推进垫片中已到期的定时器直到 Promise 结束；
+            // 永不结束的 Promise 由调用截止时间终止
+            while (!settled[0]) {
+                context.eval(drainSource);
+            }
+            if (failure[0] != null) {
+                throw new ScriptEngineException("JS promise failed: " + failure[0]);
+            }
+            return outcome[0];
+        }
+
+        private Object toGuest(Object value) {
+            if (value instanceof byte[] bytes) {
+                Value array = context.getBindings(LANGUAGE).getMember("Uint8Array")
+                    .newInstance(bytes.length);
+                for (int i = 0; i < bytes.length; i++) {
+                    array.setArrayElement(i, bytes[i] & 0xff);
+                }
+                return array;
+            }
+            if (value instanceof Map<?, ?> map) {
+                Map<String, Object> converted = new LinkedHashMap<>(map.size());
+                map.forEach((key, item) -> converted.put(String.valueOf(key), toGuest(item)));
+                return ProxyObject.fromMap(converted);
+            }
+            if (value instanceof List<?> list) {
+                List<Object> converted = new ArrayList<>(list.size());
+                list.forEach(item -> converted.add(toGuest(item)));
+                return ProxyArray.fromList(converted);
+            }
+            return value;
+        }
+
+        private static Object toJava(Value value) {
+            if (value == null || value.isNull()) {
+                return null;
+            }
+            if (value.isString()) {
+                return value.asString();
+            }
+            if (value.isBoolean()) {
+                return value.asBoolean();
+            }
+            if (value.isNumber()) {
+                if (value.fitsInInt()) {
+                    return value.asInt();
+                }
+                return value.fitsInLong() ? value.asLong() : value.asDouble();
+            }
+            if (value.hasArrayElements()) {
+                Value meta = value.getMetaObject();
+                boolean bytes = meta != null && "Uint8Array".equals(meta.getMetaSimpleName());
+                int size = (int) value.getArraySize();
+                if (bytes) {
+                    byte[] result = new byte[size];
+                    for (int i = 0; i < size; i++) {
+                        result[i] = (byte) value.getArrayElement(i).asInt();
+                    }
+                    return result;
+                }
+                List<Object> result = new ArrayList<>(size);
+                for (int i = 0; i < size; i++) {
+                    result.add(toJava(value.getArrayElement(i)));
+                }
+                return result;
+            }
+            if (value.hasMembers() && !value.canExecute()) {
+                Map<String, Object> result = new LinkedHashMap<>();
+                for (String key : value.getMemberKeys()) {
+                    result.put(key, toJava(value.getMember(key)));
+                }
+                return result;
+            }
+            return value.toString();
+        }
+
+        void close() {
+            try {
+                context.close(true);
+            } catch (RuntimeException e) {
+                log.debug("关闭 GraalJS 上下文失败: {}", e.getMessage());
+            }
+        }
+    }
+}
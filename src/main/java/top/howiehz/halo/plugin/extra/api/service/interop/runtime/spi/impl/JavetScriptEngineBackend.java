@@ -0,0 +1,149 @@
+package top.howiehz.halo.plugin.extra.api.service.interop.runtime.spi.impl;
+
+import com.caoccao.javet.enums.V8ValueReferenceType;
+import com.caoccao.javet.exceptions.JavetException;
+import com.caoccao.javet.interop.V8Runtime;
+import com.caoccao.javet.values.V8Value;
+import com.caoccao.javet.values.reference.V8ValueFunction;
+import com.caoccao.javet.values.reference.V8ValueObject;
+import com.caoccao.javet.values.reference.V8ValuePromise;
+import com.caoccao.javet.values.reference.V8ValueTypedArray;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import top.howiehz.halo.plugin.extra.api.service.interop.runtime.engine.CustomJavetEngine;
+import top.howiehz.halo.plugin.extra.api.service.interop.runtime.engine.V8EnginePoolService;
+import top.howiehz.halo.plugin.extra.api.service.interop.runtime.engine.V8PromiseBridge;
+import top.howiehz.halo.plugin.extra.api.service.interop.runtime.spi.ScriptBackendType;
+import top.howiehz.halo.plugin.extra.api.service.interop.runtime.spi.ScriptEngineBackend;
+import top.howiehz.halo.plugin.extra.api.service.interop.runtime.spi.ScriptEngineException;
+import top.howiehz.halo.plugin.extra.api.service.interop.runtime.spi.ScriptSession;
+
+/**
+ * Script engine backend on top of the existing Javet engine pool.
+ * 基于现有 Javet 引擎池的脚本引擎后端，沿用引擎池的调度、看门狗与回收机制。
+ */
+@Component
+@RequiredArgsConstructor
+public class JavetScriptEngineBackend implements ScriptEngineBackend {
+
+    private final V8EnginePoolService enginePoolService;
+
+    @Override
+    public ScriptBackendType getType() {
+        return ScriptBackendType.JAVET;
+    }
+
+    @Override
+    public boolean isReady() {
+        return enginePoolService.isReady();
+    }
+
+    @Override
+    public <T> T withSession(Collection<String> moduleNames, SessionOperation<T> operation) {
+        try {
+            return enginePoolService.withModules(moduleNames,
+                (engine, runtime) -> operation.execute(openSession(engine)));
+        } catch (JavetException e) {
+            throw new ScriptEngineException("Javet call failed: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Open a session over an engine the caller already holds.
+     * 基于调用方已持有的引擎打开会话。
+     *
+     * @param engine held engine / 已持有的引擎
+     * @return session / 会话
+     */
+    static ScriptSession openSession(CustomJavetEngine engine) {
+        return new JavetSession(engine, engine.getV8Runtime());
+    }
+
+    /**
+     * Session over one borrowed engine.
+     * 基于单个借出引擎的会话。
+     *
+     * <p>Functions declared by a binding definition are called through the handles the engine
+     * already cached; other names are looked up on the global object per call.</p>
+     * <p>由绑定定义声明的函数通过引擎已缓存的句柄调用，其他函数名在每次调用时从全局对象查找。</p>
+     */
+    private record JavetSession(CustomJavetEngine engine, V8Runtime runtime)
+        implements ScriptSession {
+
+        @Override
+        public Object call(String functionName, Object... args) {
+            List<V8Value> buffers = new ArrayList<>();
+            try {
+                Object[] converted = new Object[args.length];
+                for (int i = 0; i < args.length; i++) {
+                    if (args[i] instanceof byte[] bytes) {
+                        V8ValueTypedArray array = runtime.createV8ValueTypedArray(
+                            V8ValueReferenceType.Uint8Array, bytes.length);
+                        array.fromBytes(bytes);
+                        buffers.add(array);
+                        converted[i] = array;
+                    } else {
+                        converted[i] = args[i];
+                    }
+                }
+                V8ValueFunction cached = engine.findFunction(functionName);
+                if (cached != null) {
+                    return invoke(cached, converted);
+                }
+                try (V8ValueObject global = runtime.getGlobalObject();
+                     V8Value value = global.get(functionName)) {
+                    if (!(value instanceof V8ValueFunction function)) {
+                        throw new ScriptEngineException("JS function not found: " + functionName);
+                    }
+                    return invoke(function, converted);
+                }
+            } catch (JavetException e) {
+                throw new ScriptEngineException(
+                    "JS call " + functionName + " failed: " + e.getMessage(), e);
+            } finally {
+                for (V8Value buffer : buffers) {
+                    try {
+                        buffer.close();
+                    } catch (JavetException ignored) {
+                        // 运行时关闭时缓冲区会一并释放
+                    }
+                }
+            }
+        }
+
+        private Object invoke(V8ValueFunction function, Object[] args) throws JavetException {
+            try (V8Value result = function.call(null, args)) {
+                return result instanceof V8ValuePromise promise
+                    ? await(promise) : toJava(runtime, result);
+            }
+        }
+
+        private Object await(V8ValuePromise promise) throws JavetException {
+            CompletableFuture<Object> future = new CompletableFuture<>();
+            // 截止时间由引擎池的看门狗负责，调用被终止后停止等待
+            V8PromiseBridge.settle(runtime, promise, (result, owner) -> toJava(owner, result),
+                future, engine::isTimedOut, 0);
+            if (!future.isDone()) {
+                throw new ScriptEngineException("JS promise did not settle before the call ended");
+            }
+            try {
+                return future.join();
+            } catch (CompletionException e) {
+                throw new ScriptEngineException("JS promise failed: " + e.getCause().getMessage(),
+                    e.getCause());
+            }
+        }
+
+        private static Object toJava(V8Runtime runtime, V8Value value) throws JavetException {
+            if (value instanceof V8ValueTypedArray typedArray) {
+                return typedArray.toBytes();
+            }
+            return runtime.toObject(value);
+        }
+    }
+}
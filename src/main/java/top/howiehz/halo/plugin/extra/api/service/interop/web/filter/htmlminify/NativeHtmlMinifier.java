@@ -2,31 +2,56 @@ package top.howiehz.halo.plugin.extra.api.service.interop.web.filter.htmlminify;
 
 import in.wilsonl.minifyhtml.Configuration;
 import in.wilsonl.minifyhtml.MinifyHtml;
-import org.springframework.stereotype.Service;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import top.howiehz.halo.plugin.extra.api.service.core.web.filter.htmlminify.HtmlMinifier;
+import top.howiehz.halo.plugin.extra.api.service.core.web.filter.htmlminify.HtmlMinifyConfig;
 
 /**
- * Service for minifying HTML responses with minify-html JNI bindings.
- * 使用 minify-html JNI 绑定压缩 HTML 响应的服务。
+ * HTML minifier backed by the minify-html JNI bindings.
+ * 基于 minify-html JNI 绑定的 HTML 压缩实现。
+ *
+ * <p>The native library is probed once on creation; platforms without a native build fall
+ * back to the pure-Java minifier.</p>
+ * <p>创建时探测一次原生库；没有对应原生构建的平台会回退到纯 Java 实现。</p>
  */
-@Service
-public class HtmlMinifyService {
-
-    /**
-     * Minify HTML with the configured options.
-     * 使用指定配置压缩 HTML。
-     *
-     * @param html HTML source / HTML 源码
-     * @param config minify configuration / 压缩配置
-     * @return minified HTML / 压缩后的 HTML
-     */
+@Slf4j
+@Component
+public class NativeHtmlMinifier implements HtmlMinifier {
+
+    private final boolean available;
+
+    public NativeHtmlMinifier() {
+        this.available = probe();
+    }
+
+    @Override
+    public String getName() {
+        return "minify-html";
+    }
+
+    @Override
+    public boolean isAvailable() {
+        return available;
+    }
+
+    @Override
     public String minify(String html, HtmlMinifyConfig config) {
-        if (html == null || html.isBlank()) {
-            return html;
-        }
         return MinifyHtml.minify(html, buildNativeConfiguration(config));
     }
 
-    private Configuration buildNativeConfiguration(HtmlMinifyConfig config) {
+    private static boolean probe() {
+        try {
+            MinifyHtml.minify("<p> </p>", new Configuration.Builder().build());
+            return true;
+        } catch (LinkageError e) {
+            log.info("minify-html 原生库不可用，HTML 页面压缩将使用纯 Java 实现: {}",
+                e.getMessage());
+            return false;
+        }
+    }
+
+    private static Configuration buildNativeConfiguration(HtmlMinifyConfig config) {
         return new Configuration.Builder()
             .setAllowNoncompliantUnquotedAttributeValues(
                 config.isAllowNoncompliantUnquotedAttributeValues())
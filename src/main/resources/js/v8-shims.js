@@ -0,0 +1,136 @@
+// 纯 V8 运行时垫片：补齐 Shiki 依赖但 ECMAScript 本身不提供的宿主 API。
+// console 由 Java 侧的 JavetStandardConsoleInterceptor 注册，这里不重复定义。
+(function (global) {
+  if (typeof global.TextEncoder === "undefined") {
+    class TextEncoder {
+      get encoding() {
+        return "utf-8";
+      }
+
+      encode(input = "") {
+        const str = String(input);
+        const bytes = [];
+        for (let i = 0; i < str.length; i++) {
+          let code = str.codePointAt(i);
+          if (code > 0xffff) {
+            i++;
+          }
+          if (code < 0x80) {
+            bytes.push(code);
+          } else if (code < 0x800) {
+            bytes.push(0xc0 | (code >> 6), 0x80 | (code & 0x3f));
+          } else if (code < 0x10000) {
+            bytes.push(0xe0 | (code >> 12), 0x80 | ((code >> 6) & 0x3f), 0x80 | (code & 0x3f));
+          } else {
+            bytes.push(
+              0xf0 | (code >> 18),
+              0x80 | ((code >> 12) & 0x3f),
+              0x80 | ((code >> 6) & 0x3f),
+              0x80 | (code & 0x3f),
+            );
+          }
+        }
+        return new Uint8Array(bytes);
+      }
+    }
+    global.TextEncoder = TextEncoder;
+  }
+
+  if (typeof global.TextDecoder === "undefined") {
+    class TextDecoder {
+      get encoding() {
+        return "utf-8";
+      }
+
+      decode(input) {
+        if (input === undefined) {
+          return "";
+        }
+        const bytes = input instanceof Uint8Array ? input : new Uint8Array(input.buffer || input);
+        let out = "";
+        let i = 0;
+        while (i < bytes.length) {
+          const b = bytes[i++];
+          let code;
+          if (b < 0x80) {
+            code = b;
+          } else if (b < 0xe0) {
+            code = ((b & 0x1f) << 6) | (bytes[i++] & 0x3f);
+          } else if (b < 0xf0) {
+            code = ((b & 0x0f) << 12) | ((bytes[i++] & 0x3f) << 6) | (bytes[i++] & 0x3f);
+          } else {
+            code =
+              ((b & 0x07) << 18) |
+              ((bytes[i++] & 0x3f) << 12) |
+              ((bytes[i++] & 0x3f) << 6) |
+              (bytes[i++] & 0x3f);
+          }
+          out += String.fromCodePoint(code);
+        }
+        return out;
+      }
+    }
+    global.TextDecoder = TextDecoder;
+  }
+
+  // 定时器垫片：按到期时间排序的队列，时钟单调不减。到期的定时器在微任务中执行；
+  // 尚未到期的定时器没有宿主事件循环驱动，由 Java 侧在事件循环空闲时调用 __extraApiRunTimers() 推进，
+  // 其返回值为距下一个定时器到期的毫秒数，没有待执行的定时器时为 -1
+  if (typeof global.setTimeout === "undefined") {
+    const clock =
+      typeof global.performance?.now === "function" ? () => global.performance.now() : Date.now;
+    const timers = [];
+    let nextId = 1;
+    let lastNow = 0;
+    let drainScheduled = false;
+
+    const now = () => {
+      lastNow = Math.max(lastNow, clock());
+      return lastNow;
+    };
+
+    const runDueTimers = () => {
+      drainScheduled = false;
+      while (timers.length > 0 && timers[0].due <= now()) {
+        const timer = timers.shift();
+        try {
+          timer.callback(...timer.args);
+        } catch (error) {
+          global.console?.error?.(error);
+        }
+      }
+      return timers.length > 0 ? Math.ceil(Math.max(0, timers[0].due - now())) : -1;
+    };
+
+    const scheduleDrain = () => {
+      if (!drainScheduled) {
+        drainScheduled = true;
+        Promise.resolve().then(runDueTimers);
+      }
+    };
+
+    global.setTimeout = function (callback, delay, ...args) {
+      const id = nextId++;
+      const due = now() + Math.max(0, Number(delay) || 0);
+      // 到期时间相同时保持创建顺序
+      let index = timers.length;
+      while (index > 0 && timers[index - 1].due > due) {
+        index--;
+      }
+      timers.splice(index, 0, { id, due, callback, args });
+      if (due <= lastNow) {
+        scheduleDrain();
+      }
+      return id;
+    };
+    global.clearTimeout = function (id) {
+      const index = timers.findIndex((timer) => timer.id === id);
+      if (index >= 0) {
+        timers.splice(index, 1);
+      }
+    };
+    global.setImmediate = (callback, ...args) => global.setTimeout(callback, 0, ...args);
+    global.clearImmediate = global.clearTimeout;
+    global.__extraApiRunTimers = runDueTimers;
+  }
+})(globalThis);
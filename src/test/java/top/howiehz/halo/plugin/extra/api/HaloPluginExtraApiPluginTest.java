@@ -6,8 +6,10 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.beans.factory.ObjectProvider;
 import run.halo.app.plugin.PluginContext;
 import top.howiehz.halo.plugin.extra.api.service.core.post.stats.PostWordCountService;
+import top.howiehz.halo.plugin.extra.api.service.core.runtime.NativeLibraryReport;
 import top.howiehz.halo.plugin.extra.api.service.interop.runtime.adapters.shiki.ShikiHighlightService;
 import top.howiehz.halo.plugin.extra.api.service.interop.runtime.engine.V8EnginePoolService;
 
@@ -20,6 +22,9 @@ class HaloPluginExtraApiPluginTest {
     @Mock
     PostWordCountService postWordCountService;
 
+    @Mock
+    ObjectProvider<NativeLibraryReport> nativeLibraryReport;
+
     @Mock
     V8EnginePoolService enginePoolService;
 
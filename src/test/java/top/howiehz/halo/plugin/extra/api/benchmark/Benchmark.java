@@ -0,0 +1,20 @@
+package top.howiehz.halo.plugin.extra.api.benchmark;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+/**
+ * Marks a benchmark class, which is skipped by default.
+ * 标记默认跳过的基准测试类。
+ *
+ * <p>Run with {@code ./gradlew test -Pbenchmark --tests '*Benchmark*'}.</p>
+ * <p>使用 {@code ./gradlew test -Pbenchmark --tests '*Benchmark*'} 运行。</p>
+ */
+@Target(ElementType.TYPE)
+@Retention(RetentionPolicy.RUNTIME)
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+public @interface Benchmark {
+}
@@ -0,0 +1,76 @@
+package top.howiehz.halo.plugin.extra.api.benchmark;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Locale;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Fixtures and reporting shared by the benchmarks.
+ * 基准测试共用的样例数据与结果输出。
+ */
+@Slf4j
+public final class BenchmarkSupport {
+
+    /**
+     * Java snippet highlighted by the script engine benchmarks.
+     * 脚本引擎基准测试高亮的 Java 代码片段。
+     */
+    public static final String SAMPLE_CODE = """
+        public class Hello {
+            public static void main(String[] args) {
+                System.out.println("Hello, world!");
+            }
+        }
+        """;
+
+    private BenchmarkSupport() {
+    }
+
+    /**
+     * Read the resident set size of this process.
+     * 读取当前进程的常驻内存大小。
+     *
+     * @return RSS in bytes, or -1 where {@code /proc} is unavailable / 常驻内存字节数，无
+     * {@code /proc} 时返回 -1
+     * @throws IOException if the status file cannot be read / 状态文件读取失败时抛出
+     */
+    public static long readRssBytes() throws IOException {
+        Path status = Path.of("/proc/self/status");
+        if (!Files.exists(status)) {
+            return -1;
+        }
+        for (String line : Files.readAllLines(status)) {
+            if (line.startsWith("VmRSS:")) {
+                return Long.parseLong(line.replaceAll("\\D+", "")) * 1024;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Format the RSS growth between two readings, split across the given number of units.
+     * 格式化两次读取之间的常驻内存增长，按给定数量平均分摊。
+     *
+     * @param before reading before the measured step / 测量前的读数
+     * @param after reading after the measured step / 测量后的读数
+     * @param units number of units sharing the growth / 分摊增长的数量
+     * @return growth in MB, or {@code n/a} / 以 MB 表示的增长，无法读取时为 {@code n/a}
+     */
+    public static String formatRssGrowth(long before, long after, int units) {
+        return before < 0 || after < 0
+            ? "n/a" : ((after - before) / Math.max(1, units) / 1024 / 1024) + "MB";
+    }
+
+    /**
+     * Report a benchmark result through the test logger.
+     * 通过测试日志输出基准测试结果。
+     *
+     * @param format {@link String#format} pattern / {@link String#format} 格式
+     * @param args format arguments / 格式参数
+     */
+    public static void report(String format, Object... args) {
+        log.info(String.format(Locale.ROOT, format, args));
+    }
+}
@@ -1,8 +1,17 @@
 package top.howiehz.halo.plugin.extra.api.finder.core.impl;
 
+import java.util.concurrent.atomic.AtomicBoolean;
 import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import top.howiehz.halo.plugin.extra.api.service.core.config.MemoryPressureConfigSupplier;
+import top.howiehz.halo.plugin.extra.api.service.core.runtime.JsEngineReadiness;
+import top.howiehz.halo.plugin.extra.api.service.core.runtime.memory.MemoryPressureLevel;
+import top.howiehz.halo.plugin.extra.api.service.core.runtime.memory.MemoryPressureListener;
+import top.howiehz.halo.plugin.extra.api.service.core.runtime.memory.MemoryPressureMonitor;
+import top.howiehz.halo.plugin.extra.api.service.core.runtime.memory.MemoryPressureStats;
 
 import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
 
 /**
  * Plugin Version Finder Test - 插件版本检测器测试
@@ -10,7 +19,12 @@ import static org.junit.jupiter.api.Assertions.*;
  */
 class ExtraApiPluginInfoFinderImplTest {
 
-    private final ExtraApiPluginInfoFinderImpl finder = new ExtraApiPluginInfoFinderImpl();
+    private final StaticListableBeanFactory beanFactory = new StaticListableBeanFactory();
+
+    private final ExtraApiPluginInfoFinderImpl finder =
+        new ExtraApiPluginInfoFinderImpl(beanFactory.getBeanProvider(JsEngineReadiness.class),
+            new MemoryPressureMonitor(mock(MemoryPressureConfigSupplier.class),
+                beanFactory.getBeanProvider(MemoryPressureListener.class)));
 
     @Test
     void shouldDetectFullVersionWhenV8ServiceExists() {
@@ -48,4 +62,30 @@ class ExtraApiPluginInfoFinderImplTest {
         assertTrue(secondResult);
         assertEquals(firstResult, secondResult, "Results should be consistent (cached)");
     }
+
+    @Test
+    void shouldReportNotReadyWithoutEngine() {
+        // 没有注册引擎就绪状态（如轻量版）时应返回 false
+        assertFalse(finder.isJavaScriptReady().block());
+    }
+
+    @Test
+    void shouldFollowEngineReadiness() {
+        AtomicBoolean ready = new AtomicBoolean(false);
+        beanFactory.addBean("jsEngineReadiness", (JsEngineReadiness) ready::get);
+
+        assertFalse(finder.isJavaScriptReady().block());
+        ready.set(true);
+        assertTrue(finder.isJavaScriptReady().block(), "Readiness should not be cached");
+    }
+
+    @Test
+    void shouldReportMemoryPressureStatsBeforeFirstCheck() {
+        MemoryPressureStats stats = finder.getMemoryPressureStats().block();
+
+        assertNotNull(stats);
+        assertFalse(stats.enabled());
+        assertEquals(MemoryPressureLevel.NORMAL, stats.level());
+        assertTrue(stats.recentActions().isEmpty());
+    }
 }
@@ -0,0 +1,33 @@
+package top.howiehz.halo.plugin.extra.api.service.core.runtime.memory;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static top.howiehz.halo.plugin.extra.api.service.core.runtime.memory.MemoryPressureLevel.CRITICAL;
+import static top.howiehz.halo.plugin.extra.api.service.core.runtime.memory.MemoryPressureLevel.ELEVATED;
+import static top.howiehz.halo.plugin.extra.api.service.core.runtime.memory.MemoryPressureLevel.NORMAL;
+
+import org.junit.jupiter.api.Test;
+
+class MemoryPressureMonitorTest {
+
+    @Test
+    void shouldUseHigherOfHeapAndRssUsage() {
+        assertEquals(NORMAL, MemoryPressureMonitor.evaluate(NORMAL, 0.5, 0.6, 0.8, 0.9));
+        assertEquals(ELEVATED, MemoryPressureMonitor.evaluate(NORMAL, 0.5, 0.85, 0.8, 0.9));
+        assertEquals(CRITICAL, MemoryPressureMonitor.evaluate(NORMAL, 0.95, 0.1, 0.8, 0.9));
+    }
+
+    @Test
+    void shouldIgnoreUnknownUsage() {
+        assertEquals(NORMAL, MemoryPressureMonitor.evaluate(CRITICAL, -1, -1, 0.8, 0.9));
+        assertEquals(ELEVATED, MemoryPressureMonitor.evaluate(NORMAL, -1, 0.82, 0.8, 0.9));
+    }
+
+    @Test
+    void shouldOnlyLowerLevelBelowHysteresis() {
+        assertEquals(CRITICAL, MemoryPressureMonitor.evaluate(CRITICAL, 0.87, -1, 0.8, 0.9));
+        assertEquals(ELEVATED, MemoryPressureMonitor.evaluate(CRITICAL, 0.84, -1, 0.8, 0.9));
+        assertEquals(ELEVATED, MemoryPressureMonitor.evaluate(ELEVATED, 0.77, -1, 0.8, 0.9));
+        assertEquals(NORMAL, MemoryPressureMonitor.evaluate(ELEVATED, 0.74, -1, 0.8, 0.9));
+        assertEquals(NORMAL, MemoryPressureMonitor.evaluate(NORMAL, 0.79, -1, 0.8, 0.9));
+    }
+}
@@ -0,0 +1,64 @@
+package top.howiehz.halo.plugin.extra.api.service.core.web.filter.htmlminify;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+
+class AssetMinifierTest {
+
+    @Test
+    void shouldRemoveCommentsAndIndentation() {
+        assertEquals("function add(a,b){return a+b}\nadd(1,2)", AssetMinifier.minifyJs("""
+            // adds two numbers
+            function add(a, b) {
+                /* no checks */
+                return a+b
+            }
+
+            add(1, 2)
+            """));
+    }
+
+    @Test
+    void shouldKeepLineBreaksThatAffectSemicolonInsertion() {
+        assertEquals("let a=b\n++c\nreturn\nx", AssetMinifier.minifyJs(
+            "let a = b\n  ++c\nreturn\n  x"));
+        assertEquals("a++ +b;c- -d", AssetMinifier.minifyJs("a++ + b; c - -d"));
+    }
+
+    @Test
+    void shouldCopyStringsTemplatesAndRegexVerbatim() {
+        assertEquals("const s='a  // b',t=`x  ${ y + `z  ${w}` }  `;",
+            AssetMinifier.minifyJs("const s = 'a  // b', t = `x  ${ y + `z  ${w}` }  `;"));
+        assertEquals("if(/a  b\\/c/.test(s))return/\\/* x/g",
+            AssetMinifier.minifyJs("if (/a  b\\/c/.test(s)) return /\\/* x/g"));
+        assertEquals("x=(a+b)/2/c", AssetMinifier.minifyJs("x = (a + b) / 2 / c"));
+    }
+
+    @Test
+    void shouldKeepLicenseComments() {
+        assertEquals("/*! lib v1 */\nvar a=1", AssetMinifier.minifyJs(
+            "/*! lib v1 */ var a = 1 // trailing"));
+    }
+
+    @Test
+    void shouldMinifyCssLikeInlineStyles() {
+        assertEquals("a :hover{color:red}", AssetMinifier.minify(AssetMinifier.AssetType.CSS,
+            "/* theme */\na :hover {\n  color: red;\n}\n"));
+    }
+
+    @Test
+    void shouldRecognizePreminifiedAssetsAndTypes() {
+        assertTrue(AssetMinifier.isPreminified("/themes/earth/assets/dist/app.min.js"));
+        assertFalse(AssetMinifier.isPreminified("/themes/earth.min/assets/app.js"));
+        assertEquals(AssetMinifier.AssetType.CSS,
+            AssetMinifier.AssetType.of(MediaType.parseMediaType("text/css;charset=UTF-8")));
+        assertEquals(AssetMinifier.AssetType.JAVASCRIPT,
+            AssetMinifier.AssetType.of(MediaType.parseMediaType("text/javascript")));
+        assertNull(AssetMinifier.AssetType.of(MediaType.TEXT_HTML));
+    }
+}
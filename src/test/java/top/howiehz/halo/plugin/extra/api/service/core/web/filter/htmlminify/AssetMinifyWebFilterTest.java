@@ -0,0 +1,173 @@
+package top.howiehz.halo.plugin.extra.api.service.core.web.filter.htmlminify;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPInputStream;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import reactor.core.publisher.Mono;
+import top.howiehz.halo.plugin.extra.api.service.core.web.pathrule.PathRuleRegistry;
+
+class AssetMinifyWebFilterTest {
+    private static final MediaType CSS = new MediaType("text", "css", StandardCharsets.UTF_8);
+    private static final MediaType JS = MediaType.parseMediaType("text/javascript");
+    private static final String STYLE = "/* theme */\nbody {\n  color: red;\n}\n";
+
+    private HtmlMinifyConfig config;
+    private AssetMinifyWebFilter filter;
+    private HtmlMinifyCache cache;
+    private HtmlMinifyScheduler scheduler;
+
+    @BeforeEach
+    void setUp() {
+        config = new HtmlMinifyConfig();
+        config.setEnabledAssetMinify(true);
+        config.setAssetPaths(List.of("/themes/*/assets/**", "/plugins/*/assets/**"));
+        config.setPrecompressEncodings(List.of("gzip"));
+        cache = new HtmlMinifyCache();
+        scheduler = new HtmlMinifyScheduler(2, HtmlMinifyScheduler.QUEUED_TASKS_PER_THREAD);
+        filter = new AssetMinifyWebFilter(() -> Mono.just(config), cache,
+            new HtmlContentEncoder(), new PathRuleRegistry(), scheduler);
+    }
+
+    @Test
+    void shouldMinifyAndPrecompressVersionedAssetsOnce() throws IOException {
+        for (int i = 0; i < 2; i++) {
+            MockServerWebExchange exchange = serve(
+                MockServerHttpRequest.get("/themes/earth/assets/style.css?v=1.0.0")
+                    .header(HttpHeaders.ACCEPT_ENCODING, "gzip"), CSS, STYLE);
+
+            var headers = exchange.getResponse().getHeaders();
+            byte[] body = bodyOf(exchange);
+            assertEquals("gzip", headers.getFirst(HttpHeaders.CONTENT_ENCODING));
+            assertEquals(List.of(HttpHeaders.ACCEPT_ENCODING), headers.getVary());
+            assertEquals(AssetMinifyWebFilter.VERSIONED_CACHE_CONTROL, headers.getCacheControl());
+            assertEquals(body.length, headers.getContentLength());
+            assertTrue(headers.getETag().endsWith("-gzip\""));
+            try (var input = new GZIPInputStream(new ByteArrayInputStream(body))) {
+                assertEquals("body{color:red}",
+                    new String(input.readAllBytes(), StandardCharsets.UTF_8));
+            }
+        }
+        assertEquals(1, cache.size());
+        // 首次请求压缩并编码，第二次请求全部命中缓存
+        assertEquals(2, scheduler.getStats().executed());
+    }
+
+    @Test
+    void shouldOnlyMarkAssetsWithVersionQueryImmutable() {
+        MockServerWebExchange versioned = serve(
+            MockServerHttpRequest.get("/themes/earth/assets/style.css?ver=2"), CSS, STYLE);
+        MockServerWebExchange unversioned = serve(
+            MockServerHttpRequest.get("/themes/earth/assets/style.css?color=dark"), CSS, STYLE);
+
+        assertEquals(AssetMinifyWebFilter.VERSIONED_CACHE_CONTROL,
+            versioned.getResponse().getHeaders().getCacheControl());
+        assertNull(unversioned.getResponse().getHeaders().getCacheControl());
+    }
+
+    @Test
+    void shouldAnswerMatchingEtagWith304() {
+        String etag = serve(MockServerHttpRequest.get("/themes/earth/assets/app.js"), JS,
+            "var a = 1; // one\n").getResponse().getHeaders().getETag();
+
+        MockServerWebExchange exchange = serve(
+            MockServerHttpRequest.get("/themes/earth/assets/app.js").ifNoneMatch(etag), JS,
+            "var a = 1; // one\n");
+
+        assertEquals(HttpStatus.NOT_MODIFIED, exchange.getResponse().getStatusCode());
+        assertEquals(0, bodyOf(exchange).length);
+        assertNull(exchange.getResponse().getHeaders().getCacheControl());
+    }
+
+    @Test
+    void shouldOnlyPrecompressPreminifiedAssets() {
+        MockServerWebExchange exchange = serve(
+            MockServerHttpRequest.get("/plugins/demo/assets/lib.min.js"), JS, "var a = 1;\n");
+
+        assertEquals("var a = 1;\n",
+            new String(bodyOf(exchange), StandardCharsets.UTF_8));
+        assertNotNull(exchange.getResponse().getHeaders().getETag());
+    }
+
+    @Test
+    void shouldSkipExcludedPathsAndOtherContent() {
+        config.setAssetExcludePaths(List.of("/themes/legacy/**"));
+
+        MockServerWebExchange excluded = serve(
+            MockServerHttpRequest.get("/themes/legacy/assets/style.css"), CSS, STYLE);
+        MockServerWebExchange html = serve(
+            MockServerHttpRequest.get("/themes/earth/assets/page.html"), MediaType.TEXT_HTML,
+            STYLE);
+        MockServerWebExchange outside = serve(MockServerHttpRequest.get("/upload/style.css"),
+            CSS, STYLE);
+
+        for (MockServerWebExchange exchange : List.of(excluded, html, outside)) {
+            assertEquals(STYLE, new String(bodyOf(exchange), StandardCharsets.UTF_8));
+            assertNull(exchange.getResponse().getHeaders().getETag());
+        }
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    void shouldServeOriginalAssetWhenMinifySchedulerIsSaturated() {
+        scheduler = new HtmlMinifyScheduler(1, 0);
+        filter = new AssetMinifyWebFilter(() -> Mono.just(config), cache,
+            new HtmlContentEncoder(), new PathRuleRegistry(), scheduler);
+        CountDownLatch release = new CountDownLatch(1);
+        scheduler.submit(() -> release.await(5, TimeUnit.SECONDS)).subscribe();
+
+        try {
+            MockServerWebExchange exchange = serve(
+                MockServerHttpRequest.get("/themes/earth/assets/style.css"), CSS, STYLE);
+
+            assertEquals(STYLE, new String(bodyOf(exchange), StandardCharsets.UTF_8));
+            assertEquals(1, scheduler.getStats().shed());
+            assertEquals(0, cache.size());
+        } finally {
+            release.countDown();
+        }
+    }
+
+    private MockServerWebExchange serve(MockServerHttpRequest.BaseBuilder<?> request,
+        MediaType contentType, String content) {
+        MockServerWebExchange exchange = MockServerWebExchange.from(request.build());
+
+        filter.filter(exchange, decoratedExchange -> {
+            var response = decoratedExchange.getResponse();
+            response.setStatusCode(HttpStatus.OK);
+            response.getHeaders().setContentType(contentType);
+            var body = response.bufferFactory()
+                .wrap(content.getBytes(StandardCharsets.UTF_8));
+            return response.writeWith(Mono.just(body));
+        }).block();
+
+        return exchange;
+    }
+
+    private static byte[] bodyOf(MockServerWebExchange exchange) {
+        return DataBufferUtils.join(exchange.getResponse().getBody())
+            .map(buffer -> {
+                byte[] bytes = new byte[buffer.readableByteCount()];
+                buffer.read(bytes);
+                return bytes;
+            })
+            .defaultIfEmpty(new byte[0])
+            .block();
+    }
+}
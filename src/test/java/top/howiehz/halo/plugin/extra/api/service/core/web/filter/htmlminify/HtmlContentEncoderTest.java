@@ -0,0 +1,56 @@
+package top.howiehz.halo.plugin.extra.api.service.core.web.filter.htmlminify;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+import org.junit.jupiter.api.Test;
+
+class HtmlContentEncoderTest {
+    private static final List<String> GZIP_ONLY = List.of("gzip");
+
+    private final HtmlContentEncoder encoder = new HtmlContentEncoder();
+
+    @Test
+    void shouldNegotiateByQualityAndEnabledCodings() {
+        assertEquals(HtmlContentEncoding.GZIP, encoder.negotiate("gzip, deflate", GZIP_ONLY));
+        assertEquals(HtmlContentEncoding.GZIP, encoder.negotiate("GZIP;q=0.5", GZIP_ONLY));
+        assertEquals(HtmlContentEncoding.GZIP, encoder.negotiate("*", GZIP_ONLY));
+        assertNull(encoder.negotiate("gzip;q=0", GZIP_ONLY));
+        assertNull(encoder.negotiate("*;q=1, gzip;q=0", GZIP_ONLY));
+        assertNull(encoder.negotiate("deflate, identity", GZIP_ONLY));
+        assertNull(encoder.negotiate(null, GZIP_ONLY));
+        assertNull(encoder.negotiate("gzip", List.of()));
+    }
+
+    @Test
+    void shouldPreferHigherQualityThenServerOrder() {
+        if (!encoder.getAvailableEncodings().contains(HtmlContentEncoding.ZSTD)) {
+            return;
+        }
+        List<String> enabled = List.of("zstd", "gzip");
+        assertEquals(HtmlContentEncoding.ZSTD, encoder.negotiate("gzip, zstd", enabled));
+        assertEquals(HtmlContentEncoding.GZIP,
+            encoder.negotiate("gzip;q=1, zstd;q=0.8", enabled));
+    }
+
+    @Test
+    void shouldEncodeGzip() throws IOException {
+        byte[] content = "<p>hello hello hello</p>".getBytes(StandardCharsets.UTF_8);
+        byte[] encoded = encoder.encode(HtmlContentEncoding.GZIP, content);
+        try (var input = new GZIPInputStream(new ByteArrayInputStream(encoded))) {
+            assertArrayEquals(content, input.readAllBytes());
+        }
+    }
+
+    @Test
+    void shouldReportGzipAsAlwaysAvailable() {
+        assertTrue(encoder.getAvailableEncodings().contains(HtmlContentEncoding.GZIP));
+    }
+}
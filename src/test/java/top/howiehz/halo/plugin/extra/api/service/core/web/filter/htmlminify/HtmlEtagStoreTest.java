@@ -0,0 +1,97 @@
+package top.howiehz.halo.plugin.extra.api.service.core.web.filter.htmlminify;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.ApplicationEvent;
+
+class HtmlEtagStoreTest {
+    private static final Duration MAX_AGE = Duration.ofMinutes(5);
+
+    private final HtmlEtagStore store = new HtmlEtagStore();
+
+    @Test
+    void shouldBuildDistinctTagsPerRepresentation() {
+        assertEquals("\"000000000000000100000000000000ff\"",
+            HtmlEtagStore.etagOf(hash(0xff), null));
+        assertEquals("\"000000000000000100000000000000ff-br\"",
+            HtmlEtagStore.etagOf(hash(0xff), HtmlContentEncoding.BROTLI));
+    }
+
+    @Test
+    void shouldMatchAnyRepresentationOfRecordedContent() {
+        store.record("/demo", hash(42), 7, 1000, 5_000_000);
+        String gzip = HtmlEtagStore.etagOf(hash(42), HtmlContentEncoding.GZIP);
+
+        assertEquals(gzip, store.match("/demo", List.of("\"other\"", "W/" + gzip), 7, MAX_AGE));
+        assertNull(store.match("/demo", List.of(HtmlEtagStore.etagOf(hash(43), null)), 7, MAX_AGE));
+        assertNull(store.match("/other", List.of(gzip), 7, MAX_AGE));
+
+        var stats = store.getStats();
+        assertEquals(1, stats.shortCircuits());
+        assertEquals(1000, stats.bytesSaved());
+        assertEquals(5.0, stats.renderMillisSaved());
+    }
+
+    @Test
+    void shouldDropEntriesWhenOptionsChangeOrExpire() {
+        String etag = HtmlEtagStore.etagOf(hash(42), null);
+        store.record("/demo", hash(42), 7, 1000, 0);
+        assertNull(store.match("/demo", List.of(etag), 8, MAX_AGE));
+        assertEquals(0, store.size());
+
+        store.record("/demo", hash(42), 7, 1000, 0);
+        assertNull(store.match("/demo", List.of(etag), 7, Duration.ZERO));
+        assertEquals(0, store.size());
+    }
+
+    @Test
+    void shouldInvalidateAllEntries() {
+        store.record("/a", hash(1), 0, 10, 0);
+        store.record("/b", hash(2), 0, 10, 0);
+
+        store.invalidateAll("测试");
+
+        assertEquals(0, store.size());
+        assertEquals(1, store.getStats().invalidations());
+        assertFalse(HtmlEtagStore.matches(List.of(), HtmlEtagStore.etagOf(hash(1), null)));
+        assertTrue(HtmlEtagStore.matches(List.of("*"), HtmlEtagStore.etagOf(hash(1), null)));
+    }
+
+    @Test
+    void shouldInvalidateOnContentEvents() {
+        store.record("/demo", hash(1), 0, 10, 0);
+        store.onApplicationEvent(new ThemeActivatedEvent(this));
+        assertEquals(0, store.size());
+
+        store.record("/demo", hash(1), 0, 10, 0);
+        store.onApplicationEvent(new CommentCreatedEvent(this));
+        assertEquals(0, store.size());
+
+        store.record("/demo", hash(1), 0, 10, 0);
+        store.onApplicationEvent(new ApplicationEvent(this) {
+        });
+        assertEquals(1, store.size());
+    }
+
+    private static HtmlMinifyCache.ContentHash hash(long low) {
+        return new HtmlMinifyCache.ContentHash(1, low);
+    }
+
+    private static class ThemeActivatedEvent extends ApplicationEvent {
+        ThemeActivatedEvent(Object source) {
+            super(source);
+        }
+    }
+
+    private static class CommentCreatedEvent extends ApplicationEvent {
+        CommentCreatedEvent(Object source) {
+            super(source);
+        }
+    }
+}
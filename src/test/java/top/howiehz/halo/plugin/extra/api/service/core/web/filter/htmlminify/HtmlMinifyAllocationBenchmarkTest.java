@@ -0,0 +1,109 @@
+package top.howiehz.halo.plugin.extra.api.service.core.web.filter.htmlminify;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.function.Supplier;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import top.howiehz.halo.plugin.extra.api.benchmark.Benchmark;
+import top.howiehz.halo.plugin.extra.api.benchmark.BenchmarkSupport;
+
+/**
+ * Measures heap allocated per page by the HTML minify paths on 100 KB – 2 MB pages.
+ * 测量 HTML 压缩各路径在 100 KB – 2 MB 页面上每页分配的堆内存。
+ *
+ * <p>The copy-based paths reproduce the previous chain (copy the joined buffer into an array,
+ * decode, minify, encode); the buffer-based paths hash the joined buffer in place, serve
+ * untouched pages from it and wrap the single encoded result.</p>
+ * <p>基于复制的路径复现旧流程（将合并后的缓冲区复制为数组、解码、压缩、编码）；基于缓冲区的路径直接在合并后的缓冲区上计算哈希，
+ * 未改动的页面直接使用该缓冲区，压缩结果只编码一次并直接包装。</p>
+ */
+@Benchmark
+class HtmlMinifyAllocationBenchmarkTest {
+    private static final int ITERATIONS = 20;
+    private static final String ARTICLE = """
+        <article class="post">
+          <h2>  标题 Title  </h2>
+          <p>  这是一段用于基准测试的正文, with some English text and   extra   spaces.  </p>
+          <pre><code>  int x = 1;\n  int y = 2;  </code></pre>
+          <!-- comment -->
+          <ul>  <li>  one  </li>  <li>  two  </li>  </ul>
+        </article>
+        """;
+
+    private final HtmlMinifyService service = new HtmlMinifyService(List.of());
+    private final HtmlMinifyCache cache = new HtmlMinifyCache();
+    private final HtmlMinifyConfig config = new HtmlMinifyConfig();
+
+    @ParameterizedTest
+    @ValueSource(ints = {100, 500, 2048})
+    void compareAllocations(int pageKb) {
+        byte[] page = buildPage(pageKb * 1024);
+        DataBuffer joined = DefaultDataBufferFactory.sharedInstance.wrap(page);
+        cache.put(cache.keyOf(page, config), service.minifyToUtf8(
+            new String(page, StandardCharsets.UTF_8), config));
+
+        long copyMiss = measure(() -> {
+            byte[] copy = new byte[page.length];
+            System.arraycopy(page, 0, copy, 0, page.length);
+            String html = new String(copy, StandardCharsets.UTF_8);
+            return DefaultDataBufferFactory.sharedInstance.wrap(
+                service.minify(html, config).getBytes(StandardCharsets.UTF_8));
+        });
+        long bufferMiss = measure(() -> DefaultDataBufferFactory.sharedInstance.wrap(
+            service.minifyToUtf8(joined.toString(StandardCharsets.UTF_8), config)));
+        long copyHit = measure(() -> {
+            byte[] copy = new byte[page.length];
+            System.arraycopy(page, 0, copy, 0, page.length);
+            return DefaultDataBufferFactory.sharedInstance.wrap(
+                cache.get(cache.keyOf(copy, config)));
+        });
+        long bufferHit = measure(() -> DefaultDataBufferFactory.sharedInstance.wrap(
+            cache.get(cache.keyOf(joined, config))));
+        long copyOriginal = measure(() -> {
+            byte[] copy = new byte[page.length];
+            System.arraycopy(page, 0, copy, 0, page.length);
+            return DefaultDataBufferFactory.sharedInstance.wrap(copy);
+        });
+        long bufferOriginal = measure(() -> joined);
+
+        BenchmarkSupport.report("[%d KB] miss: copy=%s buffer=%s | hit: copy=%s buffer=%s"
+                + " | original: copy=%s buffer=%s", pageKb,
+            kb(copyMiss), kb(bufferMiss), kb(copyHit), kb(bufferHit), kb(copyOriginal),
+            kb(bufferOriginal));
+        assertTrue(bufferHit < copyHit);
+        assertTrue(bufferMiss <= copyMiss);
+    }
+
+    private static long measure(Supplier<DataBuffer> path) {
+        var threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long threadId = Thread.currentThread().getId();
+        for (int i = 0; i < 3; i++) {
+            path.get();
+        }
+        long before = threads.getThreadAllocatedBytes(threadId);
+        for (int i = 0; i < ITERATIONS; i++) {
+            path.get();
+        }
+        return (threads.getThreadAllocatedBytes(threadId) - before) / ITERATIONS;
+    }
+
+    private static byte[] buildPage(int size) {
+        StringBuilder html = new StringBuilder("<!DOCTYPE html><html><head><title>bench</title>"
+            + "</head><body>");
+        while (html.length() * 2 < size) {
+            html.append(ARTICLE);
+        }
+        html.append("</body></html>");
+        return html.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static String kb(long bytes) {
+        return (bytes / 1024) + "KB";
+    }
+}
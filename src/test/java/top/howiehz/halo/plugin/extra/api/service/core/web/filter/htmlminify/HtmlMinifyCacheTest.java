@@ -0,0 +1,116 @@
+package top.howiehz.halo.plugin.extra.api.service.core.web.filter.htmlminify;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import top.howiehz.halo.plugin.extra.api.service.core.runtime.memory.MemoryPressureLevel;
+
+class HtmlMinifyCacheTest {
+    private final HtmlMinifyCache cache = new HtmlMinifyCache();
+
+    @Test
+    void shouldKeyByContentAndMinifyOptions() {
+        HtmlMinifyConfig config = new HtmlMinifyConfig();
+        byte[] page = "<p>  a  </p>".getBytes(StandardCharsets.UTF_8);
+
+        var key = cache.keyOf(page, config);
+        assertEquals(key, cache.keyOf(page.clone(), config));
+        assertNotEquals(key, cache.keyOf("<p>  b  </p>".getBytes(StandardCharsets.UTF_8),
+            config));
+
+        config.setMinifyJs(true);
+        assertNotEquals(key, cache.keyOf(page, config));
+
+        config.setExcludePaths(List.of("/custom/**"));
+        config.setStaleWhileRevalidate(true);
+        assertEquals(cache.keyOf(page, config).fingerprint(),
+            HtmlMinifyCache.fingerprint(config));
+    }
+
+    @Test
+    void shouldHashContentWithSha256Prefix() throws Exception {
+        byte[] page = "<p>hash</p>".getBytes(StandardCharsets.UTF_8);
+        ByteBuffer digest = ByteBuffer.wrap(MessageDigest.getInstance("SHA-256").digest(page));
+
+        assertEquals(new HtmlMinifyCache.ContentHash(digest.getLong(), digest.getLong()),
+            HtmlMinifyCache.contentHash(page));
+    }
+
+    @Test
+    void shouldStoreAndTrimEntries() {
+        HtmlMinifyConfig config = new HtmlMinifyConfig();
+        for (int i = 0; i < 4; i++) {
+            byte[] page = ("<p>" + i + "</p>").getBytes(StandardCharsets.UTF_8);
+            cache.put(cache.keyOf(page, config), page);
+        }
+        byte[] first = "<p>0</p>".getBytes(StandardCharsets.UTF_8);
+        assertArrayEquals(first, cache.get(cache.keyOf(first, config)));
+        assertEquals(32, cache.getCachedBytes());
+
+        assertEquals(2, cache.trimTo(2));
+        assertEquals(2, cache.size());
+        assertEquals(16, cache.getCachedBytes());
+        assertArrayEquals(first, cache.get(cache.keyOf(first, config)));
+    }
+
+    @Test
+    void shouldEvictWhenEntryLimitExceeded() {
+        HtmlMinifyConfig config = new HtmlMinifyConfig();
+        for (int i = 0; i <= HtmlMinifyCache.MAX_CACHE_SIZE; i++) {
+            byte[] page = ("<p>" + i + "</p>").getBytes(StandardCharsets.UTF_8);
+            cache.put(cache.keyOf(page, config), page);
+        }
+        assertEquals(HtmlMinifyCache.MAX_CACHE_SIZE, cache.size());
+        byte[] first = "<p>0</p>".getBytes(StandardCharsets.UTF_8);
+        assertNull(cache.get(cache.keyOf(first, config)));
+    }
+
+    @Test
+    void shouldAccountEncodedVariantsWithTheirPage() {
+        HtmlMinifyConfig config = new HtmlMinifyConfig();
+        byte[] page = "<p>a</p>".getBytes(StandardCharsets.UTF_8);
+        var key = cache.keyOf(page, config);
+        cache.putEncoded(key, HtmlContentEncoding.GZIP, new byte[4]);
+        assertNull(cache.getEncoded(key, HtmlContentEncoding.GZIP));
+
+        cache.put(key, page);
+        cache.putEncoded(key, HtmlContentEncoding.GZIP, new byte[4]);
+        assertEquals(4, cache.getEncoded(key, HtmlContentEncoding.GZIP).length);
+        assertNull(cache.getEncoded(key, HtmlContentEncoding.BROTLI));
+        assertEquals(12, cache.getCachedBytes());
+
+        assertEquals(1, cache.trimTo(0));
+        assertEquals(0, cache.getCachedBytes());
+    }
+
+    @Test
+    void shouldDeduplicatePendingKeys() {
+        var key = cache.keyOf(new byte[] {1}, new HtmlMinifyConfig());
+        assertTrue(cache.markPending(key));
+        assertFalse(cache.markPending(key));
+        cache.clearPending(key);
+        assertTrue(cache.markPending(key));
+    }
+
+    @Test
+    void shouldClearOnCriticalMemoryPressure() {
+        HtmlMinifyConfig config = new HtmlMinifyConfig();
+        byte[] page = "<p>a</p>".getBytes(StandardCharsets.UTF_8);
+        cache.put(cache.keyOf(page, config), page);
+
+        assertNotNull(cache.onMemoryPressure(MemoryPressureLevel.CRITICAL));
+        assertEquals(0, cache.size());
+        assertEquals(0, cache.getCachedBytes());
+        assertNull(cache.onMemoryPressure(MemoryPressureLevel.CRITICAL));
+    }
+}
@@ -0,0 +1,53 @@
+package top.howiehz.halo.plugin.extra.api.service.core.web.filter.htmlminify;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+class HtmlMinifySchedulerTest {
+    private final HtmlMinifyScheduler scheduler = new HtmlMinifyScheduler(1, 1);
+
+    @AfterEach
+    void tearDown() {
+        scheduler.destroy();
+    }
+
+    @Test
+    void shouldShedTasksBeyondThreadsAndQueue() throws InterruptedException {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        scheduler.submit(() -> {
+            started.countDown();
+            return release.await(5, TimeUnit.SECONDS);
+        }).subscribe();
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        var queued = scheduler.submit(() -> "queued").toFuture();
+
+        assertThrows(RejectedExecutionException.class,
+            () -> scheduler.submit(() -> "shed").block());
+        assertEquals(1, scheduler.getStats().running());
+        assertEquals(1, scheduler.getStats().queued());
+
+        release.countDown();
+        assertEquals("queued", queued.join());
+
+        var stats = scheduler.getStats();
+        assertEquals(1, stats.shed());
+        assertEquals(2, stats.executed());
+        assertEquals(1, stats.peakConcurrency());
+        assertEquals(0, stats.running());
+    }
+
+    @Test
+    void shouldRunTasksOnDedicatedThreads() {
+        String threadName = scheduler.submit(() -> Thread.currentThread().getName()).block();
+
+        assertTrue(threadName.startsWith("extra-api-html-minify"));
+    }
+}
@@ -0,0 +1,62 @@
+package top.howiehz.halo.plugin.extra.api.service.core.web.filter.htmlminify;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+class HtmlMinifyServiceTest {
+    private final HtmlMinifyService service = new HtmlMinifyService(List.of());
+
+    @Test
+    void shouldReturnBlankInputAsIs() {
+        HtmlMinifyConfig config = new HtmlMinifyConfig();
+
+        assertNull(service.minify(null, config));
+        assertEquals("", service.minify("", config));
+        assertEquals("   ", service.minify("   ", config));
+    }
+
+    @Test
+    void shouldFallBackToJavaMinifierWithoutNativeMinifier() {
+        assertEquals("java", service.getMinifierName());
+        assertEquals("<div>Hello</div>",
+            service.minify("<div>  Hello  </div>", new HtmlMinifyConfig()));
+    }
+
+    @Test
+    void shouldUseFirstAvailableMinifier() {
+        HtmlMinifyService selected = new HtmlMinifyService(List.of(
+            new FixedHtmlMinifier("unavailable", false),
+            new FixedHtmlMinifier("native", true)));
+
+        assertEquals("native", selected.getMinifierName());
+        assertEquals("native", selected.minify("<p>x</p>", new HtmlMinifyConfig()));
+    }
+
+    @Test
+    void shouldFallBackWhenNoMinifierIsAvailable() {
+        HtmlMinifyService selected = new HtmlMinifyService(List.of(
+            new FixedHtmlMinifier("unavailable", false)));
+
+        assertEquals("java", selected.getMinifierName());
+    }
+
+    private record FixedHtmlMinifier(String name, boolean available) implements HtmlMinifier {
+        @Override
+        public String getName() {
+            return name;
+        }
+
+        @Override
+        public boolean isAvailable() {
+            return available;
+        }
+
+        @Override
+        public String minify(String html, HtmlMinifyConfig config) {
+            return name;
+        }
+    }
+}
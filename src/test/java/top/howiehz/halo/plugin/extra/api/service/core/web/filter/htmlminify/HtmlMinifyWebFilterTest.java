@@ -0,0 +1,828 @@
+package top.howiehz.halo.plugin.extra.api.service.core.web.filter.htmlminify;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.zip.GZIPInputStream;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.http.HttpCookie;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import top.howiehz.halo.plugin.extra.api.service.core.runtime.JsEngineReadiness;
+import top.howiehz.halo.plugin.extra.api.service.core.web.pathrule.PathRuleRegistry;
+
+class HtmlMinifyWebFilterTest {
+    private static final MediaType UTF_8_HTML = new MediaType("text", "html",
+        StandardCharsets.UTF_8);
+    private static final List<String> DEFAULT_EXCLUDE_PATHS = List.of(
+        "/console/**",
+        "/uc/**",
+        "/login/**",
+        "/signup/**",
+        "/logout/**",
+        "/themes/**",
+        "/plugins/**",
+        "/assets/**",
+        "/ui-assets/**",
+        "/actuator/**",
+        "/api/**",
+        "/apis/**",
+        "/upload/**"
+    );
+
+    private HtmlMinifyConfig config;
+    private HtmlMinifyWebFilter filter;
+    private CountingHtmlMinifyService service;
+    private HtmlMinifyCache cache;
+    private final HtmlContentEncoder encoder = new HtmlContentEncoder();
+    private HtmlEtagStore etagStore;
+    private HtmlPageCache pageCache;
+    private HtmlMinifyScheduler scheduler;
+    private final StaticListableBeanFactory beanFactory = new StaticListableBeanFactory();
+
+    @BeforeEach
+    void setUp() {
+        config = new HtmlMinifyConfig();
+        config.setEnabledHtmlMinify(true);
+        config.setExcludePaths(DEFAULT_EXCLUDE_PATHS);
+        config.setKeepClosingTags(true);
+        config.setKeepComments(true);
+        config.setKeepHtmlAndHeadOpeningTags(true);
+        config.setKeepInputTypeTextAttr(true);
+        config.setKeepSsiComments(true);
+        config.setMinifyCss(true);
+        config.setMinifyJs(true);
+        config.setPreserveBraceTemplateSyntax(true);
+        config.setPreserveChevronPercentTemplateSyntax(true);
+        config.setRemoveBangs(true);
+        config.setRemoveProcessingInstructions(true);
+        service = new CountingHtmlMinifyService();
+        cache = new HtmlMinifyCache();
+        etagStore = new HtmlEtagStore();
+        pageCache = new HtmlPageCache();
+        scheduler = new HtmlMinifyScheduler(2, HtmlMinifyScheduler.QUEUED_TASKS_PER_THREAD);
+        filter = new HtmlMinifyWebFilter(() -> Mono.just(config), service, cache, encoder,
+            etagStore, pageCache, new PathRuleRegistry(), scheduler,
+            beanFactory.getBeanProvider(JsEngineReadiness.class));
+    }
+
+    @Test
+    void shouldMinifyImplicitOkHtmlResponsesWrittenViaWriteWith() {
+        MockServerWebExchange exchange = MockServerWebExchange.from(
+            MockServerHttpRequest.get("/demo")
+                .accept(MediaType.TEXT_HTML)
+                .build()
+        );
+
+        filter.filter(exchange, decoratedExchange -> {
+            var response = decoratedExchange.getResponse();
+            response.getHeaders().setContentType(UTF_8_HTML);
+            var body = response.bufferFactory()
+                .wrap("<html><body><div>  Hello  </div><!-- comment --></body></html>"
+                    .getBytes(StandardCharsets.UTF_8));
+            return response.writeWith(Mono.just(body));
+        }).block();
+
+        String result = exchange.getResponse().getBodyAsString().block();
+
+        assertTrue(result.contains("<!-- comment -->"));
+        assertTrue(result.contains("<div>Hello</div>"));
+        assertEquals(1, service.minifyCount.get());
+    }
+
+    @Test
+    void shouldSkipEncodedHtmlResponses() {
+        MockServerWebExchange exchange = MockServerWebExchange.from(
+            MockServerHttpRequest.get("/demo")
+                .accept(MediaType.TEXT_HTML)
+                .build()
+        );
+
+        filter.filter(exchange, decoratedExchange -> {
+            var response = decoratedExchange.getResponse();
+            response.setStatusCode(HttpStatus.OK);
+            response.getHeaders().setContentType(UTF_8_HTML);
+            response.getHeaders().set("Content-Encoding", "gzip");
+            var body = response.bufferFactory()
+                .wrap("<html><body><div>  Hello  </div></body></html>"
+                    .getBytes(StandardCharsets.UTF_8));
+            return response.writeWith(Mono.just(body));
+        }).block();
+
+        String result = exchange.getResponse().getBodyAsString().block();
+
+        assertEquals("<html><body><div>  Hello  </div></body></html>", result);
+        assertEquals(0, service.minifyCount.get());
+    }
+
+    @Test
+    void shouldSkipExcludedApisPaths() {
+        MockServerWebExchange exchange = MockServerWebExchange.from(
+            MockServerHttpRequest.get("/apis/content.halo.run/v1alpha1/posts")
+                .accept(MediaType.TEXT_HTML)
+                .build()
+        );
+
+        filter.filter(exchange, decoratedExchange -> {
+            var response = decoratedExchange.getResponse();
+            response.setStatusCode(HttpStatus.OK);
+            response.getHeaders().setContentType(UTF_8_HTML);
+            var body = response.bufferFactory()
+                .wrap("<html><body><div>  Hello  </div></body></html>"
+                    .getBytes(StandardCharsets.UTF_8));
+            return response.writeWith(Mono.just(body));
+        }).block();
+
+        String result = exchange.getResponse().getBodyAsString().block();
+
+        assertEquals("<html><body><div>  Hello  </div></body></html>", result);
+        assertEquals(0, service.minifyCount.get());
+    }
+
+    @Test
+    void shouldSkipExcludedApiPaths() {
+        MockServerWebExchange exchange = MockServerWebExchange.from(
+            MockServerHttpRequest.get("/api/content/posts")
+                .accept(MediaType.TEXT_HTML)
+                .build()
+        );
+
+        filter.filter(exchange, decoratedExchange -> {
+            var response = decoratedExchange.getResponse();
+            response.setStatusCode(HttpStatus.OK);
+            response.getHeaders().setContentType(UTF_8_HTML);
+            var body = response.bufferFactory()
+                .wrap("<html><body><div>  Hello  </div></body></html>"
+                    .getBytes(StandardCharsets.UTF_8));
+            return response.writeWith(Mono.just(body));
+        }).block();
+
+        String result = exchange.getResponse().getBodyAsString().block();
+
+        assertEquals("<html><body><div>  Hello  </div></body></html>", result);
+        assertEquals(0, service.minifyCount.get());
+    }
+
+    @Test
+    void shouldSkipExcludedAssetsPaths() {
+        MockServerWebExchange exchange = MockServerWebExchange.from(
+            MockServerHttpRequest.get("/assets/main.js")
+                .accept(MediaType.TEXT_HTML)
+                .build()
+        );
+
+        filter.filter(exchange, decoratedExchange -> {
+            var response = decoratedExchange.getResponse();
+            response.setStatusCode(HttpStatus.OK);
+            response.getHeaders().setContentType(UTF_8_HTML);
+            var body = response.bufferFactory()
+                .wrap("<html><body><div>  Hello  </div></body></html>"
+                    .getBytes(StandardCharsets.UTF_8));
+            return response.writeWith(Mono.just(body));
+        }).block();
+
+        String result = exchange.getResponse().getBodyAsString().block();
+
+        assertEquals("<html><body><div>  Hello  </div></body></html>", result);
+        assertEquals(0, service.minifyCount.get());
+    }
+
+    @Test
+    void shouldSkipExcludedUiAssetsPaths() {
+        MockServerWebExchange exchange = MockServerWebExchange.from(
+            MockServerHttpRequest.get("/ui-assets/main.js")
+                .accept(MediaType.TEXT_HTML)
+                .build()
+        );
+
+        filter.filter(exchange, decoratedExchange -> {
+            var response = decoratedExchange.getResponse();
+            response.setStatusCode(HttpStatus.OK);
+            response.getHeaders().setContentType(UTF_8_HTML);
+            var body = response.bufferFactory()
+                .wrap("<html><body><div>  Hello  </div></body></html>"
+                    .getBytes(StandardCharsets.UTF_8));
+            return response.writeWith(Mono.just(body));
+        }).block();
+
+        String result = exchange.getResponse().getBodyAsString().block();
+
+        assertEquals("<html><body><div>  Hello  </div></body></html>", result);
+        assertEquals(0, service.minifyCount.get());
+    }
+
+    @Test
+    void shouldSkipConfiguredExcludedPaths() {
+        config.setExcludePaths(List.of("/custom/**"));
+        MockServerWebExchange exchange = MockServerWebExchange.from(
+            MockServerHttpRequest.get("/custom/page")
+                .accept(MediaType.TEXT_HTML)
+                .build()
+        );
+
+        filter.filter(exchange, decoratedExchange -> {
+            var response = decoratedExchange.getResponse();
+            response.setStatusCode(HttpStatus.OK);
+            response.getHeaders().setContentType(UTF_8_HTML);
+            var body = response.bufferFactory()
+                .wrap("<html><body><div>  Hello  </div></body></html>"
+                    .getBytes(StandardCharsets.UTF_8));
+            return response.writeWith(Mono.just(body));
+        }).block();
+
+        String result = exchange.getResponse().getBodyAsString().block();
+
+        assertEquals("<html><body><div>  Hello  </div></body></html>", result);
+        assertEquals(0, service.minifyCount.get());
+    }
+
+    @Test
+    void shouldAllowApisPathWhenRemovedFromConfig() {
+        config.setExcludePaths(List.of("/console/**"));
+        MockServerWebExchange exchange = MockServerWebExchange.from(
+            MockServerHttpRequest.get("/apis/content.halo.run/v1alpha1/posts")
+                .accept(MediaType.TEXT_HTML)
+                .build()
+        );
+
+        filter.filter(exchange, decoratedExchange -> {
+            var response = decoratedExchange.getResponse();
+            response.setStatusCode(HttpStatus.OK);
+            response.getHeaders().setContentType(UTF_8_HTML);
+            var body = response.bufferFactory()
+                .wrap("<html><body><div>  Hello  </div></body></html>"
+                    .getBytes(StandardCharsets.UTF_8));
+            return response.writeWith(Mono.just(body));
+        }).block();
+
+        String result = exchange.getResponse().getBodyAsString().block();
+
+        assertTrue(result.contains("<div>Hello</div>"));
+        assertEquals(1, service.minifyCount.get());
+    }
+
+    @Test
+    void shouldSkipNonUtf8HtmlResponses() {
+        MockServerWebExchange exchange = MockServerWebExchange.from(
+            MockServerHttpRequest.get("/demo")
+                .accept(MediaType.TEXT_HTML)
+                .build()
+        );
+
+        filter.filter(exchange, decoratedExchange -> {
+            var response = decoratedExchange.getResponse();
+            response.setStatusCode(HttpStatus.OK);
+            response.getHeaders()
+                .setContentType(new MediaType("text", "html", StandardCharsets.ISO_8859_1));
+            var body = response.bufferFactory()
+                .wrap("<html><body><div>  Hello  </div></body></html>"
+                    .getBytes(StandardCharsets.ISO_8859_1));
+            return response.writeWith(Mono.just(body));
+        }).block();
+
+        String result = exchange.getResponse().getBodyAsString().block();
+
+        assertEquals("<html><body><div>  Hello  </div></body></html>", result);
+        assertEquals(0, service.minifyCount.get());
+    }
+
+    @Test
+    void shouldMinifyHtmlResponsesWithoutExplicitCharset() {
+        MockServerWebExchange exchange = MockServerWebExchange.from(
+            MockServerHttpRequest.get("/demo")
+                .accept(MediaType.TEXT_HTML)
+                .build()
+        );
+
+        filter.filter(exchange, decoratedExchange -> {
+            var response = decoratedExchange.getResponse();
+            response.setStatusCode(HttpStatus.OK);
+            response.getHeaders().setContentType(MediaType.TEXT_HTML);
+            var body = response.bufferFactory()
+                .wrap("<html><body><div>  Hello  </div></body></html>"
+                    .getBytes(StandardCharsets.UTF_8));
+            return response.writeWith(Mono.just(body));
+        }).block();
+
+        String result = exchange.getResponse().getBodyAsString().block();
+
+        assertTrue(result.contains("<div>Hello</div>"));
+        assertEquals(1, service.minifyCount.get());
+    }
+
+    @Test
+    void shouldNotInvokeMinifierWhenFeatureDisabled() {
+        config.setEnabledHtmlMinify(false);
+        MockServerWebExchange exchange = MockServerWebExchange.from(
+            MockServerHttpRequest.get("/demo")
+                .accept(MediaType.TEXT_HTML)
+                .build()
+        );
+
+        filter.filter(exchange, decoratedExchange -> {
+            var response = decoratedExchange.getResponse();
+            response.setStatusCode(HttpStatus.OK);
+            response.getHeaders().setContentType(UTF_8_HTML);
+            var body = response.bufferFactory()
+                .wrap("<html><body><div>  Hello  </div><!-- comment --></body></html>"
+                    .getBytes(StandardCharsets.UTF_8));
+            return response.writeWith(Mono.just(body));
+        }).block();
+
+        String result = exchange.getResponse().getBodyAsString().block();
+
+        assertEquals("<html><body><div>  Hello  </div><!-- comment --></body></html>", result);
+        assertEquals(0, service.minifyCount.get());
+    }
+
+    @Test
+    void shouldMinifyHtmlResponsesWrittenViaWriteAndFlushWith() {
+        MockServerWebExchange exchange = MockServerWebExchange.from(
+            MockServerHttpRequest.get("/demo")
+                .accept(MediaType.TEXT_HTML)
+                .build()
+        );
+
+        filter.filter(exchange, decoratedExchange -> {
+            var response = decoratedExchange.getResponse();
+            response.setStatusCode(HttpStatus.OK);
+            response.getHeaders().setContentType(UTF_8_HTML);
+            var body = response.bufferFactory()
+                .wrap("<html><body><div>  Hello  </div><!-- comment --></body></html>"
+                    .getBytes(StandardCharsets.UTF_8));
+            return response.writeAndFlushWith(Mono.just(Mono.just(body)));
+        }).block();
+
+        String result = exchange.getResponse().getBodyAsString().block();
+
+        assertTrue(result.contains("<!-- comment -->"));
+        assertTrue(result.contains("<div>Hello</div>"));
+        assertEquals(1, service.minifyCount.get());
+    }
+
+    @Test
+    void shouldOffloadMinificationToMinifyScheduler() {
+        AtomicReference<String> threadName = new AtomicReference<>();
+        service = new CountingHtmlMinifyService() {
+            @Override
+            public String minify(String html, HtmlMinifyConfig config) {
+                threadName.set(Thread.currentThread().getName());
+                return super.minify(html, config);
+            }
+        };
+        filter = new HtmlMinifyWebFilter(() -> Mono.just(config), service, cache, encoder,
+            etagStore, pageCache, new PathRuleRegistry(), scheduler,
+            beanFactory.getBeanProvider(JsEngineReadiness.class));
+        MockServerWebExchange exchange = MockServerWebExchange.from(
+            MockServerHttpRequest.get("/demo")
+                .accept(MediaType.TEXT_HTML)
+                .build()
+        );
+
+        filter.filter(exchange, decoratedExchange -> {
+            var response = decoratedExchange.getResponse();
+            response.setStatusCode(HttpStatus.OK);
+            response.getHeaders().setContentType(UTF_8_HTML);
+            var body = response.bufferFactory()
+                .wrap("<html><body><div>  Hello  </div></body></html>"
+                    .getBytes(StandardCharsets.UTF_8));
+            return response.writeWith(Mono.just(body));
+        }).block();
+
+        assertTrue(threadName.get().startsWith("extra-api-html-minify"));
+        assertEquals(1, service.minifyCount.get());
+    }
+
+    @Test
+    void shouldServeOriginalHtmlWhenMinifySchedulerIsSaturated() {
+        scheduler = new HtmlMinifyScheduler(1, 0);
+        filter = new HtmlMinifyWebFilter(() -> Mono.just(config), service, cache, encoder,
+            etagStore, pageCache, new PathRuleRegistry(), scheduler,
+            beanFactory.getBeanProvider(JsEngineReadiness.class));
+        CountDownLatch release = new CountDownLatch(1);
+        scheduler.submit(() -> release.await(5, TimeUnit.SECONDS)).subscribe();
+
+        try {
+            String result = renderDemoPage();
+
+            assertEquals("<html><body><div>  Hello  </div><!-- comment --></body></html>",
+                result);
+            assertEquals(0, service.minifyCount.get());
+            assertEquals(1, scheduler.getStats().shed());
+        } finally {
+            release.countDown();
+        }
+    }
+
+    @Test
+    void shouldServeRepeatedPagesFromMinifyCache() {
+        config.setEnabledMinifyCache(true);
+
+        String first = renderDemoPage();
+        String second = renderDemoPage();
+
+        assertTrue(first.contains("<div>Hello</div>"));
+        assertEquals(first, second);
+        assertEquals(1, service.minifyCount.get());
+        assertEquals(1, cache.size());
+    }
+
+    @Test
+    void shouldMissCacheWhenMinifyOptionsChange() {
+        config.setEnabledMinifyCache(true);
+
+        renderDemoPage();
+        config.setKeepComments(false);
+        String result = renderDemoPage();
+
+        assertFalse(result.contains("<!-- comment -->"));
+        assertEquals(2, service.minifyCount.get());
+        assertEquals(2, cache.size());
+    }
+
+    @Test
+    void shouldServeOriginalHtmlAndMinifyInBackgroundWhenStaleWhileRevalidate()
+        throws InterruptedException {
+        config.setEnabledMinifyCache(true);
+        config.setStaleWhileRevalidate(true);
+
+        String first = renderDemoPage();
+        for (int i = 0; i < 100 && cache.size() == 0; i++) {
+            Thread.sleep(20);
+        }
+        String second = renderDemoPage();
+
+        assertEquals("<html><body><div>  Hello  </div><!-- comment --></body></html>", first);
+        assertTrue(second.contains("<div>Hello</div>"));
+        assertEquals(1, service.minifyCount.get());
+    }
+
+    @Test
+    void shouldMinifySynchronouslyAfterBackgroundMinificationFails()
+        throws InterruptedException {
+        config.setEnabledMinifyCache(true);
+        config.setStaleWhileRevalidate(true);
+        service.failing = true;
+
+        renderDemoPage();
+        for (int i = 0; i < 100 && service.minifyCount.get() == 0; i++) {
+            Thread.sleep(20);
+        }
+        Thread.sleep(50);
+        service.failing = false;
+        String second = renderDemoPage();
+
+        assertTrue(second.contains("<div>Hello</div>"));
+        assertEquals(2, service.minifyCount.get());
+    }
+
+    @Test
+    void shouldMinifyStreamingPathsChunkByChunk() {
+        config.setStreamingPaths(List.of("/archives/**"));
+        MockServerWebExchange exchange = MockServerWebExchange.from(
+            MockServerHttpRequest.get("/archives/2026")
+                .accept(MediaType.TEXT_HTML)
+                .build()
+        );
+
+        filter.filter(exchange, decoratedExchange -> {
+            var response = decoratedExchange.getResponse();
+            response.setStatusCode(HttpStatus.OK);
+            response.getHeaders().setContentType(UTF_8_HTML);
+            response.getHeaders().setContentLength(64);
+            var factory = response.bufferFactory();
+            return response.writeAndFlushWith(Flux.just(
+                Mono.just(factory.wrap("<html><body><pre>  a  </p".getBytes(
+                    StandardCharsets.UTF_8))),
+                Mono.just(factory.wrap("re>  <div>  Hello  </div><!-- c".getBytes(
+                    StandardCharsets.UTF_8))),
+                Mono.just(factory.wrap("omment --></body></html>".getBytes(
+                    StandardCharsets.UTF_8)))));
+        }).block();
+
+        String result = exchange.getResponse().getBodyAsString().block();
+
+        assertEquals("<html><body><pre>  a  </pre> <div> Hello </div></body></html>", result);
+        assertEquals(-1, exchange.getResponse().getHeaders().getContentLength());
+        assertEquals(0, service.minifyCount.get());
+    }
+
+    @Test
+    void shouldServeCachedGzipVariantWhenAccepted() throws IOException {
+        config.setEnabledMinifyCache(true);
+        config.setEnabledPrecompression(true);
+        config.setPrecompressEncodings(List.of("gzip"));
+
+        for (int i = 0; i < 2; i++) {
+            MockServerWebExchange exchange = MockServerWebExchange.from(
+                MockServerHttpRequest.get("/demo")
+                    .accept(MediaType.TEXT_HTML)
+                    .header(HttpHeaders.ACCEPT_ENCODING, "br;q=0, gzip, deflate")
+                    .build()
+            );
+            filter.filter(exchange, decoratedExchange -> {
+                var response = decoratedExchange.getResponse();
+                response.setStatusCode(HttpStatus.OK);
+                response.getHeaders().setContentType(UTF_8_HTML);
+                var body = response.bufferFactory()
+                    .wrap("<html><body><div>  Hello  </div></body></html>"
+                        .getBytes(StandardCharsets.UTF_8));
+                return response.writeWith(Mono.just(body));
+            }).block();
+
+            var headers = exchange.getResponse().getHeaders();
+            byte[] body = DataBufferUtils.join(exchange.getResponse().getBody())
+                .map(buffer -> {
+                    byte[] bytes = new byte[buffer.readableByteCount()];
+                    buffer.read(bytes);
+                    return bytes;
+                }).block();
+            assertEquals("gzip", headers.getFirst(HttpHeaders.CONTENT_ENCODING));
+            assertEquals(List.of(HttpHeaders.ACCEPT_ENCODING), headers.getVary());
+            assertEquals(body.length, headers.getContentLength());
+            try (var input = new GZIPInputStream(new ByteArrayInputStream(body))) {
+                assertTrue(new String(input.readAllBytes(), StandardCharsets.UTF_8)
+                    .contains("<div>Hello</div>"));
+            }
+        }
+        assertEquals(1, service.minifyCount.get());
+    }
+
+    @Test
+    void shouldServeIdentityWhenNoAcceptedEncodingIsEnabled() {
+        config.setEnabledMinifyCache(true);
+        config.setEnabledPrecompression(true);
+        config.setPrecompressEncodings(List.of("gzip"));
+        MockServerWebExchange exchange = MockServerWebExchange.from(
+            MockServerHttpRequest.get("/demo")
+                .accept(MediaType.TEXT_HTML)
+                .header(HttpHeaders.ACCEPT_ENCODING, "identity")
+                .build()
+        );
+
+        filter.filter(exchange, decoratedExchange -> {
+            var response = decoratedExchange.getResponse();
+            response.setStatusCode(HttpStatus.OK);
+            response.getHeaders().setContentType(UTF_8_HTML);
+            var body = response.bufferFactory()
+                .wrap("<html><body><div>  Hello  </div></body></html>"
+                    .getBytes(StandardCharsets.UTF_8));
+            return response.writeWith(Mono.just(body));
+        }).block();
+
+        assertTrue(exchange.getResponse().getBodyAsString().block().contains("<div>Hello</div>"));
+        assertNull(exchange.getResponse().getHeaders().getFirst(HttpHeaders.CONTENT_ENCODING));
+        assertEquals(List.of(HttpHeaders.ACCEPT_ENCODING),
+            exchange.getResponse().getHeaders().getVary());
+    }
+
+    @Test
+    void shouldAnswerKnownEtagWith304WithoutRendering() {
+        config.setEnabledMinifyCache(true);
+        config.setEnabledEtag(true);
+        config.setEtagMaxAgeSeconds(300);
+        AtomicInteger renders = new AtomicInteger();
+
+        MockServerWebExchange first = renderDemoPage(MockServerHttpRequest.get("/demo"), renders);
+        String etag = first.getResponse().getHeaders().getETag();
+        MockServerWebExchange second = renderDemoPage(MockServerHttpRequest.get("/demo")
+            .ifNoneMatch(etag), renders);
+
+        assertTrue(etag.matches("\"[0-9a-f]{32}\""));
+        assertEquals(HttpStatus.NOT_MODIFIED, second.getResponse().getStatusCode());
+        assertEquals(etag, second.getResponse().getHeaders().getETag());
+        assertEquals("", second.getResponse().getBodyAsString().defaultIfEmpty("").block());
+        assertEquals(1, renders.get());
+        assertEquals(1, etagStore.getStats().shortCircuits());
+    }
+
+    @Test
+    void shouldAnswerRenderedRevalidationWith304WhenContentIsUnchanged() {
+        config.setEnabledEtag(true);
+        config.setEtagMaxAgeSeconds(0);
+        AtomicInteger renders = new AtomicInteger();
+
+        String etag = renderDemoPage(MockServerHttpRequest.get("/demo"), renders)
+            .getResponse().getHeaders().getETag();
+        MockServerWebExchange second = renderDemoPage(MockServerHttpRequest.get("/demo")
+            .ifNoneMatch(etag), renders);
+
+        assertEquals(HttpStatus.NOT_MODIFIED, second.getResponse().getStatusCode());
+        assertEquals(-1, second.getResponse().getHeaders().getContentLength());
+        assertEquals(2, renders.get());
+        assertEquals(1, etagStore.getStats().revalidations());
+    }
+
+    @Test
+    void shouldNotUseEtagsForSignedInVisitors() {
+        config.setEnabledEtag(true);
+        AtomicInteger renders = new AtomicInteger();
+
+        MockServerWebExchange exchange = renderDemoPage(MockServerHttpRequest.get("/demo")
+            .cookie(new HttpCookie("SESSION", "session-id")), renders);
+
+        assertNull(exchange.getResponse().getHeaders().getETag());
+        assertEquals(0, etagStore.size());
+    }
+
+    @Test
+    void shouldRenderAgainAfterEtagsAreInvalidated() {
+        config.setEnabledEtag(true);
+        config.setEtagMaxAgeSeconds(300);
+        AtomicInteger renders = new AtomicInteger();
+
+        String etag = renderDemoPage(MockServerHttpRequest.get("/demo"), renders)
+            .getResponse().getHeaders().getETag();
+        etagStore.invalidateAll("测试");
+        renderDemoPage(MockServerHttpRequest.get("/demo").ifNoneMatch(etag), renders);
+
+        assertEquals(2, renders.get());
+        assertEquals(0, etagStore.getStats().shortCircuits());
+    }
+
+    @Test
+    void shouldServeAnonymousPagesFromPageCache() {
+        config.setEnabledPageCache(true);
+        AtomicInteger renders = new AtomicInteger();
+
+        MockServerWebExchange first = renderDemoPage(MockServerHttpRequest.get("/demo"), renders);
+        MockServerWebExchange second = renderDemoPage(MockServerHttpRequest.get("/demo"),
+            renders);
+
+        assertEquals("MISS", first.getResponse().getHeaders()
+            .getFirst(HtmlMinifyWebFilter.PAGE_CACHE_HEADER));
+        assertEquals("HIT", second.getResponse().getHeaders()
+            .getFirst(HtmlMinifyWebFilter.PAGE_CACHE_HEADER));
+        assertEquals(first.getResponse().getBodyAsString().block(),
+            second.getResponse().getBodyAsString().block());
+        assertEquals(UTF_8_HTML, second.getResponse().getHeaders().getContentType());
+        assertEquals(1, renders.get());
+    }
+
+    @Test
+    void shouldNotCachePagesForSignedInVisitorsOrWithCookies() {
+        config.setEnabledPageCache(true);
+        AtomicInteger renders = new AtomicInteger();
+
+        renderDemoPage(MockServerHttpRequest.get("/demo")
+            .cookie(new HttpCookie("SESSION", "session-id")), renders);
+        MockServerWebExchange exchange = MockServerWebExchange.from(
+            MockServerHttpRequest.get("/cookie").accept(MediaType.TEXT_HTML).build());
+        filter.filter(exchange, decoratedExchange -> {
+            var response = decoratedExchange.getResponse();
+            response.setStatusCode(HttpStatus.OK);
+            response.getHeaders().setContentType(UTF_8_HTML);
+            response.getHeaders().add(HttpHeaders.SET_COOKIE, "theme=dark");
+            return response.writeWith(Mono.just(response.bufferFactory()
+                .wrap("<p>  a  </p>".getBytes(StandardCharsets.UTF_8))));
+        }).block();
+
+        assertEquals(0, pageCache.size());
+    }
+
+    @Test
+    void shouldNotCacheOrRecordPagesWhileJsEnginesWarmUp() {
+        config.setEnabledPageCache(true);
+        config.setEnabledEtag(true);
+        AtomicBoolean ready = new AtomicBoolean(false);
+        beanFactory.addBean("jsEngineReadiness", (JsEngineReadiness) ready::get);
+        AtomicInteger renders = new AtomicInteger();
+
+        renderDemoPage(MockServerHttpRequest.get("/demo"), renders);
+        renderDemoPage(MockServerHttpRequest.get("/demo"), renders);
+        assertEquals(2, renders.get());
+        assertEquals(0, pageCache.size());
+        assertEquals(0, etagStore.size());
+
+        ready.set(true);
+        renderDemoPage(MockServerHttpRequest.get("/demo"), renders);
+        assertEquals(1, pageCache.size());
+        assertEquals(1, etagStore.size());
+    }
+
+    @Test
+    void shouldKeepSeparatePageCacheEntriesPerLocale() {
+        config.setEnabledPageCache(true);
+        AtomicInteger renders = new AtomicInteger();
+
+        renderDemoPage(MockServerHttpRequest.get("/demo")
+            .header(HttpHeaders.ACCEPT_LANGUAGE, "zh-CN"), renders);
+        renderDemoPage(MockServerHttpRequest.get("/demo")
+            .header(HttpHeaders.ACCEPT_LANGUAGE, "en-US"), renders);
+        MockServerWebExchange cookie = renderDemoPage(MockServerHttpRequest.get("/demo")
+            .header(HttpHeaders.ACCEPT_LANGUAGE, "zh-CN")
+            .cookie(new HttpCookie("language", "en")), renders);
+        MockServerWebExchange hit = renderDemoPage(MockServerHttpRequest.get("/demo")
+            .header(HttpHeaders.ACCEPT_LANGUAGE, "en-US"), renders);
+
+        assertEquals("MISS", cookie.getResponse().getHeaders()
+            .getFirst(HtmlMinifyWebFilter.PAGE_CACHE_HEADER));
+        assertEquals("HIT", hit.getResponse().getHeaders()
+            .getFirst(HtmlMinifyWebFilter.PAGE_CACHE_HEADER));
+        assertEquals(3, renders.get());
+    }
+
+    @Test
+    void shouldNotCachePagesVaryingOnUnkeyedHeaders() {
+        config.setEnabledPageCache(true);
+        MockServerWebExchange exchange = MockServerWebExchange.from(
+            MockServerHttpRequest.get("/vary").accept(MediaType.TEXT_HTML).build());
+
+        filter.filter(exchange, decoratedExchange -> {
+            var response = decoratedExchange.getResponse();
+            response.setStatusCode(HttpStatus.OK);
+            response.getHeaders().setContentType(UTF_8_HTML);
+            response.getHeaders().setVary(List.of(HttpHeaders.ACCEPT_ENCODING, "User-Agent"));
+            return response.writeWith(Mono.just(response.bufferFactory()
+                .wrap("<p>  a  </p>".getBytes(StandardCharsets.UTF_8))));
+        }).block();
+
+        assertEquals(0, pageCache.size());
+    }
+
+    @Test
+    void shouldResolvePageCacheTtlFromPathRules() {
+        config.setPageCacheTtlSeconds(30);
+        config.setPageCacheTtlRules(List.of("/archives/**=300", "/search/**=0", "broken"));
+
+        assertEquals(300, filter.pageCacheTtl("/archives/2026", config).toSeconds());
+        assertTrue(filter.pageCacheTtl("/search/halo", config).isZero());
+        assertEquals(30, filter.pageCacheTtl("/about", config).toSeconds());
+    }
+
+    private MockServerWebExchange renderDemoPage(MockServerHttpRequest.BaseBuilder<?> request,
+        AtomicInteger renders) {
+        MockServerWebExchange exchange = MockServerWebExchange.from(
+            request.accept(MediaType.TEXT_HTML).build());
+
+        filter.filter(exchange, decoratedExchange -> {
+            renders.incrementAndGet();
+            var response = decoratedExchange.getResponse();
+            response.setStatusCode(HttpStatus.OK);
+            response.getHeaders().setContentType(UTF_8_HTML);
+            var body = response.bufferFactory()
+                .wrap("<html><body><div>  Hello  </div><!-- comment --></body></html>"
+                    .getBytes(StandardCharsets.UTF_8));
+            return response.writeWith(Mono.just(body));
+        }).block();
+
+        return exchange;
+    }
+
+    private String renderDemoPage() {
+        MockServerWebExchange exchange = MockServerWebExchange.from(
+            MockServerHttpRequest.get("/demo")
+                .accept(MediaType.TEXT_HTML)
+                .build()
+        );
+
+        filter.filter(exchange, decoratedExchange -> {
+            var response = decoratedExchange.getResponse();
+            response.setStatusCode(HttpStatus.OK);
+            response.getHeaders().setContentType(UTF_8_HTML);
+            var body = response.bufferFactory()
+                .wrap("<html><body><div>  Hello  </div><!-- comment --></body></html>"
+                    .getBytes(StandardCharsets.UTF_8));
+            return response.writeWith(Mono.just(body));
+        }).block();
+
+        return exchange.getResponse().getBodyAsString().block();
+    }
+
+    private static class CountingHtmlMinifyService extends HtmlMinifyService {
+        private final AtomicInteger minifyCount = new AtomicInteger();
+        private volatile boolean failing;
+
+        private CountingHtmlMinifyService() {
+            super(List.of());
+        }
+
+        @Override
+        public String minify(String html, HtmlMinifyConfig config) {
+            minifyCount.incrementAndGet();
+            if (failing) {
+                throw new IllegalStateException("minifier unavailable");
+            }
+            return super.minify(html, config);
+        }
+    }
+}
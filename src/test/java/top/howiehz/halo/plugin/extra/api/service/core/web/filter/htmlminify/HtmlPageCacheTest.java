@@ -0,0 +1,92 @@
+package top.howiehz.halo.plugin.extra.api.service.core.web.filter.htmlminify;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import top.howiehz.halo.plugin.extra.api.service.core.runtime.memory.MemoryPressureLevel;
+
+class HtmlPageCacheTest {
+    private static final Duration TTL = Duration.ofMinutes(1);
+    private static final long BUDGET = 1024 * 1024;
+
+    private final HtmlPageCache cache = new HtmlPageCache();
+
+    @Test
+    void shouldExpirePagesAfterTheirTtl() {
+        cache.put("/a", page(8), TTL, BUDGET);
+        cache.put("/b", page(8), Duration.ZERO, BUDGET);
+
+        assertNotNull(cache.get("/a"));
+        assertNull(cache.get("/b"));
+        assertEquals(1, cache.size());
+        assertEquals(1, cache.getStats().hits());
+        assertEquals(1, cache.getStats().misses());
+    }
+
+    @Test
+    void shouldKeepWithinByteBudget() {
+        for (int i = 0; i < 8; i++) {
+            cache.put("/" + i, page(256), TTL, 1024);
+        }
+        cache.put("/large", page(512), TTL, 1024);
+
+        assertEquals(4, cache.size());
+        assertEquals(1024, cache.getStats().cachedBytes());
+        assertNull(cache.get("/large"));
+        assertNull(cache.get("/0"));
+        assertNotNull(cache.get("/7"));
+    }
+
+    @Test
+    void shouldHandOverRenderedPageToWaitingRequests() {
+        assertTrue(cache.tryLead("/a"));
+        assertFalse(cache.tryLead("/a"));
+        var waiting = cache.awaitInflight("/a").toFuture();
+
+        var page = page(8);
+        cache.put("/a", page, TTL, BUDGET);
+        cache.release("/a");
+
+        assertSame(page, waiting.join());
+        assertEquals(1, cache.getStats().coalesced());
+        assertTrue(cache.tryLead("/a"));
+    }
+
+    @Test
+    void shouldWakeWaitingRequestsWhenPageWasNotCacheable() {
+        assertTrue(cache.tryLead("/a"));
+        var waiting = cache.awaitInflight("/a").toFuture();
+
+        cache.release("/a");
+
+        assertNull(waiting.join());
+    }
+
+    @Test
+    void shouldInvalidateOnSinglePageEventsAndMemoryPressure() {
+        class SinglePageUpdatedEvent {
+        }
+        assertTrue(HtmlPageCache.isSinglePageEvent(new SinglePageUpdatedEvent()));
+        assertFalse(HtmlPageCache.isSinglePageEvent(new Object()));
+
+        cache.put("/a", page(8), TTL, BUDGET);
+        cache.put("/b", page(8), TTL, BUDGET);
+        assertNotNull(cache.onMemoryPressure(MemoryPressureLevel.ELEVATED));
+        assertEquals(1, cache.size());
+
+        cache.invalidateAll("测试");
+        assertEquals(0, cache.size());
+        assertEquals(0, cache.getStats().cachedBytes());
+    }
+
+    private static HtmlPageCache.CachedPage page(int size) {
+        return new HtmlPageCache.CachedPage(new byte[size], null, new HttpHeaders());
+    }
+}
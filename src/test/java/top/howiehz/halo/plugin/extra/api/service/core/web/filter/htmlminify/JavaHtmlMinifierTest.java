@@ -0,0 +1,94 @@
+package top.howiehz.halo.plugin.extra.api.service.core.web.filter.htmlminify;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import org.junit.jupiter.api.Test;
+
+class JavaHtmlMinifierTest {
+    private final JavaHtmlMinifier minifier = new JavaHtmlMinifier();
+    private final HtmlMinifyConfig config = new HtmlMinifyConfig();
+
+    @Test
+    void shouldCollapseWhitespaceAndDropItAroundBlockTags() {
+        assertEquals("<div>Hello</div>", minifier.minify("<div>  Hello  </div>", config));
+        assertEquals("<ul><li> a <b>b</b> c </li></ul>",
+            minifier.minify("<ul>\n  <li> a  <b>b</b>\n c </li>\n</ul>", config));
+    }
+
+    @Test
+    void shouldKeepWhitespaceBetweenListItemsOptionsAndCells() {
+        // 这些元素常被样式改为行内显示，其间的空白会被渲染
+        String html = "<ul><li>a</li> <li>b</li></ul><select><option>x</option> "
+            + "<option>y</option></select><table><tr><td>1</td> <td>2</td></tr></table>";
+
+        assertEquals(html, minifier.minify(html, config));
+    }
+
+    @Test
+    void shouldRemoveCommentsButKeepConditionalComments() {
+        assertEquals("<p>a b</p><!--[if IE]>x<![endif]-->", minifier.minify(
+            "<p>a <!-- note --> b</p><!--[if IE]>x<![endif]-->", config));
+
+        config.setKeepComments(true);
+        assertEquals("<p>a <!-- note --> b</p>",
+            minifier.minify("<p>a <!-- note --> b</p>", config));
+    }
+
+    @Test
+    void shouldKeepPreformattedContentVerbatim() {
+        assertEquals("<pre>  a\n  b </pre><textarea> x  y </textarea>", minifier.minify(
+            "<pre>  a\n  b </pre>\n<textarea> x  y </textarea>", config));
+    }
+
+    @Test
+    void shouldMinifyAttributes() {
+        assertEquals("<input class=\"a b\" id=x disabled><a href=\"/p/\">l</a>",
+            minifier.minify("<input type=\"text\" class=\"a b\" id=\"x\" disabled=\"\">"
+                + "<a href=\"/p/\">l</a>", config));
+
+        config.setKeepInputTypeTextAttr(true);
+        config.setAllowRemovingSpacesBetweenAttributes(true);
+        assertEquals("<input type=text class=\"a b\"id=x>",
+            minifier.minify("<input type='text' class=\"a b\" id=\"x\">", config));
+    }
+
+    @Test
+    void shouldKeepSelfClosingSlashAwayFromUnquotedValue() {
+        assertEquals("<img src=a.png /><br/>",
+            minifier.minify("<img src=\"a.png\"/> <br/>", config));
+    }
+
+    @Test
+    void shouldMinifyInlineCssAndTrimScripts() {
+        config.setMinifyCss(true);
+        config.setMinifyJs(true);
+
+        assertEquals("<style>a :hover,b{color:red;content:\"a  b\"}</style>", minifier.minify(
+            "<style>\n a :hover , b { color: red ; content: \"a  b\"; } /* c */\n</style>",
+            config));
+        assertEquals("<style>@media (min-width: 600px){a{margin:0 auto}}</style>",
+            minifier.minify("<style>@media (min-width:  600px) { a { margin: 0 auto; } }</style>",
+                config));
+        assertEquals("<script>var a = 1;</script>",
+            minifier.minify("<script>\n var a = 1;\n</script>", config));
+    }
+
+    @Test
+    void shouldPreserveTemplateSyntaxWhenConfigured() {
+        config.setPreserveBraceTemplateSyntax(true);
+        config.setPreserveChevronPercentTemplateSyntax(true);
+
+        assertEquals("<p>{{ a  b }} <% x  y %></p>",
+            minifier.minify("<p> {{ a  b }}  <% x  y %> </p>", config));
+    }
+
+    @Test
+    void shouldMinifyDoctypeAndRemoveProcessingInstructions() {
+        config.setMinifyDoctype(true);
+        config.setRemoveProcessingInstructions(true);
+
+        assertEquals("<!doctype html><html><body>a < b</body></html>", minifier.minify(
+            "<?xml version=\"1.0\"?>\n<!DOCTYPE html>\n<html>\n<body> a < b </body>\n</html>",
+            config));
+    }
+}
@@ -0,0 +1,91 @@
+package top.howiehz.halo.plugin.extra.api.service.core.web.filter.htmlminify;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import org.junit.jupiter.api.Test;
+
+class StreamingHtmlMinifierTest {
+
+    @Test
+    void shouldCollapseWhitespaceAndRemoveComments() {
+        assertEquals("<div> <p>你好 world</p> </div>",
+            minify("<div>\n  <p>你好   world</p><!-- note -->\n</div>", new HtmlMinifyConfig()));
+    }
+
+    @Test
+    void shouldKeepRawTextElementsVerbatim() {
+        String html = "<pre>  a\n   b  </pre>  <textarea>  x  </textarea>"
+            + "<script>if (a < b) {  s = '</scripts>'; }</script >"
+            + "<style>  p  { color : red }  </style>  end";
+        assertEquals("<pre>  a\n   b  </pre> <textarea>  x  </textarea>"
+                + "<script>if (a < b) {  s = '</scripts>'; }</script >"
+                + "<style>  p  { color : red }  </style> end",
+            minify(html, new HtmlMinifyConfig()));
+    }
+
+    @Test
+    void shouldKeepConditionalAndConfiguredComments() {
+        HtmlMinifyConfig config = new HtmlMinifyConfig();
+        config.setKeepSsiComments(true);
+        assertEquals("<!--[if IE]><p>ie</p><![endif]--> <!--#include file=\"a\"-->",
+            minify("<!--[if IE]><p>ie</p><![endif]-->  <!-- drop -->  "
+                + "<!--#include file=\"a\"-->", config));
+
+        config.setKeepComments(true);
+        assertEquals("<!-- keep --> x", minify("<!-- keep -->   x", config));
+    }
+
+    @Test
+    void shouldTreatStrayLessThanAsText() {
+        assertEquals("<p>a < b <3</p>", minify("<p>a  <  b <3</p>", new HtmlMinifyConfig()));
+    }
+
+    @Test
+    void shouldKeepQuotedAttributesVerbatim() {
+        assertEquals("<a title=\"a  >  b\" href='x'>link</a>",
+            minify("<a title=\"a  >  b\" href='x'>link</a>", new HtmlMinifyConfig()));
+    }
+
+    @Test
+    void shouldProduceSameOutputForEveryChunkBoundary() {
+        String html = "<html>\n<body>  <pre> keep  me </pre><!-- gone -->\n"
+            + "<SCRIPT>var s = \"  </pre>  \";</SCRIPT>  <p>  中文  文本 </p>"
+            + "<!--[if IE]> x <![endif]--></body></html>";
+        HtmlMinifyConfig config = new HtmlMinifyConfig();
+        String expected = minify(html, config);
+        byte[] bytes = html.getBytes(StandardCharsets.UTF_8);
+
+        for (int split = 1; split < bytes.length; split++) {
+            for (int second = split; second < bytes.length; second += 7) {
+                StreamingHtmlMinifier minifier = new StreamingHtmlMinifier(config);
+                ByteArrayOutputStream output = new ByteArrayOutputStream();
+                output.writeBytes(minifier.process(Arrays.copyOfRange(bytes, 0, split)));
+                output.writeBytes(minifier.process(Arrays.copyOfRange(bytes, split, second)));
+                output.writeBytes(minifier.process(
+                    Arrays.copyOfRange(bytes, second, bytes.length)));
+                output.writeBytes(minifier.finish());
+                assertEquals(expected, output.toString(StandardCharsets.UTF_8),
+                    "split at " + split + "/" + second);
+            }
+        }
+    }
+
+    @Test
+    void shouldFlushIncompleteTagAtEnd() {
+        StreamingHtmlMinifier minifier = new StreamingHtmlMinifier(new HtmlMinifyConfig());
+        assertEquals("<p>a", new String(minifier.process("<p>a  <di".getBytes(
+            StandardCharsets.UTF_8)), StandardCharsets.UTF_8));
+        assertEquals(" <di", new String(minifier.finish(), StandardCharsets.UTF_8));
+    }
+
+    private static String minify(String html, HtmlMinifyConfig config) {
+        StreamingHtmlMinifier minifier = new StreamingHtmlMinifier(config);
+        byte[] output = minifier.process(html.getBytes(StandardCharsets.UTF_8));
+        byte[] rest = minifier.finish();
+        return new String(output, StandardCharsets.UTF_8)
+            + new String(rest, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,91 @@
+package top.howiehz.halo.plugin.extra.api.service.core.web.pathrule;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Arrays;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+class PathRuleMatcherTest {
+
+    @Test
+    void shouldMatchLiteralPrefixesIncludingTheirRoot() {
+        PathRuleMatcher<Boolean> matcher = PathRuleMatcher.compile(
+            List.of("/console/**", "/apis/api.halo.run/**"));
+
+        assertTrue(matcher.matches("/console"));
+        assertTrue(matcher.matches("/console/"));
+        assertTrue(matcher.matches("/console/posts/1"));
+        assertTrue(matcher.matches("/apis/api.halo.run/v1alpha1/comments"));
+        assertFalse(matcher.matches("/consoles"));
+        assertFalse(matcher.matches("/apis/other"));
+        assertFalse(matcher.matches("/"));
+    }
+
+    @Test
+    void shouldMatchExactPathsAndPatterns() {
+        PathRuleMatcher<Boolean> matcher = PathRuleMatcher.compile(
+            Arrays.asList("/about", "/archives/*", "/tags/{slug}/page/*", " ", null));
+
+        assertTrue(matcher.matches("/about"));
+        assertFalse(matcher.matches("/about/team"));
+        assertTrue(matcher.matches("/archives/hello"));
+        assertFalse(matcher.matches("/archives/hello/world"));
+        assertTrue(matcher.matches("/tags/halo/page/2"));
+        assertFalse(matcher.matches(""));
+        assertFalse(matcher.matches(null));
+    }
+
+    @Test
+    void shouldFallBackToAntSyntaxUnsupportedByPathPattern() {
+        PathRuleMatcher<Boolean> matcher = PathRuleMatcher.compile(List.of("/**/feed.xml"));
+
+        assertTrue(matcher.matches("/categories/dev/feed.xml"));
+        assertFalse(matcher.matches("/categories/dev"));
+    }
+
+    @Test
+    void shouldReturnValueOfFirstMatchingRule() {
+        PathRuleMatcher<Integer> matcher = PathRuleMatcher.compile(
+            List.of("/archives/*", "/archives/**", "/**"), List.of(1, 2, 3));
+
+        assertEquals(1, matcher.match("/archives/2026"));
+        assertEquals(2, matcher.match("/archives/2026/05"));
+        assertEquals(3, matcher.match("/about"));
+
+        PathRuleMatcher<Integer> reversed = PathRuleMatcher.compile(
+            List.of("/**", "/archives/*"), List.of(3, 1));
+        assertEquals(3, reversed.match("/archives/2026"));
+        assertNull(PathRuleMatcher.<Integer>empty().match("/archives/2026"));
+    }
+
+    @Test
+    void shouldBoundCachedDecisions() {
+        PathRuleMatcher<Boolean> matcher = PathRuleMatcher.compile(List.of("/posts/*"));
+
+        for (int i = 0; i < PathRuleMatcher.MAX_CACHED_DECISIONS * 2; i++) {
+            assertTrue(matcher.matches("/posts/" + i));
+        }
+
+        assertTrue(matcher.cachedDecisions() <= PathRuleMatcher.MAX_CACHED_DECISIONS);
+    }
+
+    @Test
+    void shouldReuseCompiledMatcherUntilRulesChange() {
+        PathRuleRegistry registry = new PathRuleRegistry();
+
+        PathRuleMatcher<Boolean> first = registry.matcher("exclude", List.of("/console/**"));
+        PathRuleMatcher<Boolean> same = registry.matcher("exclude", List.of("/console/**"));
+        PathRuleMatcher<Boolean> changed = registry.matcher("exclude", List.of("/uc/**"));
+
+        assertSame(first, same);
+        assertNotSame(first, changed);
+        assertTrue(changed.matches("/uc/profile"));
+        assertFalse(changed.matches("/console"));
+    }
+}
@@ -0,0 +1,97 @@
+package top.howiehz.halo.plugin.extra.api.service.interop.post.render.shiki;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+import org.junit.jupiter.api.Test;
+import top.howiehz.halo.plugin.extra.api.service.interop.post.render.shiki.ShikiCircuitBreaker.Permit;
+
+class ShikiCircuitBreakerTest {
+
+    @Test
+    void shouldOpenAfterConsecutiveFailures() {
+        ShikiCircuitBreaker breaker = new ShikiCircuitBreaker(2, Duration.ofMinutes(1));
+
+        breaker.recordFailure(Permit.GRANTED);
+        assertEquals(ShikiCircuitBreaker.State.CLOSED, breaker.getState());
+        assertTrue(breaker.tryAcquirePermission().isGranted());
+
+        breaker.recordFailure(Permit.GRANTED);
+        assertEquals(ShikiCircuitBreaker.State.OPEN, breaker.getState());
+        assertFalse(breaker.tryAcquirePermission().isGranted());
+    }
+
+    @Test
+    void shouldAllowSingleProbeWhenHalfOpen() {
+        ShikiCircuitBreaker breaker = new ShikiCircuitBreaker(1, Duration.ZERO);
+        breaker.recordFailure(Permit.GRANTED);
+
+        assertEquals(Permit.PROBE, breaker.tryAcquirePermission());
+        assertEquals(ShikiCircuitBreaker.State.HALF_OPEN, breaker.getState());
+        assertEquals(Permit.DENIED, breaker.tryAcquirePermission());
+
+        breaker.recordSuccess(Permit.PROBE);
+        assertEquals(ShikiCircuitBreaker.State.CLOSED, breaker.getState());
+        assertEquals(Permit.GRANTED, breaker.tryAcquirePermission());
+    }
+
+    @Test
+    void shouldOnlyLetTheProbeCloseHalfOpenBreaker() {
+        ShikiCircuitBreaker breaker = new ShikiCircuitBreaker(1, Duration.ZERO);
+        breaker.recordFailure(Permit.GRANTED);
+        assertEquals(Permit.PROBE, breaker.tryAcquirePermission());
+
+        // 熔断器打开前获准的调用此时才完成，不能代替探测关闭熔断器
+        breaker.recordSuccess(Permit.GRANTED);
+        assertEquals(ShikiCircuitBreaker.State.HALF_OPEN, breaker.getState());
+        breaker.recordFailure(Permit.GRANTED);
+        assertEquals(ShikiCircuitBreaker.State.HALF_OPEN, breaker.getState());
+
+        breaker.recordSuccess(Permit.PROBE);
+        assertEquals(ShikiCircuitBreaker.State.CLOSED, breaker.getState());
+    }
+
+    @Test
+    void shouldReopenWhenProbeFails() {
+        ShikiCircuitBreaker breaker = new ShikiCircuitBreaker(1, Duration.ofMinutes(1));
+        breaker.recordFailure(Permit.GRANTED);
+        assertFalse(breaker.tryAcquirePermission().isGranted());
+
+        ShikiCircuitBreaker probing = new ShikiCircuitBreaker(1, Duration.ZERO);
+        probing.recordFailure(Permit.GRANTED);
+        assertEquals(Permit.PROBE, probing.tryAcquirePermission());
+        probing.recordFailure(Permit.PROBE);
+        assertEquals(ShikiCircuitBreaker.State.OPEN, probing.getState());
+    }
+
+    @Test
+    void shouldPermitEveryCallWhileDisabled() {
+        ShikiCircuitBreaker breaker = new ShikiCircuitBreaker(1, Duration.ofMinutes(1));
+        breaker.recordFailure(Permit.GRANTED);
+        assertFalse(breaker.tryAcquirePermission().isGranted());
+
+        breaker.configure(false, 1, Duration.ofMinutes(1));
+        assertEquals(ShikiCircuitBreaker.State.CLOSED, breaker.getState());
+        breaker.recordFailure(Permit.GRANTED);
+        assertTrue(breaker.tryAcquirePermission().isGranted());
+
+        breaker.configure(true, 2, Duration.ofMinutes(1));
+        breaker.recordFailure(Permit.GRANTED);
+        assertEquals(ShikiCircuitBreaker.State.CLOSED, breaker.getState());
+        breaker.recordFailure(Permit.GRANTED);
+        assertEquals(ShikiCircuitBreaker.State.OPEN, breaker.getState());
+    }
+
+    @Test
+    void shouldKeepStateWhenSettingsAreReappliedUnchanged() {
+        ShikiCircuitBreaker breaker = new ShikiCircuitBreaker(2, Duration.ofMinutes(1));
+        breaker.configure(true, 2, Duration.ofMinutes(1));
+        breaker.recordFailure(Permit.GRANTED);
+
+        breaker.configure(true, 2, Duration.ofMinutes(1));
+        breaker.recordFailure(Permit.GRANTED);
+        assertEquals(ShikiCircuitBreaker.State.OPEN, breaker.getState());
+    }
+}
@@ -0,0 +1,40 @@
+package top.howiehz.halo.plugin.extra.api.service.interop.post.render.shiki;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+class ShikiHighlightBlocklistTest {
+    private final ShikiHighlightBlocklist blocklist = new ShikiHighlightBlocklist();
+
+    @Test
+    void shouldNotBlockAfterSingleTimeout() {
+        blocklist.recordTimeout("a".repeat(100), "regex");
+
+        assertFalse(blocklist.isBlocked("a".repeat(100), "regex"));
+        assertEquals(0, blocklist.getBlockedCount());
+    }
+
+    @Test
+    void shouldBlockRepeatOffenderOnly() {
+        blocklist.recordTimeout("(a+)+$", "regex");
+        blocklist.recordTimeout("(a+)+$", "regex");
+
+        assertTrue(blocklist.isBlocked("(a+)+$", "regex"));
+        assertFalse(blocklist.isBlocked("(a+)+$", "java"));
+        assertFalse(blocklist.isBlocked("a+$", "regex"));
+        assertEquals(1, blocklist.getBlockedCount());
+    }
+
+    @Test
+    void shouldNotBlockBlocksWithCollidingStringHashes() {
+        // "Aa" 与 "BB" 长度相同且 String.hashCode() 相同
+        blocklist.recordTimeout("Aa", "regex");
+        blocklist.recordTimeout("Aa", "regex");
+
+        assertTrue(blocklist.isBlocked("Aa", "regex"));
+        assertFalse(blocklist.isBlocked("BB", "regex"));
+    }
+}
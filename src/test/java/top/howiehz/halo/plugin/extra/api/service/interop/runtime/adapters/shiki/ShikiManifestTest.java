@@ -0,0 +1,39 @@
+package top.howiehz.halo.plugin.extra.api.service.interop.runtime.adapters.shiki;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Properties;
+import org.junit.jupiter.api.Test;
+
+class ShikiManifestTest {
+
+    @Test
+    void shouldAcceptLanguageIdsAndAliases() {
+        Properties properties = new Properties();
+        properties.setProperty("languages", "javascript, python,typescript");
+        properties.setProperty("aliases", "js:javascript,py:python,ts:typescript,broken:");
+        properties.setProperty("themes", "min-light,nord");
+
+        ShikiManifest manifest = ShikiManifest.fromProperties(properties);
+
+        assertTrue(manifest.getLanguages().contains("python"));
+        assertTrue(manifest.getLanguages().contains("js"));
+        assertFalse(manifest.getLanguages().contains("broken"));
+        assertEquals("javascript", manifest.resolveLanguage("js"));
+        assertEquals("rust", manifest.resolveLanguage("rust"));
+        assertEquals(2, manifest.getThemes().size());
+        assertThrows(UnsupportedOperationException.class,
+            () -> manifest.getThemes().add("dracula"));
+    }
+
+    @Test
+    void shouldBeEmptyWithoutEntries() {
+        ShikiManifest manifest = ShikiManifest.fromProperties(new Properties());
+
+        assertTrue(manifest.getLanguages().isEmpty());
+        assertTrue(manifest.getThemes().isEmpty());
+    }
+}
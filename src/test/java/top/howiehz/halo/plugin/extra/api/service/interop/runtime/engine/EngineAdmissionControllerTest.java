@@ -0,0 +1,69 @@
+package top.howiehz.halo.plugin.extra.api.service.interop.runtime.engine;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Test;
+
+class EngineAdmissionControllerTest {
+
+    @Test
+    void shouldKeepReservedEngineForInteractiveWork() throws Exception {
+        EngineAdmissionController controller = new EngineAdmissionController(2, 1);
+        controller.acquire(EnginePriority.BACKGROUND);
+
+        CompletableFuture<Void> finder = acquireAsync(controller, EnginePriority.FINDER);
+        awaitWaiting(controller, EnginePriority.FINDER);
+        assertFalse(finder.isDone());
+
+        controller.acquire(EnginePriority.INTERACTIVE);
+
+        controller.release();
+        controller.release();
+        finder.get(5, TimeUnit.SECONDS);
+    }
+
+    @Test
+    void shouldAdmitHigherPriorityWaiterFirst() throws Exception {
+        EngineAdmissionController controller = new EngineAdmissionController(1, 0);
+        controller.acquire(EnginePriority.INTERACTIVE);
+
+        CompletableFuture<Void> background = acquireAsync(controller, EnginePriority.BACKGROUND);
+        awaitWaiting(controller, EnginePriority.BACKGROUND);
+        CompletableFuture<Void> interactive =
+            acquireAsync(controller, EnginePriority.INTERACTIVE);
+        awaitWaiting(controller, EnginePriority.INTERACTIVE);
+
+        controller.release();
+        interactive.get(5, TimeUnit.SECONDS);
+        assertFalse(background.isDone());
+        assertEquals(1, controller.getWaiting(EnginePriority.BACKGROUND));
+
+        controller.release();
+        background.get(5, TimeUnit.SECONDS);
+        assertTrue(background.isDone());
+    }
+
+    private static CompletableFuture<Void> acquireAsync(EngineAdmissionController controller,
+        EnginePriority priority) {
+        return CompletableFuture.runAsync(() -> {
+            try {
+                controller.acquire(priority);
+            } catch (InterruptedException e) {
+                throw new IllegalStateException(e);
+            }
+        });
+    }
+
+    private static void awaitWaiting(EngineAdmissionController controller,
+        EnginePriority priority) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (controller.getWaiting(priority) == 0 && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+        assertEquals(1, controller.getWaiting(priority));
+    }
+}
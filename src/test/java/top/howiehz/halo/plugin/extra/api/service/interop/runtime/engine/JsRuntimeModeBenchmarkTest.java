@@ -0,0 +1,76 @@
+package top.howiehz.halo.plugin.extra.api.service.interop.runtime.engine;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+
+import com.caoccao.javet.interop.V8Runtime;
+import com.caoccao.javet.interop.engine.IJavetEngine;
+import com.caoccao.javet.interop.engine.JavetEngineConfig;
+import com.caoccao.javet.values.reference.V8ValuePromise;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+import top.howiehz.halo.plugin.extra.api.benchmark.Benchmark;
+import top.howiehz.halo.plugin.extra.api.benchmark.BenchmarkSupport;
+import top.howiehz.halo.plugin.extra.api.service.core.config.ShikiConfigSupplier;
+import top.howiehz.halo.plugin.extra.api.service.interop.runtime.adapters.shiki.ShikiJsBinding;
+import top.howiehz.halo.plugin.extra.api.service.interop.runtime.adapters.shiki.impl.ShikiJsBindingDefinition;
+
+/**
+ * Compares per-engine RSS, creation time and highlight throughput of the runtime modes.
+ * 对比不同运行时类型的单引擎常驻内存、创建耗时与高亮吞吐量。
+ */
+@Benchmark
+class JsRuntimeModeBenchmarkTest {
+    private static final int ENGINES = 4;
+    private static final int HIGHLIGHT_ITERATIONS = 200;
+
+    @ParameterizedTest
+    @EnumSource(JsRuntimeMode.class)
+    void compareRuntimeModes(JsRuntimeMode mode) throws Exception {
+        JavetEngineConfig config = new JavetEngineConfig();
+        config.setPoolMinSize(1);
+        config.setPoolMaxSize(ENGINES);
+
+        try (CustomJavetEnginePool pool = new CustomJavetEnginePool(config,
+            List.of(new ShikiJsBindingDefinition(mock(ShikiConfigSupplier.class))), mode)) {
+            long rssBefore = BenchmarkSupport.readRssBytes();
+            List<IJavetEngine<V8Runtime>> engines = new ArrayList<>();
+            long creationNanos = 0;
+            for (int i = 0; i < ENGINES; i++) {
+                long start = System.nanoTime();
+                engines.add(pool.getEngine());
+                creationNanos += System.nanoTime() - start;
+            }
+            long rssAfter = BenchmarkSupport.readRssBytes();
+
+            CustomJavetEngine engine = (CustomJavetEngine) engines.getFirst();
+            ShikiJsBinding binding = engine.getBinding(ShikiJsBinding.class);
+            Map<String, String> options = Map.of("lang", "java", "theme", "github-light");
+            long start = System.nanoTime();
+            for (int i = 0; i < HIGHLIGHT_ITERATIONS; i++) {
+                CompletableFuture<String> future = new CompletableFuture<>();
+                try (V8ValuePromise promise = binding.highlightCode(BenchmarkSupport.SAMPLE_CODE,
+                    options)) {
+                    V8PromiseBridge.settle(engine.getV8Runtime(), promise,
+                        (result, runtime) -> result.toString(), future, () -> false, 0);
+                }
+                assertTrue(future.join().contains("<pre"));
+            }
+            double seconds = (System.nanoTime() - start) / 1_000_000_000.0;
+
+            for (IJavetEngine<V8Runtime> acquired : engines) {
+                acquired.close();
+            }
+
+            BenchmarkSupport.report(
+                "[%s] avgCreation=%.1fms, rssPerEngine=%s, throughput=%.1f ops/s", mode,
+                creationNanos / 1_000_000.0 / ENGINES,
+                BenchmarkSupport.formatRssGrowth(rssBefore, rssAfter, ENGINES),
+                HIGHLIGHT_ITERATIONS / seconds);
+        }
+    }
+}
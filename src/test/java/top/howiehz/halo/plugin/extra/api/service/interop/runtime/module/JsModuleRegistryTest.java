@@ -0,0 +1,53 @@
+package top.howiehz.halo.plugin.extra.api.service.interop.runtime.module;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Properties;
+import org.junit.jupiter.api.Test;
+
+class JsModuleRegistryTest {
+
+    @Test
+    void shouldParseDeclaredModules() {
+        Properties properties = new Properties();
+        properties.setProperty("shiki.file", "shiki.umd.cjs");
+        properties.setProperty("shiki.type", "umd");
+        properties.setProperty("shiki.preload", "true");
+        properties.setProperty("katex.file", "katex.umd.cjs");
+
+        JsModuleRegistry registry = JsModuleRegistry.fromProperties(properties);
+
+        JsModule shiki = registry.findByModuleName("js/shiki");
+        assertEquals("shiki.umd.cjs", shiki.getFileName());
+        assertEquals(JsModuleType.UMD, shiki.getType());
+        assertTrue(shiki.isPreload());
+
+        JsModule katex = registry.find("katex");
+        assertEquals("js/katex", katex.getModuleName());
+        assertFalse(katex.isPreload());
+        assertEquals(2, registry.getModules().size());
+    }
+
+    @Test
+    void shouldSkipInvalidDeclarations() {
+        Properties properties = new Properties();
+        properties.setProperty("broken.file", "broken.js");
+        properties.setProperty("broken.type", "AMD");
+
+        JsModuleRegistry registry = JsModuleRegistry.fromProperties(properties);
+
+        assertNull(registry.find("broken"));
+        assertNull(registry.findByModuleName("broken"));
+    }
+
+    @Test
+    void shouldDeclareBundledModules() {
+        JsModuleRegistry registry = JsModuleRegistry.getDefault();
+
+        assertTrue(registry.find("shiki").isPreload());
+        assertFalse(registry.find("katex").isPreload());
+    }
+}
@@ -0,0 +1,70 @@
+package top.howiehz.halo.plugin.extra.api.service.interop.runtime.nativelib;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class NativeLibraryCacheTest {
+
+    private static final byte[] LIBRARY = "native-library".getBytes(StandardCharsets.UTF_8);
+
+    @TempDir
+    Path root;
+
+    private final AtomicInteger opened = new AtomicInteger();
+
+    private NativeLibraryCache.LibrarySource source() {
+        return () -> {
+            opened.incrementAndGet();
+            return new ByteArrayInputStream(LIBRARY);
+        };
+    }
+
+    @Test
+    void extractsOnceAndReusesVerifiedLibrary() throws IOException {
+        NativeLibraryCache cache = new NativeLibraryCache(root, "1.0.0");
+
+        NativeLibraryCache.Entry first = cache.resolve("lib.so", source());
+        NativeLibraryCache.Entry second = cache.resolve("lib.so", source());
+
+        assertFalse(first.reused());
+        assertTrue(second.reused());
+        assertEquals(1, opened.get());
+        assertArrayEquals(LIBRARY, Files.readAllBytes(second.path()));
+    }
+
+    @Test
+    void extractsAgainWhenCachedLibraryIsCorrupted() throws IOException {
+        NativeLibraryCache cache = new NativeLibraryCache(root, "1.0.0");
+        Path library = cache.resolve("lib.so", source()).path();
+        Files.writeString(library, "corrupted");
+
+        NativeLibraryCache.Entry entry = cache.resolve("lib.so", source());
+
+        assertFalse(entry.reused());
+        assertEquals(2, opened.get());
+        assertArrayEquals(LIBRARY, Files.readAllBytes(library));
+    }
+
+    @Test
+    void prunesOtherVersions() throws IOException {
+        new NativeLibraryCache(root, "1.0.0").resolve("lib.so", source());
+        NativeLibraryCache current = new NativeLibraryCache(root, "2.0.0");
+        current.resolve("lib.so", source());
+
+        current.pruneOtherVersions();
+
+        assertFalse(Files.exists(root.resolve("1.0.0")));
+        assertTrue(Files.exists(current.getDirectory().resolve("lib.so")));
+    }
+}
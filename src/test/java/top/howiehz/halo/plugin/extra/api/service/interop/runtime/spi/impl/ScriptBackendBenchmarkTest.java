@@ -0,0 +1,98 @@
+package top.howiehz.halo.plugin.extra.api.service.interop.runtime.spi.impl;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+
+import com.caoccao.javet.interop.V8Runtime;
+import com.caoccao.javet.interop.engine.IJavetEngine;
+import com.caoccao.javet.interop.engine.JavetEngineConfig;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+import top.howiehz.halo.plugin.extra.api.benchmark.Benchmark;
+import top.howiehz.halo.plugin.extra.api.benchmark.BenchmarkSupport;
+import top.howiehz.halo.plugin.extra.api.service.core.config.ShikiConfigSupplier;
+import top.howiehz.halo.plugin.extra.api.service.interop.runtime.adapters.shiki.impl.ShikiJsBindingDefinition;
+import top.howiehz.halo.plugin.extra.api.service.interop.runtime.engine.CustomJavetEngine;
+import top.howiehz.halo.plugin.extra.api.service.interop.runtime.engine.CustomJavetEnginePool;
+import top.howiehz.halo.plugin.extra.api.service.interop.runtime.engine.JsRuntimeMode;
+import top.howiehz.halo.plugin.extra.api.service.interop.runtime.spi.ScriptBackendType;
+import top.howiehz.halo.plugin.extra.api.service.interop.runtime.spi.ScriptSession;
+
+/**
+ * Compares engine startup, Shiki highlight throughput and RSS of the script engine backends.
+ * 对比各脚本引擎后端的引擎启动耗时、Shiki 高亮吞吐量与常驻内存。
+ *
+ * <p>Both backends run the same calls through {@link ScriptSession}. GraalJS runs
+ * interpreter-only unless the JVM provides a Graal JIT, so warm-up iterations are excluded from
+ * the measurement.</p>
+ * <p>两个后端都通过 {@link ScriptSession} 执行相同的调用。除非 JVM 提供 Graal JIT，GraalJS 只能以解释模式运行，
+ * 因此预热迭代不计入测量。</p>
+ */
+@Benchmark
+class ScriptBackendBenchmarkTest {
+    private static final int WARM_UP_ITERATIONS = 50;
+    private static final int HIGHLIGHT_ITERATIONS = 200;
+    private static final List<String> MODULES = List.of("shiki");
+    private static final Map<String, String> OPTIONS =
+        Map.of("lang", "java", "theme", "github-light");
+
+    @ParameterizedTest
+    @EnumSource(ScriptBackendType.class)
+    void compareBackends(ScriptBackendType type) throws Exception {
+        long rssBefore = BenchmarkSupport.readRssBytes();
+        long start = System.nanoTime();
+        Result result = switch (type) {
+            case JAVET -> runJavet(start);
+            case GRAALJS -> runGraalJs(start);
+        };
+        long rssAfter = BenchmarkSupport.readRssBytes();
+
+        BenchmarkSupport.report("[%s] startup=%.1fms, rss=%s, throughput=%.1f ops/s", type,
+            result.startupNanos() / 1_000_000.0,
+            BenchmarkSupport.formatRssGrowth(rssBefore, rssAfter, 1),
+            HIGHLIGHT_ITERATIONS / (result.highlightNanos() / 1_000_000_000.0));
+    }
+
+    private static Result runJavet(long start) throws Exception {
+        JavetEngineConfig config = new JavetEngineConfig();
+        config.setPoolMinSize(1);
+        config.setPoolMaxSize(1);
+        try (CustomJavetEnginePool pool = new CustomJavetEnginePool(config,
+            List.of(new ShikiJsBindingDefinition(mock(ShikiConfigSupplier.class))),
+            JsRuntimeMode.NODE)) {
+            try (IJavetEngine<V8Runtime> engine = pool.getEngine()) {
+                CustomJavetEngine customEngine = (CustomJavetEngine) engine;
+                customEngine.ensureModules(MODULES);
+                long startupNanos = System.nanoTime() - start;
+                ScriptSession session = JavetScriptEngineBackend.openSession(customEngine);
+                return new Result(startupNanos, highlight(session));
+            }
+        }
+    }
+
+    private static Result runGraalJs(long start) {
+        try (GraalJsScriptEngineBackend backend = new GraalJsScriptEngineBackend(1, 0)) {
+            backend.withSession(MODULES, session -> null);
+            long startupNanos = System.nanoTime() - start;
+            return new Result(startupNanos,
+                backend.withSession(MODULES, ScriptBackendBenchmarkTest::highlight));
+        }
+    }
+
+    private static long highlight(ScriptSession session) {
+        for (int i = 0; i < WARM_UP_ITERATIONS; i++) {
+            session.callForString("highlightCode", BenchmarkSupport.SAMPLE_CODE, OPTIONS);
+        }
+        long start = System.nanoTime();
+        for (int i = 0; i < HIGHLIGHT_ITERATIONS; i++) {
+            assertTrue(session.callForString("highlightCode", BenchmarkSupport.SAMPLE_CODE, OPTIONS)
+                .contains("<pre"));
+        }
+        return System.nanoTime() - start;
+    }
+
+    private record Result(long startupNanos, long highlightNanos) {
+    }
+}
@@ -0,0 +1,92 @@
+package top.howiehz.halo.plugin.extra.api.service.interop.web.filter.htmlminify;
+
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import top.howiehz.halo.plugin.extra.api.benchmark.Benchmark;
+import top.howiehz.halo.plugin.extra.api.benchmark.BenchmarkSupport;
+import top.howiehz.halo.plugin.extra.api.service.core.web.filter.htmlminify.HtmlMinifier;
+import top.howiehz.halo.plugin.extra.api.service.core.web.filter.htmlminify.HtmlMinifyConfig;
+import top.howiehz.halo.plugin.extra.api.service.core.web.filter.htmlminify.JavaHtmlMinifier;
+
+/**
+ * Compares throughput and output size of the pure-Java minifier against minify-html.
+ * 对比纯 Java 压缩器与 minify-html 的吞吐量和输出大小。
+ *
+ * <p>The corpus under {@code html-minify-corpus} holds pages as rendered by a typical Halo
+ * theme: an index with post cards, a post with highlighted code and comments, and a custom
+ * page.</p>
+ * <p>{@code html-minify-corpus} 下的语料为典型 Halo 主题渲染出的页面：带文章卡片的首页、带代码高亮与评论的文章页以及自定义页面。</p>
+ */
+@Benchmark
+class HtmlMinifierBenchmarkTest {
+    private static final int WARMUP_ITERATIONS = 200;
+    private static final int ITERATIONS = 1000;
+
+    private final HtmlMinifier javaMinifier = new JavaHtmlMinifier();
+    private final NativeHtmlMinifier nativeMinifier = new NativeHtmlMinifier();
+    private final HtmlMinifyConfig config = new HtmlMinifyConfig();
+
+    HtmlMinifierBenchmarkTest() {
+        config.setMinifyCss(true);
+        config.setMinifyJs(true);
+        config.setMinifyDoctype(true);
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"index.html", "post.html", "page.html"})
+    void compareWithNative(String page) throws IOException {
+        assumeTrue(nativeMinifier.isAvailable(), "minify-html 原生库不可用");
+        String html = load(page);
+        int originalBytes = utf8Length(html);
+
+        Result java = measure(javaMinifier, html);
+        Result nativeResult = measure(nativeMinifier, html);
+
+        BenchmarkSupport.report("[%s] %d KB | java: %.1f MB/s, %.1f%% | minify-html: %.1f MB/s,"
+                + " %.1f%%", page, originalBytes / 1024,
+            java.megabytesPerSecond(originalBytes), java.ratio(originalBytes),
+            nativeResult.megabytesPerSecond(originalBytes), nativeResult.ratio(originalBytes));
+        assertTrue(java.bytes() < originalBytes);
+    }
+
+    private Result measure(HtmlMinifier minifier, String html) {
+        int bytes = 0;
+        for (int i = 0; i < WARMUP_ITERATIONS; i++) {
+            bytes = utf8Length(minifier.minify(html, config));
+        }
+        long start = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++) {
+            bytes = utf8Length(minifier.minify(html, config));
+        }
+        return new Result(bytes, (System.nanoTime() - start) / ITERATIONS);
+    }
+
+    private static String load(String page) throws IOException {
+        try (InputStream in = HtmlMinifierBenchmarkTest.class.getResourceAsStream(
+            "/html-minify-corpus/" + page)) {
+            assertNotNull(in, page);
+            return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        }
+    }
+
+    private static int utf8Length(String html) {
+        return html.getBytes(StandardCharsets.UTF_8).length;
+    }
+
+    private record Result(int bytes, long nanosPerPage) {
+        double megabytesPerSecond(int originalBytes) {
+            return originalBytes / (nanosPerPage / 1e9) / (1024 * 1024);
+        }
+
+        double ratio(int originalBytes) {
+            return 100.0 * bytes / originalBytes;
+        }
+    }
+}
@@ -1,22 +1,19 @@
 package top.howiehz.halo.plugin.extra.api.service.interop.web.filter.htmlminify;
 
-import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
-import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
 
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import top.howiehz.halo.plugin.extra.api.service.core.web.filter.htmlminify.HtmlMinifyConfig;
 
-class HtmlMinifyServiceTest {
-    private final HtmlMinifyService service = new HtmlMinifyService();
+class NativeHtmlMinifierTest {
+    private final NativeHtmlMinifier minifier = new NativeHtmlMinifier();
 
-    @Test
-    void shouldReturnBlankInputAsIs() {
-        HtmlMinifyConfig config = new HtmlMinifyConfig();
-
-        assertNull(service.minify(null, config));
-        assertEquals("", service.minify("", config));
-        assertEquals("   ", service.minify("   ", config));
+    @BeforeEach
+    void requireNativeLibrary() {
+        assumeTrue(minifier.isAvailable(), "minify-html 原生库不可用");
     }
 
     @Test
@@ -27,7 +24,7 @@ class HtmlMinifyServiceTest {
         config.setMinifyJs(true);
         config.setPreserveBraceTemplateSyntax(true);
 
-        String minified = service.minify(
+        String minified = minifier.minify(
             "<html><body><div>  Hello  </div><!-- comment --><style>body { color: red; }</style>"
                 + "<script>function add(a, b) { return a + b; }</script>{{ user.name }}</body>"
                 + "</html>",
@@ -46,7 +43,7 @@ class HtmlMinifyServiceTest {
         HtmlMinifyConfig config = new HtmlMinifyConfig();
         config.setKeepComments(false);
 
-        String minified = service.minify(
+        String minified = minifier.minify(
             "<html><body><div>  Hello  </div><!-- comment --></body></html>",
             config
         );